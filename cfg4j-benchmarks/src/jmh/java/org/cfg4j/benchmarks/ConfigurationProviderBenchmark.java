@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.benchmarks;
+
+import org.cfg4j.provider.ConfigurationProvider;
+import org.cfg4j.provider.ConfigurationProviderBuilder;
+import org.cfg4j.provider.GenericType;
+import org.cfg4j.provider.PropertyBatch;
+import org.cfg4j.provider.PropertyBatchBuilder;
+import org.cfg4j.provider.PropertyValues;
+import org.cfg4j.source.inmemory.InMemoryConfigurationSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read path of {@link ConfigurationProvider}: property lookups, batch lookups, bound interface calls and full configuration
+ * copies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConfigurationProviderBenchmark {
+
+  /**
+   * Interface bound to the "service" prefix.
+   */
+  public interface ServiceConfig {
+    Integer port();
+
+    List<String> hosts();
+  }
+
+  @Param({"100", "10000"})
+  public int keys;
+
+  private ConfigurationProvider provider;
+  private ServiceConfig serviceConfig;
+  private GenericType<List<String>> hostsType;
+  private PropertyBatch serviceBatch;
+
+  @Setup
+  public void setUp() {
+    Properties properties = Configurations.properties(keys);
+    properties.put("service.port", "8080");
+    properties.put("service.hosts", "host1,host2,host3");
+
+    provider = new ConfigurationProviderBuilder()
+        .withConfigurationSource(new InMemoryConfigurationSource(properties))
+        .build();
+    serviceConfig = provider.bind("service", ServiceConfig.class);
+    hostsType = new GenericType<List<String>>() {
+    };
+    serviceBatch = new PropertyBatchBuilder()
+        .withProperty("service.port", Integer.class)
+        .withProperty("service.hosts", hostsType)
+        .build();
+  }
+
+  @Benchmark
+  public Integer getProperty() {
+    return provider.getProperty("service.port", Integer.class);
+  }
+
+  @Benchmark
+  public List<String> getPropertyGeneric() {
+    return provider.getProperty("service.hosts", hostsType);
+  }
+
+  @Benchmark
+  public PropertyValues getProperties() {
+    return provider.getProperties(serviceBatch);
+  }
+
+  @Benchmark
+  public Integer boundInterfaceCall() {
+    return serviceConfig.port();
+  }
+
+  @Benchmark
+  public List<String> boundInterfaceGenericCall() {
+    return serviceConfig.hosts();
+  }
+
+  @Benchmark
+  public Properties allConfigurationAsProperties() {
+    return provider.allConfigurationAsProperties();
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.benchmarks;
+
+import java.util.Properties;
+
+/**
+ * Synthetic configurations used by benchmarks.
+ */
+final class Configurations {
+
+  private Configurations() {
+  }
+
+  /**
+   * Configuration with {@code keys} keys spread over a few levels of nesting.
+   *
+   * @param keys number of keys
+   * @return configuration
+   */
+  static Properties properties(int keys) {
+    return properties(keys, "");
+  }
+
+  /**
+   * Same as {@link #properties(int)} but with all keys prefixed by {@code prefix}.
+   *
+   * @param keys   number of keys
+   * @param prefix prefix of all keys
+   * @return configuration
+   */
+  static Properties properties(int keys, String prefix) {
+    Properties properties = new Properties();
+    for (int i = 0; i < keys; i++) {
+      properties.put(prefix + key(i), "value" + i);
+    }
+
+    return properties;
+  }
+
+  /**
+   * Name of the {@code i}-th key of synthetic configurations.
+   */
+  static String key(int i) {
+    return "group" + (i % 10) + ".section" + (i % 100) + ".setting" + i;
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.benchmarks;
+
+import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.compose.MergeConfigurationSource;
+import org.cfg4j.source.context.environment.DefaultEnvironment;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.inmemory.InMemoryConfigurationSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-in of {@link MergeConfigurationSource}: merging configurations of many underlying sources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MergeConfigurationSourceBenchmark {
+
+  @Param({"1", "4", "16"})
+  public int sources;
+
+  @Param({"1000"})
+  public int keysPerSource;
+
+  private MergeConfigurationSource mergeConfigurationSource;
+  private Environment environment;
+
+  @Setup
+  public void setUp() {
+    ConfigurationSource[] underlyingSources = new ConfigurationSource[sources];
+    for (int i = 0; i < sources; i++) {
+      underlyingSources[i] = new InMemoryConfigurationSource(Configurations.properties(keysPerSource, "source" + i + "."));
+    }
+
+    mergeConfigurationSource = new MergeConfigurationSource(underlyingSources);
+    mergeConfigurationSource.init();
+    environment = new DefaultEnvironment();
+  }
+
+  @Benchmark
+  public Properties getConfiguration() {
+    return mergeConfigurationSource.getConfiguration(environment);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.benchmarks;
+
+import com.codahale.metrics.MetricRegistry;
+import org.cfg4j.provider.ConfigurationProvider;
+import org.cfg4j.provider.ConfigurationProviderBuilder;
+import org.cfg4j.source.inmemory.InMemoryConfigurationSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of metering property reads: no metrics, a timer per call, sampled timing and sampled timing with per-key
+ * counters. Runs with multiple threads to expose contention on shared metrics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class MeteredConfigurationProviderBenchmark {
+
+  @Param({"none", "timer", "sampled", "sampledPerKey"})
+  public String metrics;
+
+  private ConfigurationProvider provider;
+
+  @Setup
+  public void setUp() {
+    Properties properties = Configurations.properties(1000);
+    properties.put("service.port", "8080");
+
+    ConfigurationProviderBuilder builder = new ConfigurationProviderBuilder()
+        .withConfigurationSource(new InMemoryConfigurationSource(properties));
+
+    switch (metrics) {
+      case "none":
+        break;
+      case "timer":
+        builder.withMetrics(new MetricRegistry(), "");
+        break;
+      case "sampled":
+        builder.withMetrics(new MetricRegistry(), "").withMetricsSampling(100);
+        break;
+      case "sampledPerKey":
+        builder.withMetrics(new MetricRegistry(), "").withMetricsSampling(100).withPerKeyMetrics(true);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown metrics mode: " + metrics);
+    }
+
+    provider = builder.build();
+  }
+
+  @Benchmark
+  public Integer getProperty() {
+    return provider.getProperty("service.port", Integer.class);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.benchmarks;
+
+import org.cfg4j.provider.ConfigurationProvider;
+import org.cfg4j.provider.ConfigurationProviderBuilder;
+import org.cfg4j.source.inmemory.InMemoryConfigurationSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primitive reads: boxed {@link ConfigurationProvider#getProperty(String, Class)} lookups compared with the primitive
+ * accessors and primitive-typed bound getters. Run with {@code -prof gc} to compare allocation per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PrimitiveAccessorBenchmark {
+
+  /**
+   * Interface bound to the "service" prefix.
+   */
+  public interface ServiceConfig {
+    int port();
+
+    long timeout();
+
+    boolean enabled();
+  }
+
+  @Param({"100", "10000"})
+  public int keys;
+
+  private ConfigurationProvider provider;
+  private ServiceConfig serviceConfig;
+
+  @Setup
+  public void setUp() {
+    Properties properties = Configurations.properties(keys);
+    properties.put("service.port", "8080");
+    properties.put("service.timeout", "30000");
+    properties.put("service.ratio", "0.75");
+    properties.put("service.enabled", "true");
+
+    provider = new ConfigurationProviderBuilder()
+        .withConfigurationSource(new InMemoryConfigurationSource(properties))
+        .build();
+    serviceConfig = provider.bind("service", ServiceConfig.class);
+  }
+
+  @Benchmark
+  public int getPropertyBoxed() {
+    return provider.getProperty("service.port", Integer.class);
+  }
+
+  @Benchmark
+  public int getInt() {
+    return provider.getInt("service.port");
+  }
+
+  @Benchmark
+  public long getLong() {
+    return provider.getLong("service.timeout");
+  }
+
+  @Benchmark
+  public double getDouble() {
+    return provider.getDouble("service.ratio");
+  }
+
+  @Benchmark
+  public boolean getBoolean() {
+    return provider.getBoolean("service.enabled");
+  }
+
+  @Benchmark
+  public int boundIntCall() {
+    return serviceConfig.port();
+  }
+
+  @Benchmark
+  public boolean boundBooleanCall() {
+    return serviceConfig.enabled();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.benchmarks;
+
+import org.cfg4j.source.context.propertiesprovider.JsonBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.PropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.PropertyBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.YamlBasedPropertiesProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of configuration files by each {@link PropertiesProvider} on small and large inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PropertiesProviderBenchmark {
+
+  @Param({"properties", "yaml", "json"})
+  public String format;
+
+  @Param({"10", "10000"})
+  public int keys;
+
+  private PropertiesProvider propertiesProvider;
+  private byte[] input;
+
+  @Setup
+  public void setUp() {
+    StringBuilder builder = new StringBuilder();
+
+    switch (format) {
+      case "properties":
+        propertiesProvider = new PropertyBasedPropertiesProvider();
+        for (int i = 0; i < keys; i++) {
+          builder.append(Configurations.key(i)).append('=').append("value").append(i).append('\n');
+        }
+        break;
+      case "yaml":
+        propertiesProvider = new YamlBasedPropertiesProvider();
+        for (int i = 0; i < keys; i++) {
+          builder.append("setting").append(i).append(":\n")
+              .append("  value: value").append(i).append('\n')
+              .append("  enabled: ").append(i % 2 == 0).append('\n');
+        }
+        break;
+      case "json":
+        propertiesProvider = new JsonBasedPropertiesProvider();
+        builder.append('{');
+        for (int i = 0; i < keys; i++) {
+          if (i > 0) {
+            builder.append(',');
+          }
+          builder.append("\"setting").append(i).append("\":{\"value\":\"value").append(i)
+              .append("\",\"enabled\":").append(i % 2 == 0).append('}');
+        }
+        builder.append('}');
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown format: " + format);
+    }
+
+    input = builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public Properties getProperties() {
+    return propertiesProvider.getProperties(new ByteArrayInputStream(input));
+  }
+}
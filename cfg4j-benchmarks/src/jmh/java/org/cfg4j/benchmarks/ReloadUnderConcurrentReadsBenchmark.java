@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.benchmarks;
+
+import org.cfg4j.provider.ConfigurationProvider;
+import org.cfg4j.provider.ConfigurationProviderBuilder;
+import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.reload.ReloadStrategy;
+import org.cfg4j.source.reload.Reloadable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Property reads racing with continuous reloads that change a fraction of the configuration.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReloadUnderConcurrentReadsBenchmark {
+
+  @Param({"10000"})
+  public int keys;
+
+  private ConfigurationProvider provider;
+  private Reloadable reloadable;
+  private String readKey;
+
+  @Setup
+  public void setUp() {
+    Properties[] versions = {Configurations.properties(keys), Configurations.properties(keys)};
+    for (int i = 0; i < keys; i += 100) {
+      versions[1].put(Configurations.key(i), "changed" + i);
+    }
+
+    provider = new ConfigurationProviderBuilder()
+        .withConfigurationSource(new AlternatingConfigurationSource(versions))
+        .withReloadStrategy(new ReloadStrategy() {
+          @Override
+          public void register(Reloadable resource) {
+            reloadable = resource;
+            resource.reload();
+          }
+
+          @Override
+          public void deregister(Reloadable resource) {
+            // NOP
+          }
+        })
+        .build();
+    readKey = Configurations.key(keys / 2);
+  }
+
+  @Benchmark
+  @Group("reloadUnderReads")
+  @GroupThreads(3)
+  public String read() {
+    return provider.getProperty(readKey, String.class);
+  }
+
+  @Benchmark
+  @Group("reloadUnderReads")
+  @GroupThreads(1)
+  public void reload() {
+    reloadable.reload();
+  }
+
+  /**
+   * Source returning the provided configurations in turns.
+   */
+  private static class AlternatingConfigurationSource implements ConfigurationSource {
+
+    private final Properties[] versions;
+    private int next;
+
+    private AlternatingConfigurationSource(Properties[] versions) {
+      this.versions = versions;
+    }
+
+    @Override
+    public synchronized Properties getConfiguration(Environment environment) {
+      Properties properties = versions[next];
+      next = (next + 1) % versions.length;
+      return properties;
+    }
+
+    @Override
+    public void init() {
+      // NOP
+    }
+  }
+}
@@ -27,10 +27,11 @@ import org.cfg4j.source.context.environment.Environment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * Note: use {@link ConsulConfigurationSourceBuilder} for building instances of this class.
@@ -42,7 +43,7 @@ public class ConsulConfigurationSource implements ConfigurationSource {
   private static final Logger LOG = LoggerFactory.getLogger(ConsulConfigurationSource.class);
 
   private KeyValueClient kvClient;
-  private Map<String, String> consulValues;
+  private SortedMap<String, String> consulValues;
   private final String host;
   private final int port;
   private boolean initialized;
@@ -83,10 +84,13 @@ public class ConsulConfigurationSource implements ConfigurationSource {
       path = path + "/";
     }
 
-    for (Map.Entry<String, String> entry : consulValues.entrySet()) {
-      if (entry.getKey().startsWith(path)) {
-        properties.put(entry.getKey().substring(path.length()).replace("/", "."), entry.getValue());
-      }
+    // Keys under path form a contiguous range: all of them sort before path with the trailing "/" replaced by "0"
+    Map<String, String> valuesUnderPath = path.isEmpty()
+        ? consulValues
+        : consulValues.subMap(path, path.substring(0, path.length() - 1) + (char) ('/' + 1));
+
+    for (Map.Entry<String, String> entry : valuesUnderPath.entrySet()) {
+      properties.put(entry.getKey().substring(path.length()).replace("/", "."), entry.getValue());
     }
 
     return properties;
@@ -111,7 +115,7 @@ public class ConsulConfigurationSource implements ConfigurationSource {
   }
 
   private void reload() {
-    Map<String, String> newConsulValues = new HashMap<>();
+    SortedMap<String, String> newConsulValues = new TreeMap<>();
     List<Value> valueList;
 
     try {
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Backend receiving metrics emitted by cfg4j components (see
+ * {@link org.cfg4j.provider.ConfigurationProviderBuilder#withMetricsBackend(MetricsBackend, String)}). Components resolve
+ * their metrics once, at construction time, and only update them afterwards, so implementations don't have to optimize
+ * lookups by name. Metrics are updated on hot paths though, so updates should be cheap and thread-safe. Requesting a
+ * metric with the same name multiple times should return the same metric (or one reporting to the same place).
+ * <p>
+ * Available backends:
+ * <ul>
+ * <li>{@link #noop()} - ignores all metrics (when used with the builder metered decorators are not created at all)</li>
+ * <li>{@link org.cfg4j.metrics.dropwizard.DropwizardMetricsBackend} - Dropwizard Metrics registry</li>
+ * <li>{@link org.cfg4j.metrics.jfr.JfrMetricsBackend} - Java Flight Recorder events</li>
+ * </ul>
+ */
+public interface MetricsBackend {
+
+  /**
+   * Get backend ignoring all metrics.
+   *
+   * @return no-op backend
+   */
+  static MetricsBackend noop() {
+    return NoopMetricsBackend.INSTANCE;
+  }
+
+  /**
+   * Get timer named {@code name}.
+   *
+   * @param name metric name
+   * @return timer
+   */
+  Timer timer(String name);
+
+  /**
+   * Get counter named {@code name}.
+   *
+   * @param name metric name
+   * @return counter
+   */
+  Counter counter(String name);
+
+  /**
+   * Get histogram named {@code name}.
+   *
+   * @param name metric name
+   * @return histogram
+   */
+  Histogram histogram(String name);
+
+  /**
+   * Register gauge named {@code name} reporting values of {@code value}. Does nothing when a gauge with this name is
+   * already registered.
+   *
+   * @param name  metric name
+   * @param value supplier of gauge value
+   */
+  void gauge(String name, Supplier<? extends Number> value);
+}
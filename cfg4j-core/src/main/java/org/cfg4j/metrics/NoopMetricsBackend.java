@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link MetricsBackend} ignoring all metrics.
+ */
+final class NoopMetricsBackend implements MetricsBackend {
+
+  static final NoopMetricsBackend INSTANCE = new NoopMetricsBackend();
+
+  private static final Timer TIMER = durationNanos -> {
+  };
+  private static final Counter COUNTER = () -> {
+  };
+  private static final Histogram HISTOGRAM = value -> {
+  };
+
+  private NoopMetricsBackend() {
+  }
+
+  @Override
+  public Timer timer(String name) {
+    return TIMER;
+  }
+
+  @Override
+  public Counter counter(String name) {
+    return COUNTER;
+  }
+
+  @Override
+  public Histogram histogram(String name) {
+    return HISTOGRAM;
+  }
+
+  @Override
+  public void gauge(String name, Supplier<? extends Number> value) {
+  }
+
+  @Override
+  public String toString() {
+    return "NoopMetricsBackend{}";
+  }
+}
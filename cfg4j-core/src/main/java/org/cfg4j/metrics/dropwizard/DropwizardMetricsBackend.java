@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.metrics.dropwizard;
+
+import static java.util.Objects.requireNonNull;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.cfg4j.metrics.Counter;
+import org.cfg4j.metrics.Histogram;
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.metrics.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link MetricsBackend} registering metrics in a Dropwizard Metrics {@link MetricRegistry}: timers as
+ * {@link com.codahale.metrics.Timer}s, counters as {@link com.codahale.metrics.Counter}s (backed by striped
+ * {@link java.util.concurrent.atomic.LongAdder}s), histograms as {@link com.codahale.metrics.Histogram}s and gauges as
+ * {@link Gauge}s. Requires io.dropwizard.metrics:metrics-core on the classpath.
+ */
+public class DropwizardMetricsBackend implements MetricsBackend {
+
+  private final MetricRegistry metricRegistry;
+
+  /**
+   * Create backend registering metrics in {@code metricRegistry}.
+   *
+   * @param metricRegistry registry to register metrics in
+   */
+  public DropwizardMetricsBackend(MetricRegistry metricRegistry) {
+    this.metricRegistry = requireNonNull(metricRegistry);
+  }
+
+  @Override
+  public Timer timer(String name) {
+    com.codahale.metrics.Timer timer = metricRegistry.timer(name);
+    return durationNanos -> timer.update(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public Counter counter(String name) {
+    return metricRegistry.counter(name)::inc;
+  }
+
+  @Override
+  public Histogram histogram(String name) {
+    return metricRegistry.histogram(name)::update;
+  }
+
+  @Override
+  public void gauge(String name, Supplier<? extends Number> value) {
+    metricRegistry.gauge(name, () -> (Gauge<Number>) value::get);
+  }
+
+  @Override
+  public String toString() {
+    return "DropwizardMetricsBackend{" +
+        "metricRegistry=" + metricRegistry +
+        '}';
+  }
+}
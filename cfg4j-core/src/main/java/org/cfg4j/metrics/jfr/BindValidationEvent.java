@@ -0,0 +1,46 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Validation of a bound configuration object.
+ */
+@Name("org.cfg4j.BindValidation")
+@Label("cfg4j Bind Validation")
+@Description("Validation of a bound configuration object")
+@Category("cfg4j")
+class BindValidationEvent extends OperationEvent {
+
+  @Label("Type")
+  Class<?> type;
+
+  @Label("Methods")
+  int methods;
+
+  static BindValidationEvent start(Class<?> type, int methods) {
+    BindValidationEvent event = begin(new BindValidationEvent());
+    if (event != null) {
+      event.type = type;
+      event.methods = methods;
+    }
+    return event;
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.metrics.jfr;
+
+/**
+ * Handle to a configuration operation (e.g. reload) recorded as a Java Flight Recorder event. The event starts when
+ * the handle is obtained from {@link ConfigurationEvents} and is committed when the operation outcome is reported.
+ * Report the outcome exactly once.
+ */
+public interface ConfigurationEvent {
+
+  /**
+   * Report that the operation succeeded.
+   */
+  default void succeeded() {
+    succeeded(0);
+  }
+
+  /**
+   * Report that the operation succeeded.
+   *
+   * @param count size of the operation result: number of keys for reloads, number of bytes for file parses (ignored
+   *              by events that don't record it)
+   */
+  void succeeded(long count);
+
+  /**
+   * Report that the operation failed.
+   *
+   * @param cause failure cause
+   */
+  void failed(Throwable cause);
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.metrics.jfr;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Emits Java Flight Recorder events describing configuration activity, so that it can be correlated with GC pauses,
+ * latency spikes, etc. in flight recordings:
+ * <ul>
+ * <li>org.cfg4j.SourceInit - initialization of a configuration source</li>
+ * <li>org.cfg4j.Reload - reload of a configuration source (source, environment, number of keys, outcome)</li>
+ * <li>org.cfg4j.FileParse - parse of a configuration file (path, format, number of bytes, outcome)</li>
+ * <li>org.cfg4j.BindValidation - validation of a bound configuration object (type, number of methods, outcome)</li>
+ * </ul>
+ * Events are enabled by default and configured with standard JFR settings (e.g. {@code org.cfg4j.Reload#threshold=10 ms}).
+ * When they're disabled or the JVM has no JFR (JDK 8 before 8u272) a shared no-op {@link ConfigurationEvent} is used.
+ */
+public final class ConfigurationEvents {
+
+  private static final ConfigurationEvent NOOP = new ConfigurationEvent() {
+    @Override
+    public void succeeded(long count) {
+    }
+
+    @Override
+    public void failed(Throwable cause) {
+    }
+
+    @Override
+    public String toString() {
+      return "NoopConfigurationEvent";
+    }
+  };
+
+  private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+  private ConfigurationEvents() {
+  }
+
+  /**
+   * Start recording initialization of a configuration source.
+   *
+   * @param sourceType type of the initialized source
+   * @return handle for reporting the outcome
+   */
+  public static ConfigurationEvent sourceInit(Class<?> sourceType) {
+    requireNonNull(sourceType);
+    return JFR_AVAILABLE ? orNoop(SourceInitEvent.start(sourceType)) : NOOP;
+  }
+
+  /**
+   * Start recording reload of a configuration source. Report number of reloaded keys on success.
+   *
+   * @param sourceType  type of the reloaded source
+   * @param environment name of the reloaded environment
+   * @return handle for reporting the outcome
+   */
+  public static ConfigurationEvent reload(Class<?> sourceType, String environment) {
+    requireNonNull(sourceType);
+    requireNonNull(environment);
+    return JFR_AVAILABLE ? orNoop(ReloadEvent.start(sourceType, environment)) : NOOP;
+  }
+
+  /**
+   * Start recording parse of a configuration file. Report number of parsed bytes on success.
+   *
+   * @param path   path of the parsed file
+   * @param format format of the parsed file (e.g. yaml)
+   * @return handle for reporting the outcome
+   */
+  public static ConfigurationEvent fileParse(String path, String format) {
+    requireNonNull(path);
+    requireNonNull(format);
+    return JFR_AVAILABLE ? orNoop(FileParseEvent.start(path, format)) : NOOP;
+  }
+
+  /**
+   * Start recording validation of a bound configuration object.
+   *
+   * @param type    interface of the validated object
+   * @param methods number of validated methods
+   * @return handle for reporting the outcome
+   */
+  public static ConfigurationEvent bindValidation(Class<?> type, int methods) {
+    requireNonNull(type);
+    return JFR_AVAILABLE ? orNoop(BindValidationEvent.start(type, methods)) : NOOP;
+  }
+
+  private static ConfigurationEvent orNoop(ConfigurationEvent event) {
+    return event == null ? NOOP : event;
+  }
+
+  private static boolean isJfrAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event", false, ConfigurationEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
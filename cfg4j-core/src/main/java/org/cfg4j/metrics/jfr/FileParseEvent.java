@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Parse of a configuration file.
+ */
+@Name("org.cfg4j.FileParse")
+@Label("cfg4j File Parse")
+@Description("Parse of a configuration file")
+@Category("cfg4j")
+class FileParseEvent extends OperationEvent {
+
+  @Label("Path")
+  String path;
+
+  @Label("Format")
+  String format;
+
+  @Label("Size")
+  @DataAmount
+  long bytes;
+
+  static FileParseEvent start(String path, String format) {
+    FileParseEvent event = begin(new FileParseEvent());
+    if (event != null) {
+      event.path = path;
+      event.format = format;
+    }
+    return event;
+  }
+
+  @Override
+  void setCount(long count) {
+    bytes = count;
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Single value recorded by a histogram. Disabled by default.
+ */
+@Name("org.cfg4j.Histogram")
+@Label("cfg4j Histogram Value")
+@Description("Value recorded by a cfg4j histogram")
+@Category({"cfg4j", "Metrics"})
+@Enabled(false)
+@StackTrace(false)
+class HistogramEvent extends Event {
+
+  @Label("Metric")
+  String metric;
+
+  @Label("Value")
+  long value;
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.metrics.jfr;
+
+import static java.util.Objects.requireNonNull;
+
+import jdk.jfr.FlightRecorder;
+import org.cfg4j.metrics.Counter;
+import org.cfg4j.metrics.Histogram;
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.metrics.Timer;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link MetricsBackend} emitting metrics as Java Flight Recorder events, so that configuration activity can be
+ * correlated with GC pauses, latency spikes, etc. in flight recordings:
+ * <ul>
+ * <li>org.cfg4j.Timer - each timed execution (metric name and elapsed time), disabled by default</li>
+ * <li>org.cfg4j.Histogram - each histogram value, disabled by default</li>
+ * <li>org.cfg4j.MetricValue - values of counters and gauges, emitted every second by default</li>
+ * </ul>
+ * Events are configured with standard JFR settings (e.g. {@code org.cfg4j.Timer#enabled=true}). Disabled events cost
+ * a single check. Requires a JVM with JFR (JDK 11+ or JDK 8u272+). Close the backend to stop emitting periodic events.
+ */
+public class JfrMetricsBackend implements MetricsBackend, Closeable {
+
+  private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+  private final Runnable periodicHook = this::emitMetricValues;
+
+  /**
+   * Create backend and register it for emitting periodic events.
+   */
+  public JfrMetricsBackend() {
+    FlightRecorder.addPeriodicEvent(MetricValueEvent.class, periodicHook);
+  }
+
+  @Override
+  public Timer timer(String name) {
+    requireNonNull(name);
+
+    return durationNanos -> {
+      TimerEvent event = new TimerEvent();
+      if (event.isEnabled()) {
+        event.metric = name;
+        event.elapsed = durationNanos;
+        event.commit();
+      }
+    };
+  }
+
+  @Override
+  public Counter counter(String name) {
+    return counters.computeIfAbsent(requireNonNull(name), counterName -> new LongAdder())::increment;
+  }
+
+  @Override
+  public Histogram histogram(String name) {
+    requireNonNull(name);
+
+    return value -> {
+      HistogramEvent event = new HistogramEvent();
+      if (event.isEnabled()) {
+        event.metric = name;
+        event.value = value;
+        event.commit();
+      }
+    };
+  }
+
+  @Override
+  public void gauge(String name, Supplier<? extends Number> value) {
+    gauges.putIfAbsent(requireNonNull(name), requireNonNull(value));
+  }
+
+  private void emitMetricValues() {
+    for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+      emitMetricValue(counter.getKey(), counter.getValue().sum());
+    }
+
+    for (Map.Entry<String, Supplier<? extends Number>> gauge : gauges.entrySet()) {
+      Number value;
+      try {
+        value = gauge.getValue().get();
+      } catch (RuntimeException e) {
+        continue;
+      }
+
+      if (value != null) {
+        emitMetricValue(gauge.getKey(), value.doubleValue());
+      }
+    }
+  }
+
+  private static void emitMetricValue(String metric, double value) {
+    MetricValueEvent event = new MetricValueEvent();
+    event.metric = metric;
+    event.value = value;
+    event.commit();
+  }
+
+  /**
+   * Stop emitting periodic events.
+   */
+  @Override
+  public void close() {
+    FlightRecorder.removePeriodicEvent(periodicHook);
+  }
+
+  @Override
+  public String toString() {
+    return "JfrMetricsBackend{" +
+        "counters=" + counters.keySet() +
+        ", gauges=" + gauges.keySet() +
+        '}';
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.metrics.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base for events recording a configuration operation together with its outcome.
+ */
+abstract class OperationEvent extends Event implements ConfigurationEvent {
+
+  @Label("Outcome")
+  String outcome;
+
+  @Label("Failure")
+  String failure;
+
+  @Override
+  public void succeeded(long count) {
+    setCount(count);
+    outcome = "success";
+    commit();
+  }
+
+  @Override
+  public void failed(Throwable cause) {
+    outcome = "failure";
+    failure = String.valueOf(cause);
+    commit();
+  }
+
+  /**
+   * Record size of the operation result. Ignored by default.
+   *
+   * @param count size of the operation result
+   */
+  void setCount(long count) {
+  }
+
+  /**
+   * Begin the {@code event} if it's enabled.
+   *
+   * @param event event to begin
+   * @param <E>   type of the event
+   * @return begun event or {@code null} when it's disabled
+   */
+  static <E extends OperationEvent> E begin(E event) {
+    if (!event.isEnabled()) {
+      return null;
+    }
+
+    event.begin();
+    return event;
+  }
+}
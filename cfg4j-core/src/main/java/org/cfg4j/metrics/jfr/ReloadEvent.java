@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Reload of configuration for a single environment.
+ */
+@Name("org.cfg4j.Reload")
+@Label("cfg4j Reload")
+@Description("Reload of configuration for an environment")
+@Category("cfg4j")
+class ReloadEvent extends OperationEvent {
+
+  @Label("Source")
+  Class<?> source;
+
+  @Label("Environment")
+  String environment;
+
+  @Label("Keys")
+  long keys;
+
+  static ReloadEvent start(Class<?> sourceType, String environment) {
+    ReloadEvent event = begin(new ReloadEvent());
+    if (event != null) {
+      event.source = sourceType;
+      event.environment = environment;
+    }
+    return event;
+  }
+
+  @Override
+  void setCount(long count) {
+    keys = count;
+  }
+}
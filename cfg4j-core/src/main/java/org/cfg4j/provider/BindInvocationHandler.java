@@ -22,6 +22,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Invocation handler for proxies created by {@link ConfigurationProvider#bind(String, Class)}. Uses provided
@@ -29,8 +31,11 @@ import java.util.NoSuchElementException;
  */
 class BindInvocationHandler implements InvocationHandler {
 
+  private static final BoundProperty OBJECT_METHOD = new BoundProperty(null, null, null);
+
   private final ConfigurationProvider simpleConfigurationProvider;
   private final String prefix;
+  private final ConcurrentMap<Method, BoundProperty> boundProperties;
 
   /**
    * Create invocation handler which fetches property from given {@code configurationProvider} using call to
@@ -42,6 +47,7 @@ class BindInvocationHandler implements InvocationHandler {
   BindInvocationHandler(ConfigurationProvider configurationProvider, String prefix) {
     this.simpleConfigurationProvider = requireNonNull(configurationProvider);
     this.prefix = requireNonNull(prefix);
+    boundProperties = new ConcurrentHashMap<>();
   }
 
   /**
@@ -53,12 +59,42 @@ class BindInvocationHandler implements InvocationHandler {
    */
   @Override
   public Object invoke(Object proxy, Method method, Object[] args) throws InvocationTargetException, IllegalAccessException {
-    if (isObjectMethod(method)) {
+    BoundProperty boundProperty = boundProperties.get(method);
+    if (boundProperty == null) {
+      boundProperty = boundProperties.computeIfAbsent(method, this::bindProperty);
+    }
+
+    if (boundProperty == OBJECT_METHOD) {
       return method.invoke(this, args);
     }
 
+    // Primitives are read without boxing in the provider, only the proxy boxes the value it returns
+    switch (boundProperty.accessor) {
+      case INT:
+        return simpleConfigurationProvider.getInt(boundProperty.key);
+      case LONG:
+        return simpleConfigurationProvider.getLong(boundProperty.key);
+      case DOUBLE:
+        return simpleConfigurationProvider.getDouble(boundProperty.key);
+      case BOOLEAN:
+        return simpleConfigurationProvider.getBoolean(boundProperty.key);
+      default:
+        return simpleConfigurationProvider.getProperty(boundProperty.key, boundProperty.type);
+    }
+  }
+
+  /**
+   * Resolve configuration key and type for a given {@code method}. Resolved properties are cached, so keys are not
+   * rebuilt on each call.
+   */
+  private BoundProperty bindProperty(Method method) {
+    if (isObjectMethod(method)) {
+      return OBJECT_METHOD;
+    }
+
     final Type returnType = method.getGenericReturnType();
-    return simpleConfigurationProvider.getProperty(prefix + (prefix.isEmpty() ? "" : ".") + method.getName(), () -> returnType);
+    return new BoundProperty(prefix + (prefix.isEmpty() ? "" : ".") + method.getName(), () -> returnType,
+        Accessor.of(method.getReturnType()));
   }
 
   /**
@@ -91,4 +127,40 @@ class BindInvocationHandler implements InvocationHandler {
     return false;
   }
 
+  /**
+   * Configuration property backing a method of the bound interface.
+   */
+  private static class BoundProperty {
+
+    private final String key;
+    private final GenericTypeInterface type;
+    private final Accessor accessor;
+
+    private BoundProperty(String key, GenericTypeInterface type, Accessor accessor) {
+      this.key = key;
+      this.type = type;
+      this.accessor = accessor;
+    }
+  }
+
+  /**
+   * {@link ConfigurationProvider} method used for reading a property.
+   */
+  private enum Accessor {
+    INT, LONG, DOUBLE, BOOLEAN, GENERIC;
+
+    private static Accessor of(Class<?> returnType) {
+      if (returnType == int.class) {
+        return INT;
+      } else if (returnType == long.class) {
+        return LONG;
+      } else if (returnType == double.class) {
+        return DOUBLE;
+      } else if (returnType == boolean.class) {
+        return BOOLEAN;
+      } else {
+        return GENERIC;
+      }
+    }
+  }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.source.snapshot.ConfigurationSnapshotValidator;
+import org.cfg4j.source.snapshot.SnapshotConfigurationSource;
+import org.cfg4j.validator.BindingValidator;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Rejects snapshots that can't be read by an object created by {@link ConfigurationProvider#bind(String, Class)}, so
+ * that a reload never publishes configuration breaking a bound object. Only regressions against the snapshot being
+ * replaced are rejected (see {@link BindingValidator#validate(Class, String, ConfigurationSnapshot, ConfigurationSnapshot)}):
+ * keys that were already invalid when the object was bound (possible with deferred bind validation) don't block
+ * reloads. The bound object is referenced weakly: once it's garbage collected the validator unregisters itself.
+ */
+class BoundTypeSnapshotValidator implements ConfigurationSnapshotValidator {
+
+  private final WeakReference<Object> boundObject;
+  private final Class<?> type;
+  private final String keyPrefix;
+  private final BindingValidator bindingValidator;
+  private final SnapshotConfigurationSource configurationSource;
+  private final Environment environment;
+
+  /**
+   * Create validator for the {@code boundObject}.
+   *
+   * @param boundObject         bound object
+   * @param type                interface of the bound object
+   * @param keyPrefix           prefix of keys read by the bound object, empty string for no prefix
+   * @param bindingValidator    validator to use
+   * @param configurationSource source this validator will be registered with
+   * @param environment         environment this validator will be registered for
+   */
+  BoundTypeSnapshotValidator(Object boundObject, Class<?> type, String keyPrefix, BindingValidator bindingValidator,
+                             SnapshotConfigurationSource configurationSource, Environment environment) {
+    this.boundObject = new WeakReference<>(requireNonNull(boundObject));
+    this.type = requireNonNull(type);
+    this.keyPrefix = requireNonNull(keyPrefix);
+    this.bindingValidator = requireNonNull(bindingValidator);
+    this.configurationSource = requireNonNull(configurationSource);
+    this.environment = requireNonNull(environment);
+  }
+
+  @Override
+  public void validate(ConfigurationSnapshot current, ConfigurationSnapshot candidate) {
+    if (boundObject.get() == null) {
+      configurationSource.removeSnapshotValidator(environment, this);
+      return;
+    }
+
+    bindingValidator.validate(type, keyPrefix, candidate, current);
+  }
+
+  @Override
+  public String toString() {
+    return "BoundTypeSnapshotValidator{" +
+        "type=" + type +
+        ", keyPrefix='" + keyPrefix + '\'' +
+        '}';
+  }
+}
@@ -15,13 +15,21 @@
  */
 package org.cfg4j.provider;
 
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.snapshot.ConfigurationChange;
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+
 import java.io.File;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
 import java.net.URL;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -29,6 +37,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.TreeMap;
 
 /**
  * Provides access to configuration on a single property level, aggregated and through binding in a format agnostic way.
@@ -43,6 +52,74 @@ public interface ConfigurationProvider {
    */
   Properties allConfigurationAsProperties();
 
+  /**
+   * Get a read-only view of configuration keys under a given {@code prefix}, i.e. keys starting with
+   * "{@code prefix}." (e.g. "db.pool" covers "db.pool.size" and "db.pool.timeout" but not "db.poolSize"). Keys in the
+   * view are full keys as accepted by {@link #getProperty(String, Class)}. The view reflects configuration at the time
+   * of the call and doesn't change on reload. When the underlying source keeps configuration snapshots the view is
+   * created without copying configuration. The default implementation copies matching keys of
+   * {@link #allConfigurationAsProperties()}.
+   *
+   * @param prefix key prefix without the trailing dot, empty string for all keys
+   * @return view of configuration under {@code prefix}
+   * @throws IllegalStateException when provider is unable to fetch configuration
+   */
+  default Map<String, String> allConfigurationUnder(String prefix) {
+    requireNonNull(prefix);
+
+    String keyPrefix = prefix + ".";
+    SortedMap<String, String> configuration = new TreeMap<>();
+    for (Map.Entry<Object, Object> entry : allConfigurationAsProperties().entrySet()) {
+      String key = entry.getKey().toString();
+      if (prefix.isEmpty() || key.startsWith(keyPrefix)) {
+        configuration.put(key, entry.getValue().toString());
+      }
+    }
+
+    return Collections.unmodifiableSortedMap(configuration);
+  }
+
+  /**
+   * Get a provider scoped to configuration keys under a given {@code prefix}. Keys passed to the returned provider are
+   * relative to {@code prefix}, e.g. {@code forPrefix("db.pool").getProperty("size", int.class)} reads "db.pool.size".
+   * The returned provider is lightweight (it shares configuration with this provider and follows its reloads) and
+   * doesn't build full keys when resolving properties of sources that keep configuration snapshots. The default
+   * implementation wraps this provider and prepends {@code prefix} to keys.
+   *
+   * @param prefix key prefix without the trailing dot (e.g. "db.pool"), empty string for this provider's keys
+   * @return provider scoped to {@code prefix}
+   */
+  default ConfigurationProvider forPrefix(String prefix) {
+    requireNonNull(prefix);
+
+    return prefix.isEmpty() ? this : new PrefixedConfigurationProvider(this, prefix);
+  }
+
+  /**
+   * Register a {@code listener} notified after each reload that adds, removes or changes keys under a given
+   * {@code prefix}. The listener receives only keys under {@code prefix}, relative to it (see
+   * {@link ConfigurationChange#forPrefix(String)}). Listeners are called on the reloading thread.
+   *
+   * @param prefix   key prefix without the trailing dot, empty string for all keys
+   * @param listener listener to notify
+   * @throws UnsupportedOperationException when the underlying configuration source doesn't support change listeners
+   *                                       (the default implementation always throws)
+   */
+  default void addChangeListener(String prefix, ConfigurationChangeListener listener) {
+    throw new UnsupportedOperationException("Change listeners are not supported by " + this);
+  }
+
+  /**
+   * Unregister a {@code listener} registered with {@link #addChangeListener(String, ConfigurationChangeListener)}.
+   *
+   * @param listener listener to remove
+   * @throws UnsupportedOperationException when the underlying configuration source doesn't support change listeners
+   *                                       (the default implementation always throws)
+   */
+  default void removeChangeListener(ConfigurationChangeListener listener) {
+    throw new UnsupportedOperationException("Change listeners are not supported by " + this);
+  }
+
   /**
    * Get a configuration property of a given basic {@code type}. Sample call could look like:
    * <pre>
@@ -65,7 +142,8 @@ public interface ConfigurationProvider {
   /**
    * Get a configuration property of a generic type {@code T}. Sample call could look like:
    * <pre>
-   *   List&lt;String&gt; myListProperty = configurationProvider.getProperty("my.list", new GenericType&lt;List&lt;String&gt;&gt;() { });
+   *   List&lt;String&gt; myListProperty = configurationProvider.getProperty("my.list",
+   *       new GenericType&lt;List&lt;String&gt;&gt;() { });
    * </pre>
    *
    * @param <T>         property type. Supported collections (and most of their standard implementations): {@link Collection},
@@ -79,11 +157,115 @@ public interface ConfigurationProvider {
    */
   <T> T getProperty(String key, GenericTypeInterface genericType);
 
+  /**
+   * Get a configuration property as an int. Same as {@code getProperty(key, int.class)} but without boxing: providers
+   * backed by configuration snapshots parse each value once and don't allocate on subsequent reads.
+   *
+   * @param key configuration key
+   * @return configuration value
+   * @throws NoSuchElementException   when the provided {@code key} doesn't have a corresponding config value
+   * @throws IllegalArgumentException when property can't be converted to {@code int}
+   * @throws IllegalStateException    when provider is unable to fetch configuration value for the given {@code key}
+   */
+  default int getInt(String key) {
+    return getProperty(key, int.class);
+  }
+
+  /**
+   * Get a configuration property as a long. Same as {@code getProperty(key, long.class)} but without boxing: providers
+   * backed by configuration snapshots parse each value once and don't allocate on subsequent reads.
+   *
+   * @param key configuration key
+   * @return configuration value
+   * @throws NoSuchElementException   when the provided {@code key} doesn't have a corresponding config value
+   * @throws IllegalArgumentException when property can't be converted to {@code long}
+   * @throws IllegalStateException    when provider is unable to fetch configuration value for the given {@code key}
+   */
+  default long getLong(String key) {
+    return getProperty(key, long.class);
+  }
+
+  /**
+   * Get a configuration property as a double. Same as {@code getProperty(key, double.class)} but without boxing:
+   * providers backed by configuration snapshots parse each value once and don't allocate on subsequent reads.
+   *
+   * @param key configuration key
+   * @return configuration value
+   * @throws NoSuchElementException   when the provided {@code key} doesn't have a corresponding config value
+   * @throws IllegalArgumentException when property can't be converted to {@code double}
+   * @throws IllegalStateException    when provider is unable to fetch configuration value for the given {@code key}
+   */
+  default double getDouble(String key) {
+    return getProperty(key, double.class);
+  }
+
+  /**
+   * Get a configuration property as a boolean. Same as {@code getProperty(key, boolean.class)} but without boxing:
+   * providers backed by configuration snapshots parse each value once and don't allocate on subsequent reads.
+   *
+   * @param key configuration key
+   * @return configuration value
+   * @throws NoSuchElementException   when the provided {@code key} doesn't have a corresponding config value
+   * @throws IllegalArgumentException when property can't be converted to {@code boolean}
+   * @throws IllegalStateException    when provider is unable to fetch configuration value for the given {@code key}
+   */
+  default boolean getBoolean(String key) {
+    return getProperty(key, boolean.class);
+  }
+
+  /**
+   * Get values of all properties of a given {@code batch} at once. Sample call could look like:
+   * <pre>
+   *   PropertyValues values = configurationProvider.getProperties(batch);
+   *   int poolSize = values.get("db.pool.size");
+   * </pre>
+   * Providers backed by configuration snapshots resolve the whole batch against a single snapshot, so the values are
+   * consistent with each other even when configuration is reloaded in the meantime.
+   *
+   * @param batch keys and types of properties to get
+   * @return values of the properties, in batch order
+   * @throws NoSuchElementException   when one of the keys doesn't have a corresponding config value
+   * @throws IllegalArgumentException when one of the properties can't be converted to its type
+   * @throws IllegalStateException    when provider is unable to fetch configuration
+   */
+  default PropertyValues getProperties(PropertyBatch batch) {
+    Object[] values = new Object[batch.size()];
+    for (int i = 0; i < values.length; i++) {
+      Type type = batch.type(i);
+      values[i] = type instanceof Class
+          ? getProperty(batch.key(i), (Class<?>) type)
+          : getProperty(batch.key(i), (GenericTypeInterface) () -> type);
+    }
+
+    return new PropertyValues(batch, values);
+  }
+
+  /**
+   * Get a provider pinned to the current configuration. The returned provider is cheap to create and reads a single
+   * configuration snapshot: consecutive reads (including reads of objects bound to it) are consistent with each other
+   * even when configuration is reloaded in the meantime. Sample use could look like:
+   * <pre>
+   *   PinnedConfigurationProvider snapshot = configurationProvider.snapshot();
+   *   if (snapshot.getGeneration() != cachedGeneration) {
+   *     cachedClient = new Client(snapshot.getProperty("client.url", URL.class), snapshot.getInt("client.timeout"));
+   *     cachedGeneration = snapshot.getGeneration();
+   *   }
+   * </pre>
+   * The default implementation pins a copy of {@link #allConfigurationAsProperties()}.
+   *
+   * @return provider pinned to the current configuration
+   * @throws IllegalStateException when provider is unable to fetch configuration
+   */
+  default PinnedConfigurationProvider snapshot() {
+    return SimplePinnedConfigurationProvider.of(ConfigurationSnapshot.of(allConfigurationAsProperties()));
+  }
+
   /**
    * Create an instance of a given {@code type} that will be bound to this provider. Each time configuration changes the
    * bound object will be updated with the new values. Use {@code prefix} to specify the relative path to configuration
    * values. Please note that each method of returned object can throw runtime exceptions. For details see javadoc for
-   * {@link BindInvocationHandler#invoke(Object, Method, Object[])}.
+   * {@link BindInvocationHandler#invoke(Object, Method, Object[])}. Methods returning {@code int}, {@code long},
+   * {@code double} or {@code boolean} read their values with {@link #getInt(String)}, {@link #getLong(String)}, etc.
    *
    * @param <T>    interface describing configuration object to bind
    * @param prefix relative path to configuration values (e.g. "myContext" will map settings "myContext.someSetting",
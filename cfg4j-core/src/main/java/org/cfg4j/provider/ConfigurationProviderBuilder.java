@@ -18,20 +18,39 @@ package org.cfg4j.provider;
 import static java.util.Objects.requireNonNull;
 
 import com.codahale.metrics.MetricRegistry;
-import com.codahale.metrics.Timer;
+import org.cfg4j.metrics.Counter;
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.metrics.Timer;
+import org.cfg4j.metrics.dropwizard.DropwizardMetricsBackend;
 import org.cfg4j.source.ConfigurationSource;
 import org.cfg4j.source.context.environment.DefaultEnvironment;
 import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.cfg4j.source.context.propertiesprovider.MeteredPropertiesProvider;
 import org.cfg4j.source.empty.EmptyConfigurationSource;
 import org.cfg4j.source.metered.MeteredConfigurationSource;
 import org.cfg4j.source.reload.CachedConfigurationSource;
+import org.cfg4j.source.reload.CoalescingReloadable;
+import org.cfg4j.source.reload.MeteredReloadPhaseListener;
 import org.cfg4j.source.reload.MeteredReloadable;
 import org.cfg4j.source.reload.ReloadStrategy;
+import org.cfg4j.source.reload.ReloadPhase;
 import org.cfg4j.source.reload.Reloadable;
 import org.cfg4j.source.reload.strategy.ImmediateReloadStrategy;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.source.snapshot.FileSnapshotStore;
+import org.cfg4j.validator.BindingValidator;
+import org.cfg4j.validator.DeferredBindingValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * A builder producing {@link ConfigurationProvider}s. If you don't specify the value for one the fields
  * then the default value will be provided - read the constructor's documentation to learn
@@ -44,8 +63,17 @@ public class ConfigurationProviderBuilder {
   private ConfigurationSource configurationSource;
   private ReloadStrategy reloadStrategy;
   private Environment environment;
-  private MetricRegistry metricRegistry;
+  private MetricsBackend metricsBackend;
   private String prefix;
+  private long reloadQuietWindow;
+  private long reloadMaxDelay;
+  private TimeUnit reloadCoalescingTimeUnit;
+  private Properties bootstrapConfiguration;
+  private FileSnapshotStore snapshotStore;
+  private int latencySampleRate;
+  private boolean perKeyMetrics;
+  private KeyAccessTracker keyAccessTracker;
+  private Executor bindValidationExecutor;
 
   /**
    * Construct {@link ConfigurationProvider}s builder.
@@ -56,6 +84,13 @@ public class ConfigurationProviderBuilder {
    * <li>ReloadStrategy: {@link ImmediateReloadStrategy}</li>
    * <li>Environment: {@link DefaultEnvironment}</li>
    * <li>Metrics: disabled</li>
+   * <li>Metrics latency sample rate: 1 (every property read is timed)</li>
+   * <li>Per-key metrics: disabled</li>
+   * <li>Key access tracking: disabled</li>
+   * <li>Bind validation: immediate (at bind time)</li>
+   * <li>Reload coalescing: disabled</li>
+   * <li>Bootstrap configuration: none</li>
+   * <li>Snapshot store: none</li>
    * </ul>
    */
   public ConfigurationProviderBuilder() {
@@ -63,6 +98,7 @@ public class ConfigurationProviderBuilder {
     reloadStrategy = new ImmediateReloadStrategy();
     environment = new DefaultEnvironment();
     prefix = "";
+    latencySampleRate = 1;
   }
 
   /**
@@ -100,7 +136,21 @@ public class ConfigurationProviderBuilder {
 
   /**
    * Enable metrics emission for {@link ConfigurationProvider}s built by this builder. All metrics will be registered
-   * with {@code metricRegistry} and prefixed by {@code prefix}. Provider built by this builder will emit the following metrics:
+   * with {@code metricRegistry} and prefixed by {@code prefix}. Same as {@link #withMetricsBackend(MetricsBackend, String)}
+   * with {@link DropwizardMetricsBackend}.
+   *
+   * @param metricRegistry metric registry for registering metrics
+   * @param prefix         prefix for metric names
+   * @return this builder
+   */
+  public ConfigurationProviderBuilder withMetrics(MetricRegistry metricRegistry, String prefix) {
+    return withMetricsBackend(metricRegistry == null ? null : new DropwizardMetricsBackend(metricRegistry), prefix);
+  }
+
+  /**
+   * Enable metrics emission for {@link ConfigurationProvider}s built by this builder. All metrics will be registered
+   * with {@code metricsBackend} and prefixed by {@code prefix}. With {@link MetricsBackend#noop()} metrics are disabled
+   * and providers aren't decorated with metering at all. Provider built by this builder will emit the following metrics:
    * <p>Provider-level metrics:</p>
    * <ul>
    * <li>allConfigurationAsProperties</li>
@@ -112,51 +162,355 @@ public class ConfigurationProviderBuilder {
    * <ul>
    * <li>source.getConfiguration</li>
    * <li>source.init</li>
-   * <li>source.reload</li>
+   * <li>reloadable.reload</li>
+   * </ul>
+   * <p>Reload phase metrics (see {@link ReloadPhase})</p>
+   * <ul>
+   * <li>reloadable.fetch</li>
+   * <li>reloadable.merge</li>
+   * <li>reloadable.publish</li>
+   * </ul>
+   * Each of those metrics is of {@link Timer} type (with Dropwizard Metrics it includes execution time percentiles,
+   * execution count, etc.)
+   * <p>Reload health and snapshot gauges:</p>
+   * <ul>
+   * <li>reloadable.consecutiveFailures</li>
+   * <li>reloadable.millisSinceLastSuccess</li>
+   * <li>snapshot.keys (not emitted by {@link MultiEnvironmentConfigurationProvider}s)</li>
+   * <li>snapshot.bytes (estimated, not emitted by {@link MultiEnvironmentConfigurationProvider}s)</li>
+   * </ul>
+   * To break down reload time by child sources or by file format wrap them in {@link MeteredConfigurationSource} and
+   * {@link MeteredPropertiesProvider} respectively.
+   * <p>With {@link #withMetricsSampling(int)} getProperty and getPropertyGeneric are replaced by cheaper metrics:</p>
+   * <ul>
+   * <li>getProperty.calls, getPropertyGeneric.calls ({@link Counter})</li>
+   * <li>getProperty.misses, getPropertyGeneric.misses ({@link Counter})</li>
+   * <li>getProperty.sampled, getPropertyGeneric.sampled ({@link Timer} of sampled calls)</li>
+   * </ul>
+   * <p>With {@link #withPerKeyMetrics(boolean)} successful reads of each key are counted as well:</p>
+   * <ul>
+   * <li>getProperty.keys.&lt;key&gt;, getPropertyGeneric.keys.&lt;key&gt; ({@link Counter})</li>
    * </ul>
-   * Each of those metrics is of {@link Timer} type (i.e. includes execution time percentiles, execution count, etc.)
+   * <p>When reload coalescing is enabled the following gauges are emitted as well:</p>
+   * <ul>
+   * <li>reloadable.executedReloads</li>
+   * <li>reloadable.coalescedRequests</li>
+   * </ul>
+   * Gauges are registered once per name: providers sharing a metrics backend and a prefix report gauge values of the
+   * provider built first, so use a distinct prefix for each provider that should be monitored separately.
    *
-   * @param metricRegistry metric registry for registering metrics
+   * @param metricsBackend backend for registering metrics
    * @param prefix         prefix for metric names
    * @return this builder
    */
-  public ConfigurationProviderBuilder withMetrics(MetricRegistry metricRegistry, String prefix) {
+  public ConfigurationProviderBuilder withMetricsBackend(MetricsBackend metricsBackend, String prefix) {
     this.prefix = requireNonNull(prefix);
-    this.metricRegistry = metricRegistry;
+    this.metricsBackend = metricsBackend == MetricsBackend.noop() ? null : metricsBackend;
+    return this;
+  }
+
+  /**
+   * Meter property reads of {@link ConfigurationProvider}s built by this builder with low overhead: count calls and
+   * misses with striped counters and time only 1 in {@code latencySampleRate} calls (on average) instead of timing
+   * every call. Timing a call costs two clock reads and a reservoir update, which can exceed the cost of the lookup
+   * itself. Has effect only when metrics are enabled (see {@link #withMetricsBackend(MetricsBackend, String)}).
+   *
+   * @param latencySampleRate time 1 in {@code latencySampleRate} property reads (1 times all of them)
+   * @return this builder
+   */
+  public ConfigurationProviderBuilder withMetricsSampling(int latencySampleRate) {
+    this.latencySampleRate = latencySampleRate;
+    return this;
+  }
+
+  /**
+   * Count reads of each configuration key of {@link ConfigurationProvider}s built by this builder. Only successful reads
+   * are counted, so reads of missing keys don't create new metrics. Has effect only when metrics are enabled (see
+   * {@link #withMetricsBackend(MetricsBackend, String)}).
+   *
+   * @param perKeyMetrics whether to count reads of each key
+   * @return this builder
+   */
+  public ConfigurationProviderBuilder withPerKeyMetrics(boolean perKeyMetrics) {
+    this.perKeyMetrics = perKeyMetrics;
     return this;
   }
 
   /**
-   * Build a {@link ConfigurationProvider} using this builder's configuration.
+   * Record reads of configuration keys of {@link ConfigurationProvider}s built by this builder (including calls to
+   * bound objects, excluding their validation at bind time) in {@code keyAccessTracker}. Use it to find the most read
+   * keys and keys that are never read. See {@link KeyAccessTracker}.
+   *
+   * @param keyAccessTracker tracker to record key reads in
+   * @return this builder
+   */
+  public ConfigurationProviderBuilder withKeyAccessTracking(KeyAccessTracker keyAccessTracker) {
+    this.keyAccessTracker = keyAccessTracker;
+    return this;
+  }
+
+  /**
+   * Validate configuration of objects bound by {@link ConfigurationProvider}s built by this builder in the background
+   * using {@code executor} instead of at bind time, so that binding doesn't slow down the application startup.
+   * {@link ConfigurationProvider#bind(String, Class)} then returns without checking the configuration. Invalid
+   * configuration is logged and counted by the bind.deferredValidationFailures metric (when metrics are enabled). See
+   * {@link DeferredBindingValidator}.
+   *
+   * @param executor executor to run validations on, null to validate at bind time
+   * @return this builder
+   */
+  public ConfigurationProviderBuilder withDeferredBindValidation(Executor executor) {
+    this.bindValidationExecutor = executor;
+    return this;
+  }
+
+  /**
+   * Coalesce reload requests issued by the {@link ReloadStrategy} of {@link ConfigurationProvider}s built by this
+   * builder: bursts of requests are collapsed into a single reload that runs once no new request arrived for
+   * {@code quietWindow} (but not later than {@code maxDelay} after the first request), reloads never run concurrently
+   * and at most one reload is queued. See {@link CoalescingReloadable}.
+   *
+   * @param quietWindow time without new requests after which the reload runs
+   * @param maxDelay    maximum delay of a reload after the first request it serves
+   * @param timeUnit    time unit of {@code quietWindow} and {@code maxDelay}
+   * @return this builder
+   */
+  public ConfigurationProviderBuilder withReloadCoalescing(long quietWindow, long maxDelay, TimeUnit timeUnit) {
+    this.reloadQuietWindow = quietWindow;
+    this.reloadMaxDelay = maxDelay;
+    this.reloadCoalescingTimeUnit = requireNonNull(timeUnit);
+    return this;
+  }
+
+  /**
+   * Set configuration served by {@link ConfigurationProvider}s built by this builder until the configuration is
+   * loaded from the source (e.g. the last known configuration or safe defaults). With bootstrap configuration
+   * {@link #build()} doesn't fail when the source can't be initialized or loaded, {@link #buildAsync()} doesn't
+   * wait for it. Takes precedence over the snapshot stored in {@link #withSnapshotStore(FileSnapshotStore)}.
+   *
+   * @param bootstrapConfiguration configuration to serve until the configuration is loaded
+   * @return this builder
+   */
+  public ConfigurationProviderBuilder withBootstrapConfiguration(Properties bootstrapConfiguration) {
+    this.bootstrapConfiguration = bootstrapConfiguration;
+    return this;
+  }
+
+  /**
+   * Persist configuration of {@link ConfigurationProvider}s built by this builder in {@code snapshotStore}. The
+   * snapshot is written after each reload that changed the configuration. When the store holds a valid snapshot at
+   * build time it's used as the bootstrap configuration (see {@link #withBootstrapConfiguration(Properties)}), so
+   * the provider starts from the last known configuration even when the source is slow or unavailable.
+   *
+   * @param snapshotStore store to persist configuration in
+   * @return this builder
+   */
+  public ConfigurationProviderBuilder withSnapshotStore(FileSnapshotStore snapshotStore) {
+    this.snapshotStore = snapshotStore;
+    return this;
+  }
+
+  /**
+   * Build a {@link ConfigurationProvider} using this builder's configuration. Blocks until the configuration source
+   * is initialized and the configuration is loaded. When bootstrap configuration is available failures to do so are
+   * logged and the provider serves the bootstrap configuration.
    *
    * @return new {@link ConfigurationProvider}
+   * @throws IllegalStateException when unable to initialize the source or load the configuration (and no bootstrap
+   *                               configuration is available)
    */
   public ConfigurationProvider build() {
+    ProviderInitialization initialization = prepare();
+    initialization.run();
+
+    return initialization.configurationProvider;
+  }
+
+  /**
+   * Build a {@link ConfigurationProvider} using this builder's configuration without blocking the calling thread.
+   * The configuration source is initialized and the configuration is loaded (exactly once, by the
+   * {@link ReloadStrategy} when it reloads on registration) on a new daemon thread.
+   * <p>
+   * Without bootstrap configuration the returned future completes when the configuration is loaded. With bootstrap
+   * configuration (see {@link #withBootstrapConfiguration(Properties)} and
+   * {@link #withSnapshotStore(FileSnapshotStore)}) it completes immediately with a provider serving the bootstrap
+   * configuration until the loaded one replaces it; a failure of the initial load is then only logged.
+   *
+   * @return future completed with a new {@link ConfigurationProvider}
+   */
+  public CompletableFuture<ConfigurationProvider> buildAsync() {
+    return buildAsync(runnable -> {
+      Thread thread = new Thread(runnable, "cfg4j-provider-init");
+      thread.setDaemon(true);
+      thread.start();
+    });
+  }
+
+  /**
+   * Same as {@link #buildAsync()} but initializes the provider using {@code executor}.
+   *
+   * @param executor executor to initialize the provider with
+   * @return future completed with a new {@link ConfigurationProvider}
+   */
+  public CompletableFuture<ConfigurationProvider> buildAsync(Executor executor) {
+    ProviderInitialization initialization = prepare();
+    CompletableFuture<Void> initialized = CompletableFuture.runAsync(initialization, executor);
+
+    if (!initialization.bootstrapped) {
+      return initialized.thenApply(ignored -> initialization.configurationProvider);
+    }
+
+    return CompletableFuture.completedFuture(initialization.configurationProvider);
+  }
+
+  private ProviderInitialization prepare() {
     LOG.info("Initializing ConfigurationProvider with "
         + configurationSource.getClass().getCanonicalName() + " source, "
         + reloadStrategy.getClass().getCanonicalName() + " reload strategy and "
         + environment.getClass().getCanonicalName() + " environment");
 
     final CachedConfigurationSource cachedConfigurationSource = new CachedConfigurationSource(configurationSource);
-    if (metricRegistry != null) {
-      configurationSource = new MeteredConfigurationSource(metricRegistry, prefix, cachedConfigurationSource);
+    if (metricsBackend != null) {
+      configurationSource = new MeteredConfigurationSource(metricsBackend, prefix, cachedConfigurationSource);
+      cachedConfigurationSource.addReloadPhaseListener(new MeteredReloadPhaseListener(metricsBackend, prefix));
+      registerSnapshotGauges(cachedConfigurationSource, environment);
+    }
+    ConfigurationSnapshot bootstrapSnapshot = bootstrapSnapshot();
+    if (bootstrapSnapshot != null) {
+      cachedConfigurationSource.bootstrap(environment, bootstrapSnapshot);
+    }
+
+    final FileSnapshotStore snapshotStore = this.snapshotStore;
+    final AtomicReference<ConfigurationSnapshot> persistedSnapshot = new AtomicReference<>(bootstrapSnapshot);
+    final AtomicBoolean loaded = new AtomicBoolean();
+    Reloadable reloadable = () -> {
+      cachedConfigurationSource.reload(environment);
+      loaded.set(true);
+
+      if (snapshotStore != null) {
+        persist(snapshotStore, cachedConfigurationSource.getSnapshot(environment), persistedSnapshot);
+      }
+    };
+
+    if (metricsBackend != null) {
+      reloadable = new MeteredReloadable(metricsBackend, prefix, reloadable);
+    }
+
+    SimpleConfigurationProvider simpleConfigurationProvider = new SimpleConfigurationProvider(cachedConfigurationSource, environment,
+        keyAccessTracker, bindingValidator());
+    ConfigurationProvider configurationProvider = metricsBackend == null
+        ? simpleConfigurationProvider
+        : new MeteredConfigurationProvider(metricsBackend, prefix, simpleConfigurationProvider, latencySampleRate,
+        perKeyMetrics);
+
+    return new ProviderInitialization(cachedConfigurationSource, reloadStrategy, reloadable, coalesced(reloadable),
+        loaded, bootstrapSnapshot != null, configurationProvider);
+  }
+
+  private BindingValidator bindingValidator() {
+    if (bindValidationExecutor == null) {
+      return new BindingValidator();
+    }
+
+    return new DeferredBindingValidator(bindValidationExecutor,
+        metricsBackend == null ? MetricsBackend.noop() : metricsBackend, prefix);
+  }
+
+  private void registerSnapshotGauges(CachedConfigurationSource cachedConfigurationSource, Environment environment) {
+    metricsBackend.gauge(prefix + "snapshot.keys",
+        () -> currentSnapshot(cachedConfigurationSource, environment).size());
+    metricsBackend.gauge(prefix + "snapshot.bytes",
+        () -> currentSnapshot(cachedConfigurationSource, environment).estimatedSizeInBytes());
+  }
+
+  private static ConfigurationSnapshot currentSnapshot(CachedConfigurationSource cachedConfigurationSource,
+                                                       Environment environment) {
+    try {
+      return cachedConfigurationSource.getSnapshot(environment);
+    } catch (MissingEnvironmentException e) {
+      return ConfigurationSnapshot.empty();
+    }
+  }
+
+  private ConfigurationSnapshot bootstrapSnapshot() {
+    if (bootstrapConfiguration != null) {
+      return ConfigurationSnapshot.of(bootstrapConfiguration);
+    }
+
+    if (snapshotStore != null && snapshotStore.exists()) {
+      try {
+        ConfigurationSnapshot snapshot = snapshotStore.read();
+        LOG.info("Loaded configuration snapshot with " + snapshot.size() + " keys from " + snapshotStore);
+        return snapshot;
+      } catch (IllegalStateException e) {
+        LOG.warn("Ignoring unreadable configuration snapshot", e);
+      }
+    }
+
+    return null;
+  }
+
+  private static void persist(FileSnapshotStore snapshotStore, ConfigurationSnapshot snapshot,
+                              AtomicReference<ConfigurationSnapshot> persistedSnapshot) {
+    ConfigurationSnapshot persisted = persistedSnapshot.get();
+    if (persisted == snapshot || !persistedSnapshot.compareAndSet(persisted, snapshot)) {
+      return;
+    }
+
+    try {
+      snapshotStore.write(snapshot);
+    } catch (IllegalStateException e) {
+      persistedSnapshot.compareAndSet(snapshot, null);
+      LOG.warn("Unable to persist configuration snapshot", e);
+    }
+  }
+
+  /**
+   * Build a {@link MultiEnvironmentConfigurationProvider} using this builder's configuration. All environments share a
+   * single configuration source, a cache holding at most {@code maxCachedEnvironments} environments (least recently
+   * used ones are evicted) and a single reload strategy registration that reloads all cached environments at once.
+   * Environments are loaded on first access, so the environment set with {@link #withEnvironment(Environment)} is not
+   * used.
+   *
+   * @param maxCachedEnvironments maximum number of environments to keep in cache
+   * @return new {@link MultiEnvironmentConfigurationProvider}
+   */
+  public MultiEnvironmentConfigurationProvider buildMultiEnvironment(int maxCachedEnvironments) {
+    LOG.info("Initializing MultiEnvironmentConfigurationProvider with "
+        + configurationSource.getClass().getCanonicalName() + " source and "
+        + reloadStrategy.getClass().getCanonicalName() + " reload strategy caching up to "
+        + maxCachedEnvironments + " environments");
+
+    final CachedConfigurationSource cachedConfigurationSource = new CachedConfigurationSource(configurationSource, maxCachedEnvironments);
+    if (metricsBackend != null) {
+      cachedConfigurationSource.addReloadPhaseListener(new MeteredReloadPhaseListener(metricsBackend, prefix));
     }
     cachedConfigurationSource.init();
 
-    Reloadable reloadable = () -> cachedConfigurationSource.reload(environment);
+    Reloadable reloadable = cachedConfigurationSource::reloadAll;
+
+    if (metricsBackend != null) {
+      reloadable = new MeteredReloadable(metricsBackend, prefix, reloadable);
+    }
+    reloadStrategy.register(coalesced(reloadable));
+
+    return new SimpleMultiEnvironmentConfigurationProvider(cachedConfigurationSource, metricsBackend, prefix);
+  }
 
-    if (metricRegistry != null) {
-      reloadable = new MeteredReloadable(metricRegistry, prefix, reloadable);
+  private Reloadable coalesced(Reloadable reloadable) {
+    if (reloadCoalescingTimeUnit == null) {
+      return reloadable;
     }
-    reloadable.reload();
-    reloadStrategy.register(reloadable);
 
-    SimpleConfigurationProvider configurationProvider = new SimpleConfigurationProvider(cachedConfigurationSource, environment);
-    if (metricRegistry != null) {
-      return new MeteredConfigurationProvider(metricRegistry, prefix, configurationProvider);
+    CoalescingReloadable coalescingReloadable = new CoalescingReloadable(reloadable, reloadQuietWindow, reloadMaxDelay,
+        reloadCoalescingTimeUnit);
+
+    if (metricsBackend != null) {
+      metricsBackend.gauge(prefix + "reloadable.executedReloads", coalescingReloadable::getExecutedReloads);
+      metricsBackend.gauge(prefix + "reloadable.coalescedRequests", coalescingReloadable::getCoalescedRequests);
     }
 
-    return configurationProvider;
+    return coalescingReloadable;
   }
 
   @Override
@@ -165,8 +519,98 @@ public class ConfigurationProviderBuilder {
         "configurationSource=" + configurationSource +
         ", reloadStrategy=" + reloadStrategy +
         ", environment=" + environment +
-        ", metricRegistry=" + metricRegistry +
+        ", metricsBackend=" + metricsBackend +
         ", prefix='" + prefix + '\'' +
+        ", reloadQuietWindow=" + reloadQuietWindow +
+        ", reloadMaxDelay=" + reloadMaxDelay +
+        ", reloadCoalescingTimeUnit=" + reloadCoalescingTimeUnit +
+        ", bootstrapConfiguration=" + bootstrapConfiguration +
+        ", snapshotStore=" + snapshotStore +
+        ", latencySampleRate=" + latencySampleRate +
+        ", perKeyMetrics=" + perKeyMetrics +
+        ", keyAccessTracker=" + keyAccessTracker +
+        ", bindValidationExecutor=" + bindValidationExecutor +
         '}';
   }
+
+  /**
+   * Initialization of a provider: initializes the source, registers the resource with the {@link ReloadStrategy} and
+   * loads the configuration unless the strategy did so on registration. Failures are tolerated (logged) when the
+   * provider has bootstrap configuration to serve; a source that failed to initialize is registered for reloads that
+   * retry the initialization until it succeeds, so the provider picks up the source once it's available.
+   */
+  private static class ProviderInitialization implements Runnable {
+
+    private final CachedConfigurationSource cachedConfigurationSource;
+    private final ReloadStrategy reloadStrategy;
+    private final Reloadable reloadable;
+    private final Reloadable registeredReloadable;
+    private final AtomicBoolean loaded;
+    private final boolean bootstrapped;
+    private final ConfigurationProvider configurationProvider;
+
+    private ProviderInitialization(CachedConfigurationSource cachedConfigurationSource, ReloadStrategy reloadStrategy,
+                                   Reloadable reloadable, Reloadable registeredReloadable, AtomicBoolean loaded,
+                                   boolean bootstrapped, ConfigurationProvider configurationProvider) {
+      this.cachedConfigurationSource = cachedConfigurationSource;
+      this.reloadStrategy = reloadStrategy;
+      this.reloadable = reloadable;
+      this.registeredReloadable = registeredReloadable;
+      this.loaded = loaded;
+      this.bootstrapped = bootstrapped;
+      this.configurationProvider = configurationProvider;
+    }
+
+    @Override
+    public void run() {
+      boolean initialized = false;
+      try {
+        cachedConfigurationSource.init();
+        initialized = true;
+      } catch (RuntimeException e) {
+        if (!bootstrapped) {
+          throw e;
+        }
+
+        LOG.warn("Unable to initialize configuration source, serving bootstrap configuration until it's initialized", e);
+      }
+
+      Reloadable resource = initialized ? registeredReloadable : initializing(registeredReloadable);
+      try {
+        reloadStrategy.register(resource);
+
+        if (initialized && !loaded.get()) {
+          reloadable.reload();
+        }
+      } catch (RuntimeException e) {
+        if (!bootstrapped) {
+          reloadStrategy.deregister(resource);
+          throw e;
+        }
+
+        LOG.warn("Unable to load configuration, serving bootstrap configuration until the next successful reload", e);
+      }
+    }
+
+    /**
+     * Wrap {@code resource} so that each reload first retries initialization of the source, until it succeeds.
+     */
+    private Reloadable initializing(Reloadable resource) {
+      AtomicBoolean initialized = new AtomicBoolean();
+
+      return () -> {
+        if (!initialized.get()) {
+          synchronized (initialized) {
+            if (!initialized.get()) {
+              cachedConfigurationSource.init();
+              initialized.set(true);
+              LOG.info("Configuration source initialized after an earlier failure");
+            }
+          }
+        }
+
+        resource.reload();
+      };
+    }
+  }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks reads of configuration keys through a {@link ConfigurationProvider} (including calls to bound objects) to find
+ * hot keys worth caching and keys that are never read and can be removed from the configuration. Reads are counted
+ * per key with striped {@link LongAdder}s, so tracking doesn't contend between reader threads; a read of a key that
+ * has been read before doesn't allocate. Only reads of existing keys are counted.
+ * <p>
+ * Enable tracking with {@link ConfigurationProviderBuilder#withKeyAccessTracking(KeyAccessTracker)}. A single tracker
+ * can be shared by multiple providers.
+ */
+public final class KeyAccessTracker {
+
+  private final ConcurrentMap<String, LongAdder> readCounts;
+  private final ConcurrentMap<String, Set<String>> boundTypes;
+  private final String keyPrefix;
+  private final ConcurrentMap<String, LongAdder> scopedReadCounts;
+
+  /**
+   * Create a tracker with no reads recorded.
+   */
+  public KeyAccessTracker() {
+    this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), "");
+  }
+
+  private KeyAccessTracker(ConcurrentMap<String, LongAdder> readCounts, ConcurrentMap<String, Set<String>> boundTypes,
+                           String keyPrefix) {
+    this.readCounts = readCounts;
+    this.boundTypes = boundTypes;
+    this.keyPrefix = keyPrefix;
+    scopedReadCounts = keyPrefix.isEmpty() ? readCounts : new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Get number of reads of a given {@code key}.
+   *
+   * @param key configuration key
+   * @return number of reads of {@code key} since tracking started
+   */
+  public long getReadCount(String key) {
+    LongAdder counter = readCounts.get(requireNonNull(key));
+    return counter == null ? 0 : counter.sum();
+  }
+
+  /**
+   * Get at most {@code limit} most read keys.
+   *
+   * @param limit maximum number of keys to return
+   * @return most read keys mapped to their read counts, ordered from the most read one
+   */
+  public Map<String, Long> getMostReadKeys(int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("Limit can't be negative, got: " + limit);
+    }
+
+    PriorityQueue<Map.Entry<String, Long>> mostRead = new PriorityQueue<>(Math.max(1, limit), Map.Entry.comparingByValue());
+    if (limit > 0) {
+      for (Map.Entry<String, LongAdder> entry : readCounts.entrySet()) {
+        long count = entry.getValue().sum();
+        if (mostRead.size() < limit) {
+          mostRead.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), count));
+        } else if (mostRead.peek().getValue() < count) {
+          mostRead.poll();
+          mostRead.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), count));
+        }
+      }
+    }
+
+    List<Map.Entry<String, Long>> sorted = new ArrayList<>(mostRead);
+    sorted.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+    Map<String, Long> result = new LinkedHashMap<>();
+    for (Map.Entry<String, Long> entry : sorted) {
+      result.put(entry.getKey(), entry.getValue());
+    }
+
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * Get keys of {@code configuration} that were never read since tracking started, e.g.
+   * {@code tracker.getUnreadKeys(provider.allConfigurationAsProperties())}.
+   *
+   * @param configuration configuration to check
+   * @return sorted keys of {@code configuration} that were never read
+   */
+  public SortedSet<String> getUnreadKeys(Map<?, ?> configuration) {
+    SortedSet<String> unreadKeys = new TreeSet<>();
+
+    for (Object key : configuration.keySet()) {
+      if (!readCounts.containsKey(key.toString())) {
+        unreadKeys.add(key.toString());
+      }
+    }
+
+    return Collections.unmodifiableSortedSet(unreadKeys);
+  }
+
+  /**
+   * Get names of interfaces bound (see {@link ConfigurationProvider#bind(String, Class)}) to a given {@code key}.
+   *
+   * @param key configuration key
+   * @return names of interfaces having a method backed by {@code key}
+   */
+  public Set<String> getBoundTypes(String key) {
+    Set<String> types = boundTypes.get(requireNonNull(key));
+    return types == null ? Collections.emptySet() : Collections.unmodifiableSet(types);
+  }
+
+  /**
+   * Record a read of a given {@code key} (relative to the prefix of this tracker).
+   */
+  void recordRead(String key) {
+    LongAdder counter = scopedReadCounts.get(key);
+
+    if (counter == null) {
+      counter = keyPrefix.isEmpty()
+          ? readCounts.computeIfAbsent(key, fullKey -> new LongAdder())
+          : scopedReadCounts.computeIfAbsent(key, scopedKey -> readCounts.computeIfAbsent(keyPrefix + "." + scopedKey, fullKey -> new LongAdder()));
+    }
+
+    counter.increment();
+  }
+
+  /**
+   * Record that methods of {@code type} are bound to keys under {@code prefix} (relative to the prefix of this tracker).
+   */
+  void recordBinding(String prefix, Class<?> type) {
+    String bindingPrefix = keyPrefix.isEmpty() ? prefix : (prefix.isEmpty() ? keyPrefix : keyPrefix + "." + prefix);
+
+    for (Method method : type.getMethods()) {
+      if (method.getParameterCount() > 0 || isObjectMethod(method)) {
+        continue;
+      }
+
+      String key = bindingPrefix.isEmpty() ? method.getName() : bindingPrefix + "." + method.getName();
+      boundTypes.computeIfAbsent(key, boundKey -> ConcurrentHashMap.newKeySet()).add(type.getName());
+    }
+  }
+
+  private static boolean isObjectMethod(Method method) {
+    try {
+      Object.class.getMethod(method.getName());
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Get tracker recording reads of keys relative to {@code keyPrefix} into this tracker.
+   */
+  KeyAccessTracker scopedTo(String keyPrefix) {
+    return keyPrefix.equals(this.keyPrefix) ? this : new KeyAccessTracker(readCounts, boundTypes, keyPrefix);
+  }
+
+  @Override
+  public String toString() {
+    return "KeyAccessTracker{" +
+        "trackedKeys=" + readCounts.size() +
+        '}';
+  }
+}
@@ -18,9 +18,12 @@ package org.cfg4j.provider;
 
 import static java.util.Objects.requireNonNull;
 
-import com.codahale.metrics.MetricRegistry;
-import com.codahale.metrics.Timer;
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.metrics.Timer;
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
 
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Properties;
 
 /**
@@ -28,81 +31,244 @@ import java.util.Properties;
  * with a string passed at construction time):
  * <ul>
  * <li>allConfigurationAsProperties</li>
- * <li>getProperty</li>
+ * <li>allConfigurationUnder</li>
+ * <li>getProperty (includes getInt, getLong, getDouble and getBoolean)</li>
  * <li>getPropertyGeneric</li>
+ * <li>getProperties</li>
  * <li>bind</li>
  * </ul>
- * Each of those metrics is of {@link Timer} type (i.e. includes execution time percentiles, execution count, etc.)
+ * Each of those metrics is of {@link Timer} type (with Dropwizard Metrics it includes execution time percentiles,
+ * execution count, etc.)
+ * <p>
+ * Property reads (getProperty, getPropertyGeneric, which includes calls to bound interfaces) are on the hot path of
+ * applications, so they can be metered with lower overhead instead: call and miss counters and sampled timing (see
+ * {@link PropertyReadMeter}). Successful reads of each key can be counted as well.
  */
 class MeteredConfigurationProvider implements ConfigurationProvider {
 
+  private final MetricsBackend metricsBackend;
+  private final String metricPrefix;
   private final SimpleConfigurationProvider delegate;
 
   private final Timer allConfigurationAsPropertiesTimer;
-  private final Timer getPropertyTimer;
-  private final Timer getPropertyGenericTimer;
+  private final Timer allConfigurationUnderTimer;
+  private final int latencySampleRate;
+  private final boolean perKeyHits;
+  private final PropertyReadMeter getPropertyMeter;
+  private final PropertyReadMeter getPropertyGenericMeter;
+  private final Timer getPropertiesTimer;
   private final Timer bindTimer;
 
   /**
-   * Create decorator for given {@code delegate} and using {@code metricRegistry} for constructing metrics. Each metric will
+   * Create decorator for given {@code delegate} and using {@code metricsBackend} for constructing metrics. Each metric will
    * be prefixed with {@code metricPrefix}
    *
-   * @param metricRegistry metric registry to hold execution metrics
+   * @param metricsBackend backend to hold execution metrics
    * @param metricPrefix   prefix for metric names (trailing dot will be added to it)
    * @param delegate       configuration provider to monitor
    */
-  MeteredConfigurationProvider(MetricRegistry metricRegistry, String metricPrefix, SimpleConfigurationProvider delegate) {
-    requireNonNull(metricRegistry);
-    requireNonNull(metricPrefix);
+  MeteredConfigurationProvider(MetricsBackend metricsBackend, String metricPrefix, SimpleConfigurationProvider delegate) {
+    this(metricsBackend, metricPrefix, delegate, 1, false);
+  }
+
+  /**
+   * Create decorator for given {@code delegate} and using {@code metricsBackend} for constructing metrics. Each metric will
+   * be prefixed with {@code metricPrefix}. Property reads are metered with {@link PropertyReadMeter}s.
+   *
+   * @param metricsBackend    backend to hold execution metrics
+   * @param metricPrefix      prefix for metric names (trailing dot will be added to it)
+   * @param delegate          configuration provider to monitor
+   * @param latencySampleRate time 1 in {@code latencySampleRate} property reads (1 times all of them)
+   * @param perKeyHits        whether to count reads of each key
+   */
+  MeteredConfigurationProvider(MetricsBackend metricsBackend, String metricPrefix, SimpleConfigurationProvider delegate,
+                               int latencySampleRate, boolean perKeyHits) {
+    this(metricsBackend, metricPrefix, delegate, latencySampleRate, perKeyHits,
+        new PropertyReadMeter(metricsBackend, metricPrefix + "getProperty", latencySampleRate, perKeyHits),
+        new PropertyReadMeter(metricsBackend, metricPrefix + "getPropertyGeneric", latencySampleRate, perKeyHits));
+  }
+
+  private MeteredConfigurationProvider(MetricsBackend metricsBackend, String metricPrefix, SimpleConfigurationProvider delegate,
+                                       int latencySampleRate, boolean perKeyHits, PropertyReadMeter getPropertyMeter,
+                                       PropertyReadMeter getPropertyGenericMeter) {
+    this.metricsBackend = requireNonNull(metricsBackend);
+    this.metricPrefix = requireNonNull(metricPrefix);
     this.delegate = requireNonNull(delegate);
+    this.latencySampleRate = latencySampleRate;
+    this.perKeyHits = perKeyHits;
+    this.getPropertyMeter = getPropertyMeter;
+    this.getPropertyGenericMeter = getPropertyGenericMeter;
 
-    allConfigurationAsPropertiesTimer = metricRegistry.timer(metricPrefix + "allConfigurationAsProperties");
-    getPropertyTimer = metricRegistry.timer(metricPrefix + "getProperty");
-    getPropertyGenericTimer = metricRegistry.timer(metricPrefix + "getPropertyGeneric");
-    bindTimer = metricRegistry.timer(metricPrefix + "bind");
+    allConfigurationAsPropertiesTimer = metricsBackend.timer(metricPrefix + "allConfigurationAsProperties");
+    allConfigurationUnderTimer = metricsBackend.timer(metricPrefix + "allConfigurationUnder");
+    getPropertiesTimer = metricsBackend.timer(metricPrefix + "getProperties");
+    bindTimer = metricsBackend.timer(metricPrefix + "bind");
   }
 
   @Override
   public Properties allConfigurationAsProperties() {
-    Timer.Context context = allConfigurationAsPropertiesTimer.time();
+    long start = System.nanoTime();
 
     try {
       return delegate.allConfigurationAsProperties();
     } finally {
-      context.stop();
+      allConfigurationAsPropertiesTimer.update(System.nanoTime() - start);
     }
   }
 
+  @Override
+  public Map<String, String> allConfigurationUnder(String prefix) {
+    long start = System.nanoTime();
+
+    try {
+      return delegate.allConfigurationUnder(prefix);
+    } finally {
+      allConfigurationUnderTimer.update(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Create a provider scoped to {@code prefix}. Scoped providers report to the same metrics as this provider.
+   */
+  @Override
+  public ConfigurationProvider forPrefix(String prefix) {
+    return new MeteredConfigurationProvider(metricsBackend, metricPrefix, delegate.forPrefix(prefix), latencySampleRate,
+        perKeyHits, getPropertyMeter.forPrefix(prefix), getPropertyGenericMeter.forPrefix(prefix));
+  }
+
+  @Override
+  public void addChangeListener(String prefix, ConfigurationChangeListener listener) {
+    delegate.addChangeListener(prefix, listener);
+  }
+
+  @Override
+  public void removeChangeListener(ConfigurationChangeListener listener) {
+    delegate.removeChangeListener(listener);
+  }
+
   @Override
   public <T> T getProperty(String key, Class<T> type) {
-    Timer.Context context = getPropertyTimer.time();
+    long start = getPropertyMeter.start();
 
     try {
-      return delegate.getProperty(key, type);
+      T value = delegate.getProperty(key, type);
+      getPropertyMeter.hit(key);
+      return value;
+    } catch (NoSuchElementException e) {
+      getPropertyMeter.miss();
+      throw e;
     } finally {
-      context.stop();
+      getPropertyMeter.stop(start);
     }
   }
 
   @Override
   public <T> T getProperty(String key, GenericTypeInterface genericType) {
-    Timer.Context context = getPropertyGenericTimer.time();
+    long start = getPropertyGenericMeter.start();
 
     try {
-      return delegate.getProperty(key, genericType);
+      T value = delegate.getProperty(key, genericType);
+      getPropertyGenericMeter.hit(key);
+      return value;
+    } catch (NoSuchElementException e) {
+      getPropertyGenericMeter.miss();
+      throw e;
     } finally {
-      context.stop();
+      getPropertyGenericMeter.stop(start);
     }
   }
 
+  @Override
+  public int getInt(String key) {
+    long start = getPropertyMeter.start();
+
+    try {
+      int value = delegate.getInt(key);
+      getPropertyMeter.hit(key);
+      return value;
+    } catch (NoSuchElementException e) {
+      getPropertyMeter.miss();
+      throw e;
+    } finally {
+      getPropertyMeter.stop(start);
+    }
+  }
+
+  @Override
+  public long getLong(String key) {
+    long start = getPropertyMeter.start();
+
+    try {
+      long value = delegate.getLong(key);
+      getPropertyMeter.hit(key);
+      return value;
+    } catch (NoSuchElementException e) {
+      getPropertyMeter.miss();
+      throw e;
+    } finally {
+      getPropertyMeter.stop(start);
+    }
+  }
+
+  @Override
+  public double getDouble(String key) {
+    long start = getPropertyMeter.start();
+
+    try {
+      double value = delegate.getDouble(key);
+      getPropertyMeter.hit(key);
+      return value;
+    } catch (NoSuchElementException e) {
+      getPropertyMeter.miss();
+      throw e;
+    } finally {
+      getPropertyMeter.stop(start);
+    }
+  }
+
+  @Override
+  public boolean getBoolean(String key) {
+    long start = getPropertyMeter.start();
+
+    try {
+      boolean value = delegate.getBoolean(key);
+      getPropertyMeter.hit(key);
+      return value;
+    } catch (NoSuchElementException e) {
+      getPropertyMeter.miss();
+      throw e;
+    } finally {
+      getPropertyMeter.stop(start);
+    }
+  }
+
+  @Override
+  public PropertyValues getProperties(PropertyBatch batch) {
+    long start = System.nanoTime();
+
+    try {
+      return delegate.getProperties(batch);
+    } finally {
+      getPropertiesTimer.update(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Get a provider pinned to the current configuration. Reads of the returned provider are not metered.
+   */
+  @Override
+  public PinnedConfigurationProvider snapshot() {
+    return delegate.snapshot();
+  }
+
   @Override
   public <T> T bind(String prefix, Class<T> type) {
-    Timer.Context context = bindTimer.time();
+    long start = System.nanoTime();
 
     try {
       return delegate.bind(this, prefix, type);
     } finally {
-      context.stop();
+      bindTimer.update(System.nanoTime() - start);
     }
   }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import org.cfg4j.source.context.environment.Environment;
+
+/**
+ * Provides access to configuration of many environments (e.g. one per tenant) backed by a single configuration source,
+ * cache and reload registration.
+ */
+public interface MultiEnvironmentConfigurationProvider {
+
+  /**
+   * Get {@link ConfigurationProvider} serving configuration for a given {@code environment}. Configuration for the
+   * environment is loaded on first access and kept up to date by the reload strategy for as long as it stays in cache.
+   *
+   * @param environment environment to serve configuration for
+   * @return configuration provider for {@code environment}
+   */
+  ConfigurationProvider forEnvironment(Environment environment);
+}
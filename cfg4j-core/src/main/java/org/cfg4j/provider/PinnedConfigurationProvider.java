@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+/**
+ * {@link ConfigurationProvider} pinned to a single configuration snapshot (see {@link ConfigurationProvider#snapshot()}).
+ * Its configuration never changes: all reads, including reads of bound objects, return values of the same snapshot
+ * regardless of reloads of the underlying configuration source. Change listeners are not supported.
+ */
+public interface PinnedConfigurationProvider extends ConfigurationProvider {
+
+  /**
+   * Get the generation of the pinned snapshot. The generation changes whenever the configuration changes, so objects
+   * derived from configuration can be cached together with the generation and rebuilt only when a later snapshot has
+   * a different one. Compare generations for inequality only: snapshots may be shared between environments, so
+   * generations of consecutive snapshots of a provider are not guaranteed to increase.
+   *
+   * @return generation of the pinned snapshot
+   */
+  long getGeneration();
+
+  /**
+   * Get a provider scoped to configuration keys under a given {@code prefix}, pinned to the same snapshot.
+   *
+   * @param prefix key prefix without the trailing dot (e.g. "db.pool"), empty string for this provider's keys
+   * @return provider scoped to {@code prefix}
+   */
+  @Override
+  PinnedConfigurationProvider forPrefix(String prefix);
+
+  /**
+   * @return this provider, as it is already pinned
+   */
+  @Override
+  PinnedConfigurationProvider snapshot();
+}
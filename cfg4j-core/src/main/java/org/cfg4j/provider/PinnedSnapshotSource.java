@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.source.snapshot.ConfigurationSnapshotValidator;
+import org.cfg4j.source.snapshot.SnapshotConfigurationSource;
+
+import java.util.Properties;
+
+/**
+ * {@link SnapshotConfigurationSource} that always provides the same {@link ConfigurationSnapshot}, for all environments.
+ * Backs providers returned by {@link ConfigurationProvider#snapshot()}.
+ */
+class PinnedSnapshotSource implements SnapshotConfigurationSource {
+
+  private final ConfigurationSnapshot snapshot;
+
+  /**
+   * Construct source providing {@code snapshot}.
+   *
+   * @param snapshot snapshot to provide
+   */
+  PinnedSnapshotSource(ConfigurationSnapshot snapshot) {
+    this.snapshot = requireNonNull(snapshot);
+  }
+
+  @Override
+  public ConfigurationSnapshot getSnapshot(Environment environment) {
+    return snapshot;
+  }
+
+  @Override
+  public Properties getConfiguration(Environment environment) {
+    return snapshot.asProperties();
+  }
+
+  @Override
+  public void init() {
+    // NOP
+  }
+
+  @Override
+  public void addChangeListener(Environment environment, ConfigurationChangeListener listener) {
+    throw new UnsupportedOperationException("Pinned configuration doesn't change: " + this);
+  }
+
+  @Override
+  public void removeChangeListener(Environment environment, ConfigurationChangeListener listener) {
+    throw new UnsupportedOperationException("Pinned configuration doesn't change: " + this);
+  }
+
+  /**
+   * Pinned snapshot is never replaced, so validators are not retained.
+   */
+  @Override
+  public void addSnapshotValidator(Environment environment, ConfigurationSnapshotValidator validator) {
+    // NOP
+  }
+
+  @Override
+  public void removeSnapshotValidator(Environment environment, ConfigurationSnapshotValidator validator) {
+    // NOP
+  }
+
+  @Override
+  public String toString() {
+    return "PinnedSnapshotSource{" +
+        "generation=" + snapshot.getGeneration() +
+        '}';
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * {@link ConfigurationProvider} resolving keys relative to a given prefix by prepending the prefix and delegating to
+ * another provider. Used by the default implementation of {@link ConfigurationProvider#forPrefix(String)}.
+ */
+class PrefixedConfigurationProvider implements ConfigurationProvider {
+
+  private final ConfigurationProvider delegate;
+  private final String prefix;
+
+  /**
+   * @param delegate provider to delegate to
+   * @param prefix   non-empty key prefix without the trailing dot
+   */
+  PrefixedConfigurationProvider(ConfigurationProvider delegate, String prefix) {
+    this.delegate = requireNonNull(delegate);
+    this.prefix = requireNonNull(prefix);
+  }
+
+  @Override
+  public Properties allConfigurationAsProperties() {
+    Properties properties = new Properties();
+    properties.putAll(allConfigurationUnder(""));
+    return properties;
+  }
+
+  @Override
+  public Map<String, String> allConfigurationUnder(String prefix) {
+    requireNonNull(prefix);
+
+    int keyOffset = this.prefix.length() + 1;
+    SortedMap<String, String> configuration = new TreeMap<>();
+    for (Map.Entry<String, String> entry : delegate.allConfigurationUnder(prefix.isEmpty() ? this.prefix : fullKey(prefix)).entrySet()) {
+      configuration.put(entry.getKey().substring(keyOffset), entry.getValue());
+    }
+
+    return Collections.unmodifiableSortedMap(configuration);
+  }
+
+  @Override
+  public ConfigurationProvider forPrefix(String prefix) {
+    requireNonNull(prefix);
+
+    return prefix.isEmpty() ? this : new PrefixedConfigurationProvider(delegate, fullKey(prefix));
+  }
+
+  @Override
+  public void addChangeListener(String prefix, ConfigurationChangeListener listener) {
+    requireNonNull(prefix);
+
+    delegate.addChangeListener(prefix.isEmpty() ? this.prefix : fullKey(prefix), listener);
+  }
+
+  @Override
+  public void removeChangeListener(ConfigurationChangeListener listener) {
+    delegate.removeChangeListener(listener);
+  }
+
+  @Override
+  public <T> T getProperty(String key, Class<T> type) {
+    return delegate.getProperty(fullKey(key), type);
+  }
+
+  @Override
+  public <T> T getProperty(String key, GenericTypeInterface genericType) {
+    return delegate.getProperty(fullKey(key), genericType);
+  }
+
+  @Override
+  public int getInt(String key) {
+    return delegate.getInt(fullKey(key));
+  }
+
+  @Override
+  public long getLong(String key) {
+    return delegate.getLong(fullKey(key));
+  }
+
+  @Override
+  public double getDouble(String key) {
+    return delegate.getDouble(fullKey(key));
+  }
+
+  @Override
+  public boolean getBoolean(String key) {
+    return delegate.getBoolean(fullKey(key));
+  }
+
+  @Override
+  public PropertyValues getProperties(PropertyBatch batch) {
+    String[] keys = new String[batch.size()];
+    Type[] types = new Type[batch.size()];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = fullKey(batch.key(i));
+      types[i] = batch.type(i);
+    }
+
+    PropertyValues values = delegate.getProperties(new PropertyBatch(keys, types));
+
+    Object[] relativeValues = new Object[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      relativeValues[i] = values.get(i);
+    }
+
+    return new PropertyValues(batch, relativeValues);
+  }
+
+  @Override
+  public PinnedConfigurationProvider snapshot() {
+    return delegate.snapshot().forPrefix(prefix);
+  }
+
+  @Override
+  public <T> T bind(String prefix, Class<T> type) {
+    requireNonNull(prefix);
+
+    return delegate.bind(prefix.isEmpty() ? this.prefix : fullKey(prefix), type);
+  }
+
+  private String fullKey(String key) {
+    return prefix + "." + key;
+  }
+
+  @Override
+  public String toString() {
+    return "PrefixedConfigurationProvider{" +
+        "prefix='" + prefix + '\'' +
+        ", delegate=" + delegate +
+        '}';
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+/**
+ * Immutable list of configuration keys and their types resolved together with
+ * {@link ConfigurationProvider#getProperties(PropertyBatch)}. Batches don't depend on configuration so they can be built
+ * once and reused for each lookup. To construct a batch use {@link PropertyBatchBuilder}.
+ */
+public final class PropertyBatch {
+
+  private final String[] keys;
+  private final Type[] types;
+
+  PropertyBatch(String[] keys, Type[] types) {
+    this.keys = keys;
+    this.types = types;
+  }
+
+  /**
+   * @return number of keys in this batch
+   */
+  public int size() {
+    return keys.length;
+  }
+
+  /**
+   * @param index position of the key in this batch
+   * @return key at position {@code index}
+   * @throws IndexOutOfBoundsException when {@code index} is out of range
+   */
+  public String key(int index) {
+    return keys[index];
+  }
+
+  /**
+   * @param index position of the key in this batch
+   * @return type the key at position {@code index} is converted to
+   * @throws IndexOutOfBoundsException when {@code index} is out of range
+   */
+  public Type type(int index) {
+    return types[index];
+  }
+
+  /**
+   * Find position of a given {@code key} in this batch.
+   *
+   * @param key configuration key
+   * @return position of the first occurrence of {@code key}, -1 when the batch doesn't contain it
+   */
+  public int indexOf(String key) {
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i].equals(key)) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  @Override
+  public String toString() {
+    return "PropertyBatch{" +
+        "keys=" + Arrays.toString(keys) +
+        '}';
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builder for {@link PropertyBatch}. Sample batch could look like:
+ * <pre>
+ *   PropertyBatch batch = new PropertyBatchBuilder()
+ *       .withProperty("db.url", String.class)
+ *       .withProperty("db.pool.size", int.class)
+ *       .withProperty("db.replicas", new GenericType&lt;List&lt;String&gt;&gt;() { })
+ *       .build();
+ * </pre>
+ * Supported types are the same as for {@link ConfigurationProvider#getProperty(String, Class)} and
+ * {@link ConfigurationProvider#getProperty(String, GenericTypeInterface)}.
+ */
+public class PropertyBatchBuilder {
+
+  private final List<String> keys = new ArrayList<>();
+  private final List<Type> types = new ArrayList<>();
+
+  /**
+   * Add property of a given basic {@code type} to the batch.
+   *
+   * @param key  configuration key
+   * @param type type to convert the value to
+   * @return this builder
+   */
+  public PropertyBatchBuilder withProperty(String key, Class<?> type) {
+    keys.add(requireNonNull(key));
+    types.add(requireNonNull(type));
+    return this;
+  }
+
+  /**
+   * Add property of a generic type to the batch.
+   *
+   * @param key         configuration key
+   * @param genericType {@link GenericTypeInterface} wrapper for the type to convert the value to
+   * @return this builder
+   */
+  public PropertyBatchBuilder withProperty(String key, GenericTypeInterface genericType) {
+    keys.add(requireNonNull(key));
+    types.add(requireNonNull(genericType.getType()));
+    return this;
+  }
+
+  /**
+   * Build a {@link PropertyBatch} with properties added so far. The builder can be used to build further batches.
+   *
+   * @return batch of properties
+   */
+  public PropertyBatch build() {
+    return new PropertyBatch(keys.toArray(new String[0]), types.toArray(new Type[0]));
+  }
+
+  @Override
+  public String toString() {
+    return "PropertyBatchBuilder{" +
+        "keys=" + keys +
+        '}';
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.metrics.Counter;
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.metrics.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Metrics of a property read operation (e.g. getProperty) named {@code name}. Depending on the sample rate it either:
+ * <ul>
+ * <li>(sample rate 1) times every call with a {@link Timer} named {@code name}</li>
+ * <li>(sample rate N &gt; 1) counts calls and misses (keys without value) with {@link Counter}s named
+ * {@code name.calls} and {@code name.misses} (with Dropwizard Metrics backed by striped
+ * {@link java.util.concurrent.atomic.LongAdder}s, so they don't contend between threads) and times on average 1 in N
+ * calls with a {@link Timer} named {@code name.sampled}</li>
+ * </ul>
+ * Optionally it also counts successful reads of each key with {@link Counter}s named {@code name.keys.<key>} (reads of
+ * keys without value aren't counted, so the number of counters is bounded by the number of configuration keys).
+ */
+class PropertyReadMeter {
+
+  /**
+   * Start time returned by {@link #start()} for calls that aren't timed.
+   */
+  static final long NOT_TIMED = Long.MIN_VALUE;
+
+  private final MetricsBackend metricsBackend;
+  private final String name;
+  private final int sampleRate;
+  private final boolean perKeyHits;
+  private final String keyPrefix;
+  private final Timer timer;
+  private final Counter calls;
+  private final Counter misses;
+  private final ConcurrentMap<String, Counter> keyHits;
+
+  /**
+   * Create meter registering its metrics in {@code metricsBackend}.
+   *
+   * @param metricsBackend backend to hold the metrics
+   * @param name           name of the operation (prefix of metric names)
+   * @param sampleRate     time 1 in {@code sampleRate} calls (1 times every call)
+   * @param perKeyHits     whether to count reads of each key
+   */
+  PropertyReadMeter(MetricsBackend metricsBackend, String name, int sampleRate, boolean perKeyHits) {
+    this(metricsBackend, name, sampleRate, perKeyHits, "");
+  }
+
+  private PropertyReadMeter(MetricsBackend metricsBackend, String name, int sampleRate, boolean perKeyHits,
+                            String keyPrefix) {
+    this.metricsBackend = requireNonNull(metricsBackend);
+    this.name = requireNonNull(name);
+    this.keyPrefix = keyPrefix;
+    this.sampleRate = sampleRate;
+    this.perKeyHits = perKeyHits;
+
+    if (sampleRate < 1) {
+      throw new IllegalArgumentException("Sample rate has to be positive, got: " + sampleRate);
+    }
+
+    if (sampleRate == 1) {
+      timer = metricsBackend.timer(name);
+      calls = null;
+      misses = null;
+    } else {
+      timer = metricsBackend.timer(name + ".sampled");
+      calls = metricsBackend.counter(name + ".calls");
+      misses = metricsBackend.counter(name + ".misses");
+    }
+
+    keyHits = perKeyHits ? new ConcurrentHashMap<>() : null;
+  }
+
+  /**
+   * Create meter reporting to the same metrics for reads of keys relative to {@code prefix}.
+   *
+   * @param prefix key prefix
+   * @return meter for a scoped provider
+   */
+  PropertyReadMeter forPrefix(String prefix) {
+    String scopedPrefix = keyPrefix.isEmpty() || prefix.isEmpty() ? keyPrefix + prefix : keyPrefix + "." + prefix;
+    return new PropertyReadMeter(metricsBackend, name, sampleRate, perKeyHits, scopedPrefix);
+  }
+
+  /**
+   * Record start of a read.
+   *
+   * @return start time to pass to {@link #stop(long)} ({@link #NOT_TIMED} when the call isn't timed)
+   */
+  long start() {
+    if (calls == null) {
+      return System.nanoTime();
+    }
+
+    calls.inc();
+    return ThreadLocalRandom.current().nextInt(sampleRate) == 0 ? System.nanoTime() : NOT_TIMED;
+  }
+
+  /**
+   * Record end of a read.
+   *
+   * @param start start time returned by {@link #start()}
+   */
+  void stop(long start) {
+    if (start != NOT_TIMED) {
+      timer.update(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Record a successful read of the {@code key}.
+   *
+   * @param key key that was read
+   */
+  void hit(String key) {
+    if (keyHits != null) {
+      Counter hits = keyHits.get(key);
+      if (hits == null) {
+        hits = keyHits.computeIfAbsent(key, this::keyHitsCounter);
+      }
+      hits.inc();
+    }
+  }
+
+  /**
+   * Record a read of a key without value.
+   */
+  void miss() {
+    if (misses != null) {
+      misses.inc();
+    }
+  }
+
+  private Counter keyHitsCounter(String key) {
+    String fullKey = keyPrefix.isEmpty() ? key : keyPrefix + "." + key;
+    return metricsBackend.counter(name + ".keys." + fullKey);
+  }
+
+  @Override
+  public String toString() {
+    return "PropertyReadMeter{" +
+        "name='" + name + '\'' +
+        ", sampleRate=" + sampleRate +
+        ", perKeyHits=" + perKeyHits +
+        ", keyPrefix='" + keyPrefix + '\'' +
+        '}';
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Values of a {@link PropertyBatch} resolved with {@link ConfigurationProvider#getProperties(PropertyBatch)}. Values
+ * are kept in batch order and don't change on reload.
+ */
+public final class PropertyValues {
+
+  private final PropertyBatch batch;
+  private final Object[] values;
+
+  PropertyValues(PropertyBatch batch, Object[] values) {
+    this.batch = requireNonNull(batch);
+    this.values = requireNonNull(values);
+  }
+
+  /**
+   * @return number of values (same as the size of the batch)
+   */
+  public int size() {
+    return values.length;
+  }
+
+  /**
+   * Get value of the property at a given position of the batch.
+   *
+   * @param <T>   property type, as given to {@link PropertyBatchBuilder} (boxed for primitive types)
+   * @param index position of the property in the batch
+   * @return property value
+   * @throws IndexOutOfBoundsException when {@code index} is out of range
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(int index) {
+    return (T) values[index];
+  }
+
+  /**
+   * Get value of a given property.
+   *
+   * @param <T> property type, as given to {@link PropertyBatchBuilder} (boxed for primitive types)
+   * @param key configuration key
+   * @return property value
+   * @throws NoSuchElementException when the batch doesn't contain {@code key}
+   */
+  public <T> T get(String key) {
+    int index = batch.indexOf(key);
+    if (index < 0) {
+      throw new NoSuchElementException("Key not in batch: " + key);
+    }
+
+    return get(index);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("PropertyValues{");
+    for (int i = 0; i < values.length; i++) {
+      builder.append(i == 0 ? "" : ", ").append(batch.key(i)).append('=').append(values[i]);
+    }
+
+    return builder.append('}').toString();
+  }
+}
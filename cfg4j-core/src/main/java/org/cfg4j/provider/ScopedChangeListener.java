@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.snapshot.ConfigurationChange;
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
+
+/**
+ * {@link ConfigurationChangeListener} decorator passing only changes of keys under a given prefix (relative to it)
+ * and skipping changes that don't affect them. Two scoped listeners are equal when they decorate the same listener,
+ * so a listener can be unregistered without knowing its prefix.
+ */
+class ScopedChangeListener implements ConfigurationChangeListener {
+
+  private final String prefix;
+  private final ConfigurationChangeListener delegate;
+
+  /**
+   * @param prefix   key prefix, empty string for all keys
+   * @param delegate listener to notify
+   */
+  ScopedChangeListener(String prefix, ConfigurationChangeListener delegate) {
+    this.prefix = requireNonNull(prefix);
+    this.delegate = requireNonNull(delegate);
+  }
+
+  @Override
+  public void onChange(ConfigurationChange change) {
+    ConfigurationChange scopedChange = change.forPrefix(prefix);
+
+    if (!scopedChange.isEmpty()) {
+      delegate.onChange(scopedChange);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof ScopedChangeListener && delegate.equals(((ScopedChangeListener) o).delegate);
+  }
+
+  @Override
+  public int hashCode() {
+    return delegate.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "ScopedChangeListener{" +
+        "prefix='" + prefix + '\'' +
+        ", delegate=" + delegate +
+        '}';
+  }
+}
@@ -23,20 +23,32 @@ import com.github.drapostolos.typeparser.TypeParserException;
 import org.cfg4j.source.ConfigurationSource;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.source.snapshot.SnapshotConfigurationSource;
 import org.cfg4j.validator.BindingValidator;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * Basic implementation of {@link ConfigurationProvider}. To construct this provider use {@link ConfigurationProviderBuilder}.
  */
 class SimpleConfigurationProvider implements ConfigurationProvider {
 
+  private static final TypeParser TYPE_PARSER = TypeParser.newBuilder().build();
+
   private final ConfigurationSource configurationSource;
   private final Environment environment;
+  private final String keyPrefix;
+  private final KeyAccessTracker keyAccessTracker;
+  private final BindingValidator bindingValidator;
 
   /**
    * {@link ConfigurationProvider} backed by provided {@link ConfigurationSource} and using {@code environment}
@@ -46,26 +58,129 @@ class SimpleConfigurationProvider implements ConfigurationProvider {
    * @param environment         {@link Environment} to use
    */
   SimpleConfigurationProvider(ConfigurationSource configurationSource, Environment environment) {
+    this(configurationSource, environment, "", null, new BindingValidator());
+  }
+
+  /**
+   * Same as {@link #SimpleConfigurationProvider(ConfigurationSource, Environment)} but records reads of configuration
+   * keys in {@code keyAccessTracker}.
+   *
+   * @param configurationSource source for configuration
+   * @param environment         {@link Environment} to use
+   * @param keyAccessTracker    tracker to record key reads in, null to disable tracking
+   */
+  SimpleConfigurationProvider(ConfigurationSource configurationSource, Environment environment,
+                              KeyAccessTracker keyAccessTracker) {
+    this(configurationSource, environment, "", keyAccessTracker, new BindingValidator());
+  }
+
+  /**
+   * Same as {@link #SimpleConfigurationProvider(ConfigurationSource, Environment, KeyAccessTracker)} but validates
+   * configuration of bound objects with {@code bindingValidator}.
+   *
+   * @param configurationSource source for configuration
+   * @param environment         {@link Environment} to use
+   * @param keyAccessTracker    tracker to record key reads in, null to disable tracking
+   * @param bindingValidator    validator of configuration of bound objects
+   */
+  SimpleConfigurationProvider(ConfigurationSource configurationSource, Environment environment,
+                              KeyAccessTracker keyAccessTracker, BindingValidator bindingValidator) {
+    this(configurationSource, environment, "", keyAccessTracker, bindingValidator);
+  }
+
+  private SimpleConfigurationProvider(ConfigurationSource configurationSource, Environment environment, String keyPrefix,
+                                      KeyAccessTracker keyAccessTracker, BindingValidator bindingValidator) {
     this.configurationSource = requireNonNull(configurationSource);
     this.environment = requireNonNull(environment);
+    this.keyPrefix = keyPrefix;
+    this.keyAccessTracker = keyAccessTracker == null ? null : keyAccessTracker.scopedTo(keyPrefix);
+    this.bindingValidator = requireNonNull(bindingValidator);
   }
 
   @Override
   public Properties allConfigurationAsProperties() {
     try {
-      return configurationSource.getConfiguration(environment);
+      if (keyPrefix.isEmpty()) {
+        return configurationSource.getConfiguration(environment);
+      }
+
+      Properties properties = new Properties();
+      properties.putAll(configurationUnder(""));
+      return properties;
     } catch (IllegalStateException | MissingEnvironmentException e) {
       throw new IllegalStateException("Couldn't fetch configuration from configuration source", e);
     }
   }
 
+  @Override
+  public Map<String, String> allConfigurationUnder(String prefix) {
+    requireNonNull(prefix);
+
+    try {
+      return configurationUnder(prefix);
+    } catch (IllegalStateException | MissingEnvironmentException e) {
+      throw new IllegalStateException("Couldn't fetch configuration from configuration source", e);
+    }
+  }
+
+  private Map<String, String> configurationUnder(String prefix) {
+    if (configurationSource instanceof SnapshotConfigurationSource) {
+      return ((SnapshotConfigurationSource) configurationSource).getSnapshot(environment).subtree(keyPrefix, prefix);
+    }
+
+    String rangePrefix = prefix.isEmpty() ? keyPrefix : fullKey(prefix);
+    String rangeKeyPrefix = rangePrefix + ".";
+    int keyOffset = keyPrefix.isEmpty() ? 0 : keyPrefix.length() + 1;
+
+    SortedMap<String, String> configuration = new TreeMap<>();
+    for (Map.Entry<Object, Object> entry : configurationSource.getConfiguration(environment).entrySet()) {
+      String key = entry.getKey().toString();
+      if (rangePrefix.isEmpty() || key.startsWith(rangeKeyPrefix)) {
+        configuration.put(key.substring(keyOffset), entry.getValue().toString());
+      }
+    }
+
+    return Collections.unmodifiableSortedMap(configuration);
+  }
+
+  @Override
+  public SimpleConfigurationProvider forPrefix(String prefix) {
+    requireNonNull(prefix);
+
+    if (prefix.isEmpty()) {
+      return this;
+    }
+
+    return new SimpleConfigurationProvider(configurationSource, environment, fullKey(prefix), keyAccessTracker,
+        bindingValidator);
+  }
+
+  @Override
+  public void addChangeListener(String prefix, ConfigurationChangeListener listener) {
+    requireNonNull(prefix);
+
+    snapshotSource().addChangeListener(environment, new ScopedChangeListener(prefix.isEmpty() ? keyPrefix : fullKey(prefix), listener));
+  }
+
+  @Override
+  public void removeChangeListener(ConfigurationChangeListener listener) {
+    snapshotSource().removeChangeListener(environment, new ScopedChangeListener(keyPrefix, listener));
+  }
+
+  private SnapshotConfigurationSource snapshotSource() {
+    if (!(configurationSource instanceof SnapshotConfigurationSource)) {
+      throw new UnsupportedOperationException("Configuration source doesn't support change listeners: " + configurationSource);
+    }
+
+    return (SnapshotConfigurationSource) configurationSource;
+  }
+
   @Override
   public <T> T getProperty(String key, Class<T> type) {
     String propertyStr = getProperty(key);
 
     try {
-      TypeParser parser = TypeParser.newBuilder().build();
-      return parser.parse(propertyStr, type);
+      return TYPE_PARSER.parse(propertyStr, type);
     } catch (TypeParserException | NoSuchRegisteredParserException e) {
       throw new IllegalArgumentException("Unable to cast value \'" + propertyStr + "\' to " + type, e);
     }
@@ -76,31 +191,173 @@ class SimpleConfigurationProvider implements ConfigurationProvider {
     String propertyStr = getProperty(key);
 
     try {
-      TypeParser parser = TypeParser.newBuilder().build();
       @SuppressWarnings("unchecked")
-      T property = (T) parser.parseType(propertyStr, genericType.getType());
+      T property = (T) TYPE_PARSER.parseType(propertyStr, genericType.getType());
       return property;
     } catch (TypeParserException | NoSuchRegisteredParserException e) {
       throw new IllegalArgumentException("Unable to cast value \'" + propertyStr + "\' to " + genericType, e);
     }
   }
 
+  @Override
+  public int getInt(String key) {
+    if (!(configurationSource instanceof SnapshotConfigurationSource)) {
+      return getProperty(key, int.class);
+    }
+
+    int property = snapshotFor(key).getInt(keyPrefix, key);
+    if (keyAccessTracker != null) {
+      keyAccessTracker.recordRead(key);
+    }
+
+    return property;
+  }
+
+  @Override
+  public long getLong(String key) {
+    if (!(configurationSource instanceof SnapshotConfigurationSource)) {
+      return getProperty(key, long.class);
+    }
+
+    long property = snapshotFor(key).getLong(keyPrefix, key);
+    if (keyAccessTracker != null) {
+      keyAccessTracker.recordRead(key);
+    }
+
+    return property;
+  }
+
+  @Override
+  public double getDouble(String key) {
+    if (!(configurationSource instanceof SnapshotConfigurationSource)) {
+      return getProperty(key, double.class);
+    }
+
+    double property = snapshotFor(key).getDouble(keyPrefix, key);
+    if (keyAccessTracker != null) {
+      keyAccessTracker.recordRead(key);
+    }
+
+    return property;
+  }
+
+  @Override
+  public boolean getBoolean(String key) {
+    if (!(configurationSource instanceof SnapshotConfigurationSource)) {
+      return getProperty(key, boolean.class);
+    }
+
+    boolean property = snapshotFor(key).getBoolean(keyPrefix, key);
+    if (keyAccessTracker != null) {
+      keyAccessTracker.recordRead(key);
+    }
+
+    return property;
+  }
+
+  /**
+   * Get values of all properties of a given {@code batch} at once. Configuration is fetched once per batch: when backed
+   * by a {@link SnapshotConfigurationSource} all values come from the same snapshot.
+   */
+  @Override
+  public PropertyValues getProperties(PropertyBatch batch) {
+    requireNonNull(batch);
+
+    ConfigurationSnapshot snapshot = null;
+    Properties properties = null;
+    try {
+      if (configurationSource instanceof SnapshotConfigurationSource) {
+        snapshot = ((SnapshotConfigurationSource) configurationSource).getSnapshot(environment);
+      } else {
+        properties = configurationSource.getConfiguration(environment);
+      }
+    } catch (IllegalStateException | MissingEnvironmentException e) {
+      throw new IllegalStateException("Couldn't fetch configuration from configuration source for keys: " + batch, e);
+    }
+
+    Object[] values = new Object[batch.size()];
+    for (int i = 0; i < values.length; i++) {
+      String key = batch.key(i);
+      Object property = snapshot != null ? snapshot.get(keyPrefix, key) : properties.get(fullKey(key));
+
+      if (property == null) {
+        throw new NoSuchElementException("No configuration with key: " + fullKey(key));
+      }
+
+      String propertyStr = property.toString();
+      try {
+        values[i] = TYPE_PARSER.parseType(propertyStr, batch.type(i));
+      } catch (TypeParserException | NoSuchRegisteredParserException e) {
+        throw new IllegalArgumentException("Unable to cast value \'" + propertyStr + "\' of key " + fullKey(key) + " to "
+            + batch.type(i).getTypeName(), e);
+      }
+    }
+
+    if (keyAccessTracker != null) {
+      for (int i = 0; i < values.length; i++) {
+        keyAccessTracker.recordRead(batch.key(i));
+      }
+    }
+
+    return new PropertyValues(batch, values);
+  }
+
+  private ConfigurationSnapshot snapshotFor(String key) {
+    try {
+      return ((SnapshotConfigurationSource) configurationSource).getSnapshot(environment);
+    } catch (IllegalStateException | MissingEnvironmentException e) {
+      throw new IllegalStateException("Couldn't fetch configuration from configuration source for key: " + fullKey(key), e);
+    }
+  }
+
   private String getProperty(String key) {
     try {
 
-      Object property = configurationSource.getConfiguration(environment).get(key);
+      Object property;
+      if (configurationSource instanceof SnapshotConfigurationSource) {
+        property = ((SnapshotConfigurationSource) configurationSource).getSnapshot(environment).get(keyPrefix, key);
+      } else {
+        property = configurationSource.getConfiguration(environment).get(fullKey(key));
+      }
 
       if (property == null) {
-        throw new NoSuchElementException("No configuration with key: " + key);
+        throw new NoSuchElementException("No configuration with key: " + fullKey(key));
+      }
+
+      if (keyAccessTracker != null) {
+        keyAccessTracker.recordRead(key);
       }
 
       return property.toString();
 
     } catch (IllegalStateException e) {
-      throw new IllegalStateException("Couldn't fetch configuration from configuration source for key: " + key, e);
+      throw new IllegalStateException("Couldn't fetch configuration from configuration source for key: " + fullKey(key), e);
     }
   }
 
+  private String fullKey(String key) {
+    return keyPrefix.isEmpty() ? key : keyPrefix + "." + key;
+  }
+
+  /**
+   * Get a provider pinned to the current configuration. When backed by a {@link SnapshotConfigurationSource} the
+   * current snapshot is pinned without copying and its generation changes only when configuration does. Other
+   * sources have their configuration copied and each returned provider has a new generation.
+   */
+  @Override
+  public PinnedConfigurationProvider snapshot() {
+    ConfigurationSnapshot snapshot;
+    try {
+      snapshot = currentSnapshot();
+    } catch (IllegalStateException | MissingEnvironmentException e) {
+      throw new IllegalStateException("Couldn't fetch configuration from configuration source", e);
+    }
+
+    SimpleConfigurationProvider pinned = new SimpleConfigurationProvider(new PinnedSnapshotSource(snapshot), environment,
+        keyPrefix, keyAccessTracker, bindingValidator);
+    return new SimplePinnedConfigurationProvider(pinned, snapshot.getGeneration());
+  }
+
   @Override
   public <T> T bind(String prefix, Class<T> type) {
     return bind(this, prefix, type);
@@ -110,7 +367,10 @@ class SimpleConfigurationProvider implements ConfigurationProvider {
    * Create an instance of a given {@code type} that will be bound to the {@code configurationProvider}. Each time configuration changes the
    * bound object will be updated with the new values. Use {@code prefix} to specify the relative path to configuration
    * values. Please note that each method of returned object can throw runtime exceptions. For details see javadoc for
-   * {@link BindInvocationHandler#invoke(Object, Method, Object[])}.
+   * {@link BindInvocationHandler#invoke(Object, Method, Object[])}. Current configuration is validated against
+   * {@code type} with {@link BindingValidator#validate(Class, String, ConfigurationSnapshot)} (validation doesn't
+   * count as reading the keys). When backed by a {@link SnapshotConfigurationSource} each reloaded snapshot is
+   * validated against {@code type} before it's published and rejected if it would break the returned object.
    *
    * @param <T>    interface describing configuration object to bind
    * @param prefix relative path to configuration values (e.g. "myContext" will map settings "myContext.someSetting",
@@ -125,15 +385,42 @@ class SimpleConfigurationProvider implements ConfigurationProvider {
     @SuppressWarnings("unchecked")
     T proxy = (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new BindInvocationHandler(configurationProvider, prefix));
 
-    new BindingValidator().validate(proxy, type);
+    ConfigurationSnapshot snapshot;
+    try {
+      snapshot = currentSnapshot();
+    } catch (IllegalStateException | MissingEnvironmentException e) {
+      throw new IllegalStateException("Couldn't fetch configuration from configuration source", e);
+    }
+
+    String boundKeyPrefix = prefix.isEmpty() ? keyPrefix : fullKey(prefix);
+    bindingValidator.validate(type, boundKeyPrefix, snapshot);
+
+    if (configurationSource instanceof SnapshotConfigurationSource) {
+      SnapshotConfigurationSource snapshotSource = (SnapshotConfigurationSource) configurationSource;
+      snapshotSource.addSnapshotValidator(environment,
+          new BoundTypeSnapshotValidator(proxy, type, boundKeyPrefix, bindingValidator, snapshotSource, environment));
+    }
+
+    if (keyAccessTracker != null) {
+      keyAccessTracker.recordBinding(prefix, type);
+    }
 
     return proxy;
   }
 
+  private ConfigurationSnapshot currentSnapshot() {
+    if (configurationSource instanceof SnapshotConfigurationSource) {
+      return ((SnapshotConfigurationSource) configurationSource).getSnapshot(environment);
+    }
+
+    return ConfigurationSnapshot.of(configurationSource.getConfiguration(environment));
+  }
+
   @Override
   public String toString() {
     return "SimpleConfigurationProvider{" +
         "configurationSource=" + configurationSource +
+        ", keyPrefix='" + keyPrefix + '\'' +
         ", environment=" + environment +
         '}';
   }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.reload.CachedConfigurationSource;
+
+/**
+ * Basic implementation of {@link MultiEnvironmentConfigurationProvider}. To construct this provider use
+ * {@link ConfigurationProviderBuilder#buildMultiEnvironment(int)}.
+ */
+class SimpleMultiEnvironmentConfigurationProvider implements MultiEnvironmentConfigurationProvider {
+
+  private final CachedConfigurationSource cachedConfigurationSource;
+  private final MetricsBackend metricsBackend;
+  private final String metricPrefix;
+
+  /**
+   * {@link MultiEnvironmentConfigurationProvider} backed by provided {@link CachedConfigurationSource}. When
+   * {@code metricsBackend} is not null providers for each environment emit metrics prefixed by {@code metricPrefix}.
+   *
+   * @param cachedConfigurationSource source for configuration of all environments
+   * @param metricsBackend            backend for provider metrics, null to disable metrics
+   * @param metricPrefix              prefix for metric names
+   */
+  SimpleMultiEnvironmentConfigurationProvider(CachedConfigurationSource cachedConfigurationSource, MetricsBackend metricsBackend,
+                                              String metricPrefix) {
+    this.cachedConfigurationSource = requireNonNull(cachedConfigurationSource);
+    this.metricsBackend = metricsBackend;
+    this.metricPrefix = requireNonNull(metricPrefix);
+  }
+
+  @Override
+  public ConfigurationProvider forEnvironment(Environment environment) {
+    SimpleConfigurationProvider configurationProvider = new SimpleConfigurationProvider(cachedConfigurationSource, environment);
+    if (metricsBackend != null) {
+      return new MeteredConfigurationProvider(metricsBackend, metricPrefix, configurationProvider);
+    }
+
+    return configurationProvider;
+  }
+
+  @Override
+  public String toString() {
+    return "SimpleMultiEnvironmentConfigurationProvider{" +
+        "cachedConfigurationSource=" + cachedConfigurationSource +
+        '}';
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.context.environment.DefaultEnvironment;
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Basic implementation of {@link PinnedConfigurationProvider}. Delegates to a {@link SimpleConfigurationProvider}
+ * backed by a {@link PinnedSnapshotSource}.
+ */
+class SimplePinnedConfigurationProvider implements PinnedConfigurationProvider {
+
+  private final SimpleConfigurationProvider delegate;
+  private final long generation;
+
+  /**
+   * Construct provider delegating to {@code delegate}, which has to be backed by a {@link PinnedSnapshotSource}.
+   *
+   * @param delegate   provider reading the pinned snapshot
+   * @param generation generation of the pinned snapshot
+   */
+  SimplePinnedConfigurationProvider(SimpleConfigurationProvider delegate, long generation) {
+    this.delegate = requireNonNull(delegate);
+    this.generation = generation;
+  }
+
+  /**
+   * Create provider pinned to a given {@code snapshot}.
+   *
+   * @param snapshot snapshot to pin
+   * @return provider pinned to {@code snapshot}
+   */
+  static SimplePinnedConfigurationProvider of(ConfigurationSnapshot snapshot) {
+    return new SimplePinnedConfigurationProvider(
+        new SimpleConfigurationProvider(new PinnedSnapshotSource(snapshot), new DefaultEnvironment()), snapshot.getGeneration());
+  }
+
+  @Override
+  public long getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public Properties allConfigurationAsProperties() {
+    return delegate.allConfigurationAsProperties();
+  }
+
+  @Override
+  public Map<String, String> allConfigurationUnder(String prefix) {
+    return delegate.allConfigurationUnder(prefix);
+  }
+
+  @Override
+  public PinnedConfigurationProvider forPrefix(String prefix) {
+    requireNonNull(prefix);
+
+    if (prefix.isEmpty()) {
+      return this;
+    }
+
+    return new SimplePinnedConfigurationProvider(delegate.forPrefix(prefix), generation);
+  }
+
+  @Override
+  public void addChangeListener(String prefix, ConfigurationChangeListener listener) {
+    delegate.addChangeListener(prefix, listener);
+  }
+
+  @Override
+  public void removeChangeListener(ConfigurationChangeListener listener) {
+    delegate.removeChangeListener(listener);
+  }
+
+  @Override
+  public <T> T getProperty(String key, Class<T> type) {
+    return delegate.getProperty(key, type);
+  }
+
+  @Override
+  public <T> T getProperty(String key, GenericTypeInterface genericType) {
+    return delegate.getProperty(key, genericType);
+  }
+
+  @Override
+  public int getInt(String key) {
+    return delegate.getInt(key);
+  }
+
+  @Override
+  public long getLong(String key) {
+    return delegate.getLong(key);
+  }
+
+  @Override
+  public double getDouble(String key) {
+    return delegate.getDouble(key);
+  }
+
+  @Override
+  public boolean getBoolean(String key) {
+    return delegate.getBoolean(key);
+  }
+
+  @Override
+  public PropertyValues getProperties(PropertyBatch batch) {
+    return delegate.getProperties(batch);
+  }
+
+  @Override
+  public PinnedConfigurationProvider snapshot() {
+    return this;
+  }
+
+  @Override
+  public <T> T bind(String prefix, Class<T> type) {
+    return delegate.bind(this, prefix, type);
+  }
+
+  @Override
+  public String toString() {
+    return "SimplePinnedConfigurationProvider{" +
+        "generation=" + generation +
+        ", delegate=" + delegate +
+        '}';
+  }
+}
@@ -119,8 +119,7 @@ public class ClasspathConfigurationSource implements ConfigurationSource {
           throw new IllegalStateException("Unable to load properties from classpath: " + path);
         }
 
-        PropertiesProvider provider = propertiesProviderSelector.getProvider(path.getFileName().toString());
-        properties.putAll(provider.getProperties(input));
+        properties.putAll(propertiesProviderSelector.getProperties(path, input));
 
       } catch (IOException e) {
         throw new IllegalStateException("Unable to load properties from classpath: " + path, e);
@@ -78,16 +78,20 @@ public class FallbackConfigurationSource implements ConfigurationSource {
     throw new IllegalStateException();
   }
 
+  /**
+   * Initialize all underlying sources concurrently. Succeeds when at least one of them initializes.
+   *
+   * @throws IllegalStateException when unable to initialize any of the underlying sources
+   */
   @Override
   public void init() {
     boolean atLeastOneSuccess = false;
 
-    for (ConfigurationSource source : sources) {
-      try {
-        source.init();
+    for (RuntimeException failure : ParallelInitializer.initAll(sources)) {
+      if (failure == null) {
         atLeastOneSuccess = true;
-      } catch (IllegalStateException | SourceCommunicationException e) {
-        // NOP
+      } else if (!(failure instanceof IllegalStateException) && !(failure instanceof SourceCommunicationException)) {
+        throw failure;
       }
     }
 
@@ -18,6 +18,7 @@ package org.cfg4j.source.compose;
 import static java.util.Objects.requireNonNull;
 
 import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.SourceCommunicationException;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
 
@@ -66,10 +67,31 @@ public class MergeConfigurationSource implements ConfigurationSource {
     return properties;
   }
 
+  /**
+   * Initialize all underlying sources concurrently.
+   *
+   * @throws IllegalStateException        when unable to initialize one of the underlying sources (failures of the
+   *                                      remaining ones are attached as suppressed exceptions)
+   * @throws SourceCommunicationException when unable to communicate with one of the underlying sources
+   */
   @Override
   public void init() {
-    for (ConfigurationSource source : sources) {
-      source.init();
+    RuntimeException failure = null;
+
+    for (RuntimeException sourceFailure : ParallelInitializer.initAll(sources)) {
+      if (sourceFailure == null) {
+        continue;
+      }
+
+      if (failure == null) {
+        failure = sourceFailure;
+      } else {
+        failure.addSuppressed(sourceFailure);
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
     }
   }
 
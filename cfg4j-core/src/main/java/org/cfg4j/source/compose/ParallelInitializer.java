@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.compose;
+
+import org.cfg4j.metrics.jfr.ConfigurationEvent;
+import org.cfg4j.metrics.jfr.ConfigurationEvents;
+import org.cfg4j.source.ConfigurationSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Initializes multiple {@link ConfigurationSource}s concurrently. The first source is initialized on the calling
+ * thread, each of the remaining ones on its own thread (initialization usually blocks on I/O, e.g. cloning a
+ * repository, so it shouldn't occupy a shared pool). Initialization of each source is recorded as a Java Flight
+ * Recorder event (see {@link ConfigurationEvents}).
+ */
+class ParallelInitializer {
+
+  private ParallelInitializer() {
+  }
+
+  /**
+   * Initialize all {@code sources} and wait until all of them complete.
+   *
+   * @param sources sources to initialize
+   * @return failures indexed as {@code sources} ({@code null} for sources that initialized successfully)
+   */
+  static RuntimeException[] initAll(ConfigurationSource[] sources) {
+    RuntimeException[] failures = new RuntimeException[sources.length];
+
+    List<CompletableFuture<Void>> inits = new ArrayList<>(sources.length);
+    for (int i = 1; i < sources.length; i++) {
+      ConfigurationSource source = sources[i];
+      inits.add(CompletableFuture.runAsync(() -> init(source), runnable -> {
+        Thread thread = new Thread(runnable, "cfg4j-source-init");
+        thread.setDaemon(true);
+        thread.start();
+      }));
+    }
+
+    if (sources.length > 0) {
+      try {
+        init(sources[0]);
+      } catch (RuntimeException e) {
+        failures[0] = e;
+      }
+    }
+
+    for (int i = 1; i < sources.length; i++) {
+      try {
+        inits.get(i - 1).join();
+      } catch (CompletionException e) {
+        if (!(e.getCause() instanceof RuntimeException)) {
+          throw e;
+        }
+        failures[i] = (RuntimeException) e.getCause();
+      }
+    }
+
+    return failures;
+  }
+
+  private static void init(ConfigurationSource source) {
+    ConfigurationEvent event = ConfigurationEvents.sourceInit(source.getClass());
+
+    try {
+      source.init();
+      event.succeeded();
+    } catch (RuntimeException e) {
+      event.failed(e);
+      throw e;
+    }
+  }
+}
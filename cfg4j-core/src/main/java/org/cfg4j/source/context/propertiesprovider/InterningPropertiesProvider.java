@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.context.propertiesprovider;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * {@link PropertiesProvider} decorator that replaces {@link String} keys and values returned by the underlying provider
+ * with their canonical instances from a {@link StringPool}. Share a single pool between providers to deduplicate
+ * strings across files, sources, environments and reloads.
+ */
+public class InterningPropertiesProvider implements PropertiesProvider {
+
+  private final PropertiesProvider delegate;
+  private final StringPool stringPool;
+
+  /**
+   * Create a provider interning results of the {@code delegate}.
+   *
+   * @param delegate   provider used for parsing
+   * @param stringPool pool of canonical strings
+   */
+  public InterningPropertiesProvider(PropertiesProvider delegate, StringPool stringPool) {
+    this.delegate = requireNonNull(delegate);
+    this.stringPool = requireNonNull(stringPool);
+  }
+
+  /**
+   * Get {@link Properties} for a given {@code inputStream} using the underlying provider and intern their keys and
+   * values. Non-{@link String} keys and values are left intact.
+   *
+   * @param inputStream input stream to convert
+   * @return properties representing values from {@code inputStream}
+   * @throws IllegalStateException when unable to read properties
+   */
+  @Override
+  public Properties getProperties(InputStream inputStream) {
+    Properties properties = delegate.getProperties(inputStream);
+    Properties interned = new Properties();
+
+    for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+      interned.put(intern(entry.getKey()), intern(entry.getValue()));
+    }
+
+    return interned;
+  }
+
+  private Object intern(Object object) {
+    return object instanceof String ? stringPool.intern((String) object) : object;
+  }
+
+  @Override
+  public String toString() {
+    return "InterningPropertiesProvider{" +
+        "delegate=" + delegate +
+        ", stringPool=" + stringPool +
+        '}';
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.context.propertiesprovider;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.metrics.Histogram;
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.metrics.Timer;
+
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Decorator for {@link PropertiesProvider} that emits parsing metrics. It emits the following metrics (each of those
+ * prefixed with a string passed at construction time and including the format name):
+ * <ul>
+ * <li>parse.&lt;format&gt; ({@link Timer} - parsing and flattening time)</li>
+ * <li>parse.&lt;format&gt;.bytes ({@link Histogram} - size of parsed input)</li>
+ * </ul>
+ * Wrap providers passed to {@link PropertiesProviderSelector} to break down time of file-based reloads by format.
+ */
+public class MeteredPropertiesProvider implements PropertiesProvider {
+
+  private final PropertiesProvider delegate;
+  private final Timer parseTimer;
+  private final Histogram parsedBytes;
+
+  /**
+   * Create decorator for given {@code delegate} and using {@code metricsBackend} for constructing metrics. Each metric will
+   * be prefixed with {@code metricPrefix}.
+   *
+   * @param metricsBackend backend to hold execution metrics
+   * @param metricPrefix   prefix for metric names (trailing dot will be added to it)
+   * @param format         name of the format parsed by {@code delegate} (e.g. yaml) used in metric names
+   * @param delegate       properties provider to monitor
+   */
+  public MeteredPropertiesProvider(MetricsBackend metricsBackend, String metricPrefix, String format,
+                                   PropertiesProvider delegate) {
+    requireNonNull(metricsBackend);
+    requireNonNull(metricPrefix);
+    requireNonNull(format);
+    this.delegate = requireNonNull(delegate);
+
+    parseTimer = metricsBackend.timer(metricPrefix + "parse." + format);
+    parsedBytes = metricsBackend.histogram(metricPrefix + "parse." + format + ".bytes");
+  }
+
+  @Override
+  public Properties getProperties(InputStream inputStream) {
+    CountingInputStream countingInputStream = new CountingInputStream(requireNonNull(inputStream));
+    long start = System.nanoTime();
+
+    try {
+      return delegate.getProperties(countingInputStream);
+    } finally {
+      parseTimer.update(System.nanoTime() - start);
+      parsedBytes.update(countingInputStream.getCount());
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "MeteredPropertiesProvider{" +
+        "delegate=" + delegate +
+        '}';
+  }
+}
@@ -18,6 +18,13 @@ package org.cfg4j.source.context.propertiesprovider;
 
 import static java.util.Objects.requireNonNull;
 
+import org.cfg4j.metrics.jfr.ConfigurationEvent;
+import org.cfg4j.metrics.jfr.ConfigurationEvents;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Properties;
+
 /**
  * Selects {@link PropertiesProvider} to use based on a file extension.
  */
@@ -48,12 +55,63 @@ public class PropertiesProviderSelector {
    * @return provider for the give file type
    */
   public PropertiesProvider getProvider(String filename) {
+    switch (getFormat(filename)) {
+      case "yaml":
+        return yamlProvider;
+      case "json":
+        return jsonProvider;
+      default:
+        return propertiesProvider;
+    }
+  }
+
+  /**
+   * Parse configuration file read from {@code inputStream} using {@link PropertiesProvider} selected based on
+   * the {@code path} extension (see {@link #getProvider(String)}). The parse is recorded as a Java Flight Recorder
+   * event (see {@link ConfigurationEvents}).
+   *
+   * @param path        path of the configuration file
+   * @param inputStream input stream of the configuration file
+   * @return properties parsed from the file
+   * @throws IllegalStateException when unable to parse the file
+   */
+  public Properties getProperties(Path path, InputStream inputStream) {
+    String format = getFormat(path.getFileName().toString());
+    CountingInputStream countingInputStream = new CountingInputStream(requireNonNull(inputStream));
+    ConfigurationEvent event = ConfigurationEvents.fileParse(path.toString(), format);
+
+    try {
+      Properties properties = getProvider(path.getFileName().toString()).getProperties(countingInputStream);
+      event.succeeded(countingInputStream.getCount());
+      return properties;
+    } catch (RuntimeException e) {
+      event.failed(e);
+      throw e;
+    }
+  }
+
+  private static String getFormat(String filename) {
     if (filename.endsWith(".yaml") || filename.endsWith(".yml")) {
-      return yamlProvider;
+      return "yaml";
     } else if (filename.endsWith(".json")) {
-      return jsonProvider;
+      return "json";
     } else {
-      return propertiesProvider;
+      return "properties";
     }
   }
+
+  /**
+   * Create a selector that interns keys and values produced by all providers of this selector using the
+   * {@code stringPool}. See {@link InterningPropertiesProvider}.
+   *
+   * @param stringPool pool of canonical strings
+   * @return selector producing interned properties
+   */
+  public PropertiesProviderSelector interning(StringPool stringPool) {
+    return new PropertiesProviderSelector(
+        new InterningPropertiesProvider(propertiesProvider, stringPool),
+        new InterningPropertiesProvider(yamlProvider, stringPool),
+        new InterningPropertiesProvider(jsonProvider, stringPool)
+    );
+  }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.context.propertiesprovider;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded pool of canonical {@link String} instances. Use it to share a single instance of strings that repeat across
+ * configuration files, environments and reloads (e.g. keys, "true", host names).
+ * <p>
+ * The pool is a fixed-size table indexed by string hash. Each slot holds a weak reference to a single string, so
+ * the pool never grows beyond its capacity and never prevents pooled strings from being garbage collected. A string
+ * hashing to an occupied slot replaces the previous one, so canonicalization is best-effort. The pool is thread-safe.
+ */
+public class StringPool {
+
+  private final AtomicReferenceArray<WeakReference<String>> slots;
+  private final int mask;
+
+  /**
+   * Create a pool holding at most {@code capacity} strings. The capacity is rounded up to the nearest power of two.
+   *
+   * @param capacity maximum number of pooled strings
+   */
+  public StringPool(int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Pool capacity has to be between 1 and 2^30, got: " + capacity);
+    }
+
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+
+    slots = new AtomicReferenceArray<>(size);
+    mask = size - 1;
+  }
+
+  /**
+   * Get the canonical instance of a given {@code string}. When the pool doesn't hold a string equal to
+   * {@code string} then {@code string} becomes the canonical instance.
+   *
+   * @param string string to canonicalize
+   * @return pooled string equal to {@code string}
+   */
+  public String intern(String string) {
+    int hash = string.hashCode();
+    int index = (hash ^ (hash >>> 16)) & mask;
+
+    WeakReference<String> slot = slots.get(index);
+    if (slot != null) {
+      String pooled = slot.get();
+      if (pooled != null && pooled.equals(string)) {
+        return pooled;
+      }
+    }
+
+    slots.set(index, new WeakReference<>(string));
+    return string;
+  }
+
+  /**
+   * @return maximum number of pooled strings
+   */
+  public int capacity() {
+    return slots.length();
+  }
+
+  @Override
+  public String toString() {
+    return "StringPool{" +
+        "capacity=" + slots.length() +
+        '}';
+  }
+}
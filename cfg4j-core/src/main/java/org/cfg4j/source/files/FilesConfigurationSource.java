@@ -118,8 +118,7 @@ public class FilesConfigurationSource implements ConfigurationSource {
     for (Path path : paths) {
       try (InputStream input = new FileInputStream(path.toFile())) {
 
-        PropertiesProvider provider = propertiesProviderSelector.getProvider(path.getFileName().toString());
-        properties.putAll(provider.getProperties(input));
+        properties.putAll(propertiesProviderSelector.getProperties(path, input));
 
       } catch (IOException e) {
         throw new IllegalStateException("Unable to load properties from file: " + path, e);
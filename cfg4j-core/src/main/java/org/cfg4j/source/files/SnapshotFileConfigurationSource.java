@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.files;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.snapshot.FileSnapshotStore;
+import org.cfg4j.source.snapshot.MappedSnapshotFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * {@link ConfigurationSource} serving configuration from a binary snapshot file written by a
+ * {@link FileSnapshotStore} (e.g. by another process that fetched the configuration from a remote source). The file
+ * is memory mapped and re-mapped only when it was replaced since the last call. The same configuration is provided
+ * for all environments.
+ */
+public class SnapshotFileConfigurationSource implements ConfigurationSource {
+
+  private final Path file;
+
+  // Guarded by this
+  private MappedSnapshotFile snapshotFile;
+  private Object fileKey;
+  private FileTime lastModifiedTime;
+  private long fileSize;
+
+  /**
+   * Construct {@link ConfigurationSource} backed by a snapshot {@code file}.
+   *
+   * @param file snapshot file
+   */
+  public SnapshotFileConfigurationSource(Path file) {
+    this.file = requireNonNull(file);
+  }
+
+  /**
+   * Get configuration from the snapshot file. Maps the file again if it was replaced.
+   *
+   * @param environment environment to use (ignored)
+   * @return configuration held in the snapshot file
+   * @throws IllegalStateException when unable to read the snapshot file or it's corrupted
+   */
+  @Override
+  public Properties getConfiguration(Environment environment) {
+    Properties properties = new Properties();
+    current().forEach(properties::put);
+    return properties;
+  }
+
+  /**
+   * Map the snapshot file.
+   *
+   * @throws IllegalStateException when unable to read the snapshot file or it's corrupted
+   */
+  @Override
+  public void init() {
+    current();
+  }
+
+  private synchronized MappedSnapshotFile current() {
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read configuration snapshot file: " + file, e);
+    }
+
+    if (snapshotFile == null
+        || !Objects.equals(attributes.fileKey(), fileKey)
+        || !attributes.lastModifiedTime().equals(lastModifiedTime)
+        || attributes.size() != fileSize) {
+      snapshotFile = MappedSnapshotFile.open(file);
+      fileKey = attributes.fileKey();
+      lastModifiedTime = attributes.lastModifiedTime();
+      fileSize = attributes.size();
+    }
+
+    return snapshotFile;
+  }
+
+  @Override
+  public String toString() {
+    return "SnapshotFileConfigurationSource{" +
+        "file=" + file +
+        '}';
+  }
+}
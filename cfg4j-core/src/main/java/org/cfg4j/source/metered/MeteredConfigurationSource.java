@@ -19,7 +19,9 @@ package org.cfg4j.source.metered;
 import static java.util.Objects.requireNonNull;
 
 import com.codahale.metrics.MetricRegistry;
-import com.codahale.metrics.Timer;
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.metrics.Timer;
+import org.cfg4j.metrics.dropwizard.DropwizardMetricsBackend;
 import org.cfg4j.source.ConfigurationSource;
 import org.cfg4j.source.context.environment.Environment;
 
@@ -32,7 +34,20 @@ import java.util.Properties;
  * <li>source.getConfiguration</li>
  * <li>source.init</li>
  * </ul>
- * Each of those metrics is of {@link Timer} type (i.e. includes execution time percentiles, execution count, etc.)
+ * Each of those metrics is of {@link Timer} type (with Dropwizard Metrics it includes execution time percentiles,
+ * execution count, etc.)
+ * It also emits a gauge with the number of keys returned by the last successful getConfiguration call:
+ * <ul>
+ * <li>source.keys</li>
+ * </ul>
+ * When created with a source name the metrics are emitted as source.&lt;name&gt;.getConfiguration, etc. Use that to
+ * break down reload time by child sources of a {@link org.cfg4j.source.compose.MergeConfigurationSource} or
+ * {@link org.cfg4j.source.compose.FallbackConfigurationSource}:
+ * <pre>
+ * new MergeConfigurationSource(
+ *     new MeteredConfigurationSource(metricsBackend, "cfg4j.", "consul", consulSource),
+ *     new MeteredConfigurationSource(metricsBackend, "cfg4j.", "git", gitSource));
+ * </pre>
  */
 public class MeteredConfigurationSource implements ConfigurationSource {
 
@@ -40,6 +55,7 @@ public class MeteredConfigurationSource implements ConfigurationSource {
 
   private final Timer getConfigurationTimer;
   private final Timer initTimer;
+  private volatile int lastKeyCount;
 
   /**
    * Create decorator for given {@code delegate} and using {@code metricRegistry} for constructing metrics. Each metric will
@@ -50,33 +66,67 @@ public class MeteredConfigurationSource implements ConfigurationSource {
    * @param delegate       configuration provider to monitor
    */
   public MeteredConfigurationSource(MetricRegistry metricRegistry, String metricPrefix, ConfigurationSource delegate) {
-    requireNonNull(metricRegistry);
+    this(new DropwizardMetricsBackend(metricRegistry), metricPrefix, delegate);
+  }
+
+  /**
+   * Create decorator for given {@code delegate} and using {@code metricsBackend} for constructing metrics. Each metric will
+   * be prefixed with {@code metricPrefix}.
+   *
+   * @param metricsBackend backend to hold execution metrics
+   * @param metricPrefix   prefix for metric names (trailing dot will be added to it)
+   * @param delegate       configuration provider to monitor
+   */
+  public MeteredConfigurationSource(MetricsBackend metricsBackend, String metricPrefix, ConfigurationSource delegate) {
+    this(metricsBackend, metricPrefix, delegate, "source.");
+  }
+
+  /**
+   * Create decorator for given {@code delegate} and using {@code metricsBackend} for constructing metrics. Each metric will
+   * be prefixed with {@code metricPrefix} and will include {@code sourceName} (e.g. source.&lt;sourceName&gt;.init).
+   *
+   * @param metricsBackend backend to hold execution metrics
+   * @param metricPrefix   prefix for metric names (trailing dot will be added to it)
+   * @param sourceName     name of the source used in metric names
+   * @param delegate       configuration provider to monitor
+   */
+  public MeteredConfigurationSource(MetricsBackend metricsBackend, String metricPrefix, String sourceName,
+                                    ConfigurationSource delegate) {
+    this(metricsBackend, metricPrefix, delegate, "source." + requireNonNull(sourceName) + ".");
+  }
+
+  private MeteredConfigurationSource(MetricsBackend metricsBackend, String metricPrefix, ConfigurationSource delegate,
+                                     String sourcePrefix) {
+    requireNonNull(metricsBackend);
     requireNonNull(metricPrefix);
     this.delegate = requireNonNull(delegate);
 
-    getConfigurationTimer = metricRegistry.timer(metricPrefix + "source.getConfiguration");
-    initTimer = metricRegistry.timer(metricPrefix + "source.init");
+    getConfigurationTimer = metricsBackend.timer(metricPrefix + sourcePrefix + "getConfiguration");
+    initTimer = metricsBackend.timer(metricPrefix + sourcePrefix + "init");
+    metricsBackend.gauge(metricPrefix + sourcePrefix + "keys", () -> lastKeyCount);
   }
 
   @Override
   public Properties getConfiguration(Environment environment) {
-    Timer.Context context = getConfigurationTimer.time();
+    long start = System.nanoTime();
 
     try {
-      return delegate.getConfiguration(environment);
+      Properties configuration = delegate.getConfiguration(environment);
+      lastKeyCount = configuration.size();
+      return configuration;
     } finally {
-      context.stop();
+      getConfigurationTimer.update(System.nanoTime() - start);
     }
   }
 
   @Override
   public void init() {
-    Timer.Context context = initTimer.time();
+    long start = System.nanoTime();
 
     try {
       delegate.init();
     } finally {
-      context.stop();
+      initTimer.update(System.nanoTime() - start);
     }
   }
 }
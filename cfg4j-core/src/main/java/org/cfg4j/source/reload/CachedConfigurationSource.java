@@ -17,54 +17,215 @@ package org.cfg4j.source.reload;
 
 import static java.util.Objects.requireNonNull;
 
+import org.cfg4j.metrics.jfr.ConfigurationEvent;
+import org.cfg4j.metrics.jfr.ConfigurationEvents;
 import org.cfg4j.source.ConfigurationSource;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.cfg4j.source.snapshot.ConfigurationChange;
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.source.snapshot.ConfigurationSnapshotValidator;
+import org.cfg4j.source.snapshot.SnapshotConfigurationSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * A {@link ConfigurationSource} that caches configuration between calls to the {@link #reload(Environment)} method.
+ * The cache can hold configuration for many environments at once. It can be bounded, in which case the least recently
+ * used environments are evicted. Configuration is cached as {@link ConfigurationSnapshot}s: a reload shares all
+ * unchanged keys and values with the previously cached snapshot and environments that have identical configuration
+ * share a single snapshot. Change listeners registered for an environment are notified with a diff between the
+ * previous and the new snapshot after each reload that changes its configuration. A new snapshot is published only if
+ * all snapshot validators registered for its environment accept it. Loads of an environment are serialized: a reload
+ * validates and publishes its snapshot before the next load of that environment starts, and threads missing the same
+ * environment in a bounded cache wait for a single load. Change listeners and snapshot validators stay registered when
+ * their environment is evicted from a bounded cache: the last snapshot of an evicted environment with listeners or
+ * validators is retained and a snapshot loaded after the eviction is validated and diffed against it (when rejected
+ * the retained snapshot is cached again). Reload phase listeners are notified about duration of each
+ * {@link ReloadPhase} of every reload.
+ * Initialization and reloads are recorded as Java Flight Recorder events (see {@link ConfigurationEvents}).
  */
-public class CachedConfigurationSource implements ConfigurationSource {
+public class CachedConfigurationSource implements SnapshotConfigurationSource {
 
-  private final Map<String, Properties> cachedConfigurationPerEnvironment;
+  private static final Logger LOG = LoggerFactory.getLogger(CachedConfigurationSource.class);
+
+  private final Map<String, CachedConfiguration> cachedConfigurationPerEnvironment;
+  private final ConcurrentMap<String, List<ConfigurationChangeListener>> listenersPerEnvironment = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, List<ConfigurationSnapshotValidator>> validatorsPerEnvironment = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ReentrantLock> loadLocksPerEnvironment = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ConfigurationSnapshot> evictedSnapshotsPerEnvironment = new ConcurrentHashMap<>();
+  private final List<ReloadPhaseListener> reloadPhaseListeners = new CopyOnWriteArrayList<>();
   private final ConfigurationSource underlyingSource;
+  private final boolean loadOnMiss;
 
   /**
-   * Create a new cached configuration source backed by {@code underlyingSource}.
+   * Create a new cached configuration source backed by {@code underlyingSource}. The cache is unbounded and
+   * only contains environments passed to {@link #reload(Environment)}.
    *
    * @param underlyingSource source used to load data into cache.
    */
   public CachedConfigurationSource(ConfigurationSource underlyingSource) {
     this.underlyingSource = requireNonNull(underlyingSource);
 
-    cachedConfigurationPerEnvironment = new HashMap<>();
+    cachedConfigurationPerEnvironment = new ConcurrentHashMap<>();
+    loadOnMiss = false;
+  }
+
+  /**
+   * Create a new cached configuration source backed by {@code underlyingSource} holding configuration for at most
+   * {@code maxCachedEnvironments} environments. When the limit is exceeded the least recently used environment is evicted.
+   * Environments that are not in cache (never loaded or evicted) are loaded from {@code underlyingSource} on the first
+   * call to {@link #getConfiguration(Environment)}.
+   *
+   * @param underlyingSource      source used to load data into cache.
+   * @param maxCachedEnvironments maximum number of environments to cache
+   */
+  public CachedConfigurationSource(ConfigurationSource underlyingSource, int maxCachedEnvironments) {
+    this.underlyingSource = requireNonNull(underlyingSource);
+
+    if (maxCachedEnvironments < 1) {
+      throw new IllegalArgumentException("Cache has to hold at least one environment, got: " + maxCachedEnvironments);
+    }
+
+    cachedConfigurationPerEnvironment = Collections.synchronizedMap(new LinkedHashMap<String, CachedConfiguration>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedConfiguration> eldest) {
+        if (size() > maxCachedEnvironments) {
+          evicted(eldest.getKey(), eldest.getValue().snapshot);
+          return true;
+        }
+
+        return false;
+      }
+    });
+    loadOnMiss = true;
   }
 
   /**
    * Get configuration set for a given {@code environment} from the cache. For cache to be seeded
    * you have to call the {@link #reload(Environment)} method before calling this method. Otherwise
-   * the method will throw {@link MissingEnvironmentException}.
+   * the method will throw {@link MissingEnvironmentException}. Bounded caches load missing environments
+   * instead.
+   *
+   * The returned object is a copy, changes to it don't affect the cache.
    *
    * @param environment environment to use
    * @return configuration set for {@code environment}
    * @throws MissingEnvironmentException when there's no config for the given environment in the cache
+   * @throws IllegalStateException       when bounded cache is unable to load missing configuration
    */
   @Override
   public Properties getConfiguration(Environment environment) {
-    if (cachedConfigurationPerEnvironment.containsKey(environment.getName())) {
-      return cachedConfigurationPerEnvironment.get(environment.getName());
-    } else {
-      throw new MissingEnvironmentException(environment.getName());
+    return getSnapshot(environment).asProperties();
+  }
+
+  /**
+   * Get configuration snapshot for a given {@code environment} from the cache. Seeding rules are the same as for
+   * {@link #getConfiguration(Environment)}.
+   *
+   * @param environment environment to use
+   * @return configuration snapshot for {@code environment}
+   * @throws MissingEnvironmentException when there's no config for the given environment in the cache
+   * @throws IllegalStateException       when bounded cache is unable to load missing configuration
+   */
+  @Override
+  public ConfigurationSnapshot getSnapshot(Environment environment) {
+    CachedConfiguration cachedConfiguration = cachedConfigurationPerEnvironment.get(environment.getName());
+
+    if (cachedConfiguration == null) {
+      if (!loadOnMiss) {
+        throw new MissingEnvironmentException(environment.getName());
+      }
+
+      cachedConfiguration = load(environment, true);
     }
+
+    return cachedConfiguration.snapshot;
+  }
+
+  @Override
+  public void addChangeListener(Environment environment, ConfigurationChangeListener listener) {
+    requireNonNull(listener);
+    listenersPerEnvironment.compute(environment.getName(), (name, listeners) -> {
+      List<ConfigurationChangeListener> registered = listeners == null ? new CopyOnWriteArrayList<>() : listeners;
+      registered.add(listener);
+      return registered;
+    });
+  }
+
+  @Override
+  public void removeChangeListener(Environment environment, ConfigurationChangeListener listener) {
+    listenersPerEnvironment.computeIfPresent(environment.getName(), (name, listeners) -> {
+      listeners.remove(listener);
+      return listeners.isEmpty() ? null : listeners;
+    });
+
+    releaseEvictedSnapshotIfUnobserved(environment.getName());
+  }
+
+  @Override
+  public void addSnapshotValidator(Environment environment, ConfigurationSnapshotValidator validator) {
+    requireNonNull(validator);
+    validatorsPerEnvironment.compute(environment.getName(), (name, validators) -> {
+      List<ConfigurationSnapshotValidator> registered = validators == null ? new CopyOnWriteArrayList<>() : validators;
+      registered.add(validator);
+      return registered;
+    });
+  }
+
+  @Override
+  public void removeSnapshotValidator(Environment environment, ConfigurationSnapshotValidator validator) {
+    validatorsPerEnvironment.computeIfPresent(environment.getName(), (name, validators) -> {
+      validators.remove(validator);
+      return validators.isEmpty() ? null : validators;
+    });
+
+    releaseEvictedSnapshotIfUnobserved(environment.getName());
+  }
+
+  /**
+   * Register {@code listener} notified about duration of each {@link ReloadPhase} of every reload of this source.
+   *
+   * @param listener listener to register
+   */
+  public void addReloadPhaseListener(ReloadPhaseListener listener) {
+    reloadPhaseListeners.add(requireNonNull(listener));
+  }
+
+  /**
+   * Deregister {@code listener} registered with {@link #addReloadPhaseListener(ReloadPhaseListener)}.
+   *
+   * @param listener listener to deregister
+   */
+  public void removeReloadPhaseListener(ReloadPhaseListener listener) {
+    reloadPhaseListeners.remove(listener);
   }
 
   @Override
   public void init() {
-    underlyingSource.init();
+    ConfigurationEvent event = ConfigurationEvents.sourceInit(underlyingSource.getClass());
+
+    try {
+      underlyingSource.init();
+      event.succeeded();
+    } catch (RuntimeException e) {
+      event.failed(e);
+      throw e;
+    }
   }
 
   /**
@@ -73,10 +234,284 @@ public class CachedConfigurationSource implements ConfigurationSource {
    *
    * @param environment environment to reload
    * @throws MissingEnvironmentException when requested environment couldn't be found
-   * @throws IllegalStateException       when unable to fetch configuration
+   * @throws IllegalStateException       when unable to fetch configuration or a snapshot validator rejected it
    */
   public void reload(Environment environment) {
+    load(environment, false);
+  }
+
+  /**
+   * Seed the cache with bootstrap {@code configuration} for a given {@code environment}. It's served until the first
+   * reload of that environment replaces it (change listeners are notified about the difference). Does nothing when
+   * the environment is already cached.
+   *
+   * @param environment   environment to seed
+   * @param configuration bootstrap configuration
+   */
+  public void bootstrap(Environment environment, Properties configuration) {
+    bootstrap(environment, ConfigurationSnapshot.of(configuration));
+  }
+
+  /**
+   * Same as {@link #bootstrap(Environment, Properties)} but seeds the cache with a {@code snapshot}.
+   *
+   * @param environment environment to seed
+   * @param snapshot    bootstrap configuration snapshot
+   */
+  public void bootstrap(Environment environment, ConfigurationSnapshot snapshot) {
+    CachedConfiguration cachedConfiguration = new CachedConfiguration(environment, requireNonNull(snapshot));
+
+    ReentrantLock lock = lockEnvironment(environment.getName());
+    try {
+      cachedConfigurationPerEnvironment.putIfAbsent(environment.getName(), cachedConfiguration);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reload configuration sets for all environments currently held in cache. All environments are reloaded
+   * even if some of them fail.
+   *
+   * @throws IllegalStateException when unable to reload at least one environment (failures are attached as the cause
+   *                               and suppressed exceptions)
+   */
+  public void reloadAll() {
+    List<Environment> environments = new ArrayList<>();
+    synchronized (cachedConfigurationPerEnvironment) {
+      for (CachedConfiguration cachedConfiguration : cachedConfigurationPerEnvironment.values()) {
+        environments.add(cachedConfiguration.environment);
+      }
+    }
+
+    IllegalStateException failure = null;
+    for (Environment environment : environments) {
+      try {
+        load(environment, false);
+      } catch (RuntimeException e) {
+        if (failure == null) {
+          failure = new IllegalStateException("Unable to reload configuration for environment: " + environment.getName(), e);
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Load configuration of a given {@code environment} holding its load lock.
+   *
+   * @param environment environment to load
+   * @param ifMissing   whether to skip loading when the environment got cached while waiting for the lock
+   */
+  private CachedConfiguration load(Environment environment, boolean ifMissing) {
+    ReentrantLock lock = lockEnvironment(environment.getName());
+
+    try {
+      if (ifMissing) {
+        CachedConfiguration cachedConfiguration = cachedConfigurationPerEnvironment.get(environment.getName());
+        if (cachedConfiguration != null) {
+          return cachedConfiguration;
+        }
+      }
+
+      ConfigurationEvent event = ConfigurationEvents.reload(underlyingSource.getClass(), environment.getName());
+
+      try {
+        CachedConfiguration cachedConfiguration = fetchAndPublish(environment);
+        event.succeeded(cachedConfiguration.snapshot.size());
+        return cachedConfiguration;
+      } catch (RuntimeException e) {
+        event.failed(e);
+
+        CachedConfiguration restored = ifMissing ? cachedConfigurationPerEnvironment.get(environment.getName()) : null;
+        if (restored != null) {
+          LOG.warn("Serving configuration retained for evicted environment: " + environment.getName(), e);
+          return restored;
+        }
+
+        throw e;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Acquire the load lock of an environment with a given {@code name}. Locks of evicted environments may be removed
+   * from the map concurrently, so the lock is re-checked after acquiring it.
+   */
+  private ReentrantLock lockEnvironment(String name) {
+    while (true) {
+      ReentrantLock lock = loadLocksPerEnvironment.computeIfAbsent(name, key -> new ReentrantLock());
+      lock.lock();
+
+      if (loadLocksPerEnvironment.get(name) == lock) {
+        return lock;
+      }
+
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Drop state kept for an environment with a given {@code name} evicted from the cache. The last {@code snapshot} of
+   * an environment with change listeners or snapshot validators is retained. The load lock is kept while the
+   * environment is being loaded.
+   */
+  private void evicted(String name, ConfigurationSnapshot snapshot) {
+    if (listenersPerEnvironment.containsKey(name) || validatorsPerEnvironment.containsKey(name)) {
+      evictedSnapshotsPerEnvironment.put(name, snapshot);
+    }
+
+    ReentrantLock lock = loadLocksPerEnvironment.get(name);
+    if (lock != null && lock.tryLock()) {
+      try {
+        loadLocksPerEnvironment.remove(name, lock);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private void releaseEvictedSnapshotIfUnobserved(String name) {
+    if (!listenersPerEnvironment.containsKey(name) && !validatorsPerEnvironment.containsKey(name)) {
+      evictedSnapshotsPerEnvironment.remove(name);
+    }
+  }
+
+  private CachedConfiguration fetchAndPublish(Environment environment) {
+    long phaseStart = System.nanoTime();
     Properties configuration = underlyingSource.getConfiguration(environment);
-    cachedConfigurationPerEnvironment.put(environment.getName(), configuration);
+    phaseStart = phaseCompleted(environment, ReloadPhase.FETCH, phaseStart);
+
+    CachedConfiguration previous = cachedConfigurationPerEnvironment.get(environment.getName());
+    ConfigurationSnapshot evicted = previous == null ? evictedSnapshotsPerEnvironment.get(environment.getName()) : null;
+    ConfigurationSnapshot base = previous == null ? evicted : previous.snapshot;
+    ConfigurationSnapshot snapshot = base == null
+        ? ConfigurationSnapshot.of(configuration)
+        : base.update(configuration);
+
+    if (snapshot != base) {
+      synchronized (cachedConfigurationPerEnvironment) {
+        for (CachedConfiguration other : cachedConfigurationPerEnvironment.values()) {
+          if (other.snapshot.hashCode() == snapshot.hashCode() && other.snapshot.equals(snapshot)) {
+            snapshot = other.snapshot;
+            break;
+          }
+        }
+      }
+    }
+
+    phaseStart = phaseCompleted(environment, ReloadPhase.MERGE, phaseStart);
+
+    if (snapshot != base) {
+      try {
+        validate(environment, base == null ? ConfigurationSnapshot.empty() : base, snapshot);
+      } catch (IllegalStateException e) {
+        if (evicted != null) {
+          // Like a rejected reload keeps the cached snapshot, keep serving the one retained on eviction
+          cachedConfigurationPerEnvironment.put(environment.getName(), new CachedConfiguration(environment, evicted));
+          evictedSnapshotsPerEnvironment.remove(environment.getName());
+        }
+        throw e;
+      }
+    }
+
+    phaseStart = phaseCompleted(environment, ReloadPhase.VALIDATE, phaseStart);
+
+    CachedConfiguration cachedConfiguration = new CachedConfiguration(environment, snapshot);
+    cachedConfigurationPerEnvironment.put(environment.getName(), cachedConfiguration);
+    if (evicted != null) {
+      evictedSnapshotsPerEnvironment.remove(environment.getName());
+    }
+
+    if (base != null && snapshot != base) {
+      notifyListeners(environment, base, snapshot);
+    }
+
+    phaseCompleted(environment, ReloadPhase.PUBLISH, phaseStart);
+
+    return cachedConfiguration;
+  }
+
+  private void validate(Environment environment, ConfigurationSnapshot current, ConfigurationSnapshot candidate) {
+    List<ConfigurationSnapshotValidator> validators = validatorsPerEnvironment.get(environment.getName());
+    if (validators == null) {
+      return;
+    }
+
+    for (ConfigurationSnapshotValidator validator : validators) {
+      try {
+        validator.validate(current, candidate);
+      } catch (RuntimeException e) {
+        throw new IllegalStateException("Configuration for environment: " + environment.getName()
+            + " rejected by validator " + validator, e);
+      }
+    }
+  }
+
+  private long phaseCompleted(Environment environment, ReloadPhase phase, long phaseStart) {
+    if (reloadPhaseListeners.isEmpty()) {
+      return phaseStart;
+    }
+
+    long durationNanos = System.nanoTime() - phaseStart;
+
+    for (ReloadPhaseListener listener : reloadPhaseListeners) {
+      try {
+        listener.phaseCompleted(environment, phase, durationNanos);
+      } catch (RuntimeException e) {
+        LOG.warn("Reload phase listener " + listener + " failed for environment: " + environment.getName(), e);
+      }
+    }
+
+    return System.nanoTime();
+  }
+
+  private void notifyListeners(Environment environment, ConfigurationSnapshot previous, ConfigurationSnapshot current) {
+    List<ConfigurationChangeListener> listeners = listenersPerEnvironment.get(environment.getName());
+    if (listeners == null || listeners.isEmpty()) {
+      return;
+    }
+
+    ConfigurationChange change = ConfigurationChange.between(previous, current);
+    if (change.isEmpty()) {
+      return;
+    }
+
+    for (ConfigurationChangeListener listener : listeners) {
+      try {
+        listener.onChange(change);
+      } catch (RuntimeException e) {
+        LOG.warn("Configuration change listener " + listener + " failed for environment: " + environment.getName(), e);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "CachedConfigurationSource{" +
+        "underlyingSource=" + underlyingSource +
+        ", cachedEnvironments=" + cachedConfigurationPerEnvironment.keySet() +
+        '}';
+  }
+
+  /**
+   * Configuration set cached for an environment.
+   */
+  private static class CachedConfiguration {
+
+    private final Environment environment;
+    private final ConfigurationSnapshot snapshot;
+
+    private CachedConfiguration(Environment environment, ConfigurationSnapshot snapshot) {
+      this.environment = environment;
+      this.snapshot = snapshot;
+    }
   }
 }
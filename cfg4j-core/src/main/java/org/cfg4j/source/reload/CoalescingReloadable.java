@@ -0,0 +1,238 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator for {@link Reloadable} that coalesces bursts of reload requests into a single reload:
+ * <ul>
+ * <li>a reload runs once no new request arrived for the quiet window, but not later than the max delay after the
+ * first request it serves</li>
+ * <li>reloads of the decorated resource never run concurrently</li>
+ * <li>requests arriving while a reload runs are served by a single pending reload scheduled after it completes</li>
+ * </ul>
+ * Reloads run on the provided {@link ScheduledExecutorService} or on an executor shared by all decorators (its daemon
+ * threads terminate when idle, so decorators don't need to be closed). The decorator counts executed reloads and
+ * coalesced requests (requests served by a reload requested earlier).
+ */
+public class CoalescingReloadable implements Reloadable {
+
+  private static final long SHARED_EXECUTOR_KEEP_ALIVE_SECONDS = 60;
+
+  private final Reloadable delegate;
+  private final long quietWindowNanos;
+  private final long maxDelayNanos;
+  private final ScheduledExecutorService executor;
+  private final LongSupplier nanoClock;
+  private final LongAdder executedReloads = new LongAdder();
+  private final LongAdder coalescedRequests = new LongAdder();
+
+  // Guarded by this
+  private CompletableFuture<Void> pendingReload;
+  private long firstPendingRequest;
+  private long lastPendingRequest;
+  private ScheduledFuture<?> scheduledReload;
+  private long scheduleSequence;
+  private boolean reloadRunning;
+
+  /**
+   * Create decorator coalescing reload requests for the {@code delegate}. Reloads run on the shared executor.
+   *
+   * @param delegate    resource to reload
+   * @param quietWindow time without new requests after which the reload runs
+   * @param maxDelay    maximum time between the first request served by a reload and the start of that reload
+   * @param timeUnit    time unit of {@code quietWindow} and {@code maxDelay}
+   */
+  public CoalescingReloadable(Reloadable delegate, long quietWindow, long maxDelay, TimeUnit timeUnit) {
+    this(delegate, quietWindow, maxDelay, timeUnit, SharedExecutor.INSTANCE);
+  }
+
+  /**
+   * Create decorator coalescing reload requests for the {@code delegate}.
+   *
+   * @param delegate    resource to reload
+   * @param quietWindow time without new requests after which the reload runs
+   * @param maxDelay    maximum time between the first request served by a reload and the start of that reload
+   * @param timeUnit    time unit of {@code quietWindow} and {@code maxDelay}
+   * @param executor    executor running reloads
+   */
+  public CoalescingReloadable(Reloadable delegate, long quietWindow, long maxDelay, TimeUnit timeUnit,
+                              ScheduledExecutorService executor) {
+    this(delegate, quietWindow, maxDelay, timeUnit, executor, System::nanoTime);
+  }
+
+  CoalescingReloadable(Reloadable delegate, long quietWindow, long maxDelay, TimeUnit timeUnit,
+                       ScheduledExecutorService executor, LongSupplier nanoClock) {
+    this.delegate = requireNonNull(delegate);
+    this.executor = requireNonNull(executor);
+    this.nanoClock = requireNonNull(nanoClock);
+
+    if (quietWindow < 0 || maxDelay < quietWindow) {
+      throw new IllegalArgumentException("Quiet window has to be non-negative and not greater than max delay, got: "
+          + quietWindow + " and " + maxDelay);
+    }
+
+    quietWindowNanos = timeUnit.toNanos(quietWindow);
+    maxDelayNanos = timeUnit.toNanos(maxDelay);
+  }
+
+  /**
+   * Request reload and wait until a reload serving this request completes.
+   *
+   * @throws IllegalStateException when unable to reload resource
+   */
+  @Override
+  public void reload() {
+    try {
+      requestReload().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Request reload without waiting for it.
+   *
+   * @return future completed when a reload started after this request completes (exceptionally when the reload
+   * fails)
+   */
+  public synchronized CompletableFuture<Void> requestReload() {
+    long now = nanoClock.getAsLong();
+
+    if (pendingReload == null) {
+      pendingReload = new CompletableFuture<>();
+      firstPendingRequest = now;
+    } else {
+      coalescedRequests.increment();
+    }
+    lastPendingRequest = now;
+
+    CompletableFuture<Void> reload = pendingReload;
+    if (!reloadRunning) {
+      schedulePendingReload(now);
+    }
+
+    return reload;
+  }
+
+  /**
+   * @return number of reloads executed so far
+   */
+  public long getExecutedReloads() {
+    return executedReloads.sum();
+  }
+
+  /**
+   * @return number of requests served by a reload requested earlier
+   */
+  public long getCoalescedRequests() {
+    return coalescedRequests.sum();
+  }
+
+  private void schedulePendingReload(long now) {
+    if (scheduledReload != null) {
+      scheduledReload.cancel(false);
+    }
+
+    long runAt = Math.min(lastPendingRequest + quietWindowNanos, firstPendingRequest + maxDelayNanos);
+    long sequence = ++scheduleSequence;
+    scheduledReload = executor.schedule(() -> runPendingReload(sequence), Math.max(0, runAt - now), TimeUnit.NANOSECONDS);
+  }
+
+  private void runPendingReload(long sequence) {
+    CompletableFuture<Void> reload;
+
+    synchronized (this) {
+      // Skip runs rescheduled by later requests
+      if (sequence != scheduleSequence || reloadRunning || pendingReload == null) {
+        return;
+      }
+
+      reload = pendingReload;
+      pendingReload = null;
+      scheduledReload = null;
+      reloadRunning = true;
+    }
+
+    try {
+      delegate.reload();
+      executedReloads.increment();
+      reload.complete(null);
+    } catch (Throwable e) {
+      executedReloads.increment();
+      reload.completeExceptionally(e);
+
+      if (e instanceof Error) {
+        throw (Error) e;
+      }
+    } finally {
+      synchronized (this) {
+        reloadRunning = false;
+
+        if (pendingReload != null) {
+          schedulePendingReload(nanoClock.getAsLong());
+        }
+      }
+    }
+  }
+
+  /**
+   * Executor shared by decorators created without one, initialized on first use. Reloads of different resources may
+   * run in parallel, idle threads terminate after a minute.
+   */
+  private static final class SharedExecutor {
+
+    static final ScheduledExecutorService INSTANCE = create();
+
+    private static ScheduledExecutorService create() {
+      ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors(),
+          runnable -> {
+            Thread thread = new Thread(runnable, "cfg4j-reload-coalescing");
+            thread.setDaemon(true);
+            return thread;
+          });
+      executor.setKeepAliveTime(SHARED_EXECUTOR_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+      executor.allowCoreThreadTimeOut(true);
+      executor.setRemoveOnCancelPolicy(true);
+      return executor;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "CoalescingReloadable{" +
+        "delegate=" + delegate +
+        ", quietWindowNanos=" + quietWindowNanos +
+        ", maxDelayNanos=" + maxDelayNanos +
+        '}';
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.metrics.Timer;
+import org.cfg4j.source.context.environment.Environment;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link ReloadPhaseListener} that emits duration of each {@link ReloadPhase} as a metric. It emits the following
+ * metrics (each of those prefixed with a string passed at construction time):
+ * <ul>
+ * <li>reloadable.fetch</li>
+ * <li>reloadable.merge</li>
+ * <li>reloadable.validate</li>
+ * <li>reloadable.publish</li>
+ * </ul>
+ * Each of those metrics is of {@link Timer} type (with Dropwizard Metrics it includes execution time percentiles,
+ * execution count, etc.)
+ */
+public class MeteredReloadPhaseListener implements ReloadPhaseListener {
+
+  private final Map<ReloadPhase, Timer> phaseTimers = new EnumMap<>(ReloadPhase.class);
+
+  /**
+   * Create listener using {@code metricsBackend} for constructing metrics. Each metric will be prefixed with
+   * {@code metricPrefix}.
+   *
+   * @param metricsBackend backend to hold execution metrics
+   * @param metricPrefix   prefix for metric names (trailing dot will be added to it)
+   */
+  public MeteredReloadPhaseListener(MetricsBackend metricsBackend, String metricPrefix) {
+    requireNonNull(metricsBackend);
+    requireNonNull(metricPrefix);
+
+    for (ReloadPhase phase : ReloadPhase.values()) {
+      phaseTimers.put(phase, metricsBackend.timer(metricPrefix + "reloadable." + phase.name().toLowerCase(Locale.ROOT)));
+    }
+  }
+
+  @Override
+  public void phaseCompleted(Environment environment, ReloadPhase phase, long durationNanos) {
+    phaseTimers.get(phase).update(durationNanos);
+  }
+}
@@ -19,7 +19,12 @@ package org.cfg4j.source.reload;
 import static java.util.Objects.requireNonNull;
 
 import com.codahale.metrics.MetricRegistry;
-import com.codahale.metrics.Timer;
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.metrics.Timer;
+import org.cfg4j.metrics.dropwizard.DropwizardMetricsBackend;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Decorator for {@link Reloadable} that emits execution metrics. It emits the following metrics (each of those prefixed
@@ -27,12 +32,20 @@ import com.codahale.metrics.Timer;
  * <ul>
  * <li>reloadable.reload</li>
  * </ul>
- * Each of those metrics is of {@link Timer} type (i.e. includes execution time percentiles, execution count, etc.)
+ * Each of those metrics is of {@link Timer} type (with Dropwizard Metrics it includes execution time percentiles,
+ * execution count, etc.) It also emits the following gauges:
+ * <ul>
+ * <li>reloadable.consecutiveFailures - number of reloads that failed since the last successful one</li>
+ * <li>reloadable.millisSinceLastSuccess - time since the last successful reload finished (-1 before the first one)</li>
+ * </ul>
  */
 public class MeteredReloadable implements Reloadable {
 
   private final Reloadable delegate;
   private final Timer reloadTimer;
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private volatile long lastSuccessNanos;
+  private volatile boolean succeeded;
 
   /**
    * Create decorator for given {@code delegate} and using {@code metricRegistry} for constructing metrics. Each metric will
@@ -43,21 +56,60 @@ public class MeteredReloadable implements Reloadable {
    * @param delegate       configuration provider to monitor
    */
   public MeteredReloadable(MetricRegistry metricRegistry, String metricPrefix, Reloadable delegate) {
-    requireNonNull(metricRegistry);
+    this(new DropwizardMetricsBackend(metricRegistry), metricPrefix, delegate);
+  }
+
+  /**
+   * Create decorator for given {@code delegate} and using {@code metricsBackend} for constructing metrics. Each metric will
+   * be prefixed with {@code metricPrefix}.
+   *
+   * @param metricsBackend backend to hold execution metrics
+   * @param metricPrefix   prefix for metric names (trailing dot will be added to it)
+   * @param delegate       configuration provider to monitor
+   */
+  public MeteredReloadable(MetricsBackend metricsBackend, String metricPrefix, Reloadable delegate) {
+    requireNonNull(metricsBackend);
     requireNonNull(metricPrefix);
     this.delegate = requireNonNull(delegate);
 
-    reloadTimer = metricRegistry.timer(metricPrefix + "reloadable.reload");
+    reloadTimer = metricsBackend.timer(metricPrefix + "reloadable.reload");
+    metricsBackend.gauge(metricPrefix + "reloadable.consecutiveFailures", this::getConsecutiveFailures);
+    metricsBackend.gauge(metricPrefix + "reloadable.millisSinceLastSuccess", this::getMillisSinceLastSuccess);
   }
 
   @Override
   public void reload() {
-    Timer.Context context = reloadTimer.time();
+    long start = System.nanoTime();
 
     try {
       delegate.reload();
+    } catch (RuntimeException e) {
+      consecutiveFailures.incrementAndGet();
+      throw e;
     } finally {
-      context.stop();
+      reloadTimer.update(System.nanoTime() - start);
     }
+
+    lastSuccessNanos = System.nanoTime();
+    succeeded = true;
+    consecutiveFailures.set(0);
+  }
+
+  /**
+   * @return number of reloads that failed since the last successful one
+   */
+  public int getConsecutiveFailures() {
+    return consecutiveFailures.get();
+  }
+
+  /**
+   * @return time in milliseconds since the last successful reload finished, -1 when no reload succeeded yet
+   */
+  public long getMillisSinceLastSuccess() {
+    if (!succeeded) {
+      return -1;
+    }
+
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastSuccessNanos);
   }
 }
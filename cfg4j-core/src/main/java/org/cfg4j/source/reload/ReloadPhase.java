@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload;
+
+/**
+ * Phases of a configuration reload performed by {@link CachedConfigurationSource}.
+ */
+public enum ReloadPhase {
+
+  /**
+   * Fetching configuration from the underlying source (includes reading and parsing files, remote calls, merging
+   * multiple sources, etc.).
+   */
+  FETCH,
+
+  /**
+   * Merging fetched configuration into the previously cached snapshot (sharing unchanged keys and values, deduplicating
+   * identical snapshots of different environments).
+   */
+  MERGE,
+
+  /**
+   * Validating the new snapshot with validators registered for its environment (e.g. checking that it can be read by
+   * bound objects). Rejected snapshots are never published.
+   */
+  VALIDATE,
+
+  /**
+   * Publishing the new snapshot to readers and notifying change listeners.
+   */
+  PUBLISH
+}
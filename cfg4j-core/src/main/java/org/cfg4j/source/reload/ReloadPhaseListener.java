@@ -0,0 +1,35 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload;
+
+import org.cfg4j.source.context.environment.Environment;
+
+/**
+ * Listener notified about completion of each {@link ReloadPhase} of reloads performed by
+ * {@link CachedConfigurationSource}. Invoked on the reloading thread, so it should be fast.
+ */
+@FunctionalInterface
+public interface ReloadPhaseListener {
+
+  /**
+   * Invoked when a reload {@code phase} completes successfully.
+   *
+   * @param environment   environment being reloaded
+   * @param phase         completed phase
+   * @param durationNanos duration of the phase in nanoseconds
+   */
+  void phaseCompleted(Environment environment, ReloadPhase phase, long durationNanos);
+}
@@ -22,15 +22,26 @@ import org.cfg4j.source.reload.Reloadable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
 
 /**
  * {@link ReloadStrategy} that reloads resources periodically. Supports multiple resources. It spawns a tread.
+ * <p>
+ * Optionally:
+ * <ul>
+ * <li>randomizes each delay (including the one before the first periodical reload) by a jitter factor so that many
+ * instances started together don't reload in lockstep</li>
+ * <li>backs off exponentially (up to a ceiling) after consecutive failed reloads and returns to the regular interval
+ * after the first successful one</li>
+ * </ul>
+ * Use {@link PeriodicalReloadStrategyBuilder} to configure those.
  */
 public class PeriodicalReloadStrategy implements ReloadStrategy {
 
@@ -38,8 +49,12 @@ public class PeriodicalReloadStrategy implements ReloadStrategy {
 
   private final long duration;
   private final TimeUnit timeUnit;
-  private final Timer timer;
-  private final Map<Reloadable, TimerTask> tasks;
+  private final double jitter;
+  private final double backoffMultiplier;
+  private final long maxBackoffNanos;
+  private final ScheduledExecutorService executor;
+  private final DoubleSupplier random;
+  private final Map<Reloadable, ReloadTask> tasks;
 
   /**
    * Construct strategy that reloads the resource every {@code duration} (measured in {@code timeUnit}s).
@@ -52,10 +67,48 @@ public class PeriodicalReloadStrategy implements ReloadStrategy {
    * @param timeUnit time unit to use
    */
   public PeriodicalReloadStrategy(long duration, TimeUnit timeUnit) {
-    this.duration = duration;
+    this(duration, timeUnit, 0, 1, timeUnit.toNanos(duration), Executors.newSingleThreadScheduledExecutor(),
+        () -> ThreadLocalRandom.current().nextDouble());
+  }
+
+  /**
+   * Construct strategy that reloads the resource every {@code duration} (measured in {@code timeUnit}s), randomizing
+   * each delay by up to {@code jitter} of its length (in both directions) and multiplying it by
+   * {@code backoffMultiplier} after each consecutive failure, up to {@code maxBackoff}.
+   *
+   * @param duration          time (in {@code timeUnit}) between reloads
+   * @param timeUnit          time unit to use
+   * @param jitter            fraction (in [0, 1)) of the delay to randomize
+   * @param backoffMultiplier factor (at least 1) multiplying the delay after each consecutive failure
+   * @param maxBackoffNanos   maximum delay (in nanoseconds) after failures, not lower than {@code duration}
+   * @param executor          executor running reloads
+   * @param random            source of uniformly distributed numbers in [0, 1)
+   */
+  PeriodicalReloadStrategy(long duration, TimeUnit timeUnit, double jitter, double backoffMultiplier,
+                           long maxBackoffNanos, ScheduledExecutorService executor, DoubleSupplier random) {
     this.timeUnit = requireNonNull(timeUnit);
-    tasks = Collections.synchronizedMap(new HashMap<>());
-    timer = new Timer();
+    this.executor = requireNonNull(executor);
+    this.random = requireNonNull(random);
+
+    if (duration <= 0) {
+      throw new IllegalArgumentException("Reload duration has to be positive, got: " + duration);
+    }
+    if (!(jitter >= 0 && jitter < 1)) {
+      throw new IllegalArgumentException("Jitter has to be in [0, 1), got: " + jitter);
+    }
+    if (!(backoffMultiplier >= 1)) {
+      throw new IllegalArgumentException("Backoff multiplier has to be at least 1, got: " + backoffMultiplier);
+    }
+    if (maxBackoffNanos < timeUnit.toNanos(duration)) {
+      throw new IllegalArgumentException("Max backoff has to be at least the reload duration, got: "
+          + maxBackoffNanos + "ns");
+    }
+
+    this.duration = duration;
+    this.jitter = jitter;
+    this.backoffMultiplier = backoffMultiplier;
+    this.maxBackoffNanos = maxBackoffNanos;
+    tasks = new ConcurrentHashMap<>();
   }
 
   @Override
@@ -63,31 +116,38 @@ public class PeriodicalReloadStrategy implements ReloadStrategy {
     LOG.debug("Registering resource " + resource
         + " with reload time of " + duration + " " + timeUnit.toString().toLowerCase());
 
-    TimerTask timerTask = new TimerTask() {
-      @Override
-      public void run() {
-        try {
-          resource.reload();
-        } catch (Exception e) {
-          LOG.warn("Periodical resource reload failed. Will re-try at the next scheduled time.", e);
-        }
-      }
-    };
-
-    timerTask.run();
+    ReloadTask task = new ReloadTask(resource);
+    ReloadTask previous = tasks.put(resource, task);
+    if (previous != null) {
+      previous.cancel();
+    }
 
-    tasks.put(resource, timerTask);
-    timer.schedule(timerTask, timeUnit.toMillis(duration), timeUnit.toMillis(duration));
+    task.run();
   }
 
   @Override
   public void deregister(Reloadable resource) {
     LOG.debug("De-registering resource " + resource);
 
-    TimerTask timerTask = tasks.remove(resource);
-    if (timerTask != null) {
-      timerTask.cancel();
+    ReloadTask task = tasks.remove(resource);
+    if (task != null) {
+      task.cancel();
+    }
+  }
+
+  /**
+   * Delay before the next reload given the number of consecutive failures so far.
+   *
+   * @param consecutiveFailures number of reloads that failed since the last successful one
+   * @return delay in nanoseconds
+   */
+  long nextDelayNanos(int consecutiveFailures) {
+    double delay = timeUnit.toNanos(duration);
+    if (consecutiveFailures > 0) {
+      delay = Math.min(delay * Math.pow(backoffMultiplier, consecutiveFailures), maxBackoffNanos);
     }
+
+    return (long) (delay * (1 + jitter * (2 * random.getAsDouble() - 1)));
   }
 
   @Override
@@ -95,7 +155,59 @@ public class PeriodicalReloadStrategy implements ReloadStrategy {
     return "PeriodicalReloadStrategy{" +
         "duration=" + duration +
         ", timeUnit=" + timeUnit +
-        ", timer=" + timer +
+        ", jitter=" + jitter +
+        ", backoffMultiplier=" + backoffMultiplier +
+        ", maxBackoffNanos=" + maxBackoffNanos +
+        ", executor=" + executor +
         '}';
   }
+
+  /**
+   * Reloads a single resource and schedules its next reload.
+   */
+  private class ReloadTask implements Runnable {
+
+    private final Reloadable resource;
+
+    // Guarded by this
+    private int consecutiveFailures;
+    private ScheduledFuture<?> scheduledReload;
+    private boolean cancelled;
+
+    private ReloadTask(Reloadable resource) {
+      this.resource = resource;
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+      }
+
+      boolean succeeded;
+      try {
+        resource.reload();
+        succeeded = true;
+      } catch (Exception e) {
+        succeeded = false;
+        LOG.warn("Periodical resource reload failed. Will re-try at the next scheduled time.", e);
+      }
+
+      synchronized (this) {
+        consecutiveFailures = succeeded ? 0 : consecutiveFailures + 1;
+        if (!cancelled) {
+          scheduledReload = executor.schedule(this, nextDelayNanos(consecutiveFailures), TimeUnit.NANOSECONDS);
+        }
+      }
+    }
+
+    private synchronized void cancel() {
+      cancelled = true;
+      if (scheduledReload != null) {
+        scheduledReload.cancel(false);
+      }
+    }
+  }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload.strategy;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder for {@link PeriodicalReloadStrategy}.
+ */
+public class PeriodicalReloadStrategyBuilder {
+
+  private long duration;
+  private TimeUnit timeUnit;
+  private double jitter;
+  private double backoffMultiplier;
+  private long maxBackoff;
+  private TimeUnit maxBackoffTimeUnit;
+
+  /**
+   * Construct {@link PeriodicalReloadStrategy}s builder
+   * <p>
+   * Default setup (override using with*() methods)
+   * <ul>
+   * <li>Reload interval: 60 seconds</li>
+   * <li>Jitter: none</li>
+   * <li>Backoff after failures: none</li>
+   * </ul>
+   */
+  public PeriodicalReloadStrategyBuilder() {
+    duration = 60;
+    timeUnit = TimeUnit.SECONDS;
+    jitter = 0;
+    backoffMultiplier = 1;
+  }
+
+  /**
+   * Set time between reloads for {@link PeriodicalReloadStrategy}s built by this builder
+   *
+   * @param duration time (in {@code timeUnit}) between reloads
+   * @param timeUnit time unit to use
+   * @return this builder with reload interval set to {@code duration}
+   */
+  public PeriodicalReloadStrategyBuilder withReloadInterval(long duration, TimeUnit timeUnit) {
+    this.duration = duration;
+    this.timeUnit = requireNonNull(timeUnit);
+    return this;
+  }
+
+  /**
+   * Randomize delays between reloads (including the one before the first periodical reload). Each delay is
+   * multiplied by a random factor in [1 - {@code jitter}, 1 + {@code jitter}]. Spreads reloads of many instances
+   * started at the same time.
+   *
+   * @param jitter fraction (in [0, 1)) of the delay to randomize
+   * @return this builder with jitter set to {@code jitter}
+   */
+  public PeriodicalReloadStrategyBuilder withJitter(double jitter) {
+    this.jitter = jitter;
+    return this;
+  }
+
+  /**
+   * Back off exponentially after failed reloads. After n consecutive failures the delay before the next reload is
+   * the reload interval multiplied by {@code multiplier}^n, but not more than {@code maxBackoff}. The first
+   * successful reload restores the regular interval.
+   *
+   * @param multiplier factor (at least 1) multiplying the delay after each consecutive failure
+   * @param maxBackoff maximum delay (in {@code timeUnit}), not lower than the reload interval
+   * @param timeUnit   time unit of {@code maxBackoff}
+   * @return this builder with backoff enabled
+   */
+  public PeriodicalReloadStrategyBuilder withBackoff(double multiplier, long maxBackoff, TimeUnit timeUnit) {
+    this.backoffMultiplier = multiplier;
+    this.maxBackoff = maxBackoff;
+    this.maxBackoffTimeUnit = requireNonNull(timeUnit);
+    return this;
+  }
+
+  /**
+   * Build a {@link PeriodicalReloadStrategy} using this builder's configuration. The strategy uses its own thread to
+   * run reloads.
+   *
+   * @return new {@link PeriodicalReloadStrategy}
+   * @throws IllegalArgumentException when the configuration is invalid
+   */
+  public PeriodicalReloadStrategy build() {
+    long maxBackoffNanos = maxBackoffTimeUnit == null
+        ? timeUnit.toNanos(duration)
+        : maxBackoffTimeUnit.toNanos(maxBackoff);
+
+    return new PeriodicalReloadStrategy(duration, timeUnit, jitter, backoffMultiplier, maxBackoffNanos,
+        Executors.newSingleThreadScheduledExecutor(), () -> ThreadLocalRandom.current().nextDouble());
+  }
+
+  @Override
+  public String toString() {
+    return "PeriodicalReloadStrategyBuilder{" +
+        "duration=" + duration +
+        ", timeUnit=" + timeUnit +
+        ", jitter=" + jitter +
+        ", backoffMultiplier=" + backoffMultiplier +
+        ", maxBackoff=" + maxBackoff +
+        ", maxBackoffTimeUnit=" + maxBackoffTimeUnit +
+        '}';
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.shared;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.snapshot.MappedSnapshotFile;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * {@link ConfigurationSource} serving configuration published by a {@link SharedSnapshotPublisher} on the same host.
+ * Every {@link #getConfiguration(Environment)} call checks the memory mapped generation counter (a single read of
+ * shared memory, no I/O) and maps the snapshot file again only when a new generation was published, so frequent
+ * reloads are cheap and don't touch the backend the publisher fetches configuration from. The same configuration is
+ * provided for all environments.
+ */
+public class SharedSnapshotConfigurationSource implements ConfigurationSource {
+
+  private final Path snapshotFile;
+  private final Path generationFile;
+
+  // Guarded by this
+  private MappedByteBuffer generation;
+  private long loadedGeneration;
+  private Properties configuration;
+
+  /**
+   * Construct {@link ConfigurationSource} subscribing to snapshots published to {@code directory}.
+   *
+   * @param directory directory shared with the publisher
+   */
+  public SharedSnapshotConfigurationSource(Path directory) {
+    requireNonNull(directory);
+    snapshotFile = SharedSnapshotFiles.snapshotFile(directory);
+    generationFile = SharedSnapshotFiles.generationFile(directory);
+  }
+
+  /**
+   * Get configuration of the latest published generation.
+   *
+   * @param environment environment to use (ignored)
+   * @return configuration of the latest published generation
+   * @throws IllegalStateException when the source is not initialized, nothing was published yet or the snapshot is
+   *                               corrupted
+   */
+  @Override
+  public synchronized Properties getConfiguration(Environment environment) {
+    if (generation == null) {
+      throw new IllegalStateException("Source not initialized: " + this);
+    }
+
+    // Publisher replaces the snapshot file before incrementing the generation, so a file read after observing
+    // a generation is at least as new as that generation.
+    long currentGeneration = generation.getLong(SharedSnapshotFiles.GENERATION_OFFSET);
+    if (configuration == null || currentGeneration != loadedGeneration) {
+      if (currentGeneration == 0) {
+        throw new IllegalStateException("No configuration snapshot published yet: " + snapshotFile);
+      }
+
+      Properties properties = new Properties();
+      MappedSnapshotFile.open(snapshotFile).forEach(properties::put);
+      configuration = properties;
+      loadedGeneration = currentGeneration;
+    }
+
+    return (Properties) configuration.clone();
+  }
+
+  /**
+   * Map the generation counter of the shared directory.
+   *
+   * @throws IllegalStateException when the directory wasn't initialized by a publisher
+   */
+  @Override
+  public synchronized void init() {
+    try (FileChannel channel = FileChannel.open(generationFile, StandardOpenOption.READ)) {
+      generation = SharedSnapshotFiles.mapGeneration(channel, FileChannel.MapMode.READ_ONLY, generationFile);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to open generation file: " + generationFile, e);
+    }
+  }
+
+  /**
+   * @return generation of the configuration returned by the last {@link #getConfiguration(Environment)} call (0 if
+   * none)
+   */
+  public synchronized long getLoadedGeneration() {
+    return loadedGeneration;
+  }
+
+  @Override
+  public String toString() {
+    return "SharedSnapshotConfigurationSource{" +
+        "snapshotFile=" + snapshotFile +
+        '}';
+  }
+}
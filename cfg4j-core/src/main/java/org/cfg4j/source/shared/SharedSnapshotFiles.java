@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.shared;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * Layout of a directory shared by a {@link SharedSnapshotPublisher} and {@link SharedSnapshotConfigurationSource}s:
+ * <ul>
+ * <li>{@value #SNAPSHOT_FILE}: the configuration snapshot, atomically replaced on each publication</li>
+ * <li>{@value #GENERATION_FILE}: memory mapped counter incremented after each publication (int magic, 4 bytes of
+ * padding, long generation)</li>
+ * </ul>
+ */
+final class SharedSnapshotFiles {
+
+  static final String SNAPSHOT_FILE = "config.snapshot";
+  static final String GENERATION_FILE = "config.generation";
+  static final int MAGIC = 0x43344A47;
+  static final int GENERATION_OFFSET = 8;
+  static final int GENERATION_FILE_LENGTH = 16;
+
+  private SharedSnapshotFiles() {
+  }
+
+  static Path snapshotFile(Path directory) {
+    return directory.resolve(SNAPSHOT_FILE);
+  }
+
+  static Path generationFile(Path directory) {
+    return directory.resolve(GENERATION_FILE);
+  }
+
+  /**
+   * Map the generation counter and verify it's initialized.
+   *
+   * @throws IllegalStateException when the generation file is not initialized
+   */
+  static MappedByteBuffer mapGeneration(FileChannel channel, FileChannel.MapMode mode, Path file) throws IOException {
+    if (channel.size() < GENERATION_FILE_LENGTH) {
+      throw new IllegalStateException("Generation file not initialized: " + file);
+    }
+
+    MappedByteBuffer generation = channel.map(mode, 0, GENERATION_FILE_LENGTH);
+    if (generation.getInt(0) != MAGIC) {
+      throw new IllegalStateException("Not a configuration generation file: " + file);
+    }
+
+    return generation;
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.shared;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.source.snapshot.FileSnapshotStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Publishes configuration snapshots to other processes on the same host through a shared directory. Each
+ * {@link #write(ConfigurationSnapshot)} atomically replaces the snapshot file and then increments a memory mapped
+ * generation counter, which {@link SharedSnapshotConfigurationSource}s use to detect new snapshots without any I/O.
+ * Generations keep increasing across publisher restarts.
+ * <p>
+ * Only one publisher per directory can exist at a time (enforced with a file lock). Use it as the snapshot store of
+ * the provider that fetches configuration from the remote source (see
+ * {@link org.cfg4j.provider.ConfigurationProviderBuilder#withSnapshotStore(FileSnapshotStore)}), so that every
+ * reload that changes the configuration is published.
+ */
+public class SharedSnapshotPublisher extends FileSnapshotStore implements Closeable {
+
+  private final Path generationFile;
+  private final FileChannel channel;
+  private final FileLock lock;
+  private final MappedByteBuffer generation;
+
+  /**
+   * Create publisher writing to {@code directory}. The directory has to exist.
+   *
+   * @param directory directory shared with subscribers
+   * @throws IllegalStateException when another publisher uses the directory or it can't be written to
+   */
+  public SharedSnapshotPublisher(Path directory) {
+    super(SharedSnapshotFiles.snapshotFile(requireNonNull(directory)));
+    generationFile = SharedSnapshotFiles.generationFile(directory);
+
+    FileChannel channel = null;
+    try {
+      channel = FileChannel.open(generationFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+
+      FileLock lock;
+      try {
+        lock = channel.tryLock();
+      } catch (OverlappingFileLockException e) {
+        lock = null;
+      }
+      if (lock == null) {
+        throw new IllegalStateException("Another publisher uses directory: " + directory);
+      }
+
+      if (channel.size() == 0) {
+        ByteBuffer header = ByteBuffer.allocate(SharedSnapshotFiles.GENERATION_FILE_LENGTH);
+        header.putInt(0, SharedSnapshotFiles.MAGIC);
+        while (header.hasRemaining()) {
+          channel.write(header, header.position());
+        }
+      }
+
+      this.generation = SharedSnapshotFiles.mapGeneration(channel, FileChannel.MapMode.READ_WRITE, generationFile);
+      this.channel = channel;
+      this.lock = lock;
+    } catch (IOException | RuntimeException e) {
+      closeQuietly(channel);
+      if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      }
+      throw new IllegalStateException("Unable to open generation file: " + generationFile, e);
+    }
+  }
+
+  /**
+   * Publish {@code snapshot}: atomically replace the snapshot file and increment the generation.
+   *
+   * @param snapshot snapshot to publish
+   * @throws IllegalStateException when unable to write the snapshot
+   */
+  @Override
+  public synchronized void write(ConfigurationSnapshot snapshot) {
+    super.write(snapshot);
+    generation.putLong(SharedSnapshotFiles.GENERATION_OFFSET, getGeneration() + 1);
+  }
+
+  /**
+   * @return generation of the last published snapshot (0 if none was published yet)
+   */
+  public long getGeneration() {
+    return generation.getLong(SharedSnapshotFiles.GENERATION_OFFSET);
+  }
+
+  /**
+   * Stop publishing and release the directory for other publishers. Subscribers keep serving the last published
+   * snapshot.
+   *
+   * @throws IOException when unable to release the lock
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      lock.release();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // NOP
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SharedSnapshotPublisher{" +
+        "generationFile=" + generationFile +
+        '}';
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.snapshot;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Difference between two configuration snapshots: keys that were added, removed and whose values changed. A change
+ * can be narrowed down to keys under a given prefix (see {@link #forPrefix(String)}), in which case keys are relative
+ * to that prefix.
+ */
+public final class ConfigurationChange {
+
+  private final ConfigurationSnapshot previous;
+  private final ConfigurationSnapshot current;
+  private final String keyPrefix;
+  private final NavigableSet<String> addedKeys;
+  private final NavigableSet<String> removedKeys;
+  private final NavigableSet<String> changedKeys;
+
+  private ConfigurationChange(ConfigurationSnapshot previous, ConfigurationSnapshot current, String keyPrefix,
+                              NavigableSet<String> addedKeys, NavigableSet<String> removedKeys,
+                              NavigableSet<String> changedKeys) {
+    this.previous = previous;
+    this.current = current;
+    this.keyPrefix = keyPrefix;
+    this.addedKeys = addedKeys;
+    this.removedKeys = removedKeys;
+    this.changedKeys = changedKeys;
+  }
+
+  /**
+   * Compute the change between two snapshots. Parts of the snapshots shared through structural sharing (see
+   * {@link ConfigurationSnapshot#update(java.util.Map)}) are skipped, so the cost is proportional to the size of the
+   * change rather than the size of the snapshots.
+   *
+   * @param previous snapshot before the change
+   * @param current  snapshot after the change
+   * @return change between {@code previous} and {@code current}
+   */
+  public static ConfigurationChange between(ConfigurationSnapshot previous, ConfigurationSnapshot current) {
+    requireNonNull(previous);
+    requireNonNull(current);
+
+    NavigableSet<String> addedKeys = new TreeSet<>();
+    NavigableSet<String> removedKeys = new TreeSet<>();
+    NavigableSet<String> changedKeys = new TreeSet<>();
+
+    PersistentStringMap.diff(previous.entries(), current.entries(), new PersistentStringMap.DiffVisitor() {
+      @Override
+      public void added(PersistentStringMap.Entry entry) {
+        addedKeys.add(entry.key);
+      }
+
+      @Override
+      public void removed(PersistentStringMap.Entry entry) {
+        removedKeys.add(entry.key);
+      }
+
+      @Override
+      public void changed(PersistentStringMap.Entry previousEntry, PersistentStringMap.Entry currentEntry) {
+        changedKeys.add(currentEntry.key);
+      }
+    });
+
+    return new ConfigurationChange(previous, current, "", addedKeys, removedKeys, changedKeys);
+  }
+
+  /**
+   * Narrow this change down to keys under a given {@code prefix} (i.e. keys starting with "{@code prefix}."). Keys of
+   * the returned change are relative to {@code prefix}.
+   *
+   * @param prefix key prefix without the trailing dot, empty string for all keys
+   * @return change of keys under {@code prefix}
+   */
+  public ConfigurationChange forPrefix(String prefix) {
+    requireNonNull(prefix);
+
+    if (prefix.isEmpty()) {
+      return this;
+    }
+
+    String newKeyPrefix = keyPrefix.isEmpty() ? prefix : keyPrefix + "." + prefix;
+    return new ConfigurationChange(previous, current, newKeyPrefix, underPrefix(addedKeys, prefix),
+        underPrefix(removedKeys, prefix), underPrefix(changedKeys, prefix));
+  }
+
+  private static NavigableSet<String> underPrefix(NavigableSet<String> keys, String prefix) {
+    // Keys under the prefix start with "prefix." so all of them sort before "prefix/"
+    NavigableSet<String> relativeKeys = new TreeSet<>();
+    for (String key : keys.subSet(prefix + ".", true, prefix + "/", false)) {
+      relativeKeys.add(key.substring(prefix.length() + 1));
+    }
+    return relativeKeys;
+  }
+
+  /**
+   * @return keys present only after the change
+   */
+  public Set<String> getAddedKeys() {
+    return Collections.unmodifiableSet(addedKeys);
+  }
+
+  /**
+   * @return keys present only before the change
+   */
+  public Set<String> getRemovedKeys() {
+    return Collections.unmodifiableSet(removedKeys);
+  }
+
+  /**
+   * @return keys present both before and after the change but with different values
+   */
+  public Set<String> getChangedKeys() {
+    return Collections.unmodifiableSet(changedKeys);
+  }
+
+  /**
+   * @return true if no key was added, removed or changed
+   */
+  public boolean isEmpty() {
+    return addedKeys.isEmpty() && removedKeys.isEmpty() && changedKeys.isEmpty();
+  }
+
+  /**
+   * Get value of a given {@code key} before the change.
+   *
+   * @param key configuration key
+   * @return value before the change or null if the key wasn't present
+   */
+  public String getPreviousValue(String key) {
+    return previous.get(keyPrefix, key);
+  }
+
+  /**
+   * Get value of a given {@code key} after the change.
+   *
+   * @param key configuration key
+   * @return value after the change or null if the key isn't present
+   */
+  public String getCurrentValue(String key) {
+    return current.get(keyPrefix, key);
+  }
+
+  /**
+   * @return complete snapshot before the change (keys are not relative to the prefix)
+   */
+  public ConfigurationSnapshot getPreviousSnapshot() {
+    return previous;
+  }
+
+  /**
+   * @return complete snapshot after the change (keys are not relative to the prefix)
+   */
+  public ConfigurationSnapshot getCurrentSnapshot() {
+    return current;
+  }
+
+  @Override
+  public String toString() {
+    return "ConfigurationChange{" +
+        "keyPrefix='" + keyPrefix + '\'' +
+        ", addedKeys=" + addedKeys +
+        ", removedKeys=" + removedKeys +
+        ", changedKeys=" + changedKeys +
+        '}';
+  }
+}
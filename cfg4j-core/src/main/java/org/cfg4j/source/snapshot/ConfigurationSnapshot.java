@@ -0,0 +1,360 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.snapshot;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable snapshot of a configuration set. Snapshots are persistent: a snapshot derived from another one through
+ * {@link #update(Map)} shares all unchanged entries (including their key and value {@link String} instances) with it
+ * and only allocates memory proportional to the number of changed keys (times logarithm of the snapshot size). Values
+ * read as primitives are parsed once per entry and the parsed form is shared along with the entry, so repeated typed
+ * reads (e.g. {@link #getInt(String, String)}) don't allocate.
+ */
+public final class ConfigurationSnapshot {
+
+  private static final AtomicLong GENERATIONS = new AtomicLong();
+
+  private static final ConfigurationSnapshot EMPTY = new ConfigurationSnapshot(PersistentStringMap.EMPTY);
+
+  private final PersistentStringMap entries;
+  private final long generation;
+  private volatile SortedKeyIndex sortedKeyIndex;
+  private volatile long estimatedSizeInBytes = -1;
+
+  private ConfigurationSnapshot(PersistentStringMap entries) {
+    this.entries = entries;
+    generation = GENERATIONS.incrementAndGet();
+  }
+
+  /**
+   * Get snapshot with no configuration.
+   *
+   * @return empty snapshot
+   */
+  public static ConfigurationSnapshot empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Create a snapshot of a given {@code configuration}. Keys and values are converted to {@link String}s.
+   *
+   * @param configuration configuration to take a snapshot of
+   * @return snapshot of {@code configuration}
+   */
+  public static ConfigurationSnapshot of(Map<?, ?> configuration) {
+    return EMPTY.update(configuration);
+  }
+
+  /**
+   * Create a snapshot of a given {@code configuration} sharing as much as possible with this snapshot. Keys and values
+   * are converted to {@link String}s. When {@code configuration} is equal to this snapshot's content this snapshot is
+   * returned.
+   *
+   * @param configuration new configuration
+   * @return snapshot of {@code configuration}
+   */
+  public ConfigurationSnapshot update(Map<?, ?> configuration) {
+    requireNonNull(configuration);
+
+    PersistentStringMap.Editor editor = entries.edit();
+
+    for (Map.Entry<?, ?> entry : configuration.entrySet()) {
+      editor.put(entry.getKey().toString(), entry.getValue().toString());
+    }
+
+    // Every key of the new configuration is in the editor now, any surplus keys have been removed from configuration
+    if (editor.size() != configuration.size()) {
+      entries.forEach(entry -> {
+        if (!configuration.containsKey(entry.key)) {
+          editor.remove(entry.key);
+        }
+      });
+    }
+
+    if (!editor.isModified()) {
+      return this;
+    }
+
+    return new ConfigurationSnapshot(editor.done());
+  }
+
+  /**
+   * Get value for a given {@code key}.
+   *
+   * @param key configuration key
+   * @return value for {@code key} or null when there's no such key
+   */
+  public String get(String key) {
+    PersistentStringMap.Entry entry = entries.getEntry(key);
+    return entry == null ? null : entry.value;
+  }
+
+  /**
+   * Get value for the key "{@code keyPrefix}.{@code key}". The joined key is never built: its hash is derived from
+   * the cached hashes of both parts and candidate keys are compared region by region, so the lookup doesn't allocate.
+   *
+   * @param keyPrefix key prefix, empty string for no prefix
+   * @param key       configuration key relative to {@code keyPrefix}
+   * @return value for the joined key or null when there's no such key
+   */
+  public String get(String keyPrefix, String key) {
+    PersistentStringMap.Entry entry = entries.getEntry(keyPrefix, key);
+    return entry == null ? null : entry.value;
+  }
+
+  /**
+   * Get value for the key "{@code keyPrefix}.{@code key}" as an int (see {@link #get(String, String)}).
+   *
+   * @param keyPrefix key prefix, empty string for no prefix
+   * @param key       configuration key relative to {@code keyPrefix}
+   * @return value for the joined key
+   * @throws NoSuchElementException   when there's no such key
+   * @throws IllegalArgumentException when the value isn't an int
+   */
+  public int getInt(String keyPrefix, String key) {
+    PrimitiveValue value = getPrimitiveValue(keyPrefix, key);
+    if (!value.isInt()) {
+      throw notConvertible(keyPrefix, key, int.class);
+    }
+
+    return (int) value.longValue();
+  }
+
+  /**
+   * Get value for the key "{@code keyPrefix}.{@code key}" as a long (see {@link #get(String, String)}).
+   *
+   * @param keyPrefix key prefix, empty string for no prefix
+   * @param key       configuration key relative to {@code keyPrefix}
+   * @return value for the joined key
+   * @throws NoSuchElementException   when there's no such key
+   * @throws IllegalArgumentException when the value isn't a long
+   */
+  public long getLong(String keyPrefix, String key) {
+    PrimitiveValue value = getPrimitiveValue(keyPrefix, key);
+    if (!value.isLong()) {
+      throw notConvertible(keyPrefix, key, long.class);
+    }
+
+    return value.longValue();
+  }
+
+  /**
+   * Get value for the key "{@code keyPrefix}.{@code key}" as a double (see {@link #get(String, String)}).
+   *
+   * @param keyPrefix key prefix, empty string for no prefix
+   * @param key       configuration key relative to {@code keyPrefix}
+   * @return value for the joined key
+   * @throws NoSuchElementException   when there's no such key
+   * @throws IllegalArgumentException when the value isn't a double
+   */
+  public double getDouble(String keyPrefix, String key) {
+    PrimitiveValue value = getPrimitiveValue(keyPrefix, key);
+    if (!value.isDouble()) {
+      throw notConvertible(keyPrefix, key, double.class);
+    }
+
+    return value.doubleValue();
+  }
+
+  /**
+   * Get value for the key "{@code keyPrefix}.{@code key}" as a boolean (see {@link #get(String, String)}).
+   *
+   * @param keyPrefix key prefix, empty string for no prefix
+   * @param key       configuration key relative to {@code keyPrefix}
+   * @return value for the joined key
+   * @throws NoSuchElementException   when there's no such key
+   * @throws IllegalArgumentException when the value isn't "true" or "false" (in any case)
+   */
+  public boolean getBoolean(String keyPrefix, String key) {
+    PrimitiveValue value = getPrimitiveValue(keyPrefix, key);
+    if (!value.isBoolean()) {
+      throw notConvertible(keyPrefix, key, boolean.class);
+    }
+
+    return value.booleanValue();
+  }
+
+  private PrimitiveValue getPrimitiveValue(String keyPrefix, String key) {
+    PersistentStringMap.Entry entry = entries.getEntry(keyPrefix, key);
+    if (entry == null) {
+      throw new NoSuchElementException("No configuration with key: " + fullKey(keyPrefix, key));
+    }
+
+    return entry.primitiveValue();
+  }
+
+  private IllegalArgumentException notConvertible(String keyPrefix, String key, Class<?> type) {
+    return new IllegalArgumentException("Unable to cast value \'" + get(keyPrefix, key) + "\' of key "
+        + fullKey(keyPrefix, key) + " to " + type);
+  }
+
+  private static String fullKey(String keyPrefix, String key) {
+    return keyPrefix.isEmpty() ? key : keyPrefix + "." + key;
+  }
+
+  /**
+   * Check if this snapshot contains given {@code key}.
+   *
+   * @param key configuration key
+   * @return true if snapshot contains {@code key}, false otherwise
+   */
+  public boolean containsKey(String key) {
+    return entries.getEntry(key) != null;
+  }
+
+  /**
+   * @return number of keys in this snapshot
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Estimate the memory taken by keys and values of this snapshot, counting two bytes per character (strings shared
+   * with other snapshots are counted in full). Computed once per snapshot.
+   *
+   * @return estimated size of keys and values in bytes
+   */
+  public long estimatedSizeInBytes() {
+    long size = estimatedSizeInBytes;
+    if (size < 0) {
+      long[] characters = new long[1];
+      entries.forEach(entry -> characters[0] += entry.key.length() + entry.value.length());
+      size = 2 * characters[0];
+      estimatedSizeInBytes = size;
+    }
+
+    return size;
+  }
+
+  /**
+   * Get the generation of this snapshot. Generations are unique and grow with the snapshot creation order, so they can
+   * be used to detect that the configuration has changed.
+   *
+   * @return generation of this snapshot
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Visit each key-value pair of this snapshot.
+   *
+   * @param action action invoked for each key and value
+   */
+  public void forEach(BiConsumer<String, String> action) {
+    entries.forEach(entry -> action.accept(entry.key, entry.value));
+  }
+
+  /**
+   * Get a read-only view of all keys under a given {@code prefix}, i.e. keys starting with "{@code prefix}." (the key
+   * equal to {@code prefix} is not included). Keys in the view are full keys (they include the prefix) and are iterated
+   * in the natural order. The view is backed by a sorted key index built once per snapshot on the first call, so
+   * creating it takes O(log n) time and iterating it takes time proportional to the number of keys under
+   * {@code prefix}. Nothing is copied.
+   *
+   * @param prefix key prefix (e.g. "db.pool"), empty string for all keys
+   * @return view of keys under {@code prefix}
+   */
+  public Map<String, String> subtree(String prefix) {
+    return subtree("", prefix);
+  }
+
+  /**
+   * Get a read-only view of all keys under "{@code keyPrefix}.{@code prefix}" with keys relative to
+   * {@code keyPrefix} (e.g. key "db.pool.size" is visible as "pool.size" for key prefix "db"). Works like
+   * {@link #subtree(String)} otherwise, except that iteration allocates the relative keys.
+   *
+   * @param keyPrefix prefix stripped from keys, empty string for none
+   * @param prefix    key prefix relative to {@code keyPrefix}, empty string for all keys under {@code keyPrefix}
+   * @return view of keys under {@code prefix}
+   */
+  public Map<String, String> subtree(String keyPrefix, String prefix) {
+    requireNonNull(keyPrefix);
+    requireNonNull(prefix);
+
+    SortedKeyIndex index = sortedKeyIndex;
+    if (index == null) {
+      index = new SortedKeyIndex(entries);
+      sortedKeyIndex = index;
+    }
+
+    return new SubtreeView(entries, index, keyPrefix, prefix);
+  }
+
+  /**
+   * Copy this snapshot into a new {@link Properties} object. Changes to the returned object don't affect this snapshot.
+   *
+   * @return properties with content of this snapshot
+   */
+  public Properties asProperties() {
+    Properties properties = new Properties();
+    entries.forEach(entry -> properties.put(entry.key, entry.value));
+    return properties;
+  }
+
+  PersistentStringMap entries() {
+    return entries;
+  }
+
+  /**
+   * Snapshots are equal when they have the same content, regardless of their generations.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ConfigurationSnapshot)) {
+      return false;
+    }
+
+    PersistentStringMap other = ((ConfigurationSnapshot) o).entries;
+    if (entries.size() != other.size() || entries.contentHash() != other.contentHash()) {
+      return false;
+    }
+
+    boolean[] equal = {true};
+    entries.forEach(entry -> {
+      if (equal[0]) {
+        PersistentStringMap.Entry otherEntry = other.getEntry(entry.key);
+        equal[0] = otherEntry != null && otherEntry.value.equals(entry.value);
+      }
+    });
+
+    return equal[0];
+  }
+
+  @Override
+  public int hashCode() {
+    return entries.contentHash();
+  }
+
+  @Override
+  public String toString() {
+    return "ConfigurationSnapshot{" +
+        "generation=" + generation +
+        ", size=" + entries.size() +
+        '}';
+  }
+}
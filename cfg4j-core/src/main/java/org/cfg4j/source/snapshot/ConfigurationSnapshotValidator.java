@@ -0,0 +1,33 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.snapshot;
+
+/**
+ * Validator of configuration snapshots about to be published by a {@link SnapshotConfigurationSource}. A snapshot
+ * rejected by a validator is not published: readers keep seeing the current snapshot and the reload fails.
+ */
+@FunctionalInterface
+public interface ConfigurationSnapshotValidator {
+
+  /**
+   * Validate the {@code candidate} snapshot about to replace the {@code current} one.
+   *
+   * @param current   currently published snapshot ({@link ConfigurationSnapshot#empty()} if there's none)
+   * @param candidate snapshot to validate
+   * @throws RuntimeException to reject the {@code candidate}
+   */
+  void validate(ConfigurationSnapshot current, ConfigurationSnapshot candidate);
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.snapshot;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stores a {@link ConfigurationSnapshot} in a local binary file so that it can be served at startup before (or
+ * instead of, when they're unavailable) remote sources, or shared with other processes. Snapshots are written
+ * atomically (to a temporary file that replaces the target once fully written and synced) in a compact, versioned
+ * format with a string table, varint lengths and an optional sorted key index. Stored snapshots are read through a
+ * memory mapping (see {@link MappedSnapshotFile}), files written in older format versions are still readable.
+ * Files with other magic, unsupported version, truncated payload or checksum mismatch are rejected.
+ */
+public class FileSnapshotStore {
+
+  private final Path file;
+  private final boolean sortedIndex;
+
+  /**
+   * Create store keeping the snapshot (with sorted key index) in {@code file}. Its parent directory has to exist.
+   *
+   * @param file file to store snapshot in
+   */
+  public FileSnapshotStore(Path file) {
+    this(file, true);
+  }
+
+  /**
+   * Create store keeping the snapshot in {@code file}. Its parent directory has to exist.
+   *
+   * @param file        file to store snapshot in
+   * @param sortedIndex whether to include sorted key index (enables binary search lookups in
+   *                    {@link MappedSnapshotFile} at the cost of 4 bytes per key and string)
+   */
+  public FileSnapshotStore(Path file, boolean sortedIndex) {
+    this.file = requireNonNull(file).toAbsolutePath();
+    this.sortedIndex = sortedIndex;
+  }
+
+  /**
+   * Check if a snapshot was stored.
+   *
+   * @return true if snapshot file exists, false otherwise
+   */
+  public boolean exists() {
+    return Files.isRegularFile(file);
+  }
+
+  /**
+   * Atomically replace the stored snapshot with {@code snapshot}.
+   *
+   * @param snapshot snapshot to store
+   * @throws IllegalStateException when unable to write the snapshot
+   */
+  public void write(ConfigurationSnapshot snapshot) {
+    ByteBuffer contents = SnapshotFileFormat.encode(snapshot, sortedIndex);
+
+    Path tmpFile = null;
+    try {
+      tmpFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+      try (FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.WRITE)) {
+        while (contents.hasRemaining()) {
+          channel.write(contents);
+        }
+        channel.force(true);
+      }
+
+      try {
+        Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to write configuration snapshot to file: " + file, e);
+    } finally {
+      if (tmpFile != null) {
+        try {
+          Files.deleteIfExists(tmpFile);
+        } catch (IOException e) {
+          // NOP
+        }
+      }
+    }
+  }
+
+  /**
+   * Read the stored snapshot.
+   *
+   * @return stored snapshot
+   * @throws IllegalStateException when the snapshot doesn't exist, can't be read or is corrupted
+   */
+  public ConfigurationSnapshot read() {
+    return open().toSnapshot();
+  }
+
+  /**
+   * Map the stored snapshot without decoding it.
+   *
+   * @return reader of the stored snapshot
+   * @throws IllegalStateException when the snapshot doesn't exist, can't be read or is corrupted
+   */
+  public MappedSnapshotFile open() {
+    return MappedSnapshotFile.open(file);
+  }
+
+  @Override
+  public String toString() {
+    return "FileSnapshotStore{" +
+        "file=" + file +
+        ", sortedIndex=" + sortedIndex +
+        '}';
+  }
+}
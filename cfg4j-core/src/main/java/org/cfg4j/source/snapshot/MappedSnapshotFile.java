@@ -0,0 +1,323 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.snapshot;
+
+import static java.util.Objects.requireNonNull;
+import static org.cfg4j.source.snapshot.SnapshotFileFormat.getVarint;
+import static org.cfg4j.source.snapshot.SnapshotFileFormat.getVarintLength;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only, memory mapped configuration snapshot file (see {@link FileSnapshotStore}). The file is validated when
+ * opened, but entries are decoded on access only: with a sorted key index (format version 2) {@link #get(String)}
+ * is a binary search in the mapped file that decodes a single value. Files in format version 1 (and version 2 files
+ * without the index) are looked up with a linear scan.
+ * <p>
+ * Instances are immutable and thread-safe. The mapping stays valid when the file is atomically replaced, so a reader
+ * keeps serving the contents it was opened with.
+ */
+public final class MappedSnapshotFile {
+
+  private final Path file;
+  private final ByteBuffer payload;
+  private final int version;
+  private final long writtenAt;
+  private final int size;
+  private final boolean sortedIndex;
+  private final int entryIndexPosition;
+  private final int stringIndexPosition;
+  private final int entriesPosition;
+  private final int[] stringPositions;
+
+  private MappedSnapshotFile(Path file, ByteBuffer buffer) {
+    this.file = file;
+
+    try {
+      if (buffer.getInt() != SnapshotFileFormat.MAGIC) {
+        throw new IllegalStateException("Not a configuration snapshot file: " + file);
+      }
+
+      version = buffer.getInt();
+      if (version != SnapshotFileFormat.VERSION_1 && version != SnapshotFileFormat.VERSION_2) {
+        throw new IllegalStateException("Unsupported configuration snapshot version " + version + " in file: " + file);
+      }
+
+      writtenAt = buffer.getLong();
+      int entriesOrFlags = buffer.getInt();
+      int payloadLength = buffer.getInt();
+      int checksum = buffer.getInt();
+
+      if (payloadLength != buffer.remaining()) {
+        throw new IllegalStateException("Truncated configuration snapshot file: " + file);
+      }
+
+      payload = buffer.slice();
+      CRC32 crc = new CRC32();
+      crc.update(payload.duplicate());
+      if ((int) crc.getValue() != checksum) {
+        throw new IllegalStateException("Checksum mismatch in configuration snapshot file: " + file);
+      }
+
+      if (version == SnapshotFileFormat.VERSION_1) {
+        size = entriesOrFlags;
+        sortedIndex = false;
+        entryIndexPosition = -1;
+        stringIndexPosition = -1;
+        entriesPosition = 0;
+        stringPositions = null;
+      } else {
+        size = getVarint(payload, 0);
+        int position = getVarintLength(payload, 0);
+        int strings = getVarint(payload, position);
+        position += getVarintLength(payload, position);
+
+        sortedIndex = (entriesOrFlags & SnapshotFileFormat.SORTED_INDEX) != 0;
+        if (sortedIndex) {
+          entryIndexPosition = position;
+          stringIndexPosition = position + 4 * size;
+          stringPositions = null;
+          entriesPosition = -1;
+        } else {
+          entryIndexPosition = -1;
+          stringIndexPosition = -1;
+          stringPositions = new int[strings];
+          for (int i = 0; i < strings; i++) {
+            stringPositions[i] = position;
+            int length = getVarint(payload, position);
+            position += getVarintLength(payload, position) + length;
+          }
+          entriesPosition = position;
+        }
+      }
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalStateException("Corrupted configuration snapshot file: " + file, e);
+    }
+  }
+
+  /**
+   * Map and validate the snapshot {@code file}.
+   *
+   * @param file snapshot file
+   * @return reader of the snapshot {@code file}
+   * @throws IllegalStateException when the file doesn't exist, can't be read or is corrupted
+   */
+  public static MappedSnapshotFile open(Path file) {
+    requireNonNull(file);
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new MappedSnapshotFile(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read configuration snapshot from file: " + file, e);
+    }
+  }
+
+  /**
+   * Get value of the {@code key}.
+   *
+   * @param key key to look up
+   * @return value of the {@code key} or null if there's no such key
+   * @throws IllegalStateException when the file is corrupted
+   */
+  public String get(String key) {
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+
+    try {
+      if (sortedIndex) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+          int middle = (low + high) >>> 1;
+          int entryPosition = payload.getInt(entryIndexPosition + 4 * middle);
+          int comparison = compareString(stringPosition(getVarint(payload, entryPosition)), keyBytes);
+
+          if (comparison < 0) {
+            low = middle + 1;
+          } else if (comparison > 0) {
+            high = middle - 1;
+          } else {
+            int valueId = getVarint(payload, entryPosition + getVarintLength(payload, entryPosition));
+            return readString(stringPosition(valueId));
+          }
+        }
+
+        return null;
+      }
+
+      String[] found = new String[1];
+      scan((keyPosition, valuePosition) -> {
+        if (found[0] == null && compareString(keyPosition, keyBytes) == 0) {
+          found[0] = readString(valuePosition);
+        }
+      });
+      return found[0];
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalStateException("Corrupted configuration snapshot file: " + file, e);
+    }
+  }
+
+  /**
+   * Check if the {@code key} is present.
+   *
+   * @param key key to look up
+   * @return true if there's such key, false otherwise
+   */
+  public boolean containsKey(String key) {
+    return get(key) != null;
+  }
+
+  /**
+   * @return number of keys
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return format version of the file
+   */
+  public int getVersion() {
+    return version;
+  }
+
+  /**
+   * @return time (epoch millis) when the file was written
+   */
+  public long getWrittenAt() {
+    return writtenAt;
+  }
+
+  /**
+   * @return true if the file has a sorted key index, false otherwise
+   */
+  public boolean hasSortedIndex() {
+    return sortedIndex;
+  }
+
+  /**
+   * Decode all entries and pass them to the {@code action}.
+   *
+   * @param action action invoked for each key and its value
+   */
+  public void forEach(BiConsumer<String, String> action) {
+    try {
+      scan((keyPosition, valuePosition) -> action.accept(readString(keyPosition), readString(valuePosition)));
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalStateException("Corrupted configuration snapshot file: " + file, e);
+    }
+  }
+
+  /**
+   * Decode the whole file into a {@link ConfigurationSnapshot}.
+   *
+   * @return snapshot holding all entries of the file
+   */
+  public ConfigurationSnapshot toSnapshot() {
+    Map<String, String> configuration = new HashMap<>(size * 4 / 3 + 1);
+    forEach(configuration::put);
+    return ConfigurationSnapshot.of(configuration);
+  }
+
+  private void scan(EntryVisitor visitor) {
+    if (version == SnapshotFileFormat.VERSION_1) {
+      int position = 0;
+      for (int i = 0; i < size; i++) {
+        int keyPosition = position;
+        position += 4 + payload.getInt(position);
+        int valuePosition = position;
+        position += 4 + payload.getInt(position);
+        visitor.visit(keyPosition, valuePosition);
+      }
+      return;
+    }
+
+    int position = sortedIndex && size > 0 ? payload.getInt(entryIndexPosition) : entriesPosition;
+    for (int i = 0; i < size; i++) {
+      int keyId = getVarint(payload, position);
+      position += getVarintLength(payload, position);
+      int valueId = getVarint(payload, position);
+      position += getVarintLength(payload, position);
+      visitor.visit(stringPosition(keyId), stringPosition(valueId));
+    }
+  }
+
+  private int stringPosition(int id) {
+    return sortedIndex ? payload.getInt(stringIndexPosition + 4 * id) : stringPositions[id];
+  }
+
+  private int stringLength(int position) {
+    return version == SnapshotFileFormat.VERSION_1 ? payload.getInt(position) : getVarint(payload, position);
+  }
+
+  private int stringStart(int position) {
+    return position + (version == SnapshotFileFormat.VERSION_1 ? 4 : getVarintLength(payload, position));
+  }
+
+  private String readString(int position) {
+    int length = stringLength(position);
+    if (length < 0 || length > payload.limit()) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    byte[] bytes = new byte[length];
+    ByteBuffer string = payload.duplicate();
+    string.position(stringStart(position));
+    string.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private int compareString(int position, byte[] bytes) {
+    int length = stringLength(position);
+    int start = stringStart(position);
+    int common = Math.min(length, bytes.length);
+
+    for (int i = 0; i < common; i++) {
+      int difference = (payload.get(start + i) & 0xFF) - (bytes[i] & 0xFF);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+
+    return length - bytes.length;
+  }
+
+  @Override
+  public String toString() {
+    return "MappedSnapshotFile{" +
+        "file=" + file +
+        ", version=" + version +
+        ", size=" + size +
+        ", sortedIndex=" + sortedIndex +
+        '}';
+  }
+
+  /**
+   * Visitor of entries given as payload positions of their key and value strings.
+   */
+  private interface EntryVisitor {
+    void visit(int keyPosition, int valuePosition);
+  }
+}
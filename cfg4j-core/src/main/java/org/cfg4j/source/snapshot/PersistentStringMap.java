@@ -0,0 +1,754 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.snapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Persistent (immutable) hash map from {@link String} keys to {@link String} values implemented as a hash array mapped
+ * trie. Modifications (see {@link #edit()}) copy only the nodes on the path from the root to the changed entries and
+ * share all the remaining nodes and entries with the original map, so changing k keys of a map with n entries
+ * allocates O(k log n) memory.
+ */
+final class PersistentStringMap {
+
+  static final PersistentStringMap EMPTY = new PersistentStringMap(null, 0, 0);
+
+  static final char SEPARATOR = '.';
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  private final Node root;
+  private final int size;
+  private final int contentHash;
+
+  private PersistentStringMap(Node root, int size, int contentHash) {
+    this.root = root;
+    this.size = size;
+    this.contentHash = contentHash;
+  }
+
+  /**
+   * Get entry for a given {@code key}.
+   *
+   * @param key key to look up
+   * @return entry for {@code key} or null when there's no such key
+   */
+  Entry getEntry(String key) {
+    return root == null ? null : root.find(spread(key.hashCode()), null, key, 0);
+  }
+
+  /**
+   * Get entry for the key {@code prefix + "." + key} without concatenating the strings. The hash of the joined key is
+   * derived from hashes of its parts (which {@link String} caches).
+   *
+   * @param prefix key prefix, empty for no prefix
+   * @param key    key relative to {@code prefix}
+   * @return entry for the joined key or null when there's no such key
+   */
+  Entry getEntry(String prefix, String key) {
+    if (prefix.isEmpty()) {
+      return getEntry(key);
+    }
+
+    int joinedHash = (prefix.hashCode() * 31 + SEPARATOR) * pow31(key.length()) + key.hashCode();
+    return root == null ? null : root.find(spread(joinedHash), prefix, key, 0);
+  }
+
+  /**
+   * @return number of entries in this map
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return hash of the map content, consistent with {@link java.util.Map#hashCode()}
+   */
+  int contentHash() {
+    return contentHash;
+  }
+
+  /**
+   * Visit all entries of this map.
+   *
+   * @param action action to invoke for each entry
+   */
+  void forEach(Consumer<Entry> action) {
+    if (root != null) {
+      root.forEach(action);
+    }
+  }
+
+  /**
+   * Report differences between {@code previous} and {@code current} maps to the {@code visitor}. Subtrees shared by
+   * both maps (see {@link #edit()}) are skipped without being visited, so comparing maps derived from one another
+   * takes time proportional to the number of changed entries (times logarithm of the map size).
+   *
+   * @param previous map to compare against
+   * @param current  map to compare
+   * @param visitor  receiver of differences
+   */
+  static void diff(PersistentStringMap previous, PersistentStringMap current, DiffVisitor visitor) {
+    diff(previous.root, current.root, visitor);
+  }
+
+  private static void diff(Object previous, Object current, DiffVisitor visitor) {
+    if (previous == current) {
+      return;
+    }
+
+    if (previous == null) {
+      forEachEntry(current, visitor::added);
+      return;
+    }
+
+    if (current == null) {
+      forEachEntry(previous, visitor::removed);
+      return;
+    }
+
+    if (previous instanceof BitmapNode && current instanceof BitmapNode) {
+      BitmapNode previousNode = (BitmapNode) previous;
+      BitmapNode currentNode = (BitmapNode) current;
+
+      int bits = previousNode.bitmap | currentNode.bitmap;
+      while (bits != 0) {
+        int bit = bits & -bits;
+        bits ^= bit;
+        diff(previousNode.child(bit), currentNode.child(bit), visitor);
+      }
+      return;
+    }
+
+    if (previous instanceof Entry && current instanceof Entry) {
+      Entry previousEntry = (Entry) previous;
+      Entry currentEntry = (Entry) current;
+
+      if (previousEntry.hasKey(currentEntry.hash, currentEntry.key)) {
+        if (!previousEntry.value.equals(currentEntry.value)) {
+          visitor.changed(previousEntry, currentEntry);
+        }
+      } else {
+        visitor.removed(previousEntry);
+        visitor.added(currentEntry);
+      }
+      return;
+    }
+
+    // Subtrees of different shapes (e.g. an entry and a node, hash collisions) hold few entries, compare them by key
+    Map<String, Entry> previousEntries = new HashMap<>();
+    forEachEntry(previous, entry -> previousEntries.put(entry.key, entry));
+
+    forEachEntry(current, entry -> {
+      Entry previousEntry = previousEntries.remove(entry.key);
+      if (previousEntry == null) {
+        visitor.added(entry);
+      } else if (!previousEntry.value.equals(entry.value)) {
+        visitor.changed(previousEntry, entry);
+      }
+    });
+
+    previousEntries.values().forEach(visitor::removed);
+  }
+
+  private static void forEachEntry(Object child, Consumer<Entry> action) {
+    if (child instanceof Entry) {
+      action.accept((Entry) child);
+    } else {
+      ((Node) child).forEach(action);
+    }
+  }
+
+  /**
+   * Start editing a copy of this map. This map is never modified.
+   *
+   * @return editor seeded with the content of this map
+   */
+  Editor edit() {
+    return new Editor(root, size, contentHash);
+  }
+
+  private static int pow31(int exponent) {
+    int result = 1;
+    int base = 31;
+    while (exponent > 0) {
+      if ((exponent & 1) != 0) {
+        result *= base;
+      }
+      base *= base;
+      exponent >>= 1;
+    }
+    return result;
+  }
+
+  static int spread(int hashCode) {
+    return hashCode ^ (hashCode >>> 16);
+  }
+
+  private static int bitFor(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  /**
+   * Receiver of differences found by {@link #diff(PersistentStringMap, PersistentStringMap, DiffVisitor)}.
+   */
+  interface DiffVisitor {
+
+    void added(Entry entry);
+
+    void removed(Entry entry);
+
+    void changed(Entry previous, Entry current);
+  }
+
+  /**
+   * Single key-value mapping. Entries are immutable and shared between all maps containing the same mapping.
+   */
+  static final class Entry implements Map.Entry<String, String> {
+
+    final String key;
+    final String value;
+    final int hash;
+    // Parsed on the first typed read and shared by all maps sharing this entry. Racy, but PrimitiveValue is immutable.
+    private PrimitiveValue primitiveValue;
+
+    Entry(String key, String value, int hash) {
+      this.key = key;
+      this.value = value;
+      this.hash = hash;
+    }
+
+    PrimitiveValue primitiveValue() {
+      PrimitiveValue primitiveValue = this.primitiveValue;
+      if (primitiveValue == null) {
+        primitiveValue = PrimitiveValue.parse(value);
+        this.primitiveValue = primitiveValue;
+      }
+
+      return primitiveValue;
+    }
+
+    boolean hasKey(int hash, String key) {
+      return this.hash == hash && this.key.equals(key);
+    }
+
+    /**
+     * @return true if this entry's key is {@code prefix + "." + key}, or {@code key} when {@code prefix} is null
+     */
+    boolean hasKey(int hash, String prefix, String key) {
+      if (prefix == null) {
+        return hasKey(hash, key);
+      }
+
+      int prefixLength = prefix.length();
+      return this.hash == hash
+          && this.key.length() == prefixLength + 1 + key.length()
+          && this.key.charAt(prefixLength) == SEPARATOR
+          && this.key.startsWith(prefix)
+          && this.key.regionMatches(prefixLength + 1, key, 0, key.length());
+    }
+
+    int contentHash() {
+      return key.hashCode() ^ value.hashCode();
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public String getValue() {
+      return value;
+    }
+
+    @Override
+    public String setValue(String value) {
+      throw new UnsupportedOperationException("Configuration snapshots are immutable");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+
+      Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+      return key.equals(other.getKey()) && value.equals(other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return contentHash();
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+
+  /**
+   * Single-use, single-threaded editor of a {@link PersistentStringMap}. Nodes created by an editor are owned by it
+   * and are modified in place by subsequent changes made through the same editor, nodes inherited from the original
+   * map are copied on first write.
+   */
+  static final class Editor {
+
+    private final Change change = new Change();
+    private Object owner;
+    private Node root;
+    private int size;
+    private int contentHash;
+    private boolean modified;
+
+    private Editor(Node root, int size, int contentHash) {
+      this.root = root;
+      this.size = size;
+      this.contentHash = contentHash;
+      owner = new Object();
+    }
+
+    /**
+     * Map {@code key} to {@code value}. When the key is already mapped to an equal value the existing entry (along
+     * with its {@link String} instances) is kept. When the value differs the existing key instance is reused.
+     */
+    void put(String key, String value) {
+      Node node = root == null ? new BitmapNode(owner(), 0, new Object[0]) : root;
+
+      change.reset();
+      apply(node.put(owner(), key, value, spread(key.hashCode()), 0, change));
+    }
+
+    /**
+     * Remove mapping for {@code key}, if any.
+     */
+    void remove(String key) {
+      if (root == null) {
+        return;
+      }
+
+      change.reset();
+      apply(root.remove(owner(), spread(key.hashCode()), key, 0, change));
+    }
+
+    /**
+     * @return number of entries in the edited map
+     */
+    int size() {
+      return size;
+    }
+
+    /**
+     * @return true when at least one mapping was added, changed or removed
+     */
+    boolean isModified() {
+      return modified;
+    }
+
+    /**
+     * Finish editing. The editor can't be used afterwards.
+     *
+     * @return map with all the changes applied
+     */
+    PersistentStringMap done() {
+      owner();
+      owner = null;
+      return size == 0 ? EMPTY : new PersistentStringMap(root, size, contentHash);
+    }
+
+    private void apply(Node newRoot) {
+      root = newRoot;
+      size += change.sizeDelta;
+      contentHash += change.hashDelta;
+      modified |= change.modified;
+    }
+
+    private Object owner() {
+      if (owner == null) {
+        throw new IllegalStateException("Editor can't be used after editing is done");
+      }
+      return owner;
+    }
+  }
+
+  /**
+   * Outcome of a single modification. Reused by the editor to avoid allocating it for each modification.
+   */
+  private static final class Change {
+
+    private Entry entry;
+    private int sizeDelta;
+    private int hashDelta;
+    private boolean modified;
+
+    void reset() {
+      entry = null;
+      sizeDelta = 0;
+      hashDelta = 0;
+      modified = false;
+    }
+
+    void added(Entry entry) {
+      this.entry = entry;
+      sizeDelta = 1;
+      hashDelta = entry.contentHash();
+      modified = true;
+    }
+
+    void replaced(Entry oldEntry, Entry newEntry) {
+      entry = newEntry;
+      hashDelta = newEntry.contentHash() - oldEntry.contentHash();
+      modified = true;
+    }
+
+    void removed(Entry oldEntry) {
+      sizeDelta = -1;
+      hashDelta = -oldEntry.contentHash();
+      modified = true;
+    }
+  }
+
+  private abstract static class Node {
+
+    /**
+     * Find entry for the key {@code prefix + "." + key}, or {@code key} when {@code prefix} is null.
+     */
+    abstract Entry find(int hash, String prefix, String key, int shift);
+
+    abstract Node put(Object owner, String key, String value, int hash, int shift, Change change);
+
+    /**
+     * @return node after removal, null when the node became empty
+     */
+    abstract Node remove(Object owner, int hash, String key, int shift, Change change);
+
+    /**
+     * @return the only entry of this node or null if the node holds more than one entry
+     */
+    abstract Entry singleEntry();
+
+    abstract void forEach(Consumer<Entry> action);
+  }
+
+  /**
+   * Node holding up to 32 children (entries or sub-nodes) indexed by 5 bits of the key hash.
+   */
+  private static final class BitmapNode extends Node {
+
+    private final Object owner;
+    private int bitmap;
+    private Object[] children;
+
+    BitmapNode(Object owner, int bitmap, Object[] children) {
+      this.owner = owner;
+      this.bitmap = bitmap;
+      this.children = children;
+    }
+
+    @Override
+    Entry find(int hash, String prefix, String key, int shift) {
+      int bit = bitFor(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+
+      Object child = children[index(bit)];
+      if (child instanceof Entry) {
+        Entry entry = (Entry) child;
+        return entry.hasKey(hash, prefix, key) ? entry : null;
+      }
+
+      return ((Node) child).find(hash, prefix, key, shift + BITS);
+    }
+
+    @Override
+    Node put(Object owner, String key, String value, int hash, int shift, Change change) {
+      int bit = bitFor(hash, shift);
+      int index = index(bit);
+
+      if ((bitmap & bit) == 0) {
+        change.added(new Entry(key, value, hash));
+
+        Object[] newChildren = new Object[children.length + 1];
+        System.arraycopy(children, 0, newChildren, 0, index);
+        newChildren[index] = change.entry;
+        System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+
+        if (isOwnedBy(owner)) {
+          bitmap |= bit;
+          children = newChildren;
+          return this;
+        }
+
+        return new BitmapNode(owner, bitmap | bit, newChildren);
+      }
+
+      Object child = children[index];
+
+      if (child instanceof Entry) {
+        Entry existing = (Entry) child;
+
+        if (existing.hasKey(hash, key)) {
+          if (existing.value.equals(value)) {
+            return this;
+          }
+
+          Entry replacement = new Entry(existing.key, value, hash);
+          change.replaced(existing, replacement);
+          return with(owner, index, replacement);
+        }
+
+        change.added(new Entry(key, value, hash));
+        return with(owner, index, pair(owner, existing, change.entry, shift + BITS));
+      }
+
+      Node node = (Node) child;
+      Node newNode = node.put(owner, key, value, hash, shift + BITS, change);
+
+      return newNode == node ? this : with(owner, index, newNode);
+    }
+
+    @Override
+    Node remove(Object owner, int hash, String key, int shift, Change change) {
+      int bit = bitFor(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+
+      int index = index(bit);
+      Object child = children[index];
+
+      if (child instanceof Entry) {
+        Entry existing = (Entry) child;
+        if (!existing.hasKey(hash, key)) {
+          return this;
+        }
+
+        change.removed(existing);
+        return without(owner, bit, index);
+      }
+
+      Node node = (Node) child;
+      Node newNode = node.remove(owner, hash, key, shift + BITS, change);
+
+      if (newNode == node) {
+        return this;
+      }
+
+      if (newNode == null) {
+        return without(owner, bit, index);
+      }
+
+      Entry single = newNode.singleEntry();
+      return with(owner, index, single != null ? single : newNode);
+    }
+
+    @Override
+    Entry singleEntry() {
+      return children.length == 1 && children[0] instanceof Entry ? (Entry) children[0] : null;
+    }
+
+    @Override
+    void forEach(Consumer<Entry> action) {
+      for (Object child : children) {
+        if (child instanceof Entry) {
+          action.accept((Entry) child);
+        } else {
+          ((Node) child).forEach(action);
+        }
+      }
+    }
+
+    /**
+     * @return child at position of {@code bit} or null when there's none
+     */
+    private Object child(int bit) {
+      return (bitmap & bit) == 0 ? null : children[index(bit)];
+    }
+
+    private int index(int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private boolean isOwnedBy(Object owner) {
+      return this.owner == owner;
+    }
+
+    private Node with(Object owner, int index, Object child) {
+      if (isOwnedBy(owner)) {
+        children[index] = child;
+        return this;
+      }
+
+      Object[] newChildren = children.clone();
+      newChildren[index] = child;
+      return new BitmapNode(owner, bitmap, newChildren);
+    }
+
+    private Node without(Object owner, int bit, int index) {
+      if (children.length == 1) {
+        return null;
+      }
+
+      Object[] newChildren = new Object[children.length - 1];
+      System.arraycopy(children, 0, newChildren, 0, index);
+      System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+
+      if (isOwnedBy(owner)) {
+        bitmap ^= bit;
+        children = newChildren;
+        return this;
+      }
+
+      return new BitmapNode(owner, bitmap ^ bit, newChildren);
+    }
+
+    private static Node pair(Object owner, Entry first, Entry second, int shift) {
+      if (first.hash == second.hash) {
+        return new CollisionNode(owner, first.hash, new Entry[]{first, second});
+      }
+
+      int firstBit = bitFor(first.hash, shift);
+      int secondBit = bitFor(second.hash, shift);
+
+      if (firstBit == secondBit) {
+        return new BitmapNode(owner, firstBit, new Object[]{pair(owner, first, second, shift + BITS)});
+      }
+
+      Object[] children = Integer.compareUnsigned(firstBit, secondBit) < 0
+          ? new Object[]{first, second}
+          : new Object[]{second, first};
+
+      return new BitmapNode(owner, firstBit | secondBit, children);
+    }
+  }
+
+  /**
+   * Node holding entries whose keys have identical hashes.
+   */
+  private static final class CollisionNode extends Node {
+
+    private final Object owner;
+    private final int hash;
+    private Entry[] entries;
+
+    CollisionNode(Object owner, int hash, Entry[] entries) {
+      this.owner = owner;
+      this.hash = hash;
+      this.entries = entries;
+    }
+
+    @Override
+    Entry find(int hash, String prefix, String key, int shift) {
+      if (this.hash != hash) {
+        return null;
+      }
+
+      for (Entry entry : entries) {
+        if (entry.hasKey(hash, prefix, key)) {
+          return entry;
+        }
+      }
+
+      return null;
+    }
+
+    @Override
+    Node put(Object owner, String key, String value, int hash, int shift, Change change) {
+      if (this.hash != hash) {
+        BitmapNode parent = new BitmapNode(owner, bitFor(this.hash, shift), new Object[]{this});
+        return parent.put(owner, key, value, hash, shift, change);
+      }
+
+      for (int i = 0; i < entries.length; i++) {
+        Entry existing = entries[i];
+
+        if (existing.key.equals(key)) {
+          if (existing.value.equals(value)) {
+            return this;
+          }
+
+          Entry replacement = new Entry(existing.key, value, hash);
+          change.replaced(existing, replacement);
+
+          Entry[] newEntries = owner == this.owner ? entries : entries.clone();
+          newEntries[i] = replacement;
+          return withEntries(owner, newEntries);
+        }
+      }
+
+      change.added(new Entry(key, value, hash));
+
+      Entry[] newEntries = new Entry[entries.length + 1];
+      System.arraycopy(entries, 0, newEntries, 0, entries.length);
+      newEntries[entries.length] = change.entry;
+      return withEntries(owner, newEntries);
+    }
+
+    @Override
+    Node remove(Object owner, int hash, String key, int shift, Change change) {
+      if (this.hash != hash) {
+        return this;
+      }
+
+      for (int i = 0; i < entries.length; i++) {
+        if (entries[i].key.equals(key)) {
+          change.removed(entries[i]);
+
+          if (entries.length == 1) {
+            return null;
+          }
+
+          Entry[] newEntries = new Entry[entries.length - 1];
+          System.arraycopy(entries, 0, newEntries, 0, i);
+          System.arraycopy(entries, i + 1, newEntries, i, entries.length - i - 1);
+          return withEntries(owner, newEntries);
+        }
+      }
+
+      return this;
+    }
+
+    @Override
+    Entry singleEntry() {
+      return entries.length == 1 ? entries[0] : null;
+    }
+
+    @Override
+    void forEach(Consumer<Entry> action) {
+      for (Entry entry : entries) {
+        action.accept(entry);
+      }
+    }
+
+    private Node withEntries(Object owner, Entry[] newEntries) {
+      if (owner == this.owner) {
+        entries = newEntries;
+        return this;
+      }
+
+      return new CollisionNode(owner, hash, newEntries);
+    }
+  }
+}
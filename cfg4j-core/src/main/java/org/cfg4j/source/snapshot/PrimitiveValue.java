@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.snapshot;
+
+/**
+ * Configuration value pre-parsed as each of the primitive types (with the same rules as the type parser used by
+ * {@link org.cfg4j.provider.ConfigurationProvider#getProperty(String, Class)}: surrounding whitespace is ignored and
+ * booleans are "true" or "false" in any case). Immutable, so it can be published to other threads through a data race.
+ */
+final class PrimitiveValue {
+
+  private final boolean isLong;
+  private final long longValue;
+  private final boolean isDouble;
+  private final double doubleValue;
+  private final boolean isBoolean;
+  private final boolean booleanValue;
+
+  private PrimitiveValue(String value) {
+    String trimmed = value.trim();
+
+    long parsedLong = 0;
+    boolean parsedAsLong = true;
+    try {
+      parsedLong = Long.parseLong(trimmed);
+    } catch (NumberFormatException e) {
+      parsedAsLong = false;
+    }
+
+    double parsedDouble = 0;
+    boolean parsedAsDouble = true;
+    try {
+      parsedDouble = Double.parseDouble(trimmed);
+    } catch (NumberFormatException e) {
+      parsedAsDouble = false;
+    }
+
+    isLong = parsedAsLong;
+    longValue = parsedLong;
+    isDouble = parsedAsDouble;
+    doubleValue = parsedDouble;
+    isBoolean = trimmed.equalsIgnoreCase("true") || trimmed.equalsIgnoreCase("false");
+    booleanValue = trimmed.equalsIgnoreCase("true");
+  }
+
+  /**
+   * Parse {@code value} as each of the primitive types.
+   *
+   * @param value value to parse
+   * @return parsed value
+   */
+  static PrimitiveValue parse(String value) {
+    return new PrimitiveValue(value);
+  }
+
+  boolean isInt() {
+    return isLong && longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE;
+  }
+
+  boolean isLong() {
+    return isLong;
+  }
+
+  long longValue() {
+    return longValue;
+  }
+
+  boolean isDouble() {
+    return isDouble;
+  }
+
+  double doubleValue() {
+    return doubleValue;
+  }
+
+  boolean isBoolean() {
+    return isBoolean;
+  }
+
+  boolean booleanValue() {
+    return booleanValue;
+  }
+}
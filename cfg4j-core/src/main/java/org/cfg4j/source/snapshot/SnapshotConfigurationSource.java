@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.snapshot;
+
+import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.MissingEnvironmentException;
+
+/**
+ * {@link ConfigurationSource} that keeps configuration as immutable {@link ConfigurationSnapshot}s and exposes them
+ * directly, without copying them into {@link java.util.Properties}.
+ */
+public interface SnapshotConfigurationSource extends ConfigurationSource {
+
+  /**
+   * Get the current configuration snapshot for a given {@code environment}.
+   *
+   * @param environment environment to use
+   * @return configuration snapshot for {@code environment}
+   * @throws MissingEnvironmentException when requested environment couldn't be found
+   * @throws IllegalStateException       when unable to fetch configuration
+   */
+  ConfigurationSnapshot getSnapshot(Environment environment);
+
+  /**
+   * Register a {@code listener} notified after each reload that changes configuration of a given {@code environment}.
+   * Listeners are called on the reloading thread after the new snapshot becomes visible.
+   *
+   * @param environment environment to observe
+   * @param listener    listener to notify
+   */
+  void addChangeListener(Environment environment, ConfigurationChangeListener listener);
+
+  /**
+   * Unregister a {@code listener} previously registered with {@link #addChangeListener(Environment,
+   * ConfigurationChangeListener)}. Listeners are matched using {@link Object#equals(Object)}.
+   *
+   * @param environment observed environment
+   * @param listener    listener to remove
+   */
+  void removeChangeListener(Environment environment, ConfigurationChangeListener listener);
+
+  /**
+   * Register a {@code validator} of snapshots of a given {@code environment}. Each new snapshot is published only
+   * after all validators accept it. Validators are called on the reloading thread. No other snapshot of the environment
+   * is published between validation and publishing, so the current snapshot passed to validators is the one replaced.
+   *
+   * @param environment environment to validate
+   * @param validator   validator to register
+   */
+  void addSnapshotValidator(Environment environment, ConfigurationSnapshotValidator validator);
+
+  /**
+   * Unregister a {@code validator} previously registered with {@link #addSnapshotValidator(Environment,
+   * ConfigurationSnapshotValidator)}. Validators are matched using {@link Object#equals(Object)}.
+   *
+   * @param environment validated environment
+   * @param validator   validator to remove
+   */
+  void removeSnapshotValidator(Environment environment, ConfigurationSnapshotValidator validator);
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary format of configuration snapshot files. All fixed-width numbers are big-endian.
+ * <p>
+ * Header (common to all versions):
+ * <pre>
+ * int  magic ("C4JS")
+ * int  format version
+ * long time of writing (epoch millis)
+ * int  version 1: number of entries, version 2: flags
+ * int  payload length (bytes)
+ * int  CRC32 of the payload
+ * </pre>
+ * Version 1 payload: for each entry key and value, each as int length followed by UTF-8 bytes.
+ * <p>
+ * Version 2 payload:
+ * <pre>
+ * varint number of entries
+ * varint number of strings
+ * (only with {@link #SORTED_INDEX} flag)
+ *   int[entries]  payload offsets of entries
+ *   int[strings]  payload offsets of strings
+ * strings: string table holding each key and each distinct value once as varint length followed by UTF-8 bytes
+ * entries: varint key string id, varint value string id
+ * </pre>
+ * With {@link #SORTED_INDEX} flag entries are sorted by the unsigned byte order of UTF-8 encoded keys, so keys can be
+ * looked up with a binary search directly in the file.
+ */
+final class SnapshotFileFormat {
+
+  static final int MAGIC = 0x43344A53;
+  static final int VERSION_1 = 1;
+  static final int VERSION_2 = 2;
+  static final int CURRENT_VERSION = VERSION_2;
+  static final int HEADER_LENGTH = 28;
+  static final int SORTED_INDEX = 1;
+
+  private SnapshotFileFormat() {
+  }
+
+  /**
+   * Encode {@code snapshot} in the current format version.
+   *
+   * @param snapshot    snapshot to encode
+   * @param sortedIndex whether to sort entries and include the index
+   * @return complete file contents
+   */
+  static ByteBuffer encode(ConfigurationSnapshot snapshot, boolean sortedIndex) {
+    List<byte[][]> entries = new ArrayList<>(snapshot.size());
+    Map<String, Integer> stringIds = new HashMap<>();
+    List<byte[]> strings = new ArrayList<>();
+
+    snapshot.forEach((key, value) -> entries.add(new byte[][]{
+        key.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8)
+    }));
+    if (sortedIndex) {
+      entries.sort((first, second) -> compare(first[0], second[0]));
+    }
+
+    int[] keyIds = new int[entries.size()];
+    int[] valueIds = new int[entries.size()];
+    int stringsLength = 0;
+    for (int i = 0; i < entries.size(); i++) {
+      byte[][] entry = entries.get(i);
+      for (int part = 0; part < 2; part++) {
+        String string = new String(entry[part], StandardCharsets.UTF_8);
+        Integer id = stringIds.get(string);
+        if (id == null) {
+          id = strings.size();
+          stringIds.put(string, id);
+          strings.add(entry[part]);
+          stringsLength += varintLength(entry[part].length) + entry[part].length;
+        }
+        if (part == 0) {
+          keyIds[i] = id;
+        } else {
+          valueIds[i] = id;
+        }
+      }
+    }
+
+    int entriesLength = 0;
+    for (int i = 0; i < entries.size(); i++) {
+      entriesLength += varintLength(keyIds[i]) + varintLength(valueIds[i]);
+    }
+
+    int countsLength = varintLength(entries.size()) + varintLength(strings.size());
+    int indexLength = sortedIndex ? 4 * (entries.size() + strings.size()) : 0;
+    int payloadLength = countsLength + indexLength + stringsLength + entriesLength;
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + payloadLength);
+    buffer.position(HEADER_LENGTH);
+    putVarint(buffer, entries.size());
+    putVarint(buffer, strings.size());
+
+    if (sortedIndex) {
+      int offset = countsLength + indexLength + stringsLength;
+      for (int i = 0; i < entries.size(); i++) {
+        buffer.putInt(offset);
+        offset += varintLength(keyIds[i]) + varintLength(valueIds[i]);
+      }
+
+      offset = countsLength + indexLength;
+      for (byte[] string : strings) {
+        buffer.putInt(offset);
+        offset += varintLength(string.length) + string.length;
+      }
+    }
+
+    for (byte[] string : strings) {
+      putVarint(buffer, string.length);
+      buffer.put(string);
+    }
+    for (int i = 0; i < entries.size(); i++) {
+      putVarint(buffer, keyIds[i]);
+      putVarint(buffer, valueIds[i]);
+    }
+
+    ByteBuffer payload = buffer.duplicate();
+    payload.position(HEADER_LENGTH);
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+
+    buffer.position(0);
+    buffer.putInt(MAGIC)
+        .putInt(CURRENT_VERSION)
+        .putLong(System.currentTimeMillis())
+        .putInt(sortedIndex ? SORTED_INDEX : 0)
+        .putInt(payloadLength)
+        .putInt((int) crc.getValue());
+    buffer.position(0);
+
+    return buffer;
+  }
+
+  /**
+   * Compare byte arrays in the unsigned lexicographical order.
+   */
+  static int compare(byte[] first, byte[] second) {
+    int length = Math.min(first.length, second.length);
+    for (int i = 0; i < length; i++) {
+      int difference = (first[i] & 0xFF) - (second[i] & 0xFF);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+
+    return first.length - second.length;
+  }
+
+  static int varintLength(int value) {
+    int length = 1;
+    while ((value & ~0x7F) != 0) {
+      value >>>= 7;
+      length++;
+    }
+
+    return length;
+  }
+
+  static void putVarint(ByteBuffer buffer, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  /**
+   * Read varint at absolute {@code position} of {@code buffer}.
+   *
+   * @throws IllegalStateException when the varint is malformed
+   */
+  static int getVarint(ByteBuffer buffer, int position) {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = buffer.get(position++);
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+
+    throw new IllegalStateException("Malformed varint");
+  }
+
+  /**
+   * Length in bytes of the varint at absolute {@code position} of {@code buffer}.
+   */
+  static int getVarintLength(ByteBuffer buffer, int position) {
+    int length = 1;
+    while (buffer.get(position++) < 0) {
+      length++;
+    }
+
+    return length;
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.snapshot;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Entries of a {@link PersistentStringMap} sorted by key. All keys under a given prefix (i.e. keys starting with
+ * "prefix.") form a contiguous range of the index, so they can be found with two binary searches.
+ */
+final class SortedKeyIndex {
+
+  private final PersistentStringMap.Entry[] entries;
+
+  SortedKeyIndex(PersistentStringMap map) {
+    entries = new PersistentStringMap.Entry[map.size()];
+
+    int[] position = {0};
+    map.forEach(entry -> entries[position[0]++] = entry);
+
+    Arrays.sort(entries, Comparator.comparing(entry -> entry.key));
+  }
+
+  /**
+   * @param index position in the index
+   * @return entry at {@code index}
+   */
+  PersistentStringMap.Entry get(int index) {
+    return entries[index];
+  }
+
+  /**
+   * @return number of indexed entries
+   */
+  int size() {
+    return entries.length;
+  }
+
+  /**
+   * Find the first position of the range holding keys under a given {@code prefix}.
+   *
+   * @param prefix key prefix (without trailing separator), empty for all keys
+   * @return start (inclusive) of the range
+   */
+  int rangeStart(String prefix) {
+    return prefix.isEmpty() ? 0 : lowerBound(prefix, PersistentStringMap.SEPARATOR);
+  }
+
+  /**
+   * Find the end of the range holding keys under a given {@code prefix}.
+   *
+   * @param prefix key prefix (without trailing separator), empty for all keys
+   * @return end (exclusive) of the range
+   */
+  int rangeEnd(String prefix) {
+    // Keys under the prefix start with "prefix." so all of them sort before "prefix/"
+    return prefix.isEmpty() ? entries.length : lowerBound(prefix, (char) (PersistentStringMap.SEPARATOR + 1));
+  }
+
+  /**
+   * @return first position holding key not smaller than {@code prefix + suffix}
+   */
+  private int lowerBound(String prefix, char suffix) {
+    int low = 0;
+    int high = entries.length;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compare(entries[middle].key, prefix, suffix) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Compare {@code key} with {@code prefix + suffix} without concatenating them.
+   */
+  private static int compare(String key, String prefix, char suffix) {
+    int length = Math.min(key.length(), prefix.length());
+    for (int i = 0; i < length; i++) {
+      int difference = key.charAt(i) - prefix.charAt(i);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+
+    if (key.length() <= prefix.length()) {
+      // key is a prefix of prefix + suffix
+      return -1;
+    }
+
+    int difference = key.charAt(prefix.length()) - suffix;
+    if (difference != 0) {
+      return difference;
+    }
+
+    return key.length() == prefix.length() + 1 ? 0 : 1;
+  }
+}
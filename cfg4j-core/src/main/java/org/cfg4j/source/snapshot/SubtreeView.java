@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.snapshot;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only {@link Map} view of all keys under a given prefix of a {@link ConfigurationSnapshot}. The view is backed
+ * by the snapshot's {@link SortedKeyIndex} and does not copy any entries. Entries are iterated in key order.
+ * <p>
+ * Keys of the view are relative to the {@code keyPrefix} (when not empty): key "a.b.c" is visible as "b.c" in a view
+ * with key prefix "a". Lookups of relative keys don't concatenate strings, iteration allocates the relative keys.
+ */
+final class SubtreeView extends AbstractMap<String, String> {
+
+  private final PersistentStringMap map;
+  private final SortedKeyIndex index;
+  private final String keyPrefix;
+  private final String prefix;
+  private final int keyOffset;
+  private final int start;
+  private final int end;
+
+  /**
+   * @param keyPrefix prefix stripped from keys of the view, empty for none
+   * @param prefix    prefix (relative to {@code keyPrefix}) of keys in the view, empty for all keys under
+   *                  {@code keyPrefix}
+   */
+  SubtreeView(PersistentStringMap map, SortedKeyIndex index, String keyPrefix, String prefix) {
+    this.map = map;
+    this.index = index;
+    this.keyPrefix = keyPrefix;
+    this.prefix = prefix;
+
+    String rangePrefix = keyPrefix.isEmpty() || prefix.isEmpty()
+        ? keyPrefix + prefix
+        : keyPrefix + PersistentStringMap.SEPARATOR + prefix;
+
+    keyOffset = keyPrefix.isEmpty() ? 0 : keyPrefix.length() + 1;
+    start = index.rangeStart(rangePrefix);
+    end = index.rangeEnd(rangePrefix);
+  }
+
+  @Override
+  public String get(Object key) {
+    PersistentStringMap.Entry entry = find(key);
+    return entry == null ? null : entry.value;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return find(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return end - start;
+  }
+
+  @Override
+  public Set<Map.Entry<String, String>> entrySet() {
+    return new AbstractSet<Map.Entry<String, String>>() {
+      @Override
+      public Iterator<Map.Entry<String, String>> iterator() {
+        return new Iterator<Map.Entry<String, String>>() {
+          private int position = start;
+
+          @Override
+          public boolean hasNext() {
+            return position < end;
+          }
+
+          @Override
+          public Map.Entry<String, String> next() {
+            if (position >= end) {
+              throw new NoSuchElementException();
+            }
+            PersistentStringMap.Entry entry = index.get(position++);
+            return keyOffset == 0 ? entry : new SimpleImmutableEntry<>(entry.key.substring(keyOffset), entry.value);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return end - start;
+      }
+    };
+  }
+
+  private PersistentStringMap.Entry find(Object key) {
+    if (!(key instanceof String) || !isUnderPrefix((String) key)) {
+      return null;
+    }
+
+    return map.getEntry(keyPrefix, (String) key);
+  }
+
+  private boolean isUnderPrefix(String key) {
+    return prefix.isEmpty()
+        || (key.length() > prefix.length() && key.charAt(prefix.length()) == PersistentStringMap.SEPARATOR
+        && key.startsWith(prefix));
+  }
+}
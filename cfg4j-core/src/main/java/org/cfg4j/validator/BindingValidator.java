@@ -15,20 +15,50 @@
  */
 package org.cfg4j.validator;
 
+import static java.util.Objects.requireNonNull;
+
+import com.github.drapostolos.typeparser.NoSuchRegisteredParserException;
+import com.github.drapostolos.typeparser.TypeParser;
+import com.github.drapostolos.typeparser.TypeParserException;
+import org.cfg4j.metrics.jfr.ConfigurationEvent;
+import org.cfg4j.metrics.jfr.ConfigurationEvents;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 /**
- * Configuration beans binding validator
+ * Configuration beans binding validator. Each validation is recorded as a Java Flight Recorder event (see
+ * {@link ConfigurationEvents}).
  */
 public class BindingValidator {
 
   private static final Logger LOG = LoggerFactory.getLogger(BindingValidator.class);
 
+  private static final TypeParser TYPE_PARSER = TypeParser.newBuilder().build();
+
+  private static final ClassValue<BoundMethod[]> BOUND_METHODS = new ClassValue<BoundMethod[]>() {
+    @Override
+    protected BoundMethod[] computeValue(Class<?> type) {
+      List<BoundMethod> boundMethods = new ArrayList<>();
+      for (Method declaredMethod : type.getDeclaredMethods()) {
+        if (!Modifier.isStatic(declaredMethod.getModifiers()) && !isObjectMethod(declaredMethod)) {
+          boundMethods.add(new BoundMethod(declaredMethod.getName(), declaredMethod.getGenericReturnType()));
+        }
+      }
+
+      return boundMethods.toArray(new BoundMethod[0]);
+    }
+  };
+
   /**
    * Validate if the {@code configurationBean} object was bound successfully
    *
@@ -44,7 +74,20 @@ public class BindingValidator {
   public <T> void validate(T configurationBean, Class<T> type) {
     LOG.debug("Validating configuration bean of type " + type);
 
-    for (Method declaredMethod : type.getDeclaredMethods()) {
+    Method[] declaredMethods = type.getDeclaredMethods();
+    ConfigurationEvent event = ConfigurationEvents.bindValidation(type, declaredMethods.length);
+
+    try {
+      validate(configurationBean, declaredMethods);
+      event.succeeded();
+    } catch (RuntimeException e) {
+      event.failed(e);
+      throw e;
+    }
+  }
+
+  private void validate(Object configurationBean, Method[] declaredMethods) {
+    for (Method declaredMethod : declaredMethods) {
       try {
         LOG.debug("Validating method: " + declaredMethod.getName());
 
@@ -69,4 +112,134 @@ public class BindingValidator {
       }
     }
   }
+
+  /**
+   * Validate that {@code configuration} has a value convertible to the return type of each method declared by
+   * {@code type} under {@code keyPrefix}, i.e. that an object of {@code type} bound to the "{@code keyPrefix}" keys can
+   * be read without exceptions. Unlike {@link #validate(Object, Class)} this method doesn't invoke the bound object:
+   * keys are looked up in the snapshot directly in a single pass and values are converted with parsers shared by all
+   * validations. All invalid keys are reported at once: the first problem is thrown and the remaining ones are attached
+   * to it as suppressed exceptions.
+   *
+   * @param type          interface of the bound object
+   * @param keyPrefix     prefix of keys of the bound object (e.g. "myContext" for "myContext.someSetting"), empty
+   *                      string for no prefix
+   * @param configuration configuration to validate
+   * @throws NoSuchElementException   when {@code configuration} has no value for one of the methods
+   * @throws IllegalArgumentException when a value can't be converted to the return type of its method
+   */
+  public void validate(Class<?> type, String keyPrefix, ConfigurationSnapshot configuration) {
+    requireNonNull(configuration);
+    validateMethods(type, keyPrefix, configuration, null);
+  }
+
+  /**
+   * Same as {@link #validate(Class, String, ConfigurationSnapshot)} but reports only regressions against
+   * {@code currentConfiguration} (e.g. the configuration that {@code configuration} is about to replace): values
+   * equal to those in {@code currentConfiguration} are not parsed again, and methods that can't be read with
+   * {@code currentConfiguration} either are not reported. This method always validates immediately.
+   *
+   * @param type                 interface of the bound object
+   * @param keyPrefix            prefix of keys of the bound object, empty string for no prefix
+   * @param configuration        configuration to validate
+   * @param currentConfiguration configuration to compare with
+   * @throws NoSuchElementException   when {@code configuration} has no value for one of the methods that had one in
+   *                                  {@code currentConfiguration}
+   * @throws IllegalArgumentException when a value can't be converted to the return type of its method, while the
+   *                                  value in {@code currentConfiguration} could
+   */
+  public final void validate(Class<?> type, String keyPrefix, ConfigurationSnapshot configuration,
+                             ConfigurationSnapshot currentConfiguration) {
+    requireNonNull(configuration);
+    requireNonNull(currentConfiguration);
+    validateMethods(type, keyPrefix, configuration, currentConfiguration);
+  }
+
+  private void validateMethods(Class<?> type, String keyPrefix, ConfigurationSnapshot configuration,
+                               ConfigurationSnapshot currentConfiguration) {
+    requireNonNull(keyPrefix);
+    LOG.debug("Validating configuration of type " + type + " under: " + keyPrefix);
+
+    BoundMethod[] boundMethods = BOUND_METHODS.get(type);
+    ConfigurationEvent event = ConfigurationEvents.bindValidation(type, boundMethods.length);
+
+    RuntimeException failure = null;
+    for (BoundMethod boundMethod : boundMethods) {
+      RuntimeException methodFailure = validate(boundMethod, keyPrefix, configuration, currentConfiguration);
+      if (failure == null) {
+        failure = methodFailure;
+      } else if (methodFailure != null) {
+        failure.addSuppressed(methodFailure);
+      }
+    }
+
+    if (failure != null) {
+      event.failed(failure);
+      throw failure;
+    }
+
+    event.succeeded();
+  }
+
+  /**
+   * Validate value of a {@code boundMethod}. When {@code currentConfiguration} is given, only a regression against it
+   * is reported.
+   */
+  private static RuntimeException validate(BoundMethod boundMethod, String keyPrefix,
+                                           ConfigurationSnapshot configuration,
+                                           ConfigurationSnapshot currentConfiguration) {
+    String value = configuration.get(keyPrefix, boundMethod.name);
+    if (currentConfiguration == null) {
+      return parse(boundMethod, keyPrefix, value);
+    }
+
+    String currentValue = currentConfiguration.get(keyPrefix, boundMethod.name);
+    if (Objects.equals(value, currentValue)) {
+      return null;
+    }
+
+    RuntimeException failure = parse(boundMethod, keyPrefix, value);
+    return failure == null || parse(boundMethod, keyPrefix, currentValue) != null ? null : failure;
+  }
+
+  private static RuntimeException parse(BoundMethod boundMethod, String keyPrefix, String value) {
+    if (value == null) {
+      return new NoSuchElementException("No configuration with key: " + fullKey(keyPrefix, boundMethod.name));
+    }
+
+    try {
+      TYPE_PARSER.parseType(value, boundMethod.returnType);
+      return null;
+    } catch (TypeParserException | NoSuchRegisteredParserException e) {
+      return new IllegalArgumentException("Unable to cast value \'" + value + "\' of key "
+          + fullKey(keyPrefix, boundMethod.name) + " to " + boundMethod.returnType, e);
+    }
+  }
+
+  private static String fullKey(String keyPrefix, String key) {
+    return keyPrefix.isEmpty() ? key : keyPrefix + "." + key;
+  }
+
+  private static boolean isObjectMethod(Method method) {
+    try {
+      Object.class.getMethod(method.getName(), method.getParameterTypes());
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Method of a bound interface with the configuration key it reads (relative to the bind prefix).
+   */
+  private static class BoundMethod {
+
+    private final String name;
+    private final Type returnType;
+
+    private BoundMethod(String name, Type returnType) {
+      this.name = name;
+      this.returnType = returnType;
+    }
+  }
 }
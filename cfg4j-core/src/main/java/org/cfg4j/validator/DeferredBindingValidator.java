@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.validator;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.metrics.Counter;
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.metrics.Timer;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+
+/**
+ * {@link BindingValidator} that validates configuration of bound objects in the background, so that binding doesn't
+ * slow down the application startup. Validation failures are logged and reported through the following metrics (each
+ * of those prefixed with a string passed at construction time):
+ * <ul>
+ * <li>bind.deferredValidation ({@link Timer} - validation time)</li>
+ * <li>bind.deferredValidationFailures ({@link Counter} - number of bound objects with invalid configuration)</li>
+ * </ul>
+ * Only {@link #validate(Class, String, ConfigurationSnapshot)} is deferred.
+ */
+public class DeferredBindingValidator extends BindingValidator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DeferredBindingValidator.class);
+
+  private final Executor executor;
+  private final Timer validationTimer;
+  private final Counter validationFailures;
+
+  /**
+   * Create validator running validations on the {@code executor} and reporting them to {@code metricsBackend}. Each
+   * metric will be prefixed with {@code metricPrefix}.
+   *
+   * @param executor       executor to run validations on
+   * @param metricsBackend backend to hold validation metrics
+   * @param metricPrefix   prefix for metric names (trailing dot will be added to it)
+   */
+  public DeferredBindingValidator(Executor executor, MetricsBackend metricsBackend, String metricPrefix) {
+    this.executor = requireNonNull(executor);
+    requireNonNull(metricsBackend);
+    requireNonNull(metricPrefix);
+
+    validationTimer = metricsBackend.timer(metricPrefix + "bind.deferredValidation");
+    validationFailures = metricsBackend.counter(metricPrefix + "bind.deferredValidationFailures");
+  }
+
+  /**
+   * Schedule validation of {@code configuration} (see {@link BindingValidator#validate(Class, String, ConfigurationSnapshot)})
+   * and return immediately.
+   *
+   * @param type          interface of the bound object
+   * @param keyPrefix     prefix of keys of the bound object, empty string for no prefix
+   * @param configuration configuration to validate
+   */
+  @Override
+  public void validate(Class<?> type, String keyPrefix, ConfigurationSnapshot configuration) {
+    requireNonNull(type);
+    requireNonNull(keyPrefix);
+    requireNonNull(configuration);
+
+    executor.execute(() -> {
+      long start = System.nanoTime();
+      try {
+        super.validate(type, keyPrefix, configuration);
+      } catch (RuntimeException e) {
+        validationFailures.inc();
+        LOG.warn("Invalid configuration for " + type + " bound under: " + keyPrefix, e);
+      } finally {
+        validationTimer.update(System.nanoTime() - start);
+      }
+    });
+  }
+
+  @Override
+  public String toString() {
+    return "DeferredBindingValidator{" +
+        "executor=" + executor +
+        '}';
+  }
+}
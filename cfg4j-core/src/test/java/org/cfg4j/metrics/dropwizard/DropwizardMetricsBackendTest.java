@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.metrics.dropwizard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+
+class DropwizardMetricsBackendTest {
+
+  private MetricRegistry metricRegistry;
+  private DropwizardMetricsBackend metricsBackend;
+
+  @BeforeEach
+  void setUp() {
+    metricRegistry = new MetricRegistry();
+    metricsBackend = new DropwizardMetricsBackend(metricRegistry);
+  }
+
+  @Test
+  void updatesTimerInRegistry() {
+    metricsBackend.timer("some.timer").update(TimeUnit.MILLISECONDS.toNanos(5));
+
+    assertThat(metricRegistry.timer("some.timer").getCount()).isEqualTo(1);
+    assertThat(metricRegistry.timer("some.timer").getSnapshot().getMax()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+  }
+
+  @Test
+  void incrementsCounterInRegistry() {
+    metricsBackend.counter("some.counter").inc();
+    metricsBackend.counter("some.counter").inc();
+
+    assertThat(metricRegistry.counter("some.counter").getCount()).isEqualTo(2);
+  }
+
+  @Test
+  void updatesHistogramInRegistry() {
+    metricsBackend.histogram("some.histogram").update(42);
+
+    assertThat(metricRegistry.histogram("some.histogram").getSnapshot().getMax()).isEqualTo(42);
+  }
+
+  @Test
+  void registersGauge() {
+    metricsBackend.gauge("some.gauge", () -> 42);
+
+    assertThat(metricRegistry.getGauges().get("some.gauge").getValue()).isEqualTo(42);
+  }
+
+  @Test
+  void keepsGaugeRegisteredFirstUnderTakenName() {
+    metricsBackend.gauge("some.gauge", () -> 42);
+    metricsBackend.gauge("some.gauge", () -> 7);
+
+    assertThat(metricRegistry.getGauges().get("some.gauge").getValue()).isEqualTo(42);
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.metrics.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.cfg4j.source.context.environment.DefaultEnvironment;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.ImmutableEnvironment;
+import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.cfg4j.source.context.propertiesprovider.JsonBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.PropertiesProviderSelector;
+import org.cfg4j.source.context.propertiesprovider.PropertyBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.YamlBasedPropertiesProvider;
+import org.cfg4j.source.inmemory.InMemoryConfigurationSource;
+import org.cfg4j.source.reload.CachedConfigurationSource;
+import org.cfg4j.validator.BindingValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+
+class ConfigurationEventsIntegrationTest {
+
+  private Path recordingFile;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    recordingFile = Files.createTempFile("cfg4j-events", ".jfr");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    Files.deleteIfExists(recordingFile);
+  }
+
+  @Test
+  void emitsSourceInitEvent() throws IOException {
+    CachedConfigurationSource source = new CachedConfigurationSource(new InMemoryConfigurationSource(new Properties()));
+
+    List<RecordedEvent> events = record("org.cfg4j.SourceInit", source::init);
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getClass("source").getName()).isEqualTo(InMemoryConfigurationSource.class.getName());
+    assertThat(events.get(0).getString("outcome")).isEqualTo("success");
+  }
+
+  @Test
+  void emitsReloadEventWithKeyCount() throws IOException {
+    Properties properties = new Properties();
+    properties.put("some.setting", "1");
+    properties.put("other.setting", "2");
+    CachedConfigurationSource source = new CachedConfigurationSource(new InMemoryConfigurationSource(properties));
+
+    List<RecordedEvent> events = record("org.cfg4j.Reload", () -> source.reload(new DefaultEnvironment()));
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getString("environment")).isEqualTo("");
+    assertThat(events.get(0).getLong("keys")).isEqualTo(2);
+    assertThat(events.get(0).getString("outcome")).isEqualTo("success");
+  }
+
+  @Test
+  void emitsReloadEventForFailedReload() throws IOException {
+    CachedConfigurationSource source = new CachedConfigurationSource(new InMemoryConfigurationSource(new Properties()) {
+      @Override
+      public Properties getConfiguration(Environment environment) {
+        throw new MissingEnvironmentException(environment.getName());
+      }
+    });
+
+    List<RecordedEvent> events = record("org.cfg4j.Reload", () ->
+        assertThatThrownBy(() -> source.reload(new ImmutableEnvironment("missing")))
+            .isExactlyInstanceOf(MissingEnvironmentException.class));
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getString("environment")).isEqualTo("missing");
+    assertThat(events.get(0).getString("outcome")).isEqualTo("failure");
+    assertThat(events.get(0).getString("failure")).contains("MissingEnvironmentException");
+  }
+
+  @Test
+  void emitsFileParseEventWithSize() throws IOException {
+    PropertiesProviderSelector selector = new PropertiesProviderSelector(
+        new PropertyBasedPropertiesProvider(), new YamlBasedPropertiesProvider(), new JsonBasedPropertiesProvider()
+    );
+    byte[] content = "some:\n  setting: 1\n".getBytes(StandardCharsets.UTF_8);
+
+    List<RecordedEvent> events = record("org.cfg4j.FileParse", () ->
+        selector.getProperties(Paths.get("config", "application.yaml"), new ByteArrayInputStream(content)));
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getString("path")).isEqualTo(Paths.get("config", "application.yaml").toString());
+    assertThat(events.get(0).getString("format")).isEqualTo("yaml");
+    assertThat(events.get(0).getLong("bytes")).isEqualTo(content.length);
+  }
+
+  @Test
+  void emitsBindValidationEvent() throws IOException {
+    List<RecordedEvent> events = record("org.cfg4j.BindValidation", () ->
+        new BindingValidator().validate(() -> "value", Setting.class));
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getClass("type").getName()).isEqualTo(Setting.class.getName());
+    assertThat(events.get(0).getInt("methods")).isEqualTo(1);
+    assertThat(events.get(0).getString("outcome")).isEqualTo("success");
+  }
+
+  private List<RecordedEvent> record(String eventName, Runnable action) throws IOException {
+    try (Recording recording = new Recording()) {
+      recording.enable(eventName);
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    return RecordingFile.readAllEvents(recordingFile).stream()
+        .filter(event -> event.getEventType().getName().equals(eventName))
+        .collect(Collectors.toList());
+  }
+
+  public interface Setting {
+    String value();
+  }
+}
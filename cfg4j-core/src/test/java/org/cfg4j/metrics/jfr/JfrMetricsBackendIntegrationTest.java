@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.metrics.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+class JfrMetricsBackendIntegrationTest {
+
+  private JfrMetricsBackend metricsBackend;
+  private Path recordingFile;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    metricsBackend = new JfrMetricsBackend();
+    recordingFile = Files.createTempFile("cfg4j-metrics", ".jfr");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    metricsBackend.close();
+    Files.deleteIfExists(recordingFile);
+  }
+
+  @Test
+  void emitsTimerEventsWhenEnabled() throws IOException {
+    List<RecordedEvent> events = record("org.cfg4j.Timer", () -> metricsBackend.timer("some.timer").update(5_000_000));
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getString("metric")).isEqualTo("some.timer");
+    assertThat(events.get(0).getDuration("elapsed")).isEqualTo(Duration.ofMillis(5));
+  }
+
+  @Test
+  void emitsHistogramEventsWhenEnabled() throws IOException {
+    List<RecordedEvent> events = record("org.cfg4j.Histogram", () -> metricsBackend.histogram("some.histogram").update(42));
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getLong("value")).isEqualTo(42);
+  }
+
+  @Test
+  void emitsCounterAndGaugeValuesPeriodically() throws IOException {
+    metricsBackend.counter("some.counter").inc();
+    metricsBackend.counter("some.counter").inc();
+    metricsBackend.gauge("some.gauge", () -> 42);
+
+    List<RecordedEvent> events = record("org.cfg4j.MetricValue", () -> {
+    });
+
+    assertThat(events)
+        .filteredOn(event -> event.getString("metric").equals("some.counter"))
+        .isNotEmpty()
+        .allMatch(event -> event.getDouble("value") == 2);
+    assertThat(events)
+        .filteredOn(event -> event.getString("metric").equals("some.gauge"))
+        .isNotEmpty()
+        .allMatch(event -> event.getDouble("value") == 42);
+  }
+
+  private List<RecordedEvent> record(String eventName, Runnable action) throws IOException {
+    try (Recording recording = new Recording()) {
+      recording.enable(eventName).with("period", "everyChunk");
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    return RecordingFile.readAllEvents(recordingFile).stream()
+        .filter(event -> event.getEventType().getName().equals(eventName))
+        .collect(Collectors.toList());
+  }
+}
@@ -54,6 +54,16 @@ class BindInvocationHandlerTest {
     verify(configurationProvider, times(1)).getProperty(eq("abc.stringMethod"), any(GenericTypeInterface.class));
   }
 
+  @Test
+  void usesSameKeyOnSubsequentCalls() throws Exception {
+    BindInvocationHandler handler = new BindInvocationHandler(configurationProvider, "abc");
+
+    handler.invoke(this, this.getClass().getMethod("stringMethod"), new Object[]{});
+    handler.invoke(this, this.getClass().getMethod("stringMethod"), new Object[]{});
+
+    verify(configurationProvider, times(2)).getProperty(eq("abc.stringMethod"), any(GenericTypeInterface.class));
+  }
+
   @Test
   void usesDefaultNamespaceWhenNoPrefix() throws Exception {
     BindInvocationHandler handler = new BindInvocationHandler(configurationProvider, "");
@@ -99,7 +109,7 @@ class BindInvocationHandlerTest {
 
   @Test
   void passesCallToNonObjectLevelMethodWithCollidingName() throws Exception {
-    when(configurationProvider.getProperty(eq("equals"), any(GenericTypeInterface.class))).thenReturn(true);
+    when(configurationProvider.getBoolean("equals")).thenReturn(true);
     BindInvocationHandler handler = new BindInvocationHandler(configurationProvider, "");
 
     assertThat((boolean) handler.invoke(this, this.getClass().getMethod("equals", String.class), new Object[]{})).isTrue();
@@ -107,12 +117,22 @@ class BindInvocationHandlerTest {
 
   @Test
   void passesCallToNonObjectLevelMethodWithCollidingNameAndDifferentNumberOfParams() throws Exception {
-    when(configurationProvider.getProperty(eq("equals"), any(GenericTypeInterface.class))).thenReturn(true);
+    when(configurationProvider.getBoolean("equals")).thenReturn(true);
     BindInvocationHandler handler = new BindInvocationHandler(configurationProvider, "");
 
     assertThat((boolean) handler.invoke(this, this.getClass().getMethod("equals", String.class, String.class), new Object[]{})).isTrue();
   }
 
+  @Test
+  void readsPrimitivesWithPrimitiveAccessors() throws Exception {
+    when(configurationProvider.getLong("longMethod")).thenReturn(42L);
+    when(configurationProvider.getInt("intMethod")).thenReturn(7);
+    BindInvocationHandler handler = new BindInvocationHandler(configurationProvider, "");
+
+    assertThat(handler.invoke(this, this.getClass().getMethod("longMethod"), new Object[]{})).isEqualTo(42L);
+    assertThat(handler.invoke(this, this.getClass().getMethod("intMethod"), new Object[]{})).isEqualTo(7);
+  }
+
   @Test
   void invokesObjectLevelMethod() throws Exception {
     BindInvocationHandler handler = new BindInvocationHandler(configurationProvider, "");
@@ -132,6 +152,16 @@ class BindInvocationHandlerTest {
     return null;
   }
 
+  @SuppressWarnings("WeakerAccess")
+  public long longMethod() {
+    return 0;
+  }
+
+  @SuppressWarnings("WeakerAccess")
+  public int intMethod() {
+    return 0;
+  }
+
   // Name collision with {@link Object#equals(Object)} (but with different parameters)
   @SuppressWarnings("WeakerAccess")
   public boolean equals(String param) {
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import org.cfg4j.metrics.dropwizard.DropwizardMetricsBackend;
+import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.context.environment.DefaultEnvironment;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.reload.CachedConfigurationSource;
+import org.cfg4j.validator.DeferredBindingValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Properties;
+
+
+@ExtendWith(MockitoExtension.class)
+class BoundTypeSnapshotValidatorTest {
+
+  public interface ConfigPojo {
+    Integer someSetting();
+  }
+
+  @Mock
+  private ConfigurationSource delegateSource;
+  private CachedConfigurationSource cachedConfigurationSource;
+  private SimpleConfigurationProvider configurationProvider;
+
+  @BeforeEach
+  void setUp() {
+    cachedConfigurationSource = new CachedConfigurationSource(delegateSource);
+    configurationProvider = new SimpleConfigurationProvider(cachedConfigurationSource, new DefaultEnvironment());
+  }
+
+  @Test
+  void reloadRejectsConfigurationBreakingBoundObject() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("someSetting", "42"), propertiesWith("someSetting", "notANumber"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigPojo config = configurationProvider.bind("", ConfigPojo.class);
+
+    assertThatThrownBy(() -> cachedConfigurationSource.reload(new DefaultEnvironment()))
+        .isExactlyInstanceOf(IllegalStateException.class)
+        .hasCauseExactlyInstanceOf(IllegalArgumentException.class);
+    assertThat(config.someSetting()).isEqualTo(42);
+  }
+
+  @Test
+  void reloadRejectsConfigurationMissingKeysOfBoundObjectUnderPrefix() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("my.someSetting", "42"), propertiesWith("other.someSetting", "42"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigPojo config = configurationProvider.forPrefix("my").bind("", ConfigPojo.class);
+
+    assertThatThrownBy(() -> cachedConfigurationSource.reload(new DefaultEnvironment()))
+        .isExactlyInstanceOf(IllegalStateException.class);
+    assertThat(config.someSetting()).isEqualTo(42);
+  }
+
+  @Test
+  void reloadPublishesConfigurationValidForBoundObject() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("someSetting", "42"), propertiesWith("someSetting", "43"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigPojo config = configurationProvider.bind("", ConfigPojo.class);
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(config.someSetting()).isEqualTo(43);
+  }
+
+  @Test
+  void reloadPublishesConfigurationWhenBoundObjectWasAlreadyBroken() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("someSetting", "notANumber"), propertiesWith("someSetting", "notANumber", "other", "1"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    configurationProvider = new SimpleConfigurationProvider(cachedConfigurationSource, new DefaultEnvironment(), null,
+        new DeferredBindingValidator(Runnable::run, new DropwizardMetricsBackend(new MetricRegistry()), ""));
+    configurationProvider.bind("", ConfigPojo.class);
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).get("other")).isEqualTo("1");
+  }
+
+  private Properties propertiesWith(String... args) {
+    Properties properties = new Properties();
+    for (int i = 1; i < args.length; i += 2) {
+      properties.put(args[i - 1], args[i]);
+    }
+
+    return properties;
+  }
+}
@@ -16,20 +16,48 @@
 
 package org.cfg4j.provider;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.codahale.metrics.MetricRegistry;
+import org.cfg4j.metrics.MetricsBackend;
+import org.cfg4j.source.ConfigurationSource;
 import org.cfg4j.source.context.environment.DefaultEnvironment;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.reload.CoalescingReloadable;
 import org.cfg4j.source.reload.ReloadStrategy;
 import org.cfg4j.source.reload.Reloadable;
+import org.cfg4j.source.reload.strategy.ImmediateReloadStrategy;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.source.snapshot.FileSnapshotStore;
+import org.cfg4j.utils.FileUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 
 class ConfigurationProviderBuilderTest {
 
+  public interface ConfigPojo {
+    Integer missingSetting();
+  }
+
   private ConfigurationProviderBuilder builder;
 
   @BeforeEach
@@ -47,4 +75,250 @@ class ConfigurationProviderBuilderTest {
 
     verify(reloadStrategy, times(1)).register(any(Reloadable.class));
   }
-}
\ No newline at end of file
+
+  @Test
+  void registersSingleReloadableForAllEnvironmentsOnMultiEnvironmentBuild() {
+    ReloadStrategy reloadStrategy = mock(ReloadStrategy.class);
+    builder
+        .withReloadStrategy(reloadStrategy)
+        .buildMultiEnvironment(10);
+
+    verify(reloadStrategy, times(1)).register(any(Reloadable.class));
+  }
+
+  @Test
+  void registersCoalescingReloadableWhenReloadCoalescingEnabled() {
+    ReloadStrategy reloadStrategy = mock(ReloadStrategy.class);
+    builder
+        .withReloadStrategy(reloadStrategy)
+        .withReloadCoalescing(100, 1000, TimeUnit.MILLISECONDS)
+        .build();
+
+    verify(reloadStrategy, times(1)).register(any(CoalescingReloadable.class));
+  }
+
+  @Test
+  void sharesReloadCoalescingThreadsBetweenProviders() {
+    int providers = 2 * Runtime.getRuntime().availableProcessors() + 1;
+    for (int i = 0; i < providers; i++) {
+      new ConfigurationProviderBuilder()
+          .withConfigurationSource(sourceWith("some.setting", "value"))
+          .withReloadCoalescing(0, 0, TimeUnit.MILLISECONDS)
+          .build();
+    }
+
+    List<Thread> coalescingThreads = Thread.getAllStackTraces().keySet().stream()
+        .filter(thread -> thread.getName().equals("cfg4j-reload-coalescing"))
+        .collect(Collectors.toList());
+    assertThat(coalescingThreads.size()).isLessThanOrEqualTo(Runtime.getRuntime().availableProcessors());
+    assertThat(coalescingThreads).allMatch(Thread::isDaemon);
+  }
+
+  @Test
+  void recordsKeyReadsWhenKeyAccessTrackingEnabled() {
+    KeyAccessTracker tracker = new KeyAccessTracker();
+    ConfigurationProvider provider = builder
+        .withConfigurationSource(sourceWith("some.setting", "value"))
+        .withKeyAccessTracking(tracker)
+        .withMetrics(new MetricRegistry(), "")
+        .build();
+
+    provider.getProperty("some.setting", String.class);
+
+    assertThat(tracker.getReadCount("some.setting")).isEqualTo(1);
+  }
+
+  @Test
+  void defersBindValidationWhenEnabled() {
+    List<Runnable> validations = new ArrayList<>();
+    ConfigurationProvider provider = builder
+        .withConfigurationSource(sourceWith("some.setting", "value"))
+        .withDeferredBindValidation(validations::add)
+        .build();
+
+    provider.bind("", ConfigPojo.class);
+
+    assertThat(validations).hasSize(1);
+  }
+
+  @Test
+  void doesNotMeterProviderWithNoopMetricsBackend() {
+    ConfigurationProvider provider = builder
+        .withMetricsBackend(MetricsBackend.noop(), "")
+        .build();
+
+    assertThat(provider).isExactlyInstanceOf(SimpleConfigurationProvider.class);
+  }
+
+  @Test
+  void buildsMeteredProvidersWithSameMetricPrefixOnSharedRegistry() {
+    MetricRegistry metricRegistry = new MetricRegistry();
+    ConfigurationProvider first = new ConfigurationProviderBuilder()
+        .withConfigurationSource(sourceWith("some.setting", "value"))
+        .withMetrics(metricRegistry, "")
+        .build();
+    builder
+        .withConfigurationSource(sourceWith("some.setting", "otherValue"))
+        .withMetrics(metricRegistry, "")
+        .withReloadCoalescing(100, 1000, TimeUnit.MILLISECONDS);
+    ConfigurationProvider second = builder.build();
+    ConfigurationProvider third = builder.build();
+
+    assertThat(first.getProperty("some.setting", String.class)).isEqualTo("value");
+    assertThat(second.getProperty("some.setting", String.class)).isEqualTo("otherValue");
+    assertThat(third.getProperty("some.setting", String.class)).isEqualTo("otherValue");
+    assertThat(metricRegistry.getGauges()).containsKeys("source.keys", "snapshot.keys", "reloadable.consecutiveFailures",
+        "reloadable.executedReloads");
+  }
+
+  @Test
+  void buildsMeteredMultiEnvironmentProvidersWithSameMetricPrefixOnSharedRegistry() {
+    MetricRegistry metricRegistry = new MetricRegistry();
+    builder.withMetrics(metricRegistry, "");
+
+    builder.buildMultiEnvironment(2);
+    builder.buildMultiEnvironment(2);
+
+    assertThat(metricRegistry.getGauges()).containsKeys("reloadable.consecutiveFailures");
+  }
+
+  @Test
+  void loadsConfigurationOnceWhenStrategyReloadsOnRegistration() {
+    ConfigurationSource source = sourceWith("some.setting", "value");
+    builder
+        .withConfigurationSource(source)
+        .withReloadStrategy(new ImmediateReloadStrategy())
+        .build();
+
+    verify(source, times(1)).getConfiguration(any(Environment.class));
+  }
+
+  @Test
+  void loadsConfigurationWhenStrategyDoesNotReloadOnRegistration() {
+    ConfigurationSource source = sourceWith("some.setting", "value");
+    ConfigurationProvider provider = builder
+        .withConfigurationSource(source)
+        .withReloadStrategy(mock(ReloadStrategy.class))
+        .build();
+
+    assertThat(provider.getProperty("some.setting", String.class)).isEqualTo("value");
+  }
+
+  @Test
+  void deregistersReloadableWhenUnableToLoadConfiguration() {
+    ConfigurationSource source = mock(ConfigurationSource.class);
+    when(source.getConfiguration(any(Environment.class))).thenThrow(new IllegalStateException());
+    ReloadStrategy reloadStrategy = mock(ReloadStrategy.class);
+    builder
+        .withConfigurationSource(source)
+        .withReloadStrategy(reloadStrategy);
+
+    assertThatThrownBy(() -> builder.build()).isExactlyInstanceOf(IllegalStateException.class);
+    verify(reloadStrategy).deregister(any(Reloadable.class));
+  }
+
+  @Test
+  void buildAsyncCompletesWithLoadedProvider() throws Exception {
+    ConfigurationProvider provider = builder
+        .withConfigurationSource(sourceWith("some.setting", "value"))
+        .buildAsync()
+        .get(5, TimeUnit.SECONDS);
+
+    assertThat(provider.getProperty("some.setting", String.class)).isEqualTo("value");
+  }
+
+  @Test
+  void buildAsyncCompletesExceptionallyWhenUnableToLoadConfiguration() {
+    ConfigurationSource source = mock(ConfigurationSource.class);
+    when(source.getConfiguration(any(Environment.class))).thenThrow(new IllegalStateException());
+
+    CompletableFuture<ConfigurationProvider> provider = builder
+        .withConfigurationSource(source)
+        .buildAsync();
+
+    assertThatThrownBy(() -> provider.get(5, TimeUnit.SECONDS)).hasCauseExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void buildAsyncServesBootstrapConfigurationUntilLoaded() throws Exception {
+    CountDownLatch loadAllowed = new CountDownLatch(1);
+    ConfigurationSource source = mock(ConfigurationSource.class);
+    when(source.getConfiguration(any(Environment.class))).thenAnswer(invocation -> {
+      loadAllowed.await(5, TimeUnit.SECONDS);
+      return propertiesWith("some.setting", "value");
+    });
+
+    CompletableFuture<ConfigurationProvider> future = builder
+        .withConfigurationSource(source)
+        .withBootstrapConfiguration(propertiesWith("some.setting", "bootstrapValue"))
+        .buildAsync();
+
+    assertThat(future).isDone();
+    ConfigurationProvider provider = future.get();
+    assertThat(provider.getProperty("some.setting", String.class)).isEqualTo("bootstrapValue");
+
+    CountDownLatch loaded = new CountDownLatch(1);
+    provider.addChangeListener("some", change -> loaded.countDown());
+    loadAllowed.countDown();
+
+    assertThat(loaded.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(provider.getProperty("some.setting", String.class)).isEqualTo("value");
+  }
+
+  @Test
+  void persistsLoadedConfigurationInSnapshotStore() throws Exception {
+    Path directory = Files.createTempDirectory("cfg4j-snapshot");
+    try {
+      FileSnapshotStore snapshotStore = new FileSnapshotStore(directory.resolve("config.snapshot"));
+      builder
+          .withConfigurationSource(sourceWith("some.setting", "value"))
+          .withSnapshotStore(snapshotStore)
+          .build();
+
+      assertThat(snapshotStore.read().get("some.setting")).isEqualTo("value");
+    } finally {
+      new FileUtils().deleteDir(directory);
+    }
+  }
+
+  @Test
+  void buildServesStoredSnapshotWhenSourceUnavailable() throws Exception {
+    Path directory = Files.createTempDirectory("cfg4j-snapshot");
+    try {
+      FileSnapshotStore snapshotStore = new FileSnapshotStore(directory.resolve("config.snapshot"));
+      snapshotStore.write(ConfigurationSnapshot.of(propertiesWith("some.setting", "storedValue")));
+      ConfigurationSource source = mock(ConfigurationSource.class);
+      doThrow(new IllegalStateException()).doNothing().when(source).init();
+      ReloadStrategy reloadStrategy = mock(ReloadStrategy.class);
+
+      ConfigurationProvider provider = builder
+          .withConfigurationSource(source)
+          .withReloadStrategy(reloadStrategy)
+          .withSnapshotStore(snapshotStore)
+          .build();
+
+      assertThat(provider.getProperty("some.setting", String.class)).isEqualTo("storedValue");
+
+      when(source.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("some.setting", "loadedValue"));
+      ArgumentCaptor<Reloadable> reloadable = ArgumentCaptor.forClass(Reloadable.class);
+      verify(reloadStrategy).register(reloadable.capture());
+      reloadable.getValue().reload();
+
+      assertThat(provider.getProperty("some.setting", String.class)).isEqualTo("loadedValue");
+    } finally {
+      new FileUtils().deleteDir(directory);
+    }
+  }
+
+  private ConfigurationSource sourceWith(String key, String value) {
+    ConfigurationSource source = mock(ConfigurationSource.class);
+    when(source.getConfiguration(any(Environment.class))).thenReturn(propertiesWith(key, value));
+    return source;
+  }
+
+  private Properties propertiesWith(String key, String value) {
+    Properties properties = new Properties();
+    properties.put(key, value);
+    return properties;
+  }
+}
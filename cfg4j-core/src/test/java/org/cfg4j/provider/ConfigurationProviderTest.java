@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+
+class ConfigurationProviderTest {
+
+  private ConfigurationProvider provider;
+
+  @BeforeEach
+  void setUp() {
+    provider = mock(ConfigurationProvider.class, CALLS_REAL_METHODS);
+  }
+
+  @Test
+  void allConfigurationUnderFiltersAllConfigurationAsProperties() {
+    when(provider.allConfigurationAsProperties()).thenReturn(properties());
+
+    assertThat(provider.allConfigurationUnder("db")).containsExactly(entry("db.pool.size", "10"), entry("db.url", "localhost"));
+  }
+
+  @Test
+  void allConfigurationUnderOfEmptyPrefixContainsAllKeys() {
+    when(provider.allConfigurationAsProperties()).thenReturn(properties());
+
+    assertThat(provider.allConfigurationUnder("")).hasSize(4);
+  }
+
+  @Test
+  void forPrefixResolvesKeysRelativeToPrefix() {
+    when(provider.getProperty("db.pool.size", int.class)).thenReturn(10);
+    doReturn(100L).when(provider).getLong("db.pool.timeout");
+
+    ConfigurationProvider scoped = provider.forPrefix("db").forPrefix("pool");
+
+    assertThat(scoped.getProperty("size", int.class)).isEqualTo(10);
+    assertThat(scoped.getLong("timeout")).isEqualTo(100L);
+  }
+
+  @Test
+  void forPrefixOfEmptyPrefixIsSameProvider() {
+    assertThat(provider.forPrefix("")).isSameAs(provider);
+  }
+
+  @Test
+  void forPrefixAllConfigurationUnderHasRelativeKeys() {
+    when(provider.allConfigurationAsProperties()).thenReturn(properties());
+
+    ConfigurationProvider scoped = provider.forPrefix("db");
+
+    assertThat(scoped.allConfigurationUnder("")).containsExactly(entry("pool.size", "10"), entry("url", "localhost"));
+    assertThat(scoped.allConfigurationUnder("pool")).containsExactly(entry("pool.size", "10"));
+    assertThat(scoped.allConfigurationAsProperties()).containsOnlyKeys("pool.size", "url");
+  }
+
+  @Test
+  void forPrefixGetPropertiesResolvesKeysRelativeToPrefix() {
+    when(provider.getProperty("db.url", String.class)).thenReturn("localhost");
+    PropertyBatch batch = new PropertyBatchBuilder().withProperty("url", String.class).build();
+
+    assertThat(provider.forPrefix("db").getProperties(batch).<String>get("url")).isEqualTo("localhost");
+  }
+
+  @Test
+  void addChangeListenerIsNotSupportedByDefault() {
+    assertThatThrownBy(() -> provider.addChangeListener("", mock(ConfigurationChangeListener.class)))
+        .isExactlyInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void removeChangeListenerIsNotSupportedByDefault() {
+    assertThatThrownBy(() -> provider.removeChangeListener(mock(ConfigurationChangeListener.class)))
+        .isExactlyInstanceOf(UnsupportedOperationException.class);
+  }
+
+  private Properties properties() {
+    Properties properties = new Properties();
+    properties.put("db.pool.size", "10");
+    properties.put("db.url", "localhost");
+    properties.put("dbx.url", "remotehost");
+    properties.put("cache.size", "5");
+    return properties;
+  }
+}
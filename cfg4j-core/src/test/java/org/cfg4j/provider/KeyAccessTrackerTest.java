@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+
+class KeyAccessTrackerTest extends SimpleConfigurationProviderAbstractTest {
+
+  public interface ConfigPojo {
+    Integer someSetting();
+
+    String toString();
+  }
+
+  private KeyAccessTracker tracker;
+
+  @BeforeEach
+  @Override
+  public void setUp() {
+    tracker = new KeyAccessTracker();
+    simpleConfigurationProvider = new SimpleConfigurationProvider(configurationSource, environment, tracker);
+  }
+
+  @Test
+  void countsReadsOfEachKey() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("some.setting", "1", "other.setting", "2"));
+
+    simpleConfigurationProvider.getProperty("some.setting", Integer.class);
+    simpleConfigurationProvider.getProperty("some.setting", Integer.class);
+    simpleConfigurationProvider.getProperty("other.setting", Integer.class);
+
+    assertThat(tracker.getReadCount("some.setting")).isEqualTo(2);
+    assertThat(tracker.getReadCount("other.setting")).isEqualTo(1);
+  }
+
+  @Test
+  void doesNotCountReadsOfMissingKeys() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("some.setting", "1"));
+
+    assertThatThrownBy(() -> simpleConfigurationProvider.getProperty("missing.setting", Integer.class))
+        .isExactlyInstanceOf(NoSuchElementException.class);
+
+    assertThat(tracker.getReadCount("missing.setting")).isZero();
+  }
+
+  @Test
+  void countsReadsOfScopedProvidersUnderFullKey() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("some.setting", "1"));
+
+    simpleConfigurationProvider.forPrefix("some").getProperty("setting", Integer.class);
+
+    assertThat(tracker.getReadCount("some.setting")).isEqualTo(1);
+  }
+
+  @Test
+  void reportsMostReadKeysInOrder() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("a", "1", "b", "2", "c", "3"));
+    for (int i = 0; i < 3; i++) {
+      simpleConfigurationProvider.getProperty("c", Integer.class);
+    }
+    simpleConfigurationProvider.getProperty("a", Integer.class);
+    simpleConfigurationProvider.getProperty("b", Integer.class);
+    simpleConfigurationProvider.getProperty("b", Integer.class);
+
+    assertThat(tracker.getMostReadKeys(2)).containsExactly(entry("c", 3L), entry("b", 2L));
+  }
+
+  @Test
+  void reportsUnreadKeys() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("a", "1", "b", "2", "c", "3"));
+
+    simpleConfigurationProvider.getProperty("b", Integer.class);
+
+    assertThat(tracker.getUnreadKeys(propertiesWith("a", "1", "b", "2", "c", "3"))).containsExactly("a", "c");
+  }
+
+  @Test
+  void countsCallsToBoundObjectsButNotTheirValidation() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("some.someSetting", "42"));
+
+    ConfigPojo config = simpleConfigurationProvider.bind("some", ConfigPojo.class);
+    assertThat(tracker.getReadCount("some.someSetting")).isZero();
+
+    config.someSetting();
+
+    assertThat(tracker.getReadCount("some.someSetting")).isEqualTo(1);
+  }
+
+  @Test
+  void recordsBoundTypesOfKeys() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("some.someSetting", "42"));
+
+    simpleConfigurationProvider.forPrefix("some").bind("", ConfigPojo.class);
+
+    assertThat(tracker.getBoundTypes("some.someSetting")).containsExactly(ConfigPojo.class.getName());
+    assertThat(tracker.getBoundTypes("some.toString")).isEmpty();
+  }
+
+  @Test
+  void rejectsNegativeLimit() {
+    assertThatThrownBy(() -> tracker.getMostReadKeys(-1)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+}
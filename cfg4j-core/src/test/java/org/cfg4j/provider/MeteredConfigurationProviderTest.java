@@ -17,13 +17,16 @@
 package org.cfg4j.provider;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.codahale.metrics.MetricRegistry;
+import org.cfg4j.metrics.dropwizard.DropwizardMetricsBackend;
 import com.codahale.metrics.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,8 +34,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Properties;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,10 +58,9 @@ class MeteredConfigurationProviderTest {
   @BeforeEach
   void setUp() {
     Timer timer = mock(Timer.class);
-    when(timer.time()).thenReturn(mock(Timer.Context.class));
     when(metricRegistry.timer(anyString())).thenReturn(timer);
 
-    provider = new MeteredConfigurationProvider(metricRegistry, "configProvider", delegate);
+    provider = new MeteredConfigurationProvider(new DropwizardMetricsBackend(metricRegistry), "configProvider", delegate);
   }
 
   @Test
@@ -66,6 +71,23 @@ class MeteredConfigurationProviderTest {
     assertThat(provider.allConfigurationAsProperties()).isEqualTo(properties);
   }
 
+  @Test
+  void allConfigurationUnderCallsDelegate() {
+    Map<String, String> configuration = Collections.emptyMap();
+    when(delegate.allConfigurationUnder("test")).thenReturn(configuration);
+
+    assertThat(provider.allConfigurationUnder("test")).isSameAs(configuration);
+  }
+
+  @Test
+  void forPrefixReturnsProviderCallingScopedDelegate() {
+    SimpleConfigurationProvider scopedDelegate = mock(SimpleConfigurationProvider.class);
+    when(delegate.forPrefix("test")).thenReturn(scopedDelegate);
+    when(scopedDelegate.getProperty("property", boolean.class)).thenReturn(true);
+
+    assertThat(provider.forPrefix("test").getProperty("property", boolean.class)).isTrue();
+  }
+
   @Test
   void getPropertyCallsDelegate() {
     when(delegate.getProperty("test.property", boolean.class)).thenReturn(true);
@@ -73,6 +95,29 @@ class MeteredConfigurationProviderTest {
     assertThat(provider.getProperty("test.property", boolean.class)).isTrue();
   }
 
+  @Test
+  void getPropertyPropagatesMissingKeyExceptions() {
+    when(delegate.getProperty("test.property", boolean.class)).thenThrow(new NoSuchElementException());
+
+    assertThatThrownBy(() -> provider.getProperty("test.property", boolean.class)).isExactlyInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  void countsSuccessfulReadsOfEachKeyOnly() {
+    MetricRegistry registry = new MetricRegistry();
+    provider = new MeteredConfigurationProvider(new DropwizardMetricsBackend(registry), "configProvider.", delegate, 10,
+        true);
+    when(delegate.getProperty("test.property", boolean.class)).thenReturn(true);
+    doThrow(new NoSuchElementException()).when(delegate).getProperty("missing.property", boolean.class);
+
+    provider.getProperty("test.property", boolean.class);
+    assertThatThrownBy(() -> provider.getProperty("missing.property", boolean.class)).isExactlyInstanceOf(NoSuchElementException.class);
+
+    assertThat(registry.counter("configProvider.getProperty.keys.test.property").getCount()).isEqualTo(1);
+    assertThat(registry.counter("configProvider.getProperty.misses").getCount()).isEqualTo(1);
+    assertThat(registry.getCounters()).doesNotContainKey("configProvider.getProperty.keys.missing.property");
+  }
+
   @Test
   void getProperty2CallsDelegate() {
     @SuppressWarnings("Convert2Diamond")
@@ -84,6 +129,23 @@ class MeteredConfigurationProviderTest {
     assertThat(property).isEmpty();
   }
 
+  @Test
+  void getPropertiesCallsDelegate() {
+    PropertyBatch batch = new PropertyBatchBuilder().withProperty("test.property", boolean.class).build();
+    PropertyValues values = new PropertyValues(batch, new Object[]{true});
+    when(delegate.getProperties(batch)).thenReturn(values);
+
+    assertThat(provider.getProperties(batch)).isSameAs(values);
+  }
+
+  @Test
+  void snapshotCallsDelegate() {
+    PinnedConfigurationProvider snapshot = mock(PinnedConfigurationProvider.class);
+    when(delegate.snapshot()).thenReturn(snapshot);
+
+    assertThat(provider.snapshot()).isSameAs(snapshot);
+  }
+
   @Test
   void bindCallsDelegate() {
     ConfigPojo configPojo = new ConfigPojo() {
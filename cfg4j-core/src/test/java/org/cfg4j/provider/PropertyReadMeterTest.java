@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.codahale.metrics.MetricRegistry;
+import org.cfg4j.metrics.dropwizard.DropwizardMetricsBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+
+class PropertyReadMeterTest {
+
+  private MetricRegistry metricRegistry;
+
+  @BeforeEach
+  void setUp() {
+    metricRegistry = new MetricRegistry();
+  }
+
+  @Test
+  void timesEveryCallWithSampleRateOfOne() {
+    PropertyReadMeter meter = new PropertyReadMeter(new DropwizardMetricsBackend(metricRegistry), "getProperty", 1, false);
+
+    read(meter, "some.setting", 100);
+
+    assertThat(metricRegistry.timer("getProperty").getCount()).isEqualTo(100);
+    assertThat(metricRegistry.getCounters()).isEmpty();
+  }
+
+  @Test
+  void countsCallsAndTimesSampleOfThem() {
+    PropertyReadMeter meter = new PropertyReadMeter(new DropwizardMetricsBackend(metricRegistry), "getProperty", 10, false);
+
+    read(meter, "some.setting", 10000);
+
+    assertThat(metricRegistry.counter("getProperty.calls").getCount()).isEqualTo(10000);
+    assertThat(metricRegistry.timer("getProperty.sampled").getCount()).isBetween(500L, 1500L);
+    assertThat(metricRegistry.getTimers()).doesNotContainKey("getProperty");
+  }
+
+  @Test
+  void countsMisses() {
+    PropertyReadMeter meter = new PropertyReadMeter(new DropwizardMetricsBackend(metricRegistry), "getProperty", 10, false);
+
+    meter.miss();
+    meter.miss();
+
+    assertThat(metricRegistry.counter("getProperty.misses").getCount()).isEqualTo(2);
+  }
+
+  @Test
+  void countsReadsOfEachKey() {
+    PropertyReadMeter meter = new PropertyReadMeter(new DropwizardMetricsBackend(metricRegistry), "getProperty", 10, true);
+
+    read(meter, "some.setting", 3);
+    read(meter, "other.setting", 1);
+
+    assertThat(metricRegistry.counter("getProperty.keys.some.setting").getCount()).isEqualTo(3);
+    assertThat(metricRegistry.counter("getProperty.keys.other.setting").getCount()).isEqualTo(1);
+  }
+
+  @Test
+  void countsReadsOfScopedKeysUnderFullKey() {
+    PropertyReadMeter meter = new PropertyReadMeter(new DropwizardMetricsBackend(metricRegistry), "getProperty", 10, true);
+
+    read(meter, "some.setting", 1);
+    read(meter.forPrefix("some"), "setting", 1);
+    read(meter.forPrefix("").forPrefix("some"), "setting", 1);
+
+    assertThat(metricRegistry.counter("getProperty.keys.some.setting").getCount()).isEqualTo(3);
+  }
+
+  @Test
+  void rejectsNonPositiveSampleRate() {
+    assertThatThrownBy(() -> new PropertyReadMeter(new DropwizardMetricsBackend(metricRegistry), "getProperty", 0, false)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void read(PropertyReadMeter meter, String key, int times) {
+    for (int i = 0; i < times; i++) {
+      long start = meter.start();
+      meter.hit(key);
+      meter.stop(start);
+    }
+  }
+}
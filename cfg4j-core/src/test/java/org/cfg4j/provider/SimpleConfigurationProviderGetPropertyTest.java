@@ -17,11 +17,19 @@ package org.cfg4j.provider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.cfg4j.source.snapshot.ConfigurationChange;
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.source.snapshot.SnapshotConfigurationSource;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -53,6 +61,128 @@ class SimpleConfigurationProviderGetPropertyTest extends SimpleConfigurationProv
     verify(configurationSource).getConfiguration(environment);
   }
 
+  @Test
+  void allConfigurationUnderReturnsKeysUnderPrefix() {
+    when(configurationSource.getConfiguration(anyEnvironment()))
+        .thenReturn(propertiesWith("db.pool.size", "10", "db.poolSize", "20", "db.pool", "30", "db.url", "localhost"));
+
+    assertThat(simpleConfigurationProvider.allConfigurationUnder("db.pool")).containsOnly(entry("db.pool.size", "10"));
+  }
+
+  @Test
+  void allConfigurationUnderReturnsAllKeysForEmptyPrefix() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("db.pool.size", "10", "db.url", "localhost"));
+
+    assertThat(simpleConfigurationProvider.allConfigurationUnder(""))
+        .containsOnly(entry("db.pool.size", "10"), entry("db.url", "localhost"));
+  }
+
+  @Test
+  void allConfigurationUnderUsesSnapshotOfSnapshotSource() {
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    when(snapshotSource.getSnapshot(environment)).thenReturn(ConfigurationSnapshot.of(propertiesWith("db.pool.size", "10", "db.url", "localhost")));
+
+    assertThat(new SimpleConfigurationProvider(snapshotSource, environment).allConfigurationUnder("db"))
+        .containsOnly(entry("db.pool.size", "10"), entry("db.url", "localhost"));
+  }
+
+  @Test
+  void allConfigurationUnderThrowsWhenUnableToFetchConfiguration() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenThrow(new IllegalStateException());
+
+    assertThatThrownBy(() -> simpleConfigurationProvider.allConfigurationUnder("db")).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void forPrefixResolvesKeysRelativeToPrefix() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("db.pool.size", "10"));
+
+    assertThat(simpleConfigurationProvider.forPrefix("db").forPrefix("pool").getProperty("size", int.class)).isEqualTo(10);
+  }
+
+  @Test
+  void forPrefixResolvesKeysOfSnapshotSource() {
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    when(snapshotSource.getSnapshot(environment)).thenReturn(ConfigurationSnapshot.of(propertiesWith("db.pool.size", "10")));
+
+    assertThat(new SimpleConfigurationProvider(snapshotSource, environment).forPrefix("db.pool").getProperty("size", int.class))
+        .isEqualTo(10);
+  }
+
+  @Test
+  void forPrefixFollowsReloads() {
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    when(snapshotSource.getSnapshot(environment)).thenReturn(
+        ConfigurationSnapshot.of(propertiesWith("db.pool.size", "10")),
+        ConfigurationSnapshot.of(propertiesWith("db.pool.size", "20")));
+    ConfigurationProvider provider = new SimpleConfigurationProvider(snapshotSource, environment).forPrefix("db.pool");
+
+    provider.getProperty("size", int.class);
+
+    assertThat(provider.getProperty("size", int.class)).isEqualTo(20);
+  }
+
+  @Test
+  void forPrefixThrowsWhenFetchingNonexistentKey() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("size", "10"));
+
+    assertThatThrownBy(() -> simpleConfigurationProvider.forPrefix("db").getProperty("size", int.class))
+        .isExactlyInstanceOf(NoSuchElementException.class)
+        .hasMessageContaining("db.size");
+  }
+
+  @Test
+  void forPrefixAllConfigurationAsPropertiesHasRelativeKeys() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("db.pool.size", "10", "cache.size", "5"));
+
+    assertThat(simpleConfigurationProvider.forPrefix("db").allConfigurationAsProperties()).containsOnly(entry("pool.size", "10"));
+  }
+
+  @Test
+  void forPrefixAllConfigurationUnderHasRelativeKeys() {
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    when(snapshotSource.getSnapshot(environment)).thenReturn(ConfigurationSnapshot.of(propertiesWith("db.pool.size", "10", "db.url", "localhost")));
+
+    assertThat(new SimpleConfigurationProvider(snapshotSource, environment).forPrefix("db").allConfigurationUnder("pool"))
+        .containsOnly(entry("pool.size", "10"));
+  }
+
+  @Test
+  void addChangeListenerThrowsForSourceWithoutSnapshots() {
+    assertThatThrownBy(() -> simpleConfigurationProvider.addChangeListener("", change -> {
+    })).isExactlyInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void addChangeListenerPassesChangesUnderPrefix() {
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    ConfigurationChangeListener listener = mock(ConfigurationChangeListener.class);
+    new SimpleConfigurationProvider(snapshotSource, environment).forPrefix("db").addChangeListener("pool", listener);
+    ArgumentCaptor<ConfigurationChangeListener> captor = ArgumentCaptor.forClass(ConfigurationChangeListener.class);
+    verify(snapshotSource).addChangeListener(eq(environment), captor.capture());
+    ConfigurationSnapshot previous = ConfigurationSnapshot.of(propertiesWith("db.pool.size", "1", "db.url", "a"));
+
+    captor.getValue().onChange(ConfigurationChange.between(previous, previous.update(propertiesWith("db.pool.size", "2", "db.url", "b"))));
+
+    ArgumentCaptor<ConfigurationChange> changeCaptor = ArgumentCaptor.forClass(ConfigurationChange.class);
+    verify(listener).onChange(changeCaptor.capture());
+    assertThat(changeCaptor.getValue().getChangedKeys()).containsExactly("size");
+  }
+
+  @Test
+  void removeChangeListenerUnregistersListener() {
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    ConfigurationChangeListener listener = mock(ConfigurationChangeListener.class);
+    SimpleConfigurationProvider provider = new SimpleConfigurationProvider(snapshotSource, environment);
+    provider.addChangeListener("db", listener);
+    ArgumentCaptor<ConfigurationChangeListener> captor = ArgumentCaptor.forClass(ConfigurationChangeListener.class);
+    verify(snapshotSource).addChangeListener(eq(environment), captor.capture());
+
+    provider.removeChangeListener(listener);
+
+    verify(snapshotSource).removeChangeListener(environment, captor.getValue());
+  }
+
   @Test
   void getProperty2ThrowsWhenFetchingNonexistentKey() {
     when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(new Properties());
@@ -152,6 +282,136 @@ class SimpleConfigurationProviderGetPropertyTest extends SimpleConfigurationProv
 
   }
 
+  @Test
+  void getIntFallsBackToGetPropertyForSourceWithoutSnapshots() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("some.property", "42"));
+
+    assertThat(simpleConfigurationProvider.getInt("some.property")).isEqualTo(42);
+  }
+
+  @Test
+  void primitiveAccessorsReadSnapshotOfSnapshotSource() {
+    Properties properties = propertiesWith("db.pool.size", "10");
+    properties.put("db.timeout", "30000000000");
+    properties.put("db.ratio", "0.75");
+    properties.put("db.enabled", "true");
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    when(snapshotSource.getSnapshot(environment)).thenReturn(ConfigurationSnapshot.of(properties));
+    ConfigurationProvider provider = new SimpleConfigurationProvider(snapshotSource, environment).forPrefix("db");
+
+    assertThat(provider.getInt("pool.size")).isEqualTo(10);
+    assertThat(provider.getLong("timeout")).isEqualTo(30000000000L);
+    assertThat(provider.getDouble("ratio")).isEqualTo(0.75);
+    assertThat(provider.getBoolean("enabled")).isTrue();
+  }
+
+  @Test
+  void primitiveAccessorsThrowWhenFetchingNonexistentKeyOfSnapshotSource() {
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    when(snapshotSource.getSnapshot(environment)).thenReturn(ConfigurationSnapshot.of(new Properties()));
+
+    assertThatThrownBy(() -> new SimpleConfigurationProvider(snapshotSource, environment).getLong("some.property"))
+        .isExactlyInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  void primitiveAccessorsThrowWhenUnableToFetchSnapshot() {
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    when(snapshotSource.getSnapshot(environment)).thenThrow(new MissingEnvironmentException(""));
+
+    assertThatThrownBy(() -> new SimpleConfigurationProvider(snapshotSource, environment).getBoolean("some.property"))
+        .isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void getPropertiesReturnsValuesInBatchOrder() {
+    Properties properties = propertiesWith("db.pool.size", "10");
+    properties.put("db.replicas", "host1,host2");
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(properties);
+    PropertyBatch batch = new PropertyBatchBuilder()
+        .withProperty("db.pool.size", int.class)
+        .withProperty("db.replicas", new GenericType<List<String>>() {
+        })
+        .build();
+
+    PropertyValues values = simpleConfigurationProvider.getProperties(batch);
+
+    assertThat(values.size()).isEqualTo(2);
+    assertThat(values.<Integer>get(0)).isEqualTo(10);
+    assertThat(values.<List<String>>get("db.replicas")).containsExactly("host1", "host2");
+  }
+
+  @Test
+  void getPropertiesFetchesConfigurationOnce() {
+    Properties properties = propertiesWith("db.pool.size", "10");
+    properties.put("db.url", "localhost");
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(properties);
+
+    simpleConfigurationProvider.getProperties(new PropertyBatchBuilder()
+        .withProperty("db.pool.size", int.class)
+        .withProperty("db.url", String.class)
+        .build());
+
+    verify(configurationSource).getConfiguration(anyEnvironment());
+  }
+
+  @Test
+  void getPropertiesResolvesBatchAgainstSingleSnapshot() {
+    Properties properties = propertiesWith("db.pool.size", "10");
+    properties.put("db.pool.timeout", "100");
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    when(snapshotSource.getSnapshot(environment)).thenReturn(
+        ConfigurationSnapshot.of(properties),
+        ConfigurationSnapshot.of(propertiesWith("db.pool.size", "20")));
+    ConfigurationProvider provider = new SimpleConfigurationProvider(snapshotSource, environment).forPrefix("db.pool");
+
+    PropertyValues values = provider.getProperties(new PropertyBatchBuilder()
+        .withProperty("size", int.class)
+        .withProperty("timeout", long.class)
+        .build());
+
+    assertThat(values.<Integer>get("size")).isEqualTo(10);
+    assertThat(values.<Long>get("timeout")).isEqualTo(100L);
+  }
+
+  @Test
+  void getPropertiesThrowsWhenFetchingNonexistentKey() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("db.pool.size", "10"));
+    PropertyBatch batch = new PropertyBatchBuilder()
+        .withProperty("db.pool.size", int.class)
+        .withProperty("db.url", String.class)
+        .build();
+
+    assertThatThrownBy(() -> simpleConfigurationProvider.getProperties(batch)).isExactlyInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  void getPropertiesThrowsOnIncompatibleConversion() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("db.pool.size", "ten"));
+    PropertyBatch batch = new PropertyBatchBuilder().withProperty("db.pool.size", int.class).build();
+
+    assertThatThrownBy(() -> simpleConfigurationProvider.getProperties(batch)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void getPropertiesThrowsWhenUnableToFetchConfiguration() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenThrow(new MissingEnvironmentException(""));
+    PropertyBatch batch = new PropertyBatchBuilder().withProperty("db.pool.size", int.class).build();
+
+    assertThatThrownBy(() -> simpleConfigurationProvider.getProperties(batch)).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void propertyValuesThrowForKeyNotInBatch() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("db.pool.size", "10"));
+
+    PropertyValues values = simpleConfigurationProvider.getProperties(new PropertyBatchBuilder()
+        .withProperty("db.pool.size", int.class)
+        .build());
+
+    assertThatThrownBy(() -> values.get("db.url")).isExactlyInstanceOf(NoSuchElementException.class);
+  }
+
   @Test
   void getPropertyReturnsPropertyForProperEnvironment() {
     when(configurationSource.getConfiguration(environment)).thenReturn(propertiesWith("some.property", "1"));
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.source.snapshot.SnapshotConfigurationSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+
+class SimpleConfigurationProviderSnapshotTest extends SimpleConfigurationProviderAbstractTest {
+
+  public interface PoolConfig {
+    int size();
+  }
+
+  @Test
+  void snapshotKeepsValuesOnReload() {
+    SnapshotConfigurationSource snapshotSource = snapshotSourceReturning("10", "20");
+    SimpleConfigurationProvider provider = new SimpleConfigurationProvider(snapshotSource, environment);
+
+    PinnedConfigurationProvider snapshot = provider.snapshot();
+
+    assertThat(provider.getInt("db.pool.size")).isEqualTo(20);
+    assertThat(snapshot.getInt("db.pool.size")).isEqualTo(10);
+    assertThat(snapshot.getProperty("db.pool.size", String.class)).isEqualTo("10");
+  }
+
+  @Test
+  void snapshotHasGenerationOfPinnedSnapshot() {
+    ConfigurationSnapshot configurationSnapshot = ConfigurationSnapshot.of(propertiesWith("db.pool.size", "10"));
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    when(snapshotSource.getSnapshot(environment)).thenReturn(configurationSnapshot);
+    SimpleConfigurationProvider provider = new SimpleConfigurationProvider(snapshotSource, environment);
+
+    assertThat(provider.snapshot().getGeneration()).isEqualTo(configurationSnapshot.getGeneration());
+    assertThat(provider.snapshot().getGeneration()).isEqualTo(provider.snapshot().forPrefix("db").getGeneration());
+  }
+
+  @Test
+  void snapshotGenerationChangesOnReload() {
+    SnapshotConfigurationSource snapshotSource = snapshotSourceReturning("10", "20");
+    SimpleConfigurationProvider provider = new SimpleConfigurationProvider(snapshotSource, environment);
+
+    assertThat(provider.snapshot().getGeneration()).isLessThan(provider.snapshot().getGeneration());
+  }
+
+  @Test
+  void snapshotBoundObjectKeepsValuesOnReload() {
+    SnapshotConfigurationSource snapshotSource = snapshotSourceReturning("10", "20");
+    SimpleConfigurationProvider provider = new SimpleConfigurationProvider(snapshotSource, environment);
+
+    PoolConfig poolConfig = provider.snapshot().bind("db.pool", PoolConfig.class);
+
+    assertThat(provider.getInt("db.pool.size")).isEqualTo(20);
+    assertThat(poolConfig.size()).isEqualTo(10);
+  }
+
+  @Test
+  void snapshotForPrefixResolvesRelativeKeys() {
+    SnapshotConfigurationSource snapshotSource = snapshotSourceReturning("10", "20");
+    SimpleConfigurationProvider provider = new SimpleConfigurationProvider(snapshotSource, environment);
+
+    PinnedConfigurationProvider snapshot = provider.forPrefix("db").snapshot().forPrefix("pool");
+
+    assertThat(provider.getInt("db.pool.size")).isEqualTo(20);
+    assertThat(snapshot.getInt("size")).isEqualTo(10);
+    assertThat(snapshot.allConfigurationUnder("")).containsOnlyKeys("size");
+  }
+
+  @Test
+  void snapshotOfSnapshotIsSameProvider() {
+    SnapshotConfigurationSource snapshotSource = snapshotSourceReturning("10", "20");
+    PinnedConfigurationProvider snapshot = new SimpleConfigurationProvider(snapshotSource, environment).snapshot();
+
+    assertThat(snapshot.snapshot()).isSameAs(snapshot);
+  }
+
+  @Test
+  void snapshotCopiesConfigurationOfSourceWithoutSnapshots() {
+    Properties properties = propertiesWith("db.pool.size", "10");
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(properties);
+
+    PinnedConfigurationProvider snapshot = simpleConfigurationProvider.snapshot();
+    properties.put("db.pool.size", "20");
+
+    assertThat(snapshot.getInt("db.pool.size")).isEqualTo(10);
+  }
+
+  @Test
+  void snapshotThrowsWhenUnableToFetchConfiguration() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenThrow(new MissingEnvironmentException(""));
+
+    assertThatThrownBy(() -> simpleConfigurationProvider.snapshot()).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void snapshotDoesntSupportChangeListeners() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(new Properties());
+    PinnedConfigurationProvider snapshot = simpleConfigurationProvider.snapshot();
+
+    assertThatThrownBy(() -> snapshot.addChangeListener("", mock(ConfigurationChangeListener.class)))
+        .isExactlyInstanceOf(UnsupportedOperationException.class);
+  }
+
+  private SnapshotConfigurationSource snapshotSourceReturning(String poolSize, String reloadedPoolSize) {
+    SnapshotConfigurationSource snapshotSource = mock(SnapshotConfigurationSource.class);
+    when(snapshotSource.getSnapshot(environment)).thenReturn(
+        ConfigurationSnapshot.of(propertiesWith("db.pool.size", poolSize)),
+        ConfigurationSnapshot.of(propertiesWith("db.pool.size", reloadedPoolSize)));
+    return snapshotSource;
+  }
+}
@@ -41,15 +41,31 @@ class SimpleConfigurationProviderWithMeteredSourceIntegrationTest {
 
     assertThat(metricRegistry.getTimers()).containsOnlyKeys(
         "testService.allConfigurationAsProperties",
+        "testService.allConfigurationUnder",
         "testService.getProperty",
         "testService.getPropertyGeneric",
+        "testService.getProperties",
         "testService.bind",
         "testService.source.getConfiguration",
         "testService.source.init",
-        "testService.reloadable.reload"
+        "testService.reloadable.reload",
+        "testService.reloadable.fetch",
+        "testService.reloadable.merge",
+        "testService.reloadable.validate",
+        "testService.reloadable.publish"
     );
   }
 
+  @Test
+  void emitsReloadHealthAndSnapshotGauges() {
+    getConfigurationProvider();
+
+    assertThat(metricRegistry.getGauges().get("testService.snapshot.keys").getValue()).isEqualTo(1);
+    assertThat(metricRegistry.getGauges().get("testService.snapshot.bytes").getValue()).isEqualTo(32L);
+    assertThat(metricRegistry.getGauges().get("testService.reloadable.consecutiveFailures").getValue()).isEqualTo(0);
+    assertThat((Long) metricRegistry.getGauges().get("testService.reloadable.millisSinceLastSuccess").getValue()).isNotNegative();
+  }
+
   private ConfigurationProvider getConfigurationProvider() {
     Properties properties = new Properties();
     properties.put("some.setting", "true");
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.ImmutableEnvironment;
+import org.cfg4j.source.reload.CachedConfigurationSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Properties;
+
+@ExtendWith(MockitoExtension.class)
+class SimpleMultiEnvironmentConfigurationProviderTest {
+
+  @Mock
+  private ConfigurationSource configurationSource;
+
+  private SimpleMultiEnvironmentConfigurationProvider provider;
+
+  @BeforeEach
+  void setUp() {
+    when(configurationSource.getConfiguration(any(Environment.class))).thenAnswer(invocation -> {
+      Properties properties = new Properties();
+      properties.put("tenant", ((Environment) invocation.getArgument(0)).getName());
+      return properties;
+    });
+
+    provider = new SimpleMultiEnvironmentConfigurationProvider(new CachedConfigurationSource(configurationSource, 10), null, "");
+  }
+
+  @Test
+  void forEnvironmentServesConfigurationOfGivenEnvironment() {
+    assertThat(provider.forEnvironment(new ImmutableEnvironment("tenantA")).getProperty("tenant", String.class))
+        .isEqualTo("tenantA");
+    assertThat(provider.forEnvironment(new ImmutableEnvironment("tenantB")).getProperty("tenant", String.class))
+        .isEqualTo("tenantB");
+  }
+}
@@ -19,6 +19,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -33,6 +35,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 class MergeConfigurationSourceTest {
@@ -95,6 +100,31 @@ class MergeConfigurationSourceTest {
     }
   }
 
+  @Test
+  void initInitializesSourcesConcurrently() {
+    CountDownLatch bothInitializing = new CountDownLatch(2);
+    AtomicInteger concurrentInits = new AtomicInteger();
+    ConfigurationSource source = mock(ConfigurationSource.class);
+    doAnswer(invocation -> {
+      bothInitializing.countDown();
+      if (bothInitializing.await(5, TimeUnit.SECONDS)) {
+        concurrentInits.incrementAndGet();
+      }
+      return null;
+    }).when(source).init();
+
+    new MergeConfigurationSource(source, source).init();
+
+    assertThat(concurrentInits.get()).isEqualTo(2);
+  }
+
+  @Test
+  void initThrowsWhenOneOfSourcesThrows() {
+    doThrow(new IllegalStateException()).when(underlyingSources[2]).init();
+
+    assertThatThrownBy(() -> mergeConfigurationSource.init()).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
   private void sourcesWithProps(Environment environment, String... props) {
     Properties[] properties = getProps(props);
 
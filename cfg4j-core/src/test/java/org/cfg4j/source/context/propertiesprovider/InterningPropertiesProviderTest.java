@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.context.propertiesprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+
+@ExtendWith(MockitoExtension.class)
+class InterningPropertiesProviderTest {
+
+  private static final String[] COMMON_VALUES = {"true", "false", "30000", "localhost", "db.example.com", "8080", "INFO", "utf-8"};
+
+  @Mock
+  private PropertiesProvider delegate;
+
+  @Test
+  void internsKeysAndValues() {
+    Properties properties = new Properties();
+    properties.put(new String("key"), new String("value"));
+    when(delegate.getProperties(any(InputStream.class))).thenReturn(properties);
+    StringPool stringPool = new StringPool(16);
+    String key = stringPool.intern("key");
+    String value = stringPool.intern("value");
+
+    Properties interned = new InterningPropertiesProvider(delegate, stringPool).getProperties(emptyStream());
+
+    Map.Entry<Object, Object> entry = interned.entrySet().iterator().next();
+    assertThat(entry.getKey()).isSameAs(key);
+    assertThat(entry.getValue()).isSameAs(value);
+  }
+
+  @Test
+  void keepsNonStringValues() {
+    Properties properties = new Properties();
+    properties.put("key", 1);
+    when(delegate.getProperties(any(InputStream.class))).thenReturn(properties);
+
+    Properties interned = new InterningPropertiesProvider(delegate, new StringPool(16)).getProperties(emptyStream());
+
+    assertThat(interned.get("key")).isEqualTo(1);
+  }
+
+  @Test
+  void reducesRetainedSizeOfMergedConfiguration() {
+    // 4 environments of 50k entries each: identical keys, mostly common values
+    String configuration = configurationText(50_000);
+    PropertiesProvider plainProvider = new PropertyBasedPropertiesProvider();
+    PropertiesProvider interningProvider = new InterningPropertiesProvider(plainProvider, new StringPool(1 << 18));
+
+    List<Properties> plain = new ArrayList<>();
+    List<Properties> interned = new ArrayList<>();
+    for (int environment = 0; environment < 4; environment++) {
+      plain.add(plainProvider.getProperties(streamOf(configuration)));
+      interned.add(interningProvider.getProperties(streamOf(configuration)));
+    }
+
+    long plainSize = retainedStringBytes(plain);
+    long internedSize = retainedStringBytes(interned);
+
+    assertThat(internedSize).isLessThan(plainSize / 3);
+  }
+
+  private String configurationText(int entries) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < entries; i++) {
+      text.append("service").append(i % 500).append(".client").append(i / 500).append(".setting=")
+          .append(i % 10 == 0 ? "value-" + i : COMMON_VALUES[i % COMMON_VALUES.length])
+          .append('\n');
+    }
+    return text.toString();
+  }
+
+  /**
+   * Approximate heap histogram of strings reachable from {@code propertiesList}: each distinct instance is
+   * counted once with its object header, fields and character array.
+   */
+  private long retainedStringBytes(List<Properties> propertiesList) {
+    Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    long bytes = 0;
+
+    for (Properties properties : propertiesList) {
+      for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+        for (Object string : new Object[]{entry.getKey(), entry.getValue()}) {
+          if (seen.add(string)) {
+            bytes += 24 + 16 + 2L * ((String) string).length();
+          }
+        }
+      }
+    }
+
+    return bytes;
+  }
+
+  private InputStream streamOf(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  private InputStream emptyStream() {
+    return new ByteArrayInputStream(new byte[0]);
+  }
+}
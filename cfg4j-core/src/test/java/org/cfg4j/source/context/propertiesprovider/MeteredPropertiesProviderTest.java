@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.context.propertiesprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.codahale.metrics.MetricRegistry;
+import org.cfg4j.metrics.dropwizard.DropwizardMetricsBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+
+class MeteredPropertiesProviderTest {
+
+  private MetricRegistry metricRegistry;
+  private MeteredPropertiesProvider provider;
+
+  @BeforeEach
+  void setUp() {
+    metricRegistry = new MetricRegistry();
+    provider = new MeteredPropertiesProvider(new DropwizardMetricsBackend(metricRegistry), "cfg4j.", "yaml", new YamlBasedPropertiesProvider());
+  }
+
+  @Test
+  void returnsPropertiesOfDelegate() {
+    assertThat(provider.getProperties(stream("some:\n  setting: value\n"))).containsOnly(entry("some.setting", "value"));
+  }
+
+  @Test
+  void timesParsing() {
+    provider.getProperties(stream("setting: value\n"));
+
+    assertThat(metricRegistry.timer("cfg4j.parse.yaml").getCount()).isEqualTo(1);
+  }
+
+  @Test
+  void recordsParsedBytes() {
+    provider.getProperties(stream("setting: value\n"));
+
+    assertThat(metricRegistry.histogram("cfg4j.parse.yaml.bytes").getSnapshot().getMax()).isEqualTo(15);
+  }
+
+  @Test
+  void timesFailedParsing() {
+    assertThatThrownBy(() -> provider.getProperties(stream("setting: [value\n"))).isInstanceOf(RuntimeException.class);
+
+    assertThat(metricRegistry.timer("cfg4j.parse.yaml").getCount()).isEqualTo(1);
+  }
+
+  private ByteArrayInputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
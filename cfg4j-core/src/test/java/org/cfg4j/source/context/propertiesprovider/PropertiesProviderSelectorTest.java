@@ -17,6 +17,8 @@
 package org.cfg4j.source.context.propertiesprovider;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +26,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Properties;
+
 
 @ExtendWith(MockitoExtension.class)
 class PropertiesProviderSelectorTest {
@@ -63,4 +70,26 @@ class PropertiesProviderSelectorTest {
   void returnsPropertiesProviderForNonYaml() {
     assertThat(selector.getProvider("test.properties")).isEqualTo(propertiesProvider);
   }
-}
\ No newline at end of file
+
+  @Test
+  void getPropertiesParsesFileWithProviderSelectedByExtension() {
+    Properties properties = new Properties();
+    when(jsonProvider.getProperties(any(InputStream.class))).thenReturn(properties);
+
+    assertThat(selector.getProperties(Paths.get("config", "test.json"), new ByteArrayInputStream(new byte[0])))
+        .isSameAs(properties);
+  }
+
+  @Test
+  void interningSelectorInternsResultsOfSelectedProvider() {
+    Properties properties = new Properties();
+    properties.put(new String("key"), new String("value"));
+    when(yamlProvider.getProperties(any(InputStream.class))).thenReturn(properties);
+    StringPool stringPool = new StringPool(16);
+    String value = stringPool.intern("value");
+
+    Properties interned = selector.interning(stringPool).getProvider("test.yaml").getProperties(new ByteArrayInputStream(new byte[0]));
+
+    assertThat(interned.get("key")).isSameAs(value);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.context.propertiesprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+
+class StringPoolTest {
+
+  @Test
+  void returnsPooledInstanceOfEqualString() {
+    StringPool stringPool = new StringPool(16);
+    String pooled = stringPool.intern("value");
+
+    assertThat(stringPool.intern(new String("value"))).isSameAs(pooled);
+  }
+
+  @Test
+  void returnsGivenInstanceOfUnknownString() {
+    StringPool stringPool = new StringPool(16);
+    String value = new String("value");
+
+    assertThat(stringPool.intern(value)).isSameAs(value);
+  }
+
+  @Test
+  void roundsCapacityUpToPowerOfTwo() {
+    assertThat(new StringPool(1000).capacity()).isEqualTo(1024);
+  }
+
+  @Test
+  void neverHoldsMoreStringsThanCapacity() {
+    StringPool stringPool = new StringPool(4);
+
+    for (int i = 0; i < 1000; i++) {
+      stringPool.intern("value" + i);
+    }
+
+    int pooled = 0;
+    for (int i = 0; i < 1000; i++) {
+      String value = new String("value" + i);
+      if (stringPool.intern(value) != value) {
+        pooled++;
+      }
+    }
+    assertThat(pooled).isLessThanOrEqualTo(4);
+  }
+
+  @Test
+  void rejectsNonPositiveCapacity() {
+    assertThatThrownBy(() -> new StringPool(0)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+}
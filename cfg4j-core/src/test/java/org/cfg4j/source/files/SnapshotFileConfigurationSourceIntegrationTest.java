@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.cfg4j.source.context.environment.DefaultEnvironment;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.source.snapshot.FileSnapshotStore;
+import org.cfg4j.utils.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+
+class SnapshotFileConfigurationSourceIntegrationTest {
+
+  private Path directory;
+  private FileSnapshotStore snapshotStore;
+  private SnapshotFileConfigurationSource source;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    directory = Files.createTempDirectory("cfg4j-snapshot");
+    Path file = directory.resolve("config.snapshot");
+    snapshotStore = new FileSnapshotStore(file);
+    source = new SnapshotFileConfigurationSource(file);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    new FileUtils().deleteDir(directory);
+  }
+
+  @Test
+  void getConfigurationReturnsSnapshotFileContents() {
+    snapshotStore.write(ConfigurationSnapshot.of(Collections.singletonMap("some.setting", "value")));
+    source.init();
+
+    assertThat(source.getConfiguration(new DefaultEnvironment())).containsOnly(entry("some.setting", "value"));
+  }
+
+  @Test
+  void getConfigurationReturnsContentsOfReplacedFile() {
+    snapshotStore.write(ConfigurationSnapshot.of(Collections.singletonMap("some.setting", "value")));
+    source.init();
+
+    snapshotStore.write(ConfigurationSnapshot.of(Collections.singletonMap("some.setting", "otherValue")));
+
+    assertThat(source.getConfiguration(new DefaultEnvironment())).containsOnly(entry("some.setting", "otherValue"));
+  }
+
+  @Test
+  void initThrowsWhenFileMissing() {
+    assertThatThrownBy(() -> source.init()).isExactlyInstanceOf(IllegalStateException.class);
+  }
+}
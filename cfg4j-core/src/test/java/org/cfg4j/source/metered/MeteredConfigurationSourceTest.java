@@ -28,6 +28,7 @@ import static org.mockito.Mockito.when;
 
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
+import org.cfg4j.metrics.dropwizard.DropwizardMetricsBackend;
 import org.cfg4j.source.ConfigurationSource;
 import org.cfg4j.source.SourceCommunicationException;
 import org.cfg4j.source.context.environment.DefaultEnvironment;
@@ -56,7 +57,6 @@ class MeteredConfigurationSourceTest {
   @BeforeEach
   void setUp() {
     Timer timer = mock(Timer.class);
-    when(timer.time()).thenReturn(mock(Timer.Context.class));
     when(metricRegistry.timer(anyString())).thenReturn(timer);
 
     source = new MeteredConfigurationSource(metricRegistry, "configSource", delegate);
@@ -85,6 +85,27 @@ class MeteredConfigurationSourceTest {
     assertThatThrownBy(() -> source.getConfiguration(new DefaultEnvironment())).isExactlyInstanceOf(IllegalStateException.class);
   }
 
+  @Test
+  void namedSourceEmitsMetricsUnderItsName() {
+    new MeteredConfigurationSource(new DropwizardMetricsBackend(metricRegistry), "configSource.", "consul", delegate);
+
+    verify(metricRegistry).timer("configSource.source.consul.getConfiguration");
+    verify(metricRegistry).timer("configSource.source.consul.init");
+  }
+
+  @Test
+  void emitsNumberOfKeysReturnedByDelegate() {
+    MetricRegistry registry = new MetricRegistry();
+    source = new MeteredConfigurationSource(new DropwizardMetricsBackend(registry), "", "consul", delegate);
+    Properties properties = new Properties();
+    properties.put("some.key", "value");
+    when(delegate.getConfiguration(any(Environment.class))).thenReturn(properties);
+
+    source.getConfiguration(new DefaultEnvironment());
+
+    assertThat(registry.getGauges().get("source.consul.keys").getValue()).isEqualTo(1);
+  }
+
   @Test
   void initCallsDelegate() {
     verify(delegate, times(1)).init();
@@ -103,4 +124,13 @@ class MeteredConfigurationSourceTest {
 
     assertThatThrownBy(() -> delegate.init()).isExactlyInstanceOf(SourceCommunicationException.class);
   }
-}
\ No newline at end of file
+
+  @Test
+  void sharesKeyCountGaugeWithSourceOfSameMetricPrefix() {
+    MetricRegistry registry = new MetricRegistry();
+    new MeteredConfigurationSource(new DropwizardMetricsBackend(registry), "configSource.", delegate);
+    new MeteredConfigurationSource(new DropwizardMetricsBackend(registry), "configSource.", delegate);
+
+    assertThat(registry.getGauges()).containsOnlyKeys("configSource.source.keys");
+  }
+}
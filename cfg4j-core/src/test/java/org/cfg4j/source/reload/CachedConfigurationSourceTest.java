@@ -4,21 +4,37 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.cfg4j.source.ConfigurationSource;
 import org.cfg4j.source.context.environment.DefaultEnvironment;
 import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.ImmutableEnvironment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.cfg4j.source.snapshot.ConfigurationChange;
+import org.cfg4j.source.snapshot.ConfigurationChangeListener;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.source.snapshot.ConfigurationSnapshotValidator;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -63,7 +79,6 @@ class CachedConfigurationSourceTest {
   }
 
   @Test
-  @Disabled("FIXME: implementation should be caching results")
   void getConfigurationDoesNotChangeValueBetweenReloads() {
     Properties properties = new Properties();
     properties.put("testConfig", "testValue");
@@ -89,4 +104,497 @@ class CachedConfigurationSourceTest {
 
     assertThatThrownBy(() -> cachedConfigurationSource.reload(new DefaultEnvironment())).isExactlyInstanceOf(IllegalStateException.class);
   }
-}
\ No newline at end of file
+
+  @Test
+  void boundedCacheLoadsMissingEnvironment() {
+    cachedConfigurationSource = new CachedConfigurationSource(delegateSource, 2);
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("testConfig", "testValue"));
+
+    assertThat(cachedConfigurationSource.getConfiguration(new DefaultEnvironment())).contains(entry("testConfig", "testValue"));
+  }
+
+  @Test
+  void boundedCacheEvictsLeastRecentlyUsedEnvironment() {
+    cachedConfigurationSource = new CachedConfigurationSource(delegateSource, 2);
+    when(delegateSource.getConfiguration(any(Environment.class))).thenAnswer(invocation ->
+        propertiesWith("env", ((Environment) invocation.getArgument(0)).getName()));
+
+    cachedConfigurationSource.reload(new ImmutableEnvironment("first"));
+    cachedConfigurationSource.reload(new ImmutableEnvironment("second"));
+    cachedConfigurationSource.getConfiguration(new ImmutableEnvironment("first"));
+    cachedConfigurationSource.reload(new ImmutableEnvironment("third"));
+
+    cachedConfigurationSource.getConfiguration(new ImmutableEnvironment("first"));
+    cachedConfigurationSource.getConfiguration(new ImmutableEnvironment("second"));
+
+    verify(delegateSource, times(1)).getConfiguration(argThat(environment -> environment.getName().equals("first")));
+    verify(delegateSource, times(2)).getConfiguration(argThat(environment -> environment.getName().equals("second")));
+  }
+
+  @Test
+  void boundedCacheRejectsNonPositiveSize() {
+    assertThatThrownBy(() -> new CachedConfigurationSource(delegateSource, 0)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void reloadAllReloadsEveryCachedEnvironment() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("testConfig", "testValue"));
+    cachedConfigurationSource.reload(new ImmutableEnvironment("first"));
+    cachedConfigurationSource.reload(new ImmutableEnvironment("second"));
+
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("testConfig", "testValueChanged"));
+    cachedConfigurationSource.reloadAll();
+
+    assertThat(cachedConfigurationSource.getConfiguration(new ImmutableEnvironment("first"))).contains(entry("testConfig", "testValueChanged"));
+    assertThat(cachedConfigurationSource.getConfiguration(new ImmutableEnvironment("second"))).contains(entry("testConfig", "testValueChanged"));
+  }
+
+  @Test
+  void reloadAllReloadsRemainingEnvironmentsWhenOneFails() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("testConfig", "testValue"));
+    cachedConfigurationSource.reload(new ImmutableEnvironment("first"));
+    cachedConfigurationSource.reload(new ImmutableEnvironment("second"));
+
+    when(delegateSource.getConfiguration(any(Environment.class))).thenAnswer(invocation -> {
+      if (((Environment) invocation.getArgument(0)).getName().equals("first")) {
+        throw new IllegalStateException("");
+      }
+      return propertiesWith("testConfig", "testValueChanged");
+    });
+
+    assertThatThrownBy(() -> cachedConfigurationSource.reloadAll()).isExactlyInstanceOf(IllegalStateException.class);
+    assertThat(cachedConfigurationSource.getConfiguration(new ImmutableEnvironment("first"))).contains(entry("testConfig", "testValue"));
+    assertThat(cachedConfigurationSource.getConfiguration(new ImmutableEnvironment("second"))).contains(entry("testConfig", "testValueChanged"));
+  }
+
+  @Test
+  void environmentsWithIdenticalConfigurationShareIt() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "testValue"), propertiesWith("testConfig", "testValue"));
+    cachedConfigurationSource.reload(new ImmutableEnvironment("first"));
+    cachedConfigurationSource.reload(new ImmutableEnvironment("second"));
+
+    assertThat(cachedConfigurationSource.getSnapshot(new ImmutableEnvironment("second")))
+        .isSameAs(cachedConfigurationSource.getSnapshot(new ImmutableEnvironment("first")));
+  }
+
+  @Test
+  void reloadKeepsSnapshotWhenConfigurationDidNotChange() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "testValue"), propertiesWith("testConfig", "testValue"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationSnapshot snapshot = cachedConfigurationSource.getSnapshot(new DefaultEnvironment());
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment())).isSameAs(snapshot);
+  }
+
+  @Test
+  void reloadSharesUnchangedValuesWithPreviousSnapshot() {
+    Properties changed = propertiesWith("unchanged", new String("value"));
+    changed.put("changed", "newValue");
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("unchanged", "value"), changed);
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    String value = cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).get("unchanged");
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).get("unchanged")).isSameAs(value);
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).get("changed")).isEqualTo("newValue");
+  }
+
+  @Test
+  void reloadNotifiesListenersAboutChange() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "testValue"), propertiesWith("testConfig", "testValueChanged"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationChangeListener listener = mock(ConfigurationChangeListener.class);
+    cachedConfigurationSource.addChangeListener(new DefaultEnvironment(), listener);
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    ArgumentCaptor<ConfigurationChange> captor = ArgumentCaptor.forClass(ConfigurationChange.class);
+    verify(listener).onChange(captor.capture());
+    assertThat(captor.getValue().getChangedKeys()).containsExactly("testConfig");
+    assertThat(captor.getValue().getCurrentValue("testConfig")).isEqualTo("testValueChanged");
+  }
+
+  @Test
+  void reloadDoesNotNotifyListenersWhenConfigurationDidNotChange() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "testValue"), propertiesWith("testConfig", "testValue"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationChangeListener listener = mock(ConfigurationChangeListener.class);
+    cachedConfigurationSource.addChangeListener(new DefaultEnvironment(), listener);
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    verify(listener, never()).onChange(any());
+  }
+
+  @Test
+  void reloadDoesNotNotifyListenersOfOtherEnvironments() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "testValue"), propertiesWith("testConfig", "testValueChanged"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationChangeListener listener = mock(ConfigurationChangeListener.class);
+    cachedConfigurationSource.addChangeListener(new ImmutableEnvironment("other"), listener);
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    verify(listener, never()).onChange(any());
+  }
+
+  @Test
+  void reloadDoesNotNotifyRemovedListeners() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "testValue"), propertiesWith("testConfig", "testValueChanged"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationChangeListener listener = mock(ConfigurationChangeListener.class);
+    cachedConfigurationSource.addChangeListener(new DefaultEnvironment(), listener);
+    cachedConfigurationSource.removeChangeListener(new DefaultEnvironment(), listener);
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    verify(listener, never()).onChange(any());
+  }
+
+  @Test
+  void reloadNotifiesRemainingListenersWhenOneFails() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "testValue"), propertiesWith("testConfig", "testValueChanged"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationChangeListener failingListener = mock(ConfigurationChangeListener.class);
+    doThrow(new IllegalStateException()).when(failingListener).onChange(any());
+    ConfigurationChangeListener listener = mock(ConfigurationChangeListener.class);
+    cachedConfigurationSource.addChangeListener(new DefaultEnvironment(), failingListener);
+    cachedConfigurationSource.addChangeListener(new DefaultEnvironment(), listener);
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    verify(listener).onChange(any());
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).get("testConfig")).isEqualTo("testValueChanged");
+  }
+
+  @Test
+  void getConfigurationReturnsBootstrapConfigurationBeforeReload() {
+    cachedConfigurationSource.bootstrap(new DefaultEnvironment(), propertiesWith("testConfig", "bootstrapValue"));
+
+    assertThat(cachedConfigurationSource.getConfiguration(new DefaultEnvironment())).containsOnly(entry("testConfig", "bootstrapValue"));
+  }
+
+  @Test
+  void reloadReplacesBootstrapConfigurationAndNotifiesListeners() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("testConfig", "testValue"));
+    cachedConfigurationSource.bootstrap(new DefaultEnvironment(), propertiesWith("testConfig", "bootstrapValue"));
+    ConfigurationChangeListener listener = mock(ConfigurationChangeListener.class);
+    cachedConfigurationSource.addChangeListener(new DefaultEnvironment(), listener);
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getConfiguration(new DefaultEnvironment())).containsOnly(entry("testConfig", "testValue"));
+    verify(listener).onChange(argThat(change -> change.getChangedKeys().contains("testConfig")));
+  }
+
+  @Test
+  void bootstrapDoesNotReplaceLoadedConfiguration() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("testConfig", "testValue"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    cachedConfigurationSource.bootstrap(new DefaultEnvironment(), propertiesWith("testConfig", "bootstrapValue"));
+
+    assertThat(cachedConfigurationSource.getConfiguration(new DefaultEnvironment())).containsOnly(entry("testConfig", "testValue"));
+  }
+
+  @Test
+  void reloadNotifiesPhaseListenersAboutEachPhase() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("testConfig", "testValue"));
+    List<ReloadPhase> phases = new ArrayList<>();
+    cachedConfigurationSource.addReloadPhaseListener((environment, phase, durationNanos) -> phases.add(phase));
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(phases).containsExactly(ReloadPhase.FETCH, ReloadPhase.MERGE, ReloadPhase.VALIDATE, ReloadPhase.PUBLISH);
+  }
+
+  @Test
+  void reloadSucceedsWhenPhaseListenerFails() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("testConfig", "testValue"));
+    cachedConfigurationSource.addReloadPhaseListener((environment, phase, durationNanos) -> {
+      throw new IllegalStateException("");
+    });
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getConfiguration(new DefaultEnvironment())).containsOnly(entry("testConfig", "testValue"));
+  }
+
+  @Test
+  void reloadDoesNotNotifyRemovedPhaseListeners() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("testConfig", "testValue"));
+    ReloadPhaseListener listener = mock(ReloadPhaseListener.class);
+    cachedConfigurationSource.addReloadPhaseListener(listener);
+    cachedConfigurationSource.removeReloadPhaseListener(listener);
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    verify(listener, never()).phaseCompleted(any(), any(), anyLong());
+  }
+
+  @Test
+  void reloadKeepsCurrentSnapshotWhenValidatorRejectsNewOne() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "testValue"), propertiesWith("testConfig", "testValueChanged"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationChangeListener listener = mock(ConfigurationChangeListener.class);
+    cachedConfigurationSource.addChangeListener(new DefaultEnvironment(), listener);
+    cachedConfigurationSource.addSnapshotValidator(new DefaultEnvironment(), (current, candidate) -> {
+      throw new IllegalArgumentException("rejected");
+    });
+
+    assertThatThrownBy(() -> cachedConfigurationSource.reload(new DefaultEnvironment()))
+        .isExactlyInstanceOf(IllegalStateException.class)
+        .hasCauseExactlyInstanceOf(IllegalArgumentException.class);
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).get("testConfig")).isEqualTo("testValue");
+    verify(listener, never()).onChange(any());
+  }
+
+  @Test
+  void reloadPassesCurrentAndNewSnapshotToValidators() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "testValue"), propertiesWith("testConfig", "testValueChanged"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationSnapshot current = cachedConfigurationSource.getSnapshot(new DefaultEnvironment());
+    List<ConfigurationSnapshot> validated = new ArrayList<>();
+    cachedConfigurationSource.addSnapshotValidator(new DefaultEnvironment(), (currentSnapshot, candidate) -> {
+      validated.add(currentSnapshot);
+      validated.add(candidate);
+    });
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(validated).containsExactly(current, cachedConfigurationSource.getSnapshot(new DefaultEnvironment()));
+  }
+
+  @Test
+  void reloadValidatesAgainstSnapshotPublishedByConcurrentReload() throws Exception {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("testConfig", "first"),
+        propertiesWith("testConfig", "second"), propertiesWith("testConfig", "third"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    CountDownLatch validationStarted = new CountDownLatch(1);
+    CountDownLatch releaseValidation = new CountDownLatch(1);
+    List<String> validated = new CopyOnWriteArrayList<>();
+    cachedConfigurationSource.addSnapshotValidator(new DefaultEnvironment(), (current, candidate) -> {
+      validated.add(current.get("testConfig") + "->" + candidate.get("testConfig"));
+      validationStarted.countDown();
+      try {
+        releaseValidation.await();
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    Thread first = new Thread(() -> cachedConfigurationSource.reload(new DefaultEnvironment()));
+    first.start();
+    validationStarted.await();
+
+    Thread second = new Thread(() -> cachedConfigurationSource.reload(new DefaultEnvironment()));
+    second.start();
+    awaitWaiting(second);
+    releaseValidation.countDown();
+    first.join();
+    second.join();
+
+    assertThat(validated).containsExactly("first->second", "second->third");
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).get("testConfig")).isEqualTo("third");
+  }
+
+  @Test
+  void reloadDoesNotValidateUnchangedSnapshot() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(propertiesWith("testConfig", "testValue"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationSnapshotValidator validator = mock(ConfigurationSnapshotValidator.class);
+    cachedConfigurationSource.addSnapshotValidator(new DefaultEnvironment(), validator);
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    verify(validator, never()).validate(any(), any());
+  }
+
+  @Test
+  void reloadDoesNotCallRemovedValidators() {
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "testValue"), propertiesWith("testConfig", "testValueChanged"));
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationSnapshotValidator validator = mock(ConfigurationSnapshotValidator.class);
+    cachedConfigurationSource.addSnapshotValidator(new DefaultEnvironment(), validator);
+    cachedConfigurationSource.removeSnapshotValidator(new DefaultEnvironment(), validator);
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    verify(validator, never()).validate(any(), any());
+  }
+
+  @Test
+  void reloadWaitsForConcurrentReloadOfSameEnvironment() throws Exception {
+    CountDownLatch fetchStarted = new CountDownLatch(1);
+    CountDownLatch releaseFetch = new CountDownLatch(1);
+    AtomicInteger fetches = new AtomicInteger();
+    when(delegateSource.getConfiguration(any(Environment.class))).thenAnswer(invocation -> {
+      if (fetches.incrementAndGet() == 1) {
+        fetchStarted.countDown();
+        releaseFetch.await();
+        return propertiesWith("testConfig", "older");
+      }
+
+      return propertiesWith("testConfig", "newer");
+    });
+    Thread older = new Thread(() -> cachedConfigurationSource.reload(new DefaultEnvironment()));
+    older.start();
+    fetchStarted.await();
+
+    Thread newer = new Thread(() -> cachedConfigurationSource.reload(new DefaultEnvironment()));
+    newer.start();
+    awaitWaiting(newer);
+
+    assertThat(fetches.get()).isEqualTo(1);
+    releaseFetch.countDown();
+    older.join();
+    newer.join();
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).get("testConfig")).isEqualTo("newer");
+  }
+
+  @Test
+  void boundedCacheLoadsMissingEnvironmentOnceForConcurrentMisses() throws Exception {
+    cachedConfigurationSource = new CachedConfigurationSource(delegateSource, 2);
+    CountDownLatch fetchStarted = new CountDownLatch(1);
+    CountDownLatch releaseFetch = new CountDownLatch(1);
+    when(delegateSource.getConfiguration(any(Environment.class))).thenAnswer(invocation -> {
+      fetchStarted.countDown();
+      releaseFetch.await();
+      return propertiesWith("testConfig", "testValue");
+    });
+    List<ConfigurationSnapshot> snapshots = new CopyOnWriteArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      threads.add(new Thread(() -> snapshots.add(cachedConfigurationSource.getSnapshot(new DefaultEnvironment()))));
+    }
+
+    threads.forEach(Thread::start);
+    fetchStarted.await();
+    for (Thread thread : threads) {
+      awaitWaiting(thread);
+    }
+    releaseFetch.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    verify(delegateSource, times(1)).getConfiguration(any(Environment.class));
+    assertThat(snapshots).hasSize(4);
+    assertThat(snapshots).allMatch(snapshot -> snapshot == snapshots.get(0));
+  }
+
+  @Test
+  void boundedCacheNotifiesListenersOfEvictedEnvironmentAboutChangesSinceItsLastSnapshot() {
+    cachedConfigurationSource = new CachedConfigurationSource(delegateSource, 1);
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "first"), propertiesWith("testConfig", "other"),
+            propertiesWith("testConfig", "second"), propertiesWith("testConfig", "third"));
+    ConfigurationChangeListener listener = mock(ConfigurationChangeListener.class);
+    cachedConfigurationSource.reload(new ImmutableEnvironment("evicted"));
+    cachedConfigurationSource.addChangeListener(new ImmutableEnvironment("evicted"), listener);
+    cachedConfigurationSource.reload(new ImmutableEnvironment("other"));
+
+    cachedConfigurationSource.reload(new ImmutableEnvironment("evicted"));
+    cachedConfigurationSource.reload(new ImmutableEnvironment("evicted"));
+
+    ArgumentCaptor<ConfigurationChange> changes = ArgumentCaptor.forClass(ConfigurationChange.class);
+    verify(listener, times(2)).onChange(changes.capture());
+    assertThat(changes.getAllValues().get(0).getPreviousValue("testConfig")).isEqualTo("first");
+    assertThat(changes.getAllValues().get(0).getCurrentValue("testConfig")).isEqualTo("second");
+    assertThat(changes.getAllValues().get(1).getCurrentValue("testConfig")).isEqualTo("third");
+  }
+
+  @Test
+  void boundedCacheDoesNotNotifyRemovedListenersOfEvictedEnvironment() {
+    cachedConfigurationSource = new CachedConfigurationSource(delegateSource, 1);
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "first"), propertiesWith("testConfig", "other"),
+            propertiesWith("testConfig", "second"));
+    ConfigurationChangeListener listener = mock(ConfigurationChangeListener.class);
+    cachedConfigurationSource.reload(new ImmutableEnvironment("evicted"));
+    cachedConfigurationSource.addChangeListener(new ImmutableEnvironment("evicted"), listener);
+    cachedConfigurationSource.reload(new ImmutableEnvironment("other"));
+    cachedConfigurationSource.removeChangeListener(new ImmutableEnvironment("evicted"), listener);
+
+    cachedConfigurationSource.reload(new ImmutableEnvironment("evicted"));
+
+    verify(listener, never()).onChange(any());
+  }
+
+  @Test
+  void boundedCacheValidatesEnvironmentLoadedAfterEvictionAgainstItsLastSnapshot() {
+    cachedConfigurationSource = new CachedConfigurationSource(delegateSource, 1);
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "first"), propertiesWith("testConfig", "other"),
+            propertiesWith("testConfig", "second"));
+    ConfigurationSnapshotValidator validator = mock(ConfigurationSnapshotValidator.class);
+    cachedConfigurationSource.reload(new ImmutableEnvironment("evicted"));
+    ConfigurationSnapshot evicted = cachedConfigurationSource.getSnapshot(new ImmutableEnvironment("evicted"));
+    cachedConfigurationSource.addSnapshotValidator(new ImmutableEnvironment("evicted"), validator);
+    cachedConfigurationSource.reload(new ImmutableEnvironment("other"));
+
+    ConfigurationSnapshot loaded = cachedConfigurationSource.getSnapshot(new ImmutableEnvironment("evicted"));
+
+    verify(validator).validate(evicted, loaded);
+    assertThat(loaded.get("testConfig")).isEqualTo("second");
+  }
+
+  @Test
+  void boundedCacheKeepsLastSnapshotOfEvictedEnvironmentWhenValidatorRejectsLoadedOne() {
+    cachedConfigurationSource = new CachedConfigurationSource(delegateSource, 1);
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "first"), propertiesWith("testConfig", "other"),
+            propertiesWith("testConfig", "second"));
+    ConfigurationSnapshotValidator validator = mock(ConfigurationSnapshotValidator.class);
+    doThrow(new IllegalArgumentException()).when(validator).validate(any(), any());
+    cachedConfigurationSource.reload(new ImmutableEnvironment("evicted"));
+    cachedConfigurationSource.addSnapshotValidator(new ImmutableEnvironment("evicted"), validator);
+    cachedConfigurationSource.reload(new ImmutableEnvironment("other"));
+
+    assertThat(cachedConfigurationSource.getConfiguration(new ImmutableEnvironment("evicted")))
+        .containsOnly(entry("testConfig", "first"));
+  }
+
+  @Test
+  void boundedCacheDoesNotRetainSnapshotOfEvictedEnvironmentWithoutValidators() {
+    cachedConfigurationSource = new CachedConfigurationSource(delegateSource, 1);
+    when(delegateSource.getConfiguration(any(Environment.class)))
+        .thenReturn(propertiesWith("testConfig", "first"), propertiesWith("testConfig", "other"),
+            propertiesWith("testConfig", "second"));
+    ConfigurationSnapshotValidator validator = mock(ConfigurationSnapshotValidator.class);
+    cachedConfigurationSource.reload(new ImmutableEnvironment("evicted"));
+    cachedConfigurationSource.addSnapshotValidator(new ImmutableEnvironment("evicted"), validator);
+    cachedConfigurationSource.removeSnapshotValidator(new ImmutableEnvironment("evicted"), validator);
+    cachedConfigurationSource.reload(new ImmutableEnvironment("other"));
+
+    assertThat(cachedConfigurationSource.getConfiguration(new ImmutableEnvironment("evicted")))
+        .containsOnly(entry("testConfig", "second"));
+    verify(validator, never()).validate(any(), any());
+  }
+
+  private void awaitWaiting(Thread thread) throws InterruptedException {
+    while (thread.getState() != Thread.State.WAITING) {
+      assertThat(thread.isAlive()).isTrue();
+      Thread.sleep(1);
+    }
+  }
+
+  private Properties propertiesWith(String key, String value) {
+    Properties properties = new Properties();
+    properties.put(key, value);
+    return properties;
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.reload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingReloadableTest {
+
+  @Mock
+  private Reloadable delegate;
+
+  @Mock
+  private ScheduledExecutorService executor;
+
+  private List<Runnable> scheduledTasks;
+  private List<Long> scheduledDelays;
+  private long now;
+  private CoalescingReloadable reloadable;
+
+  @BeforeEach
+  void setUp() {
+    scheduledTasks = new ArrayList<>();
+    scheduledDelays = new ArrayList<>();
+    lenient().when(executor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+      scheduledTasks.add(invocation.getArgument(0));
+      scheduledDelays.add(TimeUnit.MILLISECONDS.convert(invocation.getArgument(1), invocation.getArgument(2)));
+      return mock(ScheduledFuture.class);
+    });
+
+    reloadable = new CoalescingReloadable(delegate, 100, 1000, TimeUnit.MILLISECONDS, executor, () -> now);
+  }
+
+  @Test
+  void schedulesReloadAfterQuietWindow() {
+    reloadable.requestReload();
+
+    assertThat(scheduledDelays).containsExactly(100L);
+    verify(delegate, never()).reload();
+  }
+
+  @Test
+  void coalescesBurstIntoSingleReload() {
+    CompletableFuture<Void> first = reloadable.requestReload();
+    advance(30);
+    CompletableFuture<Void> second = reloadable.requestReload();
+    advance(30);
+    CompletableFuture<Void> third = reloadable.requestReload();
+
+    runScheduledTasks();
+
+    verify(delegate, times(1)).reload();
+    assertThat(first).isCompleted();
+    assertThat(second).isSameAs(first);
+    assertThat(third).isSameAs(first);
+    assertThat(reloadable.getExecutedReloads()).isEqualTo(1);
+    assertThat(reloadable.getCoalescedRequests()).isEqualTo(2);
+  }
+
+  @Test
+  void postponesReloadUntilQuietWindowPasses() {
+    reloadable.requestReload();
+    advance(60);
+    reloadable.requestReload();
+
+    assertThat(scheduledDelays).containsExactly(100L, 100L);
+  }
+
+  @Test
+  void doesNotPostponeReloadBeyondMaxDelay() {
+    reloadable.requestReload();
+    advance(950);
+    reloadable.requestReload();
+
+    assertThat(scheduledDelays).containsExactly(100L, 50L);
+  }
+
+  @Test
+  void queuesSingleReloadRequestedWhileReloadRuns() {
+    AtomicBoolean running = new AtomicBoolean();
+    List<CompletableFuture<Void>> requestedWhileRunning = new ArrayList<>();
+    doAnswer(invocation -> {
+      assertThat(running.getAndSet(true)).isFalse();
+      if (requestedWhileRunning.isEmpty()) {
+        requestedWhileRunning.add(reloadable.requestReload());
+        requestedWhileRunning.add(reloadable.requestReload());
+      }
+      running.set(false);
+      return null;
+    }).when(delegate).reload();
+
+    reloadable.requestReload();
+    runScheduledTasks();
+
+    verify(delegate, times(2)).reload();
+    assertThat(requestedWhileRunning.get(0)).isCompleted().isSameAs(requestedWhileRunning.get(1));
+    assertThat(scheduledTasks).hasSize(2);
+  }
+
+  @Test
+  void requestFailsWhenReloadFails() {
+    doThrow(new IllegalStateException()).when(delegate).reload();
+
+    CompletableFuture<Void> request = reloadable.requestReload();
+    runScheduledTasks();
+
+    assertThat(request).isCompletedExceptionally();
+    assertThat(reloadable.getExecutedReloads()).isEqualTo(1);
+  }
+
+  @Test
+  void requestFailsAndLaterRequestsAreServedWhenReloadThrowsError() {
+    doThrow(new NoClassDefFoundError()).doNothing().when(delegate).reload();
+
+    CompletableFuture<Void> request = reloadable.requestReload();
+    assertThatThrownBy(this::runScheduledTasks).isExactlyInstanceOf(NoClassDefFoundError.class);
+    CompletableFuture<Void> laterRequest = reloadable.requestReload();
+    runScheduledTasks();
+
+    assertThat(request).isCompletedExceptionally();
+    assertThat(laterRequest).isCompleted().isNotCompletedExceptionally();
+  }
+
+  @Test
+  void reloadWaitsUntilReloadCompletes() {
+    ScheduledExecutorService realExecutor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      new CoalescingReloadable(delegate, 1, 1, TimeUnit.MILLISECONDS, realExecutor).reload();
+
+      verify(delegate).reload();
+    } finally {
+      realExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  void reloadRunsOnSharedExecutorByDefault() {
+    AtomicReference<Thread> reloadThread = new AtomicReference<>();
+    doAnswer(invocation -> {
+      reloadThread.set(Thread.currentThread());
+      return null;
+    }).when(delegate).reload();
+
+    new CoalescingReloadable(delegate, 1, 1, TimeUnit.MILLISECONDS).reload();
+
+    assertThat(reloadThread.get().getName()).isEqualTo("cfg4j-reload-coalescing");
+    assertThat(reloadThread.get().isDaemon()).isTrue();
+  }
+
+  @Test
+  void reloadPropagatesIllegalStateExceptions() {
+    doThrow(new IllegalStateException()).when(delegate).reload();
+    ScheduledExecutorService realExecutor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      CoalescingReloadable coalescingReloadable = new CoalescingReloadable(delegate, 1, 1, TimeUnit.MILLISECONDS, realExecutor);
+
+      assertThatThrownBy(coalescingReloadable::reload).isExactlyInstanceOf(IllegalStateException.class);
+    } finally {
+      realExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  void reloadPropagatesErrors() {
+    doThrow(new StackOverflowError()).when(delegate).reload();
+    ScheduledExecutorService realExecutor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      CoalescingReloadable coalescingReloadable = new CoalescingReloadable(delegate, 1, 1, TimeUnit.MILLISECONDS, realExecutor);
+
+      assertThatThrownBy(coalescingReloadable::reload).isExactlyInstanceOf(StackOverflowError.class);
+    } finally {
+      realExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  void rejectsQuietWindowGreaterThanMaxDelay() {
+    assertThatThrownBy(() -> new CoalescingReloadable(delegate, 10, 5, TimeUnit.MILLISECONDS, executor))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void advance(long millis) {
+    now += TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  private void runScheduledTasks() {
+    for (int i = 0; i < scheduledTasks.size(); i++) {
+      scheduledTasks.get(i).run();
+    }
+  }
+}
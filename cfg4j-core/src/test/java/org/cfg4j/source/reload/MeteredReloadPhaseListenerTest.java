@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.reload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codahale.metrics.MetricRegistry;
+import org.cfg4j.metrics.dropwizard.DropwizardMetricsBackend;
+import org.cfg4j.source.context.environment.DefaultEnvironment;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+
+class MeteredReloadPhaseListenerTest {
+
+  @Test
+  void timesEachPhase() {
+    MetricRegistry metricRegistry = new MetricRegistry();
+    MeteredReloadPhaseListener listener = new MeteredReloadPhaseListener(new DropwizardMetricsBackend(metricRegistry), "cfg4j.");
+
+    listener.phaseCompleted(new DefaultEnvironment(), ReloadPhase.FETCH, TimeUnit.MILLISECONDS.toNanos(5));
+    listener.phaseCompleted(new DefaultEnvironment(), ReloadPhase.MERGE, TimeUnit.MILLISECONDS.toNanos(1));
+
+    assertThat(metricRegistry.timer("cfg4j.reloadable.fetch").getCount()).isEqualTo(1);
+    assertThat(metricRegistry.timer("cfg4j.reloadable.fetch").getSnapshot().getMax()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+    assertThat(metricRegistry.timer("cfg4j.reloadable.merge").getCount()).isEqualTo(1);
+    assertThat(metricRegistry.timer("cfg4j.reloadable.publish").getCount()).isZero();
+  }
+}
@@ -1,5 +1,6 @@
 package org.cfg4j.source.reload;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
@@ -32,7 +33,6 @@ class MeteredReloadableTest {
   @BeforeEach
   void setUp() {
     Timer timer = mock(Timer.class);
-    when(timer.time()).thenReturn(mock(Timer.Context.class));
     when(metricRegistry.timer(anyString())).thenReturn(timer);
 
     reloadable = new MeteredReloadable(metricRegistry, "configSource", delegate);
@@ -51,4 +51,34 @@ class MeteredReloadableTest {
 
     assertThatThrownBy(() -> reloadable.reload()).isExactlyInstanceOf(IllegalStateException.class);
   }
+
+  @Test
+  void countsConsecutiveFailures() {
+    doThrow(new IllegalStateException("")).when(delegate).reload();
+
+    for (int i = 0; i < 3; i++) {
+      assertThatThrownBy(() -> reloadable.reload()).isExactlyInstanceOf(IllegalStateException.class);
+    }
+
+    assertThat(reloadable.getConsecutiveFailures()).isEqualTo(3);
+  }
+
+  @Test
+  void successfulReloadResetsConsecutiveFailures() {
+    doThrow(new IllegalStateException("")).doNothing().when(delegate).reload();
+    assertThatThrownBy(() -> reloadable.reload()).isExactlyInstanceOf(IllegalStateException.class);
+
+    reloadable.reload();
+
+    assertThat(reloadable.getConsecutiveFailures()).isZero();
+  }
+
+  @Test
+  void reportsTimeSinceLastSuccess() {
+    assertThat(reloadable.getMillisSinceLastSuccess()).isEqualTo(-1);
+
+    reloadable.reload();
+
+    assertThat(reloadable.getMillisSinceLastSuccess()).isBetween(0L, 10_000L);
+  }
 }
\ No newline at end of file
@@ -16,18 +16,29 @@
 
 package org.cfg4j.source.reload.strategy;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import org.cfg4j.source.reload.Reloadable;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+
 @ExtendWith(MockitoExtension.class)
 class PeriodicalReloadStrategyTest {
 
@@ -37,6 +48,29 @@ class PeriodicalReloadStrategyTest {
   @Mock
   private Reloadable reloadable2;
 
+  @Mock
+  private ScheduledExecutorService executor;
+
+  @Mock
+  private ScheduledFuture<?> scheduledFuture;
+
+  private List<Runnable> scheduledTasks;
+  private List<Long> scheduledDelays;
+  private long now;
+  private double random;
+
+  @BeforeEach
+  void setUp() {
+    scheduledTasks = new ArrayList<>();
+    scheduledDelays = new ArrayList<>();
+    random = 0.5;
+    lenient().when(executor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+      scheduledTasks.add(invocation.getArgument(0));
+      scheduledDelays.add(TimeUnit.SECONDS.convert(invocation.getArgument(1), invocation.getArgument(2)));
+      return scheduledFuture;
+    });
+  }
+
   @Test
   void reloadsImmediatelyAfterRegistered() {
     PeriodicalReloadStrategy strategy = new PeriodicalReloadStrategy(60, TimeUnit.SECONDS);
@@ -56,4 +90,112 @@ class PeriodicalReloadStrategyTest {
 
     verify(reloadable, times(1)).reload();
   }
-}
\ No newline at end of file
+
+  @Test
+  void reloadsPeriodically() {
+    PeriodicalReloadStrategy strategy = strategy(0, 1, 10);
+
+    strategy.register(reloadable);
+    advance();
+    advance();
+
+    verify(reloadable, times(3)).reload();
+    assertThat(now).isEqualTo(20);
+  }
+
+  @Test
+  void randomizesDelayBeforeFirstPeriodicalReload() {
+    PeriodicalReloadStrategy strategy = strategy(0.2, 1, 10);
+
+    random = 0;
+    strategy.register(reloadable);
+    random = 0.99999;
+    strategy.register(reloadable2);
+
+    assertThat(scheduledDelays).containsExactly(8L, 11L);
+  }
+
+  @Test
+  void randomizesDelaysBetweenReloads() {
+    PeriodicalReloadStrategy strategy = strategy(0.5, 1, 10);
+
+    random = 0;
+    strategy.register(reloadable);
+    random = 0.9;
+    advance();
+
+    assertThat(scheduledDelays).containsExactly(5L, 14L);
+  }
+
+  @Test
+  void backsOffExponentiallyAfterConsecutiveFailures() {
+    doThrow(new IllegalStateException()).when(reloadable).reload();
+    PeriodicalReloadStrategy strategy = strategy(0, 2, 60);
+
+    strategy.register(reloadable);
+    advance();
+    advance();
+    advance();
+
+    assertThat(scheduledDelays).containsExactly(20L, 40L, 60L, 60L);
+  }
+
+  @Test
+  void returnsToRegularIntervalAfterSuccessfulReload() {
+    doThrow(new IllegalStateException())
+        .doThrow(new IllegalStateException())
+        .doNothing()
+        .when(reloadable).reload();
+    PeriodicalReloadStrategy strategy = strategy(0, 2, 60);
+
+    strategy.register(reloadable);
+    advance();
+    advance();
+
+    assertThat(scheduledDelays).containsExactly(20L, 40L, 10L);
+  }
+
+  @Test
+  void stopsReloadingAfterDeregistered() {
+    PeriodicalReloadStrategy strategy = strategy(0, 1, 10);
+
+    strategy.register(reloadable);
+    strategy.deregister(reloadable);
+    advance();
+
+    verify(reloadable, times(1)).reload();
+    verify(scheduledFuture).cancel(false);
+  }
+
+  @Test
+  void rejectsJitterOfWholeInterval() {
+    assertThatThrownBy(() -> strategy(1, 1, 10)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejectsMaxBackoffLowerThanInterval() {
+    assertThatThrownBy(() -> strategy(0, 2, 5)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void builderRejectsBackoffMultiplierLowerThanOne() {
+    PeriodicalReloadStrategyBuilder builder = new PeriodicalReloadStrategyBuilder()
+        .withBackoff(0.5, 1, TimeUnit.MINUTES);
+
+    assertThatThrownBy(builder::build).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  private PeriodicalReloadStrategy strategy(double jitter, double backoffMultiplier, long maxBackoffSeconds) {
+    return new PeriodicalReloadStrategy(10, TimeUnit.SECONDS, jitter, backoffMultiplier,
+        TimeUnit.SECONDS.toNanos(maxBackoffSeconds), executor, () -> random);
+  }
+
+  /**
+   * Move the virtual clock to the most recently scheduled reload and run it.
+   */
+  private void advance() {
+    Runnable task = scheduledTasks.get(scheduledTasks.size() - 1);
+    now += scheduledDelays.get(scheduledDelays.size() - 1);
+    task.run();
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.shared;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.cfg4j.source.context.environment.DefaultEnvironment;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.cfg4j.utils.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+
+class SharedSnapshotIntegrationTest {
+
+  private Path directory;
+  private SharedSnapshotPublisher publisher;
+  private SharedSnapshotConfigurationSource source;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    directory = Files.createTempDirectory("cfg4j-shared");
+    publisher = new SharedSnapshotPublisher(directory);
+    source = new SharedSnapshotConfigurationSource(directory);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    publisher.close();
+    new FileUtils().deleteDir(directory);
+  }
+
+  @Test
+  void sourceServesPublishedSnapshot() {
+    publisher.write(snapshotWith("some.setting", "value"));
+    source.init();
+
+    assertThat(source.getConfiguration(new DefaultEnvironment())).containsOnly(entry("some.setting", "value"));
+  }
+
+  @Test
+  void sourceDetectsNewGeneration() {
+    publisher.write(snapshotWith("some.setting", "value"));
+    source.init();
+    source.getConfiguration(new DefaultEnvironment());
+
+    publisher.write(snapshotWith("some.setting", "otherValue"));
+
+    assertThat(source.getConfiguration(new DefaultEnvironment())).containsOnly(entry("some.setting", "otherValue"));
+    assertThat(source.getLoadedGeneration()).isEqualTo(2);
+  }
+
+  @Test
+  void sourceDoesNotReadSnapshotFileWithoutNewGeneration() throws Exception {
+    publisher.write(snapshotWith("some.setting", "value"));
+    source.init();
+    source.getConfiguration(new DefaultEnvironment());
+
+    Files.delete(directory.resolve(SharedSnapshotFiles.SNAPSHOT_FILE));
+
+    assertThat(source.getConfiguration(new DefaultEnvironment())).containsOnly(entry("some.setting", "value"));
+  }
+
+  @Test
+  void getConfigurationThrowsBeforeFirstPublication() {
+    source.init();
+
+    assertThatThrownBy(() -> source.getConfiguration(new DefaultEnvironment())).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void initThrowsWithoutPublisher() throws Exception {
+    Path otherDirectory = Files.createTempDirectory("cfg4j-shared");
+    try {
+      assertThatThrownBy(() -> new SharedSnapshotConfigurationSource(otherDirectory).init()).isExactlyInstanceOf(IllegalStateException.class);
+    } finally {
+      new FileUtils().deleteDir(otherDirectory);
+    }
+  }
+
+  @Test
+  void rejectsSecondPublisher() {
+    assertThatThrownBy(() -> new SharedSnapshotPublisher(directory)).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void generationKeepsIncreasingAfterPublisherRestart() throws Exception {
+    publisher.write(snapshotWith("some.setting", "value"));
+    publisher.close();
+
+    publisher = new SharedSnapshotPublisher(directory);
+    publisher.write(snapshotWith("some.setting", "otherValue"));
+
+    assertThat(publisher.getGeneration()).isEqualTo(2);
+  }
+
+  private ConfigurationSnapshot snapshotWith(String key, String value) {
+    return ConfigurationSnapshot.of(Collections.singletonMap(key, value));
+  }
+}
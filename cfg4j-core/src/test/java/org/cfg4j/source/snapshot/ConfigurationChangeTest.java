@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+
+class ConfigurationChangeTest {
+
+  @Test
+  void containsAddedRemovedAndChangedKeys() {
+    ConfigurationSnapshot previous = ConfigurationSnapshot.of(propertiesWith("removed", "1", "changed", "2", "unchanged", "3"));
+    ConfigurationSnapshot current = previous.update(propertiesWith("changed", "4", "unchanged", "3", "added", "5"));
+
+    ConfigurationChange change = ConfigurationChange.between(previous, current);
+
+    assertThat(change.getAddedKeys()).containsExactly("added");
+    assertThat(change.getRemovedKeys()).containsExactly("removed");
+    assertThat(change.getChangedKeys()).containsExactly("changed");
+    assertThat(change.getPreviousValue("changed")).isEqualTo("2");
+    assertThat(change.getCurrentValue("changed")).isEqualTo("4");
+    assertThat(change.isEmpty()).isFalse();
+  }
+
+  @Test
+  void isEmptyForSnapshotsWithSameContent() {
+    ConfigurationSnapshot previous = ConfigurationSnapshot.of(propertiesWith("key", "value"));
+    ConfigurationSnapshot current = ConfigurationSnapshot.of(propertiesWith("key", "value"));
+
+    assertThat(ConfigurationChange.between(previous, current).isEmpty()).isTrue();
+  }
+
+  @Test
+  void forPrefixNarrowsChangeToKeysUnderPrefix() {
+    ConfigurationSnapshot previous = ConfigurationSnapshot.of(propertiesWith("db.pool.size", "1", "db.url", "a", "dbx.url", "a"));
+    ConfigurationSnapshot current = previous.update(propertiesWith("db.pool.size", "2", "db.url", "b", "dbx.url", "b"));
+
+    ConfigurationChange change = ConfigurationChange.between(previous, current).forPrefix("db");
+
+    assertThat(change.getChangedKeys()).containsExactly("pool.size", "url");
+    assertThat(change.getCurrentValue("pool.size")).isEqualTo("2");
+    assertThat(change.forPrefix("pool").getChangedKeys()).containsExactly("size");
+    assertThat(change.forPrefix("pool").getPreviousValue("size")).isEqualTo("1");
+  }
+
+  @Test
+  void forPrefixOfUnaffectedPrefixIsEmpty() {
+    ConfigurationSnapshot previous = ConfigurationSnapshot.of(propertiesWith("db.url", "a"));
+    ConfigurationSnapshot current = previous.update(propertiesWith("db.url", "b"));
+
+    assertThat(ConfigurationChange.between(previous, current).forPrefix("cache").isEmpty()).isTrue();
+  }
+
+  private Properties propertiesWith(String... keysAndValues) {
+    Properties properties = new Properties();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      properties.put(keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return properties;
+  }
+}
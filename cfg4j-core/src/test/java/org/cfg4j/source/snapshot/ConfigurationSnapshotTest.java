@@ -0,0 +1,260 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+
+
+class ConfigurationSnapshotTest {
+
+  @Test
+  void containsGivenConfiguration() {
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(propertiesWith("key", "value"));
+
+    assertThat(snapshot.get("key")).isEqualTo("value");
+    assertThat(snapshot.containsKey("key")).isTrue();
+    assertThat(snapshot.get("otherKey")).isNull();
+    assertThat(snapshot.size()).isEqualTo(1);
+  }
+
+  @Test
+  void estimatesSizeOfKeysAndValues() {
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(propertiesWith("key", "value"));
+
+    assertThat(snapshot.estimatedSizeInBytes()).isEqualTo(16);
+  }
+
+  @Test
+  void asPropertiesReturnsIndependentCopy() {
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(propertiesWith("key", "value"));
+
+    snapshot.asProperties().put("key", "otherValue");
+
+    assertThat(snapshot.asProperties()).containsOnly(entry("key", "value"));
+  }
+
+  @Test
+  void updateReturnsSameSnapshotWhenNothingChanged() {
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(propertiesWith("key", "value"));
+
+    assertThat(snapshot.update(propertiesWith("key", "value"))).isSameAs(snapshot);
+  }
+
+  @Test
+  void updateRemovesMissingKeys() {
+    Properties properties = propertiesWith("key", "value");
+    properties.put("otherKey", "value");
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(properties);
+
+    ConfigurationSnapshot updated = snapshot.update(propertiesWith("key", "value"));
+
+    assertThat(updated.asProperties()).containsOnly(entry("key", "value"));
+    assertThat(snapshot.asProperties()).containsOnly(entry("key", "value"), entry("otherKey", "value"));
+  }
+
+  @Test
+  void updateSharesUnchangedStrings() {
+    Properties properties = propertiesWith("key", "value");
+    properties.put("otherKey", "otherValue");
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(properties);
+
+    Properties newProperties = propertiesWith(new String("key"), new String("value"));
+    newProperties.put("otherKey", "changedValue");
+    ConfigurationSnapshot updated = snapshot.update(newProperties);
+
+    assertThat(updated.get("key")).isSameAs(snapshot.get("key"));
+    assertThat(updated.get("otherKey")).isEqualTo("changedValue");
+  }
+
+  @Test
+  void updateAssignsNewGeneration() {
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(propertiesWith("key", "value"));
+
+    ConfigurationSnapshot updated = snapshot.update(propertiesWith("key", "otherValue"));
+
+    assertThat(updated.getGeneration()).isGreaterThan(snapshot.getGeneration());
+  }
+
+  @Test
+  void snapshotsWithSameContentAreEqual() {
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(propertiesWith("key", "value"));
+    ConfigurationSnapshot otherSnapshot = ConfigurationSnapshot.of(propertiesWith("key", "value"));
+
+    assertThat(snapshot).isEqualTo(otherSnapshot);
+    assertThat(snapshot.hashCode()).isEqualTo(otherSnapshot.hashCode());
+    assertThat(snapshot).isNotEqualTo(ConfigurationSnapshot.of(propertiesWith("key", "otherValue")));
+  }
+
+  @Test
+  void subtreeContainsOnlyKeysUnderPrefix() {
+    Properties properties = propertiesWith("db.pool.size", "10");
+    properties.put("db.pool.timeout", "30");
+    properties.put("db.pool", "value");
+    properties.put("db.poolSize", "20");
+    properties.put("db.pool-size", "20");
+    properties.put("db", "value");
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(properties);
+
+    Map<String, String> subtree = snapshot.subtree("db.pool");
+
+    assertThat(subtree).containsExactly(entry("db.pool.size", "10"), entry("db.pool.timeout", "30"));
+    assertThat(subtree.get("db.pool.size")).isEqualTo("10");
+    assertThat(subtree.get("db.poolSize")).isNull();
+    assertThat(subtree.containsKey("db.pool")).isFalse();
+  }
+
+  @Test
+  void subtreeOfEmptyPrefixContainsAllKeys() {
+    Properties properties = propertiesWith("b", "2");
+    properties.put("a", "1");
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(properties);
+
+    assertThat(snapshot.subtree("")).containsExactly(entry("a", "1"), entry("b", "2"));
+  }
+
+  @Test
+  void subtreeOfUnknownPrefixIsEmpty() {
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(propertiesWith("db.pool.size", "10"));
+
+    assertThat(snapshot.subtree("cache")).isEmpty();
+    assertThat(snapshot.subtree("db.pool.size")).isEmpty();
+  }
+
+  @Test
+  void getWithPrefixReadsJoinedKey() {
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(propertiesWith("db.pool.size", "10"));
+
+    assertThat(snapshot.get("db.pool", "size")).isEqualTo("10");
+    assertThat(snapshot.get("db", "size")).isNull();
+  }
+
+  @Test
+  void primitiveAccessorsParseTrimmedValues() {
+    Properties properties = propertiesWith("db.pool.size", " 10 ");
+    properties.put("db.timeout", "30000000000");
+    properties.put("db.ratio", "1e3");
+    properties.put("db.enabled", "TRUE");
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(properties);
+
+    assertThat(snapshot.getInt("db.pool", "size")).isEqualTo(10);
+    assertThat(snapshot.getLong("db", "timeout")).isEqualTo(30000000000L);
+    assertThat(snapshot.getDouble("db", "ratio")).isEqualTo(1000.0);
+    assertThat(snapshot.getDouble("db.pool", "size")).isEqualTo(10.0);
+    assertThat(snapshot.getBoolean("", "db.enabled")).isTrue();
+  }
+
+  @Test
+  void primitiveAccessorsThrowOnMissingKey() {
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(propertiesWith("db.pool.size", "10"));
+
+    assertThatThrownBy(() -> snapshot.getInt("db", "size")).isExactlyInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> snapshot.getBoolean("", "db.enabled")).isExactlyInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  void primitiveAccessorsThrowOnIncompatibleValue() {
+    Properties properties = propertiesWith("db.timeout", "30000000000");
+    properties.put("db.enabled", "yes");
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(properties);
+
+    assertThatThrownBy(() -> snapshot.getInt("db", "timeout")).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> snapshot.getBoolean("db", "enabled")).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> snapshot.getLong("db", "enabled")).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> snapshot.getDouble("db", "enabled")).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void primitiveValuesAreSharedWithUnchangedEntriesOfUpdatedSnapshot() {
+    Properties properties = propertiesWith("db.pool.size", "10");
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(properties);
+    snapshot.getInt("", "db.pool.size");
+    properties.put("db.url", "localhost");
+
+    ConfigurationSnapshot updated = snapshot.update(properties);
+
+    assertThat(updated.getInt("", "db.pool.size")).isEqualTo(10);
+  }
+
+  @Test
+  void subtreeWithKeyPrefixHasRelativeKeys() {
+    Properties properties = propertiesWith("db.pool.size", "10");
+    properties.put("db.url", "localhost");
+    properties.put("cache.size", "5");
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(properties);
+
+    Map<String, String> subtree = snapshot.subtree("db", "");
+
+    assertThat(subtree).containsExactly(entry("pool.size", "10"), entry("url", "localhost"));
+    assertThat(subtree.get("pool.size")).isEqualTo("10");
+    assertThat(subtree.get("db.url")).isNull();
+    assertThat(snapshot.subtree("db", "pool")).containsExactly(entry("pool.size", "10"));
+  }
+
+  @Test
+  void subtreeIsReadOnly() {
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(propertiesWith("db.pool.size", "10"));
+
+    assertThatThrownBy(() -> snapshot.subtree("db").put("db.url", "localhost"))
+        .isExactlyInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void updateOfFewKeysAllocatesFractionOfFullSnapshot() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+
+    Map<String, String> configuration = new HashMap<>();
+    for (int i = 0; i < 100_000; i++) {
+      configuration.put("some.config.key" + i, "value" + i);
+    }
+    Map<String, String> changedConfiguration = new HashMap<>(configuration);
+    for (int i = 0; i < 10; i++) {
+      changedConfiguration.put("some.config.key" + i * 1000, "changedValue" + i);
+    }
+
+    long threadId = Thread.currentThread().getId();
+
+    long before = threadMXBean.getThreadAllocatedBytes(threadId);
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(configuration);
+    long fullSnapshotBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+    before = threadMXBean.getThreadAllocatedBytes(threadId);
+    ConfigurationSnapshot updated = snapshot.update(changedConfiguration);
+    long updateBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+    assertThat(updated.get("some.config.key1000")).isEqualTo("changedValue1");
+    assertThat(updateBytes).isLessThan(fullSnapshotBytes / 50);
+  }
+
+  private Properties propertiesWith(String key, String value) {
+    Properties properties = new Properties();
+    properties.put(key, value);
+    return properties;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.cfg4j.utils.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+
+class FileSnapshotStoreIntegrationTest {
+
+  private Path directory;
+  private Path file;
+  private FileSnapshotStore store;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    directory = Files.createTempDirectory("cfg4j-snapshot");
+    file = directory.resolve("config.snapshot");
+    store = new FileSnapshotStore(file);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    new FileUtils().deleteDir(directory);
+  }
+
+  @Test
+  void readsWrittenSnapshot() {
+    Map<String, String> configuration = new HashMap<>();
+    configuration.put("some.setting", "value");
+    configuration.put("other.setting", "");
+    configuration.put("unicode.setting", "za\u017C\u00F3\u0142\u0107 g\u0119\u015Bl\u0105 ja\u017A\u0144");
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(configuration);
+
+    store.write(snapshot);
+
+    assertThat(store.read()).isEqualTo(snapshot);
+  }
+
+  @Test
+  void readsWrittenEmptySnapshot() {
+    store.write(ConfigurationSnapshot.empty());
+
+    assertThat(store.read()).isEqualTo(ConfigurationSnapshot.empty());
+  }
+
+  @Test
+  void writeReplacesStoredSnapshot() {
+    store.write(snapshotWith("some.setting", "value"));
+    store.write(snapshotWith("some.setting", "otherValue"));
+
+    assertThat(store.read()).isEqualTo(snapshotWith("some.setting", "otherValue"));
+  }
+
+  @Test
+  void writeLeavesNoTemporaryFiles() throws Exception {
+    store.write(snapshotWith("some.setting", "value"));
+
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files).containsExactly(file);
+    }
+  }
+
+  @Test
+  void existsOnlyAfterWrite() {
+    assertThat(store.exists()).isFalse();
+
+    store.write(snapshotWith("some.setting", "value"));
+
+    assertThat(store.exists()).isTrue();
+  }
+
+  @Test
+  void readThrowsWhenSnapshotMissing() {
+    assertThatThrownBy(() -> store.read()).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void readThrowsOnChecksumMismatch() throws Exception {
+    store.write(snapshotWith("some.setting", "value"));
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[bytes.length - 1] ^= 1;
+    Files.write(file, bytes);
+
+    assertThatThrownBy(() -> store.read()).isExactlyInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Checksum");
+  }
+
+  @Test
+  void readThrowsOnTruncatedFile() throws Exception {
+    store.write(snapshotWith("some.setting", "value"));
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+    assertThatThrownBy(() -> store.read()).isExactlyInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Truncated");
+  }
+
+  @Test
+  void readThrowsOnUnsupportedVersion() throws Exception {
+    store.write(snapshotWith("some.setting", "value"));
+    byte[] bytes = Files.readAllBytes(file);
+    ByteBuffer.wrap(bytes).putInt(4, SnapshotFileFormat.CURRENT_VERSION + 1);
+    Files.write(file, bytes);
+
+    assertThatThrownBy(() -> store.read()).isExactlyInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("version");
+  }
+
+  @Test
+  void readThrowsOnForeignFile() throws Exception {
+    Files.write(file, "some.setting=value".getBytes("UTF-8"));
+
+    assertThatThrownBy(() -> store.read()).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  private ConfigurationSnapshot snapshotWith(String key, String value) {
+    Map<String, String> configuration = new HashMap<>();
+    configuration.put(key, value);
+    return ConfigurationSnapshot.of(configuration);
+  }
+}
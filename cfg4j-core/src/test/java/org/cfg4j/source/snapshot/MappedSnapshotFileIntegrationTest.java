@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.cfg4j.utils.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+
+class MappedSnapshotFileIntegrationTest {
+
+  private Path directory;
+  private Path file;
+  private Map<String, String> configuration;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    directory = Files.createTempDirectory("cfg4j-snapshot");
+    file = directory.resolve("config.snapshot");
+
+    configuration = new HashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      configuration.put("service" + i + ".enabled", i % 2 == 0 ? "true" : "false");
+    }
+    configuration.put("", "empty key");
+    configuration.put("unicode.\u017c\u00f3\u0142w", "turtle");
+    configuration.put("unicode.\uD83D\uDE00", "smile");
+    configuration.put("unicode.\uFF21", "fullwidth A");
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    new FileUtils().deleteDir(directory);
+  }
+
+  @Test
+  void looksUpKeysUsingSortedIndex() {
+    new FileSnapshotStore(file, true).write(ConfigurationSnapshot.of(configuration));
+
+    MappedSnapshotFile snapshotFile = MappedSnapshotFile.open(file);
+
+    assertThat(snapshotFile.hasSortedIndex()).isTrue();
+    for (Map.Entry<String, String> entry : configuration.entrySet()) {
+      assertThat(snapshotFile.get(entry.getKey())).isEqualTo(entry.getValue());
+    }
+  }
+
+  @Test
+  void looksUpKeysWithoutSortedIndex() {
+    new FileSnapshotStore(file, false).write(ConfigurationSnapshot.of(configuration));
+
+    MappedSnapshotFile snapshotFile = MappedSnapshotFile.open(file);
+
+    assertThat(snapshotFile.hasSortedIndex()).isFalse();
+    for (Map.Entry<String, String> entry : configuration.entrySet()) {
+      assertThat(snapshotFile.get(entry.getKey())).isEqualTo(entry.getValue());
+    }
+  }
+
+  @Test
+  void returnsNullForMissingKeys() {
+    new FileSnapshotStore(file).write(ConfigurationSnapshot.of(configuration));
+
+    MappedSnapshotFile snapshotFile = MappedSnapshotFile.open(file);
+
+    assertThat(snapshotFile.get("service1")).isNull();
+    assertThat(snapshotFile.get("service1.enabled.not")).isNull();
+    assertThat(snapshotFile.get("zzz")).isNull();
+    assertThat(snapshotFile.containsKey("service1000.enabled")).isFalse();
+  }
+
+  @Test
+  void looksUpKeysInEmptySnapshot() {
+    new FileSnapshotStore(file).write(ConfigurationSnapshot.empty());
+
+    MappedSnapshotFile snapshotFile = MappedSnapshotFile.open(file);
+
+    assertThat(snapshotFile.size()).isZero();
+    assertThat(snapshotFile.get("some.setting")).isNull();
+  }
+
+  @Test
+  void decodesAllEntries() {
+    ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(configuration);
+    new FileSnapshotStore(file).write(snapshot);
+
+    MappedSnapshotFile snapshotFile = MappedSnapshotFile.open(file);
+
+    assertThat(snapshotFile.size()).isEqualTo(configuration.size());
+    assertThat(snapshotFile.toSnapshot()).isEqualTo(snapshot);
+  }
+
+  @Test
+  void storesEachDistinctValueOnce() throws Exception {
+    new FileSnapshotStore(file, false).write(ConfigurationSnapshot.of(configuration));
+
+    int keysLength = 0;
+    for (String key : configuration.keySet()) {
+      keysLength += key.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    assertThat(Files.size(file)).isLessThan(keysLength + 4L * configuration.size());
+  }
+
+  @Test
+  void readsVersion1Files() throws Exception {
+    ByteArrayOutputStream payload = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(payload);
+    writeString(out, "some.setting");
+    writeString(out, "value");
+    CRC32 crc = new CRC32();
+    crc.update(payload.toByteArray());
+
+    ByteArrayOutputStream contents = new ByteArrayOutputStream();
+    DataOutputStream header = new DataOutputStream(contents);
+    header.writeInt(SnapshotFileFormat.MAGIC);
+    header.writeInt(SnapshotFileFormat.VERSION_1);
+    header.writeLong(0);
+    header.writeInt(1);
+    header.writeInt(payload.size());
+    header.writeInt((int) crc.getValue());
+    header.write(payload.toByteArray());
+    Files.write(file, contents.toByteArray());
+
+    MappedSnapshotFile snapshotFile = MappedSnapshotFile.open(file);
+
+    assertThat(snapshotFile.getVersion()).isEqualTo(SnapshotFileFormat.VERSION_1);
+    assertThat(snapshotFile.get("some.setting")).isEqualTo("value");
+    assertThat(snapshotFile.toSnapshot().asProperties()).containsOnly(entry("some.setting", "value"));
+  }
+
+  private void writeString(DataOutputStream out, String string) throws Exception {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+}
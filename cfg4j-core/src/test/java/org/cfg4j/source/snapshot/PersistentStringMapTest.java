@@ -0,0 +1,248 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.source.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+class PersistentStringMapTest {
+
+  @Test
+  void emptyMapHasNoEntries() {
+    assertThat(PersistentStringMap.EMPTY.size()).isZero();
+    assertThat(PersistentStringMap.EMPTY.getEntry("key")).isNull();
+  }
+
+  @Test
+  void editDoesNotModifyOriginalMap() {
+    PersistentStringMap original = mapOf("key", "value");
+
+    PersistentStringMap.Editor editor = original.edit();
+    editor.put("key", "otherValue");
+    editor.put("otherKey", "value");
+    editor.done();
+
+    assertThat(original.size()).isEqualTo(1);
+    assertThat(original.getEntry("key").value).isEqualTo("value");
+    assertThat(original.getEntry("otherKey")).isNull();
+  }
+
+  @Test
+  void putOfEqualValueKeepsEntry() {
+    PersistentStringMap original = mapOf("key", "value");
+
+    PersistentStringMap.Editor editor = original.edit();
+    editor.put(new String("key"), new String("value"));
+
+    assertThat(editor.isModified()).isFalse();
+    assertThat(editor.done().getEntry("key")).isSameAs(original.getEntry("key"));
+  }
+
+  @Test
+  void putOfDifferentValueReusesKeyInstance() {
+    PersistentStringMap original = mapOf("key", "value");
+
+    PersistentStringMap.Editor editor = original.edit();
+    editor.put(new String("key"), "otherValue");
+
+    assertThat(editor.done().getEntry("key").key).isSameAs(original.getEntry("key").key);
+  }
+
+  @Test
+  void handlesKeysWithCollidingHashes() {
+    // "Aa" and "BB" have the same hash code
+    PersistentStringMap map = mapOf("Aa", "first", "BB", "second");
+
+    assertThat(map.getEntry("Aa").value).isEqualTo("first");
+    assertThat(map.getEntry("BB").value).isEqualTo("second");
+
+    PersistentStringMap.Editor editor = map.edit();
+    editor.remove("Aa");
+    PersistentStringMap afterRemoval = editor.done();
+
+    assertThat(afterRemoval.getEntry("Aa")).isNull();
+    assertThat(afterRemoval.getEntry("BB").value).isEqualTo("second");
+  }
+
+  @Test
+  void getEntryWithPrefixFindsJoinedKey() {
+    PersistentStringMap map = mapOf("db.pool.size", "10", "db.poolXsize", "20", "db.pool", "30");
+
+    assertThat(map.getEntry("db.pool", "size").value).isEqualTo("10");
+    assertThat(map.getEntry("db", "pool.size").value).isEqualTo("10");
+    assertThat(map.getEntry("", "db.pool").value).isEqualTo("30");
+    assertThat(map.getEntry("db.pool", "timeout")).isNull();
+    assertThat(map.getEntry("db", "pool")).isNotNull();
+    assertThat(map.getEntry("db.poo", "size")).isNull();
+  }
+
+  @Test
+  void getEntryWithPrefixHandlesKeysWithCollidingHashes() {
+    // "Aa" and "BB" have the same hash code
+    PersistentStringMap map = mapOf("x.Aa", "first", "x.BB", "second");
+
+    assertThat(map.getEntry("x", "Aa").value).isEqualTo("first");
+    assertThat(map.getEntry("x", "BB").value).isEqualTo("second");
+  }
+
+  @Test
+  void removingAllEntriesYieldsEmptyMap() {
+    PersistentStringMap.Editor editor = mapOf("key", "value", "otherKey", "value").edit();
+    editor.remove("key");
+    editor.remove("otherKey");
+
+    assertThat(editor.done()).isSameAs(PersistentStringMap.EMPTY);
+  }
+
+  @Test
+  void staysConsistentWithHashMapUnderManyChanges() {
+    Map<String, String> expected = new HashMap<>();
+    PersistentStringMap map = PersistentStringMap.EMPTY;
+
+    for (int round = 0; round < 20; round++) {
+      PersistentStringMap.Editor editor = map.edit();
+      for (int i = 0; i < 2000; i++) {
+        String key = "key" + ((i * 7919 + round * 104729) % 5000);
+        if ((i + round) % 3 == 0) {
+          editor.remove(key);
+          expected.remove(key);
+        } else {
+          editor.put(key, "value" + round);
+          expected.put(key, "value" + round);
+        }
+      }
+      map = editor.done();
+
+      assertThat(map.size()).isEqualTo(expected.size());
+      assertThat(map.contentHash()).isEqualTo(expected.hashCode());
+      Map<String, String> actual = new HashMap<>();
+      map.forEach(entry -> actual.put(entry.key, entry.value));
+      assertThat(actual).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void diffReportsAddedRemovedAndChangedEntries() {
+    PersistentStringMap previous = mapOf("removed", "1", "changed", "2", "unchanged", "3");
+    PersistentStringMap.Editor editor = previous.edit();
+    editor.remove("removed");
+    editor.put("changed", "4");
+    editor.put("added", "5");
+    PersistentStringMap current = editor.done();
+
+    Map<String, String> differences = diff(previous, current);
+
+    assertThat(differences).containsOnly(entry("removed", "removed"), entry("changed", "changed"), entry("added", "added"));
+  }
+
+  @Test
+  void diffMatchesHashMapComparisonUnderManyChanges() {
+    PersistentStringMap previous = PersistentStringMap.EMPTY;
+    Map<String, String> previousContent = new HashMap<>();
+
+    for (int round = 0; round < 10; round++) {
+      PersistentStringMap.Editor editor = previous.edit();
+      Map<String, String> currentContent = new HashMap<>(previousContent);
+      for (int i = 0; i < 1000; i++) {
+        String key = "key" + ((i * 7919 + round * 104729) % 3000);
+        if ((i + round) % 4 == 0) {
+          editor.remove(key);
+          currentContent.remove(key);
+        } else {
+          editor.put(key, "value" + (i % 7));
+          currentContent.put(key, "value" + (i % 7));
+        }
+      }
+      PersistentStringMap current = editor.done();
+
+      Map<String, String> expected = new HashMap<>();
+      for (String key : previousContent.keySet()) {
+        if (!currentContent.containsKey(key)) {
+          expected.put(key, "removed");
+        } else if (!currentContent.get(key).equals(previousContent.get(key))) {
+          expected.put(key, "changed");
+        }
+      }
+      for (String key : currentContent.keySet()) {
+        if (!previousContent.containsKey(key)) {
+          expected.put(key, "added");
+        }
+      }
+
+      assertThat(diff(previous, current)).isEqualTo(expected);
+      assertThat(diff(current, current)).isEmpty();
+
+      previous = current;
+      previousContent = currentContent;
+    }
+  }
+
+  @Test
+  void diffHandlesKeysWithCollidingHashes() {
+    // "Aa" and "BB" have the same hash code
+    PersistentStringMap previous = mapOf("Aa", "1");
+    PersistentStringMap current = mapOf("Aa", "2", "BB", "3");
+
+    assertThat(diff(previous, current)).containsOnly(entry("Aa", "changed"), entry("BB", "added"));
+  }
+
+  @Test
+  void editorCantBeUsedAfterDone() {
+    PersistentStringMap.Editor editor = PersistentStringMap.EMPTY.edit();
+    editor.done();
+
+    assertThatThrownBy(() -> editor.put("key", "value")).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  private Map<String, String> diff(PersistentStringMap previous, PersistentStringMap current) {
+    Map<String, String> differences = new HashMap<>();
+
+    PersistentStringMap.diff(previous, current, new PersistentStringMap.DiffVisitor() {
+      @Override
+      public void added(PersistentStringMap.Entry entry) {
+        assertThat(differences.put(entry.key, "added")).isNull();
+      }
+
+      @Override
+      public void removed(PersistentStringMap.Entry entry) {
+        assertThat(differences.put(entry.key, "removed")).isNull();
+      }
+
+      @Override
+      public void changed(PersistentStringMap.Entry previousEntry, PersistentStringMap.Entry currentEntry) {
+        assertThat(differences.put(currentEntry.key, "changed")).isNull();
+      }
+    });
+
+    return differences;
+  }
+
+  private PersistentStringMap mapOf(String... keysAndValues) {
+    PersistentStringMap.Editor editor = PersistentStringMap.EMPTY.edit();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      editor.put(keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return editor.done();
+  }
+}
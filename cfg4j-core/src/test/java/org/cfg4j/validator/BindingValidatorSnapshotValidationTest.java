@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+
+class BindingValidatorSnapshotValidationTest {
+
+  interface ConfigPojo {
+    Integer someSetting();
+
+    List<Boolean> otherSetting();
+
+    String toString();
+  }
+
+  private BindingValidator bindingValidator;
+
+  @BeforeEach
+  void setUp() {
+    bindingValidator = new BindingValidator();
+  }
+
+  @Test
+  void acceptsConfigurationWithConvertibleValues() {
+    bindingValidator.validate(ConfigPojo.class, "", snapshotWith("someSetting", "1", "otherSetting", "true,false"));
+  }
+
+  @Test
+  void looksUpKeysUnderPrefix() {
+    bindingValidator.validate(ConfigPojo.class, "my.context",
+        snapshotWith("my.context.someSetting", "1", "my.context.otherSetting", "true"));
+  }
+
+  @Test
+  void throwsOnMissingKey() {
+    assertThatThrownBy(() -> bindingValidator.validate(ConfigPojo.class, "my", snapshotWith("my.someSetting", "1")))
+        .isExactlyInstanceOf(NoSuchElementException.class)
+        .hasMessageContaining("my.otherSetting");
+  }
+
+  @Test
+  void throwsOnNonConvertibleValue() {
+    assertThatThrownBy(() -> bindingValidator.validate(ConfigPojo.class, "", snapshotWith("someSetting", "notANumber", "otherSetting", "true")))
+        .isExactlyInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("someSetting");
+  }
+
+  @Test
+  void reportsAllInvalidKeysAtOnce() {
+    assertThatThrownBy(() -> bindingValidator.validate(ConfigPojo.class, "", snapshotWith("someSetting", "notANumber")))
+        .satisfies(thrown -> assertThat(thrown.getSuppressed()).hasSize(1));
+  }
+
+  @Test
+  void skipsValuesEqualToCurrentConfiguration() {
+    ConfigurationSnapshot configuration = snapshotWith("someSetting", "notANumber", "otherSetting", "true");
+
+    bindingValidator.validate(ConfigPojo.class, "", configuration, configuration);
+  }
+
+  @Test
+  void reportsValuesBrokenSinceCurrentConfiguration() {
+    ConfigurationSnapshot current = snapshotWith("someSetting", "1", "otherSetting", "true");
+
+    assertThatThrownBy(() -> bindingValidator.validate(ConfigPojo.class, "", snapshotWith("someSetting", "notANumber", "otherSetting", "true"), current))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void reportsKeysRemovedSinceCurrentConfiguration() {
+    ConfigurationSnapshot current = snapshotWith("someSetting", "1", "otherSetting", "true");
+
+    assertThatThrownBy(() -> bindingValidator.validate(ConfigPojo.class, "", snapshotWith("someSetting", "1"), current))
+        .isExactlyInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  void doesNotReportKeysAlreadyInvalidInCurrentConfiguration() {
+    ConfigurationSnapshot current = snapshotWith("someSetting", "notANumber");
+
+    bindingValidator.validate(ConfigPojo.class, "", snapshotWith("someSetting", "stillNotANumber"), current);
+  }
+
+  private ConfigurationSnapshot snapshotWith(String... args) {
+    Map<String, String> configuration = new HashMap<>();
+    for (int i = 1; i < args.length; i += 2) {
+      configuration.put(args[i - 1], args[i]);
+    }
+
+    return ConfigurationSnapshot.of(configuration);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cfg4j.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codahale.metrics.MetricRegistry;
+import org.cfg4j.metrics.dropwizard.DropwizardMetricsBackend;
+import org.cfg4j.source.snapshot.ConfigurationSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+class DeferredBindingValidatorTest {
+
+  interface ConfigPojo {
+    Integer someSetting();
+  }
+
+  private final List<Runnable> scheduled = new ArrayList<>();
+  private MetricRegistry metricRegistry;
+  private DeferredBindingValidator bindingValidator;
+
+  @BeforeEach
+  void setUp() {
+    metricRegistry = new MetricRegistry();
+    bindingValidator = new DeferredBindingValidator(scheduled::add, new DropwizardMetricsBackend(metricRegistry), "cfg4j.");
+  }
+
+  @Test
+  void defersValidation() {
+    bindingValidator.validate(ConfigPojo.class, "", ConfigurationSnapshot.empty());
+
+    assertThat(scheduled).hasSize(1);
+    assertThat(metricRegistry.timer("cfg4j.bind.deferredValidation").getCount()).isZero();
+  }
+
+  @Test
+  void countsInvalidConfiguration() {
+    bindingValidator.validate(ConfigPojo.class, "", ConfigurationSnapshot.empty());
+    scheduled.forEach(Runnable::run);
+
+    assertThat(metricRegistry.counter("cfg4j.bind.deferredValidationFailures").getCount()).isEqualTo(1);
+    assertThat(metricRegistry.timer("cfg4j.bind.deferredValidation").getCount()).isEqualTo(1);
+  }
+
+  @Test
+  void doesNotCountValidConfiguration() {
+    bindingValidator.validate(ConfigPojo.class, "", ConfigurationSnapshot.of(Collections.singletonMap("someSetting", "1")));
+    scheduled.forEach(Runnable::run);
+
+    assertThat(metricRegistry.counter("cfg4j.bind.deferredValidationFailures").getCount()).isZero();
+  }
+}
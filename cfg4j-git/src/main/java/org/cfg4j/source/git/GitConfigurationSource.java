@@ -25,16 +25,22 @@ import org.cfg4j.source.context.filesprovider.ConfigFilesProvider;
 import org.cfg4j.source.context.propertiesprovider.PropertiesProvider;
 import org.cfg4j.source.context.propertiesprovider.PropertiesProviderSelector;
 import org.cfg4j.utils.FileUtils;
-import org.eclipse.jgit.api.CheckoutCommand;
-import org.eclipse.jgit.api.CreateBranchCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
-import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
@@ -42,11 +48,19 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 /**
  * Note: use {@link GitConfigurationSourceBuilder} for building instances of this class.
  * <p>
- * Read configuration from the remote GIT repository. Keeps a local clone of the repository.
+ * Read configuration from the remote GIT repository. Keeps a local clone of the repository. The clone is either
+ * temporary (created on {@link #init()} and removed on {@link #close()}) or persistent (kept in a fixed directory
+ * and reused across restarts).
+ * <p>
+ * Configuration files are read directly from the clone's object database using the commit the branch pointed to
+ * after the last fetch. The working tree is never touched, so multiple environments (branches) can be served
+ * concurrently by a single instance.
  */
 class GitConfigurationSource implements ConfigurationSource, Closeable {
 
@@ -59,9 +73,14 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
   private final String repositoryURI;
   private final Path tmpPath;
   private final String tmpRepoPrefix;
+  private final Path localRepoPath;
+  private final Object fetchMonitor;
+  private final AtomicLong startedFetches;
+  private final AtomicLong lastCompletedFetch;
+  private LocalRepositoryLock localRepoLock;
   private Git clonedRepo;
   private Path clonedRepoPath;
-  private boolean initialized;
+  private volatile boolean initialized;
 
   /**
    * Note: use {@link GitConfigurationSourceBuilder} for building instances of this class.
@@ -69,18 +88,24 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
    * Read configuration from the remote GIT repository residing at {@code repositoryURI}. Keeps a local
    * clone of the repository in the {@code tmpRepoPrefix} directory under {@code tmpPath} path.
    * Uses provided {@code branchResolver} and {@code pathResolver} for branch and path resolution.
+   * <p>
+   * When {@code localRepoPath} is not null the clone is kept in that directory instead and survives {@link #close()}.
+   * An existing clone found there on {@link #init()} is reused and only fetches changes from the remote. Access to
+   * the directory is guarded by a lock file (a sibling of the directory, suffixed with ".lock") so multiple
+   * processes on one host can safely share a single clone.
    *
    * @param repositoryURI              URI to the remote git repository
    * @param tmpPath                    path to the tmp directory
    * @param tmpRepoPrefix              prefix for the name of the local directory keeping the repository clone
+   * @param localRepoPath              path to the persistent local clone, null for a temporary clone
    * @param branchResolver             {@link BranchResolver} used for extracting git branch from an {@link Environment}
    * @param pathResolver               {@link PathResolver} used for extracting git path from an {@link Environment}
    * @param configFilesProvider        {@link ConfigFilesProvider} used for determining which files in repository should be read
    * @param propertiesProviderSelector selector used for choosing {@link PropertiesProvider} based on a configuration file extension
    *                                   as config files
    */
-  GitConfigurationSource(String repositoryURI, Path tmpPath, String tmpRepoPrefix, BranchResolver branchResolver,
-                         PathResolver pathResolver, ConfigFilesProvider configFilesProvider,
+  GitConfigurationSource(String repositoryURI, Path tmpPath, String tmpRepoPrefix, Path localRepoPath,
+                         BranchResolver branchResolver, PathResolver pathResolver, ConfigFilesProvider configFilesProvider,
                          PropertiesProviderSelector propertiesProviderSelector) {
     this.branchResolver = requireNonNull(branchResolver);
     this.pathResolver = requireNonNull(pathResolver);
@@ -89,7 +114,11 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
     this.repositoryURI = requireNonNull(repositoryURI);
     this.tmpPath = requireNonNull(tmpPath);
     this.tmpRepoPrefix = requireNonNull(tmpRepoPrefix);
+    this.localRepoPath = localRepoPath == null ? null : localRepoPath.toAbsolutePath().normalize();
 
+    fetchMonitor = new Object();
+    startedFetches = new AtomicLong();
+    lastCompletedFetch = new AtomicLong();
     initialized = false;
   }
 
@@ -101,27 +130,24 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
 
     reload();
 
-    try {
-      checkoutToBranch(branchResolver.getBranchNameFor(environment));
-    } catch (GitAPIException e) {
-      throw new MissingEnvironmentException(environment.getName(), e);
-    }
+    RevTree tree = resolveTree(environment);
 
     Properties properties = new Properties();
 
     List<Path> paths = new ArrayList<>();
     for (Path path : configFilesProvider.getConfigFiles()) {
-      paths.add(clonedRepoPath.resolve(pathResolver.getPathFor(environment)).resolve(path));
+      paths.add(pathResolver.getPathFor(environment).resolve(path).normalize());
     }
 
-    for (Path path : paths) {
-      try (InputStream input = new FileInputStream(path.toFile())) {
+    try (ObjectReader reader = clonedRepo.getRepository().newObjectReader()) {
+      for (Path path : paths) {
+        try (InputStream input = openBlob(reader, tree, path)) {
 
-        PropertiesProvider provider = propertiesProviderSelector.getProvider(path.getFileName().toString());
-        properties.putAll(provider.getProperties(input));
+          properties.putAll(propertiesProviderSelector.getProperties(path, input));
 
-      } catch (IOException e) {
-        throw new IllegalStateException("Unable to load configuration from " + path.toString() + " file", e);
+        } catch (IOException e) {
+          throw new IllegalStateException("Unable to load configuration from " + path.toString() + " file", e);
+        }
       }
     }
 
@@ -129,13 +155,68 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
   }
 
   /**
-   * @throws IllegalStateException        when unable to create directories for local repo clone
-   * @throws SourceCommunicationException when unable to clone repository
+   * Resolve the branch for {@code environment} to the tree of the commit it currently points to. Commits are immutable
+   * so the tree can be read without any further synchronization, even when branches move in the meantime.
+   */
+  private RevTree resolveTree(Environment environment) {
+    String branch = branchResolver.getBranchNameFor(environment);
+    Repository repository = clonedRepo.getRepository();
+
+    try {
+      Ref ref = repository.exactRef(Constants.R_REMOTES + "origin/" + branch);
+      if (ref == null) {
+        ref = repository.exactRef(Constants.R_HEADS + branch);
+      }
+
+      if (ref == null) {
+        throw new MissingEnvironmentException(environment.getName());
+      }
+
+      try (RevWalk revWalk = new RevWalk(repository)) {
+        return revWalk.parseCommit(ref.getObjectId()).getTree();
+      }
+
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to resolve branch " + branch + " in local repository: " + clonedRepoPath, e);
+    }
+  }
+
+  private InputStream openBlob(ObjectReader reader, RevTree tree, Path path) throws IOException {
+    StringBuilder gitPath = new StringBuilder();
+    for (Path element : path) {
+      if (!element.toString().isEmpty()) {
+        gitPath.append(gitPath.length() == 0 ? "" : "/").append(element);
+      }
+    }
+
+    try (TreeWalk treeWalk = TreeWalk.forPath(reader, gitPath.toString(), tree)) {
+      if (treeWalk == null || treeWalk.isSubtree()) {
+        throw new FileNotFoundException("No file " + gitPath + " in tree " + tree.name());
+      }
+
+      return reader.open(treeWalk.getObjectId(0), Constants.OBJ_BLOB).openStream();
+    }
+  }
+
+  /**
+   * @throws IllegalStateException        when unable to create directories for local repo clone or when the persistent
+   *                                      local repo path is occupied by something else than a clone of this repository
+   * @throws SourceCommunicationException when unable to clone repository or fetch changes into an existing clone
    */
   @Override
   public void init() {
     LOG.info("Initializing " + GitConfigurationSource.class + " pointing to " + repositoryURI);
 
+    if (localRepoPath == null) {
+      initTemporaryClone();
+    } else {
+      initPersistentClone();
+    }
+
+    initialized = true;
+  }
+
+  private void initTemporaryClone() {
     try {
       clonedRepoPath = Files.createTempDirectory(tmpPath, tmpRepoPrefix);
       // This folder can't exist or JGit will throw NPE on clone
@@ -144,62 +225,149 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
       throw new IllegalStateException("Unable to create local clone directory: " + tmpRepoPrefix, e);
     }
 
+    clonedRepo = cloneRepository();
+
+    // Temporary clone is removed on close, don't let background auto-gc race with that
+    StoredConfig config = clonedRepo.getRepository().getConfig();
+    config.setInt(ConfigConstants.CONFIG_GC_SECTION, null, ConfigConstants.CONFIG_KEY_AUTO, 0);
+    config.setBoolean(ConfigConstants.CONFIG_GC_SECTION, null, ConfigConstants.CONFIG_KEY_AUTODETACH, false);
     try {
-      clonedRepo = Git.cloneRepository()
+      config.save();
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to configure local clone: " + clonedRepoPath, e);
+    }
+  }
+
+  @SuppressWarnings("try")
+  private void initPersistentClone() {
+    clonedRepoPath = localRepoPath;
+
+    try {
+      Files.createDirectories(localRepoPath.getParent());
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to create local clone directory: " + localRepoPath, e);
+    }
+
+    localRepoLock = new LocalRepositoryLock(localRepoPath.resolveSibling(localRepoPath.getFileName() + ".lock"));
+
+    try (Closeable ignored = localRepoLock.acquire()) {
+
+      if (isMissingOrEmpty(localRepoPath)) {
+        LOG.info("No local clone found in " + localRepoPath + ", cloning " + repositoryURI);
+        // This folder can't exist or JGit will throw NPE on clone
+        Files.deleteIfExists(localRepoPath);
+        clonedRepo = cloneRepository();
+      } else {
+        LOG.info("Reusing local clone in " + localRepoPath + ", fetching changes from " + repositoryURI);
+        clonedRepo = openExistingClone();
+
+        try {
+          fetch();
+        } catch (GitAPIException e) {
+          clonedRepo.close();
+          throw new SourceCommunicationException("Unable to fetch from repository: " + repositoryURI, e);
+        }
+      }
+
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to access local clone directory: " + localRepoPath, e);
+    }
+  }
+
+  private Git cloneRepository() {
+    try {
+      return Git.cloneRepository()
           .setURI(repositoryURI)
           .setDirectory(clonedRepoPath.toFile())
+          .setNoCheckout(true)
           .call();
     } catch (GitAPIException e) {
       throw new SourceCommunicationException("Unable to clone repository: " + repositoryURI, e);
     }
-
-    initialized = true;
   }
 
-  private void reload() {
+  private Git openExistingClone() {
+    Git git;
     try {
-      LOG.debug("Reloading configuration by pulling changes");
-      clonedRepo.pull().call();
-    } catch (GitAPIException e) {
-      initialized = false;
-      throw new IllegalStateException("Unable to pull from remote repository", e);
+      git = Git.open(localRepoPath.toFile());
+    } catch (IOException e) {
+      throw new IllegalStateException("Local clone directory is not empty and doesn't contain a git repository: " + localRepoPath, e);
     }
-  }
 
-  @Override
-  public void close() throws IOException {
-    if (clonedRepo != null) {
-      LOG.debug("Closing local repository: " + clonedRepoPath);
-      clonedRepo.close();
-      new FileUtils().deleteDir(clonedRepoPath);
+    String originURI = git.getRepository().getConfig().getString("remote", "origin", "url");
+    if (!repositoryURI.equals(originURI)) {
+      git.close();
+      throw new IllegalStateException("Local clone in " + localRepoPath + " points to " + originURI + " instead of " + repositoryURI);
     }
+
+    return git;
   }
 
-  private void checkoutToBranch(String branch) throws GitAPIException {
-    CheckoutCommand checkoutCommand = clonedRepo.checkout()
-        .setCreateBranch(false)
-        .setName(branch);
+  private void fetch() throws GitAPIException {
+    clonedRepo.fetch()
+        .setRemote("origin")
+        .call();
+  }
 
-    List<Ref> refList = clonedRepo.branchList().call();
-    if (!anyRefMatches(refList, branch)) {
-      checkoutCommand = checkoutCommand
-          .setCreateBranch(true)
-          .setUpstreamMode(CreateBranchCommand.SetupUpstreamMode.TRACK)
-          .setStartPoint("origin/" + branch);
+  private boolean isMissingOrEmpty(Path directory) throws IOException {
+    if (!Files.exists(directory)) {
+      return true;
     }
 
-    checkoutCommand
-        .call();
+    try (Stream<Path> entries = Files.list(directory)) {
+      return !entries.findAny().isPresent();
+    }
   }
 
-  private boolean anyRefMatches(List<Ref> refList, String branch) {
-    for (Ref ref : refList) {
-      if (ref.getName().replace("refs/heads/", "").equals(branch)) {
-        return true;
+  /**
+   * Lock the persistent local clone for exclusive use. Temporary clones are private to this instance and are not locked.
+   */
+  private Closeable lockLocalRepo() throws IOException {
+    if (localRepoLock == null) {
+      return () -> {
+      };
+    }
+
+    return localRepoLock.acquire();
+  }
+
+  /**
+   * Fetch changes from the remote repository. Concurrent callers are coalesced: a caller doesn't fetch again when a
+   * fetch that started after it was called has completed in the meantime. Fetches are numbered in start order.
+   */
+  @SuppressWarnings("try")
+  private void reload() {
+    long observedFetch = startedFetches.get();
+
+    synchronized (fetchMonitor) {
+      if (lastCompletedFetch.get() > observedFetch) {
+        return;
+      }
+
+      try (Closeable ignored = lockLocalRepo()) {
+        LOG.debug("Reloading configuration by fetching changes");
+        long fetchNumber = startedFetches.incrementAndGet();
+        fetch();
+        lastCompletedFetch.set(fetchNumber);
+      } catch (GitAPIException e) {
+        initialized = false;
+        throw new IllegalStateException("Unable to fetch from remote repository", e);
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to lock local repository: " + clonedRepoPath, e);
       }
     }
+  }
 
-    return false;
+  @Override
+  public void close() throws IOException {
+    if (clonedRepo != null) {
+      LOG.debug("Closing local repository: " + clonedRepoPath);
+      clonedRepo.close();
+
+      if (localRepoPath == null) {
+        new FileUtils().deleteDir(clonedRepoPath);
+      }
+    }
   }
 
   @Override
@@ -207,6 +375,7 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
     return "GitConfigurationSource{" +
         "clonedRepo=" + clonedRepo +
         ", clonedRepoPath=" + clonedRepoPath +
+        ", localRepoPath=" + localRepoPath +
         ", branchResolver=" + branchResolver +
         ", pathResolver=" + pathResolver +
         ", configFilesProvider=" + configFilesProvider +
@@ -20,6 +20,7 @@ import org.cfg4j.source.context.filesprovider.DefaultConfigFilesProvider;
 import org.cfg4j.source.context.propertiesprovider.JsonBasedPropertiesProvider;
 import org.cfg4j.source.context.propertiesprovider.PropertiesProviderSelector;
 import org.cfg4j.source.context.propertiesprovider.PropertyBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.StringPool;
 import org.cfg4j.source.context.propertiesprovider.YamlBasedPropertiesProvider;
 
 import java.nio.file.Path;
@@ -35,8 +36,10 @@ public class GitConfigurationSourceBuilder {
   private String repositoryURI;
   private Path tmpPath;
   private String tmpRepoPrefix;
+  private Path localRepoPath;
   private ConfigFilesProvider configFilesProvider;
   private PropertiesProviderSelector propertiesProviderSelector;
+  private StringPool stringPool;
 
   /**
    * Construct {@link GitConfigurationSource}s builder
@@ -48,8 +51,10 @@ public class GitConfigurationSourceBuilder {
    * <li>ConfigFilesProvider: {@link DefaultConfigFilesProvider}</li>
    * <li>tmpPath: System.getProperty("java.io.tmpdir")</li>
    * <li>tmpRepoPrefix: "cfg4j-config-git-config-repository"</li>
+   * <li>localRepoPath: not set (a temporary clone is used)</li>
    * <li>propertiesProviderSelector: {@link PropertiesProviderSelector} with {@link PropertyBasedPropertiesProvider}
    * and {@link YamlBasedPropertiesProvider} providers</li>
+   * <li>stringPool: not set (strings are not interned)</li>
    * </ul>
    */
   public GitConfigurationSourceBuilder() {
@@ -118,6 +123,20 @@ public class GitConfigurationSourceBuilder {
     return this;
   }
 
+  /**
+   * Keep the local clone of the repository in the {@code localRepoPath} directory instead of a temporary one for
+   * {@link GitConfigurationSource}s built by this builder. The clone is not removed when the source is closed and is
+   * reused (after fetching changes from the remote) on the next start. Multiple processes on the same host can share
+   * a single clone. When set, temporary dir path and prefix are ignored.
+   *
+   * @param localRepoPath directory for the persistent local clone
+   * @return this builder with local clone directory set to {@code localRepoPath}
+   */
+  public GitConfigurationSourceBuilder withLocalRepoPath(Path localRepoPath) {
+    this.localRepoPath = localRepoPath;
+    return this;
+  }
+
   /**
    * Set {@link ConfigFilesProvider} for {@link GitConfigurationSource}s built by this builder
    *
@@ -129,14 +148,26 @@ public class GitConfigurationSourceBuilder {
     return this;
   }
 
+  /**
+   * Intern keys and values of configuration files read by {@link GitConfigurationSource}s built by this builder using
+   * the {@code stringPool}. Share the pool between sources to deduplicate strings repeating across them.
+   *
+   * @param stringPool {@link StringPool} to use
+   * @return this builder with {@link StringPool} set to {@code stringPool}
+   */
+  public GitConfigurationSourceBuilder withStringPool(StringPool stringPool) {
+    this.stringPool = stringPool;
+    return this;
+  }
+
   /**
    * Build a {@link GitConfigurationSource} using this builder's configuration
    *
    * @return new {@link GitConfigurationSource}
    */
   public GitConfigurationSource build() {
-    return new GitConfigurationSource(repositoryURI, tmpPath, tmpRepoPrefix, branchResolver, pathResolver,
-        configFilesProvider, propertiesProviderSelector);
+    return new GitConfigurationSource(repositoryURI, tmpPath, tmpRepoPrefix, localRepoPath, branchResolver, pathResolver,
+        configFilesProvider, stringPool == null ? propertiesProviderSelector : propertiesProviderSelector.interning(stringPool));
   }
 
   @Override
@@ -147,7 +178,9 @@ public class GitConfigurationSourceBuilder {
         ", repositoryURI='" + repositoryURI + '\'' +
         ", tmpPath='" + tmpPath + '\'' +
         ", tmpRepoPrefix='" + tmpRepoPrefix + '\'' +
+        ", localRepoPath='" + localRepoPath + '\'' +
         ", configFilesProvider=" + configFilesProvider +
+        ", stringPool=" + stringPool +
         '}';
   }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.git;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exclusive lock guarding a local repository clone shared by multiple {@link GitConfigurationSource}s. Excludes both
+ * other processes on the same host (through a {@link FileLock} on the lock file) and other threads of this JVM (file
+ * locks are held on behalf of the whole JVM so they can't be used for that).
+ */
+class LocalRepositoryLock {
+
+  private static final ConcurrentMap<Path, ReentrantLock> JVM_LOCKS = new ConcurrentHashMap<>();
+
+  private final Path lockFile;
+  private final ReentrantLock jvmLock;
+
+  /**
+   * Create lock backed by the {@code lockFile}. The file will be created if it doesn't exist.
+   *
+   * @param lockFile file used for inter-process locking
+   */
+  LocalRepositoryLock(Path lockFile) {
+    this.lockFile = requireNonNull(lockFile).toAbsolutePath().normalize();
+    jvmLock = JVM_LOCKS.computeIfAbsent(this.lockFile, path -> new ReentrantLock());
+  }
+
+  /**
+   * Block until the exclusive lock is acquired. Release it by closing returned handle.
+   *
+   * @return handle releasing the lock when closed
+   * @throws IOException when unable to lock the lock file
+   */
+  Handle acquire() throws IOException {
+    jvmLock.lock();
+
+    FileChannel channel = null;
+    try {
+      channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      return new Handle(channel, channel.lock());
+    } catch (IOException | RuntimeException e) {
+      if (channel != null) {
+        channel.close();
+      }
+      jvmLock.unlock();
+      throw e;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "LocalRepositoryLock{" +
+        "lockFile=" + lockFile +
+        '}';
+  }
+
+  /**
+   * Acquired lock. Closing it releases the lock.
+   */
+  class Handle implements Closeable {
+
+    private final FileChannel channel;
+    private final FileLock fileLock;
+
+    private Handle(FileChannel channel, FileLock fileLock) {
+      this.channel = channel;
+      this.fileLock = fileLock;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        fileLock.release();
+        channel.close();
+      } finally {
+        jvmLock.unlock();
+      }
+    }
+  }
+}
@@ -25,14 +25,22 @@ import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.ImmutableEnvironment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
 import org.cfg4j.source.context.filesprovider.ConfigFilesProvider;
+import org.cfg4j.utils.FileUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 class GitConfigurationSourceIntegrationTest {
 
@@ -40,6 +48,7 @@ class GitConfigurationSourceIntegrationTest {
   private static final String TEST_ENV_BRANCH = "testEnvBranch";
 
   private TempConfigurationGitRepo remoteRepo;
+  private Path localCloneDir;
 
   @BeforeEach
   void setUp() throws Exception {
@@ -53,11 +62,14 @@ class GitConfigurationSourceIntegrationTest {
     remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "testValue");
 
     remoteRepo.changeBranchTo(DEFAULT_BRANCH);
+
+    localCloneDir = Files.createTempDirectory("org.cfg4j-test-local-clone");
   }
 
   @AfterEach
-  void tearDown() {
+  void tearDown() throws Exception {
     remoteRepo.remove();
+    new FileUtils().deleteDir(localCloneDir);
   }
 
   @Test
@@ -140,6 +152,56 @@ class GitConfigurationSourceIntegrationTest {
     }
   }
 
+  @Test
+  void getConfigurationReadsChangesPushedToGivenBranch() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithDefaults()) {
+      Environment environment = new ImmutableEnvironment(TEST_ENV_BRANCH);
+      gitConfigurationSource.getConfiguration(environment);
+
+      remoteRepo.changeBranchTo(TEST_ENV_BRANCH);
+      remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedTestValue");
+
+      assertThat(gitConfigurationSource.getConfiguration(environment)).contains(MapEntry.entry("some.setting", "changedTestValue"));
+    }
+  }
+
+  @Test
+  void getConfigurationServesMultipleEnvironmentsConcurrently() throws Exception {
+    int branches = 4;
+    for (int i = 0; i < branches; i++) {
+      remoteRepo.changeBranchTo("concurrentBranch" + i);
+      remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "concurrentValue" + i);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithDefaults()) {
+      List<Future<Void>> results = new ArrayList<>();
+
+      for (int thread = 0; thread < 8; thread++) {
+        final int offset = thread;
+        Callable<Void> hammer = () -> {
+          for (int i = 0; i < 25; i++) {
+            int branch = (offset + i) % branches;
+            Environment environment = new ImmutableEnvironment("concurrentBranch" + branch);
+
+            assertThat(gitConfigurationSource.getConfiguration(environment))
+                .contains(MapEntry.entry("some.setting", "concurrentValue" + branch));
+          }
+          return null;
+        };
+
+        results.add(executor.submit(hammer));
+      }
+
+      for (Future<Void> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   void getConfigurationThrowsOnMissingBranch() throws Exception {
     try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithDefaults()) {
@@ -181,6 +243,74 @@ class GitConfigurationSourceIntegrationTest {
     gitConfigurationSource.close();
   }
 
+  @Test
+  void closeKeepsPersistentLocalClone() throws Exception {
+    Path localRepoPath = localCloneDir.resolve("repo");
+
+    getSourceForRemoteRepoWithLocalRepoPath(localRepoPath).close();
+
+    assertThat(localRepoPath.resolve(".git")).exists();
+  }
+
+  @Test
+  void initReusesPersistentLocalClone() throws Exception {
+    Path localRepoPath = localCloneDir.resolve("repo");
+    getSourceForRemoteRepoWithLocalRepoPath(localRepoPath).close();
+    Path marker = Files.createFile(localRepoPath.resolve(".git").resolve("cfg4j-marker"));
+
+    remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedValue");
+
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithLocalRepoPath(localRepoPath)) {
+      assertThat(marker).exists();
+      assertThat(gitConfigurationSource.getConfiguration(new DefaultEnvironment())).contains(MapEntry.entry("some.setting", "changedValue"));
+    }
+  }
+
+  @Test
+  void initClonesIntoEmptyPersistentLocalRepoPath() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithLocalRepoPath(localCloneDir)) {
+      assertThat(gitConfigurationSource.getConfiguration(new DefaultEnvironment())).contains(MapEntry.entry("some.setting", "masterValue"));
+    }
+  }
+
+  @Test
+  void initThrowsWhenPersistentLocalRepoPathIsNotAClone() throws Exception {
+    Files.createFile(localCloneDir.resolve("someFile"));
+
+    assertThatThrownBy(() -> getSourceForRemoteRepoWithLocalRepoPath(localCloneDir))
+        .isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void initThrowsWhenPersistentLocalCloneHasDifferentRemote() throws Exception {
+    Path localRepoPath = localCloneDir.resolve("repo");
+    getSourceForRemoteRepoWithLocalRepoPath(localRepoPath).close();
+
+    TempConfigurationGitRepo otherRemoteRepo = new TempConfigurationGitRepo("org.cfg4j-other-test-repo.git");
+    try {
+      assertThatThrownBy(() -> new GitConfigurationSourceBuilder()
+          .withRepositoryURI(otherRemoteRepo.dirPath.toString())
+          .withLocalRepoPath(localRepoPath)
+          .build()
+          .init()).isExactlyInstanceOf(IllegalStateException.class);
+    } finally {
+      otherRemoteRepo.remove();
+    }
+  }
+
+  @Test
+  void sourcesShareSinglePersistentLocalClone() throws Exception {
+    Path localRepoPath = localCloneDir.resolve("repo");
+
+    try (GitConfigurationSource first = getSourceForRemoteRepoWithLocalRepoPath(localRepoPath);
+         GitConfigurationSource second = getSourceForRemoteRepoWithLocalRepoPath(localRepoPath)) {
+
+      assertThat(first.getConfiguration(new ImmutableEnvironment(TEST_ENV_BRANCH))).contains(MapEntry.entry("some.setting", "testValue"));
+      assertThat(second.getConfiguration(new DefaultEnvironment())).contains(MapEntry.entry("some.setting", "masterValue"));
+      assertThat(first.getConfiguration(new ImmutableEnvironment(TEST_ENV_BRANCH))).contains(MapEntry.entry("some.setting", "testValue"));
+    }
+  }
+
   private GitConfigurationSource getSourceForRemoteRepoWithDefaults() {
     GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults().build();
     source.init();
@@ -208,6 +338,16 @@ class GitConfigurationSourceIntegrationTest {
     return source;
   }
 
+  private GitConfigurationSource getSourceForRemoteRepoWithLocalRepoPath(Path localRepoPath) {
+    GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
+        .withLocalRepoPath(localRepoPath)
+        .build();
+
+    source.init();
+
+    return source;
+  }
+
   private GitConfigurationSource getSourceForRemoteRepoWithFilesProvider(ConfigFilesProvider configFilesProvider) {
     GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
         .withConfigFilesProvider(configFilesProvider)